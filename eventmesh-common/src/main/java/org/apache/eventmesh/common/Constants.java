@@ -44,6 +44,11 @@ public class Constants {
 
     public static final String PROTOCOL_DESC = "protocoldesc";
 
+    /**
+     * TCP ack header property: sends the session may still have in flight before the server answers SEND_TOO_FAST
+     */
+    public static final String UPSTREAM_CREDITS = "upstreamcredits";
+
     public static final int DEFAULT_HTTP_TIME_OUT = 15000;
 
     public static final String EVENTMESH_MESSAGE_CONST_TTL = "ttl";
@@ -61,5 +61,7 @@ public class MetricsConstants {
 
     public static final String CLIENT_PROTOCOL_TYPE = "client.protocol.type";
 
+    public static final String NETTY_EVENT_LOOP = "netty.event.loop";
+
 
 }
@@ -103,6 +103,69 @@ public class CommonConfiguration {
     @ConfigField(field = "server.retry.plugin.type")
     private String eventMeshRetryPluginType = Constants.DEFAULT;
 
+    /**
+     * timingWheel (hierarchical, millisecond ticks) or hashedWheel
+     */
+    @ConfigField(field = "server.retry.scheduler.type")
+    private String eventMeshRetrySchedulerType = "timingWheel";
+
+    @ConfigField(field = "server.retry.scheduler.tickInMills")
+    private long eventMeshRetrySchedulerTickInMills = 1;
+
+    @ConfigField(field = "server.retry.scheduler.wheelSize")
+    private int eventMeshRetrySchedulerWheelSize = 64;
+
+    @ConfigField(field = "server.retry.scheduler.maxPendingTimeouts")
+    private long eventMeshRetrySchedulerMaxPendingTimeouts = 10000;
+
+    @ConfigField(field = "server.retry.scheduler.threads")
+    private int eventMeshRetrySchedulerThreads = 2;
+
+    @ConfigField(field = "server.retry.backoff.multiplier")
+    private double eventMeshRetryBackoffMultiplier = 1.0;
+
+    @ConfigField(field = "server.retry.backoff.maxDelayInMills")
+    private long eventMeshRetryBackoffMaxDelayInMills = 60000;
+
+    @ConfigField(field = "server.retry.backoff.jitter")
+    private double eventMeshRetryBackoffJitter = 0;
+
+    /**
+     * Group the events published to the storage per topic and send them in batches from a dedicated thread
+     */
+    @ConfigField(field = "server.producer.batch.enabled")
+    private boolean eventMeshProducerBatchEnabled = false;
+
+    @ConfigField(field = "server.producer.batch.maxSize")
+    private int eventMeshProducerBatchMaxSize = 100;
+
+    @ConfigField(field = "server.producer.batch.lingerInMills")
+    private long eventMeshProducerBatchLingerInMills = 5;
+
+    /**
+     * Max events waiting in the batches of one producer group, further sends fail fast
+     */
+    @ConfigField(field = "server.producer.batch.maxPendingSize")
+    private int eventMeshProducerBatchMaxPendingSize = 10000;
+
+    /**
+     * Netty transport of the servers: auto (epoll when available, else nio), nio, epoll or io_uring
+     */
+    @ConfigField(field = "server.netty.transport")
+    private String eventMeshServerNettyTransport = "auto";
+
+    /**
+     * Bind the server port once per acceptor thread with SO_REUSEPORT, only used by the epoll and io_uring transports
+     */
+    @ConfigField(field = "server.netty.reusePort")
+    private boolean eventMeshServerNettyReusePort = false;
+
+    @ConfigField(field = "server.netty.acceptorThreads")
+    private int eventMeshServerNettyAcceptorThreads = 1;
+
+    @ConfigField(field = "server.netty.loopMonitorIntervalInMills")
+    private long eventMeshServerNettyLoopMonitorIntervalInMills = 1000;
+
     @ConfigField(field = "registry.plugin.server-addr", notEmpty = true)
     private String registryAddr = "";
 
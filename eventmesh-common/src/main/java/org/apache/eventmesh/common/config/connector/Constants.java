@@ -47,4 +47,19 @@ public class Constants {
      */
     public static final long DEFAULT_POLL_TIMEOUT = 5000L;
 
+    /**
+     * Default max in-flight publish requests, 1 means publish synchronously
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 1;
+
+    /**
+     * Default publish timeout (unit: ms)
+     */
+    public static final long DEFAULT_PUBLISH_TIMEOUT = 3000L;
+
+    /**
+     * Default offset commit interval (unit: ms)
+     */
+    public static final long DEFAULT_OFFSET_COMMIT_INTERVAL = 5000L;
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.config.connector;
+
+import lombok.Data;
+
+/**
+ * Source Publish Config
+ */
+@Data
+public class PublishConfig {
+
+    /**
+     * Max publish requests awaiting a response from eventmesh, records beyond this window wait for a free slot.
+     * Values above 1 publish asynchronously, one record of a partition at a time so each partition keeps its poll
+     * order. Records of different partitions are published concurrently, so {@code Source#commit} may be invoked
+     * concurrently and out of poll order.
+     */
+    private int maxInFlightRequests = Constants.DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
+    /**
+     * Timeout of a single publish request
+     */
+    private long timeout = Constants.DEFAULT_PUBLISH_TIMEOUT;
+
+    /**
+     * Max attempts of publishing a record
+     */
+    private int maxRetryTimes = Constants.DEFAULT_ATTEMPT;
+
+    /**
+     * Interval of committing acknowledged source offsets
+     */
+    private long offsetCommitInterval = Constants.DEFAULT_OFFSET_COMMIT_INTERVAL;
+
+}
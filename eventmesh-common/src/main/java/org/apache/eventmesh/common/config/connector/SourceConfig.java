@@ -33,4 +33,7 @@ public abstract class SourceConfig extends Config {
     // Polling configuration, e.g. capacity, batch size, wait time, etc.
     private PollConfig pollConfig = new PollConfig();
 
+    // Publish configuration, e.g. in-flight window, timeout, retry times, etc.
+    private PublishConfig publishConfig = new PublishConfig();
+
 }
@@ -43,4 +43,11 @@ public class SourceConnectorConfig {
     private String queueName;
 
     private boolean autoAck;
+
+    // push: basic.consume with basic.qos prefetch, pull: basic.get polling
+    private String consumeMode = "push";
+
+    private int prefetchCount = 100;
+
+    private int ackBatchSize = 10;
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.CloudEventData;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.core.format.EventFormat;
+import io.cloudevents.rw.CloudEventRWException;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * A {@link CloudEvent} with extensions added on top of another one, without copying it.
+ *
+ * <p>Relaying an event used to rebuild it with {@code CloudEventBuilder.from(event).withExtension(...)} at every hop
+ * and serialize it whole again before writing. The envelope keeps the original event, and the bytes it was decoded
+ * from when there are any, and only records the extensions set since. {@link #serialize(EventFormat)} splices those
+ * extensions into the original JSON, so the data is neither parsed nor encoded again; it falls back to the format
+ * when the bytes are missing or in another format, or an extension replaces one of the original.
+ *
+ * <p>Like a builder, {@link #withExtension} changes this envelope: take a new one with {@link #wrap} before
+ * changing an event that may be shared, and do not change it once handed over.
+ */
+public final class EnvelopeCloudEvent implements CloudEvent {
+
+    private final CloudEvent event;
+
+    private final byte[] serialized;
+
+    private final String serializedContentType;
+
+    private final Map<String, Object> extensions;
+
+    private EnvelopeCloudEvent(CloudEvent event, byte[] serialized, String serializedContentType, Map<String, Object> extensions) {
+        this.event = event;
+        this.serialized = serialized;
+        this.serializedContentType = serializedContentType;
+        this.extensions = extensions;
+    }
+
+    /**
+     * @param event                 the event decoded from {@code serialized}
+     * @param serialized            the event serialized in {@code serializedContentType}
+     * @param serializedContentType content type of the event format, e.g. {@code application/cloudevents+json}
+     */
+    public static EnvelopeCloudEvent of(CloudEvent event, byte[] serialized, String serializedContentType) {
+        Objects.requireNonNull(event, "event can not be null");
+        return new EnvelopeCloudEvent(event, serialized, serializedContentType, new LinkedHashMap<>());
+    }
+
+    /**
+     * @return a new envelope of the event, sharing the original event and bytes of an envelope
+     */
+    public static EnvelopeCloudEvent wrap(CloudEvent event) {
+        Objects.requireNonNull(event, "event can not be null");
+        if (event instanceof EnvelopeCloudEvent) {
+            EnvelopeCloudEvent envelope = (EnvelopeCloudEvent) event;
+            return new EnvelopeCloudEvent(envelope.event, envelope.serialized, envelope.serializedContentType,
+                new LinkedHashMap<>(envelope.extensions));
+        }
+        return new EnvelopeCloudEvent(event, null, null, new LinkedHashMap<>());
+    }
+
+    /**
+     * @throws CloudEventRWException when the name is not a valid extension name, as {@code CloudEventBuilder} does
+     */
+    public EnvelopeCloudEvent withExtension(String name, Object value) {
+        if (!isValidExtensionName(name)) {
+            throw CloudEventRWException.newInvalidExtensionName(name);
+        }
+        extensions.put(name, value);
+        return this;
+    }
+
+    private static boolean isValidExtensionName(String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the event, reusing the original bytes when they are in the format.
+     */
+    public byte[] serialize(EventFormat format) {
+        if (extensions.isEmpty() && canReuse(format)) {
+            return serialized;
+        }
+        byte[] spliced = canReuse(format) ? splice() : null;
+        return spliced != null ? spliced : format.serialize(this);
+    }
+
+    private boolean canReuse(EventFormat format) {
+        return serialized != null && Objects.equals(serializedContentType, format.serializedContentType());
+    }
+
+    /**
+     * Append the added extensions to the original JSON object
+     *
+     * @return null when the extensions can not be appended
+     */
+    private byte[] splice() {
+        int end = serialized.length - 1;
+        while (end > 0 && Character.isWhitespace(serialized[end])) {
+            end--;
+        }
+        if (end <= 0 || serialized[end] != '}') {
+            return null;
+        }
+        Set<String> originalNames = event.getExtensionNames();
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(end + 1 + extensions.size() * 48);
+        out.write(serialized, 0, end);
+        for (Map.Entry<String, Object> extension : extensions.entrySet()) {
+            Object value = extension.getValue();
+            if (originalNames.contains(extension.getKey()) || value == null) {
+                return null;
+            }
+            out.write(',');
+            writeQuoted(out, encoder.quoteAsUTF8(extension.getKey()));
+            out.write(':');
+            if (value instanceof String) {
+                writeQuoted(out, encoder.quoteAsUTF8((String) value));
+            } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+                byte[] literal = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(literal, 0, literal.length);
+            } else {
+                return null;
+            }
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void writeQuoted(ByteArrayOutputStream out, byte[] escaped) {
+        out.write('"');
+        out.write(escaped, 0, escaped.length);
+        out.write('"');
+    }
+
+    /**
+     * @return the event the extensions are added to
+     */
+    public CloudEvent getEvent() {
+        return event;
+    }
+
+    @Override
+    public CloudEventData getData() {
+        return event.getData();
+    }
+
+    @Override
+    public SpecVersion getSpecVersion() {
+        return event.getSpecVersion();
+    }
+
+    @Override
+    public String getId() {
+        return event.getId();
+    }
+
+    @Override
+    public String getType() {
+        return event.getType();
+    }
+
+    @Override
+    public URI getSource() {
+        return event.getSource();
+    }
+
+    @Override
+    public String getDataContentType() {
+        return event.getDataContentType();
+    }
+
+    @Override
+    public URI getDataSchema() {
+        return event.getDataSchema();
+    }
+
+    @Override
+    public String getSubject() {
+        return event.getSubject();
+    }
+
+    @Override
+    public OffsetDateTime getTime() {
+        return event.getTime();
+    }
+
+    @Override
+    public Object getAttribute(String attributeName) throws IllegalArgumentException {
+        return event.getAttribute(attributeName);
+    }
+
+    @Override
+    public Object getExtension(String extensionName) {
+        if (extensions.containsKey(extensionName)) {
+            return extensions.get(extensionName);
+        }
+        return event.getExtension(extensionName);
+    }
+
+    @Override
+    public Set<String> getExtensionNames() {
+        if (extensions.isEmpty()) {
+            return event.getExtensionNames();
+        }
+        Set<String> names = new LinkedHashSet<>(event.getExtensionNames());
+        names.addAll(extensions.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public String toString() {
+        return "EnvelopeCloudEvent{event=" + event + ", extensions=" + extensions + '}';
+    }
+}
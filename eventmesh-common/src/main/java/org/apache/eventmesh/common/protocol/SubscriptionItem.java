@@ -34,6 +34,12 @@ public class SubscriptionItem implements Serializable {
     @JsonDeserialize(converter = SubscriptionTypeConverter.class)
     private SubscriptionType type;
 
+    /**
+     * Opt in to batched HTTP push: the messages of the topic are posted to the subscriber url as JSON arrays. A
+     * delivery option rather than part of the subscription, so it is left out of {@link #equals(Object)}.
+     */
+    private boolean batchPush;
+
     public SubscriptionItem() {
     }
 
@@ -59,6 +65,14 @@ public class SubscriptionItem implements Serializable {
         this.topic = topic;
     }
 
+    public boolean isBatchPush() {
+        return batchPush;
+    }
+
+    public void setBatchPush(boolean batchPush) {
+        this.batchPush = batchPush;
+    }
+
     public SubscriptionMode getMode() {
         return mode;
     }
@@ -73,6 +87,7 @@ public class SubscriptionItem implements Serializable {
             + "topic=" + topic
             + ", mode=" + mode
             + ", type=" + type
+            + ", batchPush=" + batchPush
             + '}';
     }
 
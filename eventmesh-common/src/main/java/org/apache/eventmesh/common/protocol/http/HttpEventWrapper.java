@@ -42,6 +42,8 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 public class HttpEventWrapper implements ProtocolTransportObject {
 
     public static final long serialVersionUID = -8547334421415366981L;
@@ -52,6 +54,11 @@ public class HttpEventWrapper implements ProtocolTransportObject {
 
     private byte[] body;
 
+    /**
+     * Decoded json body, the bytes and the map are each derived from the other on first use
+     */
+    private transient Map<String, Object> bodyMap;
+
     private String requestURI;
 
     private String httpMethod;
@@ -163,6 +170,7 @@ public class HttpEventWrapper implements ProtocolTransportObject {
     }
 
     public byte[] getBody() {
+        materializeBody();
         int len = body.length;
         byte[] b = new byte[len];
         System.arraycopy(body, 0, b, 0, len);
@@ -177,9 +185,37 @@ public class HttpEventWrapper implements ProtocolTransportObject {
         int len = newBody.length;
         this.body = new byte[len];
         System.arraycopy(newBody, 0, this.body, 0, len);
+        this.bodyMap = null;
+    }
+
+    private void materializeBody() {
+        if (body == null && bodyMap != null) {
+            body = JsonUtils.toJSONBytes(bodyMap);
+        }
+    }
+
+    /**
+     * Body as a json object, parsed from the body bytes on the first call. The map is shared, callers must not
+     * modify it.
+     */
+    public Map<String, Object> getBodyMap() {
+        if (bodyMap == null && body != null) {
+            bodyMap = JsonUtils.parseTypeReferenceObject(body, new TypeReference<Map<String, Object>>() {
+            });
+        }
+        return bodyMap;
+    }
+
+    /**
+     * Set an already decoded json body, its bytes are only serialized if {@link #getBody()} is called
+     */
+    public void setBodyMap(Map<String, Object> bodyMap) {
+        this.bodyMap = bodyMap;
+        this.body = null;
     }
 
     public DefaultFullHttpResponse httpResponse() throws Exception {
+        materializeBody();
         DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, httpResponseStatus,
             Unpooled.wrappedBuffer(this.body));
         HttpHeaders headers = response.headers();
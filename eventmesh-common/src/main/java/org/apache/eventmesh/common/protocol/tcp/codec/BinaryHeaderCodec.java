@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.utils.JsonUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * Compact binary encoding of the TCP {@link Header}, used when the peer speaks {@link Codec#BINARY_VERSION}.
+ * <pre>
+ * ┌──────────┬──────────┬──────────┬──────────┬──────────────────┬──────────────────────────────────────┐
+ * │   cmd    │   code   │   desc   │   seq    │ properties count │ properties (key, type tag, value)... │
+ * │ (varint) │ (zigzag) │ (string) │ (string) │     (varint)     │                                      │
+ * └──────────┴──────────┴──────────┴──────────┴──────────────────┴──────────────────────────────────────┘
+ * </pre>
+ * Strings are written as a varint of (UTF-8 length + 1) followed by the bytes, 0 standing for {@code null}.
+ * Well-known property keys are interned: they are written as a single varint index into {@link #KNOWN_KEYS}
+ * instead of their text, and decoded to the same {@link String} instance.
+ */
+final class BinaryHeaderCodec {
+
+    /**
+     * Property keys sent on (almost) every package. The table is part of the wire format: only append to it.
+     */
+    private static final String[] KNOWN_KEYS = {
+        Constants.PROTOCOL_TYPE,
+        Constants.PROTOCOL_VERSION,
+        Constants.PROTOCOL_DESC,
+        "reqc2eventmeshtimestamp",
+        "reqeventmesh2mqtimestamp",
+        "reqmq2eventmeshtimestamp",
+        "reqeventmesh2ctimestamp",
+        "rspc2eventmeshtimestamp",
+        "rspeventmesh2mqtimestamp",
+        "rspmq2eventmeshtimestamp",
+        "rspeventmesh2ctimestamp",
+        "reqsendeventmeship",
+        "reqreceiveeventmeship",
+        "rspsendeventmeship",
+        "rspreceiveeventmeship",
+        "req0sys",
+        "req0ip",
+        "req0idc",
+        "req0group",
+        "rsp0sys",
+        "rsp0ip",
+        "rsp0idc",
+        "rsp0group",
+        "rsp0url",
+        Constants.UPSTREAM_CREDITS,
+    };
+
+    private static final Map<String, Integer> KNOWN_KEY_INDEX = new HashMap<>(KNOWN_KEYS.length * 2);
+
+    private static final Command[] COMMANDS = new Command[128];
+
+    private static final byte KEY_INLINE = 0;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_TRUE = 4;
+    private static final byte TYPE_FALSE = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_JSON = 7;
+
+    static {
+        for (int i = 0; i < KNOWN_KEYS.length; i++) {
+            KNOWN_KEY_INDEX.put(KNOWN_KEYS[i], i + 1);
+        }
+        for (Command command : Command.values()) {
+            COMMANDS[command.getValue()] = command;
+        }
+    }
+
+    private BinaryHeaderCodec() {
+    }
+
+    static void encode(Header header, ByteBuf out) {
+        Command cmd = header.getCmd();
+        writeVarInt(out, cmd == null ? 0 : cmd.getValue() + 1);
+        writeVarInt(out, zigZag(header.getCode()));
+        writeString(out, header.getDesc());
+        writeString(out, header.getSeq());
+
+        Map<String, Object> properties = header.getProperties();
+        if (properties == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, properties.size());
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            Integer keyIndex = KNOWN_KEY_INDEX.get(entry.getKey());
+            if (keyIndex != null) {
+                writeVarInt(out, keyIndex);
+            } else {
+                out.writeByte(KEY_INLINE);
+                writeString(out, entry.getKey());
+            }
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    static Header decode(ByteBuf in) {
+        Header header = new Header();
+        int cmd = readVarInt(in);
+        if (cmd != 0) {
+            Command command = cmd - 1 < COMMANDS.length ? COMMANDS[cmd - 1] : null;
+            if (command == null) {
+                throw new IllegalArgumentException("No enum constant value=" + (cmd - 1));
+            }
+            header.setCmd(command);
+        }
+        header.setCode(unZigZag(readVarInt(in)));
+        header.setDesc(readString(in));
+        header.setSeq(readString(in));
+
+        // every property takes at least a key index and a type tag
+        int size = checkLength(in, readVarInt(in), 2, "properties count");
+        Map<String, Object> properties = new HashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            int keyIndex = readVarInt(in);
+            String key;
+            if (keyIndex == KEY_INLINE) {
+                key = readString(in);
+            } else if (keyIndex <= KNOWN_KEYS.length) {
+                key = KNOWN_KEYS[keyIndex - 1];
+            } else {
+                throw new IllegalArgumentException("unknown interned property key index: " + keyIndex);
+            }
+            properties.put(key, readValue(in));
+        }
+        header.setProperties(properties);
+        return header;
+    }
+
+    private static void writeValue(ByteBuf out, Object value) {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            writeVarInt(out, zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            writeVarLong(out, zigZag((Long) value));
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            // Anything else takes the same shape it would have had in the JSON header.
+            out.writeByte(TYPE_JSON);
+            writeBytes(out, JsonUtils.toJSONBytes(value));
+        }
+    }
+
+    private static Object readValue(ByteBuf in) {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INT:
+                return unZigZag(readVarInt(in));
+            case TYPE_LONG:
+                return unZigZag(readVarLong(in));
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_JSON:
+                return JsonUtils.parseObject(readBytes(in), Object.class);
+            default:
+                throw new IllegalArgumentException("unknown property value type: " + type);
+        }
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        int length = ByteBufUtil.utf8Bytes(value);
+        writeVarInt(out, length + 1);
+        out.writeCharSequence(value, Constants.DEFAULT_CHARSET);
+    }
+
+    private static String readString(ByteBuf in) {
+        int length = readVarInt(in) - 1;
+        if (length == -1) {
+            return null;
+        }
+        checkLength(in, length, 1, "string length");
+        String value = in.toString(in.readerIndex(), length, Constants.DEFAULT_CHARSET);
+        in.skipBytes(length);
+        return value;
+    }
+
+    private static void writeBytes(ByteBuf out, byte[] bytes) {
+        writeVarInt(out, bytes.length + 1);
+        out.writeBytes(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuf in) {
+        byte[] bytes = new byte[checkLength(in, readVarInt(in) - 1, 1, "bytes length")];
+        in.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Lengths and counts come from the network: reject them before allocating anything sized by them.
+     */
+    private static int checkLength(ByteBuf in, int length, int minBytesPerUnit, String what) {
+        if (length < 0 || (long) length * minBytesPerUnit > in.readableBytes()) {
+            throw new DecoderException(String.format("invalid %s %d, readable bytes %d", what, length, in.readableBytes()));
+        }
+        return length;
+    }
+
+    static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(ByteBuf in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    private static void writeVarLong(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuf in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varlong");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -30,14 +30,15 @@ import org.apache.eventmesh.common.utils.LogUtil;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
-
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Preconditions;
 
 import lombok.extern.slf4j.Slf4j;
@@ -50,12 +51,37 @@ public class Codec {
     private static final byte[] CONSTANT_MAGIC_FLAG = serializeBytes("EventMesh");
     private static final byte[] VERSION = serializeBytes("0000");
 
+    /**
+     * Protocol version whose header is encoded by {@link BinaryHeaderCodec} instead of JSON. The frame layout and
+     * the body encoding are the same as {@link #VERSION}.
+     */
+    static final byte[] BINARY_VERSION = serializeBytes("0001");
+
+    /**
+     * Header encoding spoken by the peer, recorded by the {@link Decoder} from the last package it received and
+     * followed by the {@link Encoder}, so a server replies in whatever version its client chose.
+     */
+    public static final AttributeKey<Boolean> BINARY_HEADER = AttributeKey.valueOf("eventmesh.tcp.binaryHeader");
+
     private static final int PREFIX_LENGTH = CONSTANT_MAGIC_FLAG.length + VERSION.length; //13
 
     private static final int PACKAGE_BYTES_FIELD_LENGTH = 4;
 
     public static class Encoder extends MessageToByteEncoder<Package> {
 
+        private final boolean binaryHeader;
+
+        public Encoder() {
+            this(false);
+        }
+
+        /**
+         * @param binaryHeader whether packages are sent with {@link #BINARY_VERSION} until the peer's version is known
+         */
+        public Encoder(boolean binaryHeader) {
+            this.binaryHeader = binaryHeader;
+        }
+
         @Override
         public void encode(ChannelHandlerContext ctx, Package pkg, ByteBuf out) throws Exception {
             Preconditions.checkNotNull(pkg, "TcpPackage cannot be null");
@@ -63,10 +89,15 @@ public class Codec {
             Preconditions.checkNotNull(header, "TcpPackage header cannot be null", header);
             LogUtil.debug(log, "Encode pkg={}", () -> JsonUtils.toJSONString(pkg));
 
+            if (useBinaryHeader(ctx)) {
+                encodeBinary(pkg, header, out);
+                return;
+            }
+
             final byte[] headerData = JsonUtils.toJSONBytes(header);
             final byte[] bodyData;
 
-            if (StringUtils.equals(Constants.CLOUD_EVENTS_PROTOCOL_NAME, header.getStringProperty(Constants.PROTOCOL_TYPE))) {
+            if (isCloudEvents(header)) {
                 bodyData = (byte[]) pkg.getBody();
             } else {
                 bodyData = JsonUtils.toJSONBytes(pkg.getBody());
@@ -100,6 +131,46 @@ public class Codec {
                 out.writeBytes(bodyData);
             }
         }
+
+        /**
+         * Same frame layout as the JSON version, but the header is written by {@link BinaryHeaderCodec} and both
+         * header and body go straight into {@code out}; the two length fields are back-filled afterwards.
+         */
+        private void encodeBinary(Package pkg, Header header, ByteBuf out) {
+            out.writeBytes(CONSTANT_MAGIC_FLAG);
+            out.writeBytes(BINARY_VERSION);
+            final int lengthIndex = out.writerIndex();
+            out.writeInt(0);
+            out.writeInt(0);
+
+            final int headerIndex = out.writerIndex();
+            BinaryHeaderCodec.encode(header, out);
+            final int headerLength = out.writerIndex() - headerIndex;
+
+            final Object body = pkg.getBody();
+            if (isCloudEvents(header)) {
+                if (body != null) {
+                    out.writeBytes((byte[]) body);
+                }
+            } else if (body != null) {
+                JsonUtils.writeJSON(new ByteBufOutputStream(out), body);
+            }
+
+            final int length = PREFIX_LENGTH + out.writerIndex() - headerIndex;
+            if (length > FRAME_MAX_LENGTH) {
+                throw new IllegalArgumentException("message size is exceed limit!");
+            }
+            out.setInt(lengthIndex, length);
+            out.setInt(lengthIndex + PACKAGE_BYTES_FIELD_LENGTH, headerLength);
+        }
+
+        private boolean useBinaryHeader(ChannelHandlerContext ctx) {
+            if (ctx == null) {
+                return binaryHeader;
+            }
+            Boolean negotiated = ctx.channel().attr(BINARY_HEADER).get();
+            return negotiated == null ? binaryHeader : negotiated;
+        }
     }
 
     public static class Decoder extends LengthFieldBasedFrameDecoder {
@@ -135,14 +206,13 @@ public class Codec {
                 if (target == null) {
                     return null;
                 }
-                byte[] flagBytes = parseFlag(target);
-                byte[] versionBytes = parseVersion(target);
-                validateFlag(flagBytes, versionBytes, ctx);
+                final boolean binaryHeader = parseVersion(target, ctx);
+                negotiate(ctx, binaryHeader);
 
                 final int length = target.readInt();
                 final int headerLength = target.readInt();
                 final int bodyLength = length - PREFIX_LENGTH - headerLength;
-                Header header = parseHeader(target, headerLength);
+                Header header = parseHeader(target, headerLength, binaryHeader);
                 Object body = parseBody(target, header, bodyLength);
 
                 Package pkg = new Package(header, body);
@@ -160,56 +230,92 @@ public class Codec {
             return null;
         }
 
-        private byte[] parseFlag(ByteBuf in) {
-            final byte[] flagBytes = new byte[CONSTANT_MAGIC_FLAG.length];
-            in.readBytes(flagBytes);
-            return flagBytes;
+        /**
+         * Validates the magic flag in place and returns whether the package carries a binary header.
+         */
+        private boolean parseVersion(ByteBuf in, ChannelHandlerContext ctx) {
+            final int flagIndex = in.readerIndex();
+            final int versionIndex = flagIndex + CONSTANT_MAGIC_FLAG.length;
+            in.skipBytes(PREFIX_LENGTH);
+            if (!matches(in, flagIndex, CONSTANT_MAGIC_FLAG)) {
+                throw invalidFlag(in, flagIndex, versionIndex, ctx);
+            }
+            if (matches(in, versionIndex, VERSION)) {
+                return false;
+            }
+            if (matches(in, versionIndex, BINARY_VERSION)) {
+                return true;
+            }
+            throw invalidFlag(in, flagIndex, versionIndex, ctx);
         }
 
-        private byte[] parseVersion(ByteBuf in) {
-            final byte[] versionBytes = new byte[VERSION.length];
-            in.readBytes(versionBytes);
-            return versionBytes;
+        private void negotiate(ChannelHandlerContext ctx, boolean binaryHeader) {
+            if (ctx == null) {
+                return;
+            }
+            Attribute<Boolean> attribute = ctx.channel().attr(BINARY_HEADER);
+            if (!Boolean.valueOf(binaryHeader).equals(attribute.get())) {
+                attribute.set(binaryHeader);
+            }
         }
 
-        private Header parseHeader(ByteBuf in, int headerLength) throws JsonProcessingException {
+        private Header parseHeader(ByteBuf in, int headerLength, boolean binaryHeader) {
             if (headerLength <= 0) {
                 return null;
             }
-            final byte[] headerData = new byte[headerLength];
-            in.readBytes(headerData);
-            LogUtil.debug(log, "Decode headerJson={}", () -> deserializeBytes(headerData));
-            return JsonUtils.parseObject(headerData, Header.class);
+            final ByteBuf headerData = in.readSlice(headerLength);
+            if (binaryHeader) {
+                return BinaryHeaderCodec.decode(headerData);
+            }
+            LogUtil.debug(log, "Decode headerJson={}", () -> headerData.toString(Constants.DEFAULT_CHARSET));
+            return JsonUtils.parseObject(new ByteBufInputStream(headerData), Header.class);
         }
 
-        private Object parseBody(ByteBuf in, Header header, int bodyLength) throws JsonProcessingException {
+        private Object parseBody(ByteBuf in, Header header, int bodyLength) {
             if (bodyLength <= 0 || header == null) {
                 return null;
             }
-            final byte[] bodyData = new byte[bodyLength];
-            in.readBytes(bodyData);
-            LogUtil.debug(log, "Decode bodyJson={}", () -> deserializeBytes(bodyData));
-            return deserializeBody(deserializeBytes(bodyData), header);
+            final ByteBuf bodyData = in.readSlice(bodyLength);
+            LogUtil.debug(log, "Decode bodyJson={}", () -> bodyData.toString(Constants.DEFAULT_CHARSET));
+            return deserializeBody(bodyData, header);
+        }
+
+        private IllegalArgumentException invalidFlag(ByteBuf in, int flagIndex, int versionIndex,
+            ChannelHandlerContext ctx) {
+            String errorMsg = String.format("invalid magic flag or version|flag=%s|version=%s|remoteAddress=%s",
+                in.toString(flagIndex, CONSTANT_MAGIC_FLAG.length, Constants.DEFAULT_CHARSET),
+                in.toString(versionIndex, VERSION.length, Constants.DEFAULT_CHARSET),
+                ctx == null ? null : ctx.channel().remoteAddress());
+            return new IllegalArgumentException(errorMsg);
         }
+    }
 
-        private void validateFlag(byte[] flagBytes, byte[] versionBytes, ChannelHandlerContext ctx) {
-            if (!Arrays.equals(flagBytes, CONSTANT_MAGIC_FLAG) || !Arrays.equals(versionBytes, VERSION)) {
-                String errorMsg = String.format("invalid magic flag or version|flag=%s|version=%s|remoteAddress=%s",
-                    deserializeBytes(flagBytes), deserializeBytes(versionBytes), ctx.channel().remoteAddress());
-                throw new IllegalArgumentException(errorMsg);
+    private static boolean matches(ByteBuf in, int index, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (in.getByte(index + i) != expected[i]) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private static boolean isCloudEvents(Header header) {
+        return StringUtils.equals(Constants.CLOUD_EVENTS_PROTOCOL_NAME, header.getStringProperty(Constants.PROTOCOL_TYPE));
     }
 
-    private static Object deserializeBody(String bodyJsonString, Header header) throws JsonProcessingException {
+    /**
+     * Typed bodies are parsed straight from the frame slice. Message bodies are handed to the protocol plugins as
+     * strings, so they are the only ones copied out of the frame.
+     */
+    private static Object deserializeBody(ByteBuf bodyData, Header header) {
         Command command = header.getCmd();
         switch (command) {
             case HELLO_REQUEST:
             case RECOMMEND_REQUEST:
-                return JsonUtils.parseObject(bodyJsonString, UserAgent.class);
+                return JsonUtils.parseObject(new ByteBufInputStream(bodyData), UserAgent.class);
             case SUBSCRIBE_REQUEST:
             case UNSUBSCRIBE_REQUEST:
-                return JsonUtils.parseObject(bodyJsonString, Subscription.class);
+                return JsonUtils.parseObject(new ByteBufInputStream(bodyData), Subscription.class);
             case REQUEST_TO_SERVER:
             case RESPONSE_TO_SERVER:
             case ASYNC_MESSAGE_TO_SERVER:
@@ -236,25 +342,15 @@ public class Codec {
             case SERVER_GOODBYE_RESPONSE:
                 // The message string will be deserialized by protocol plugin, if the event is cloudevents, the body is
                 // just a string.
-                return bodyJsonString;
+                return bodyData.toString(Constants.DEFAULT_CHARSET);
             case REDIRECT_TO_CLIENT:
-                return JsonUtils.parseObject(bodyJsonString, RedirectInfo.class);
+                return JsonUtils.parseObject(new ByteBufInputStream(bodyData), RedirectInfo.class);
             default:
                 log.warn("Invalidate TCP command: {}", command);
                 return null;
         }
     }
 
-    /**
-     * Deserialize bytes to String.
-     *
-     * @param bytes
-     * @return
-     */
-    private static String deserializeBytes(byte[] bytes) {
-        return new String(bytes, Constants.DEFAULT_CHARSET);
-    }
-
     /**
      * Serialize String to bytes.
      *
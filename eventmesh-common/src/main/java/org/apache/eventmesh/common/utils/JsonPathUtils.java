@@ -113,6 +113,13 @@ public class JsonPathUtils {
         return STRICT_OBJECT_MAPPER.readValue(object, JsonNode.class);
     }
 
+    /**
+     * Parse the json once for reading several paths, with the same configuration as {@link #jsonPathParse}.
+     */
+    public static ReadContext parseReadContext(String jsonString) {
+        return JsonPath.using(JSON_PATH_CONFIG).parse(jsonString);
+    }
+
     public static String matchJsonPathValueWithString(String jsonString, String jsonPath) {
         Object obj = jsonPathParse(jsonString, jsonPath);
 
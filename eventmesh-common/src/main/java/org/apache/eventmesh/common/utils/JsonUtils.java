@@ -25,6 +25,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.Objects;
@@ -106,6 +107,20 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Serialize object as json directly into the given output stream.
+     *
+     * @param outputStream target stream
+     * @param obj          obj
+     */
+    public static void writeJSON(OutputStream outputStream, Object obj) {
+        try {
+            OBJECT_MAPPER.writeValue(outputStream, obj);
+        } catch (IOException e) {
+            throw new JsonException("serialize to json error", e);
+        }
+    }
+
     /**
      * parse json string to object.
      *
@@ -196,6 +211,14 @@ public class JsonUtils {
         }
     }
 
+    public static <T> T parseTypeReferenceObject(InputStream inputStream, TypeReference<T> typeReference) {
+        try {
+            return OBJECT_MAPPER.readValue(inputStream, typeReference);
+        } catch (IOException e) {
+            throw new JsonException("deserialize input stream to typeReference error", e);
+        }
+    }
+
     public static JsonNode getJsonNode(String text) {
         if (StringUtils.isEmpty(text)) {
             return null;
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.jackson.JsonFormat;
+
+public class EnvelopeCloudEventTest {
+
+    private final JsonFormat format = new JsonFormat();
+
+    private CloudEvent event;
+
+    private byte[] serialized;
+
+    @BeforeEach
+    public void setUp() {
+        event = CloudEventBuilder.v1()
+            .withId("id1")
+            .withSource(URI.create("/"))
+            .withType("eventmeshmessage")
+            .withSubject("TEST-TOPIC-TCP-ASYNC")
+            .withDataContentType("application/json")
+            .withExtension("protocoltype", "cloudevents")
+            .withData("{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8))
+            .build();
+        serialized = format.serialize(event);
+    }
+
+    @Test
+    public void testSerializeReusesBytes() {
+        EnvelopeCloudEvent envelope = EnvelopeCloudEvent.of(event, serialized, format.serializedContentType());
+        Assertions.assertSame(serialized, envelope.serialize(format));
+
+        envelope.withExtension("rspsys", "5023").withExtension("rspidc", "idc \"1\"");
+        byte[] spliced = envelope.serialize(format);
+        CloudEvent decoded = format.deserialize(spliced);
+        Assertions.assertEquals("5023", decoded.getExtension("rspsys"));
+        Assertions.assertEquals("idc \"1\"", decoded.getExtension("rspidc"));
+        Assertions.assertEquals("cloudevents", decoded.getExtension("protocoltype"));
+        Assertions.assertArrayEquals(event.getData().toBytes(), decoded.getData().toBytes());
+    }
+
+    @Test
+    public void testReplacedExtensionIsSerializedAgain() {
+        EnvelopeCloudEvent envelope = EnvelopeCloudEvent.of(event, serialized, format.serializedContentType())
+            .withExtension("protocoltype", "eventmeshmessage");
+        Assertions.assertEquals("eventmeshmessage", envelope.getExtension("protocoltype"));
+        Assertions.assertEquals(1, envelope.getExtensionNames().size());
+
+        CloudEvent decoded = format.deserialize(envelope.serialize(format));
+        Assertions.assertEquals("eventmeshmessage", decoded.getExtension("protocoltype"));
+    }
+
+    @Test
+    public void testWrapDoesNotChangeWrappedEvent() {
+        EnvelopeCloudEvent envelope = EnvelopeCloudEvent.wrap(event).withExtension("reqeventmesh2ctimestamp", "1");
+        EnvelopeCloudEvent copy = EnvelopeCloudEvent.wrap(envelope).withExtension("rspip", "127.0.0.1");
+
+        Assertions.assertNull(envelope.getExtension("rspip"));
+        Assertions.assertEquals("1", copy.getExtension("reqeventmesh2ctimestamp"));
+        Assertions.assertSame(event, copy.getEvent());
+        Assertions.assertEquals(event.getSubject(), copy.getSubject());
+
+        // without the original bytes the whole event is serialized
+        CloudEvent decoded = format.deserialize(copy.serialize(format));
+        Assertions.assertEquals("127.0.0.1", decoded.getExtension("rspip"));
+        Assertions.assertEquals("id1", decoded.getId());
+    }
+
+    @Test
+    public void testInvalidExtensionName() {
+        Assertions.assertThrows(RuntimeException.class, () -> EnvelopeCloudEvent.wrap(event).withExtension("Invalid-Name", "v"));
+    }
+}
@@ -78,6 +78,19 @@ public class HttpEventWrapperTest {
         httpEventWrapper.setBody(new byte[]{(byte) 0});
     }
 
+    @Test
+    public void testBodyMap() {
+        Map<String, Object> bodyMap = new HashMap<>();
+        bodyMap.put("topic", "TEST-TOPIC-HTTP-ASYNC");
+        httpEventWrapper.setBodyMap(bodyMap);
+        Assertions.assertSame(bodyMap, httpEventWrapper.getBodyMap());
+        Map responseMap = JsonUtils.parseObject(new String(httpEventWrapper.getBody()), Map.class);
+        Assertions.assertEquals("TEST-TOPIC-HTTP-ASYNC", responseMap.get("topic"));
+
+        httpEventWrapper.setBody("{\"topic\":\"TEST-TOPIC-HTTP-SYNC\"}".getBytes());
+        Assertions.assertEquals("TEST-TOPIC-HTTP-SYNC", httpEventWrapper.getBodyMap().get("topic"));
+    }
+
     @Test
     public void testHttpResponse() throws Exception {
         httpEventWrapper.setBody(new byte[]{(byte) 0});
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Compares the JSON header codec (version 0000) with the binary header codec (version 0001) on a typical
+ * cloudevents message. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"false", "true"})
+    private boolean binaryHeader;
+
+    private Codec.Encoder encoder;
+
+    private Codec.Decoder decoder;
+
+    private Package pkg;
+
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, null, "1715412312345");
+        header.putProperty(Constants.PROTOCOL_TYPE, Constants.CLOUD_EVENTS_PROTOCOL_NAME);
+        header.putProperty(Constants.PROTOCOL_VERSION, "1.0");
+        header.putProperty(Constants.PROTOCOL_DESC, Constants.PROTOCOL_DESC_TCP);
+        header.putProperty("reqc2eventmeshtimestamp", System.currentTimeMillis());
+        header.putProperty("req0sys", "5023");
+        header.putProperty("req0ip", "127.0.0.1");
+        header.putProperty("req0idc", "idc01");
+        header.putProperty("req0group", "EventmeshTest-producerGroup");
+        byte[] body = ("{\"specversion\":\"1.0\",\"id\":\"b4f5b2d6-0b5a-4c6d-8ad3-1c9c8f7c8d2e\","
+            + "\"source\":\"/\",\"type\":\"eventmeshmessage\",\"subject\":\"TEST-TOPIC-TCP-ASYNC\","
+            + "\"datacontenttype\":\"application/json\",\"data\":\"testAsyncMessage\"}").getBytes(Constants.DEFAULT_CHARSET);
+        pkg = new Package(header, body);
+
+        encoder = new Codec.Encoder(binaryHeader);
+        decoder = new Codec.Decoder();
+        encoded = PooledByteBufAllocator.DEFAULT.buffer();
+        encoder.encode(null, pkg, encoded);
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws Exception {
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.buffer();
+        encoder.encode(null, pkg, out);
+        blackhole.consume(out.readableBytes());
+        out.release();
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        // The decoder consumes its input, so feed it a retained view of the pre-encoded frame.
+        ByteBuf in = encoded.retainedDuplicate();
+        try {
+            return decoder.decode(null, in);
+        } finally {
+            in.release();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(CodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
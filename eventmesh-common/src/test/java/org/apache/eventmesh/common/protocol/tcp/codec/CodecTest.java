@@ -17,17 +17,22 @@
 
 package org.apache.eventmesh.common.protocol.tcp.codec;
 
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.protocol.tcp.codec.Codec.Decoder;
 import org.apache.eventmesh.common.protocol.tcp.codec.Codec.Encoder;
 
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.DecoderException;
 
 public class CodecTest {
 
@@ -45,4 +50,82 @@ public class CodecTest {
         Assertions.assertEquals(testP.getHeader(), decode.getHeader());
     }
 
+    @Test
+    public void testBinaryHeaderCodec() throws Exception {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, "desc", "12345");
+        header.putProperty(Constants.PROTOCOL_TYPE, Constants.CLOUD_EVENTS_PROTOCOL_NAME);
+        header.putProperty(Constants.PROTOCOL_VERSION, "1.0");
+        header.putProperty("custom", 42);
+        header.putProperty("timestamp", System.currentTimeMillis());
+        header.putProperty("flag", true);
+        header.putProperty("nullable", null);
+        final String body = "{\"specversion\":\"1.0\",\"data\":\"中文\"}";
+        Package testP = new Package(header, body.getBytes(Constants.DEFAULT_CHARSET));
+
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        new Codec.Encoder(true).encode(null, testP, buf);
+        final Package decode = (Package) new Codec.Decoder().decode(null, buf);
+        Assertions.assertEquals(header, decode.getHeader());
+        Assertions.assertEquals(body, decode.getBody());
+    }
+
+    @Test
+    public void testVarInt() {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        int[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1};
+        for (int value : values) {
+            BinaryHeaderCodec.writeVarInt(buf, value);
+        }
+        for (int value : values) {
+            Assertions.assertEquals(value, BinaryHeaderCodec.readVarInt(buf));
+        }
+        buf.release();
+    }
+
+    @Test
+    public void testDecodeTypedBody() throws Exception {
+        Header header = new Header(Command.HELLO_REQUEST, 0, null, "1");
+        UserAgent userAgent = UserAgent.builder().subsystem("5023").pid(1).host("127.0.0.1").port(8080).build();
+        Package testP = new Package(header, userAgent);
+
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        new Codec.Encoder(true).encode(null, testP, buf);
+        final Package decode = (Package) new Codec.Decoder().decode(null, buf);
+        Assertions.assertEquals(userAgent, decode.getBody());
+    }
+
+    @Test
+    public void testBinaryHeaderRejectsInvalidLengths() {
+        // desc length far beyond the readable bytes
+        assertRejected(buf -> {
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, Integer.MAX_VALUE);
+        });
+        // negative desc length
+        assertRejected(buf -> {
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, -5);
+        });
+        // properties count far beyond the readable bytes
+        assertRejected(buf -> {
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 0);
+            BinaryHeaderCodec.writeVarInt(buf, 1_000_000);
+        });
+    }
+
+    private void assertRejected(Consumer<ByteBuf> writer) {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            writer.accept(buf);
+            Assertions.assertThrows(DecoderException.class, () -> BinaryHeaderCodec.decode(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.rabbitmq.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.rabbitmq.client.Channel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks manually acknowledged deliveries of a channel in delivery order. Deliveries may be settled in any order,
+ * the settled prefix is acknowledged with a single {@code basic.ack(multiple=true)} once {@code ackBatchSize}
+ * deliveries are pending acknowledgement or no delivery is outstanding anymore.
+ */
+@Slf4j
+public class RabbitmqAckTracker {
+
+    private final Channel channel;
+
+    private final int ackBatchSize;
+
+    private final Deque<PendingDelivery> outstanding = new ArrayDeque<>();
+
+    private long lastAckableTag = -1;
+
+    private int numAckable;
+
+    public RabbitmqAckTracker(Channel channel, int ackBatchSize) {
+        this.channel = channel;
+        this.ackBatchSize = Math.max(ackBatchSize, 1);
+    }
+
+    /**
+     * track a delivery before handing it to the listener
+     *
+     * @param deliveryTag delivery tag
+     * @return pending delivery to settle once consumed
+     */
+    public synchronized PendingDelivery track(long deliveryTag) {
+        PendingDelivery delivery = new PendingDelivery(deliveryTag);
+        outstanding.addLast(delivery);
+        return delivery;
+    }
+
+    /**
+     * settle a delivery, rejected deliveries are nacked at once and requeued if requested
+     *
+     * @param delivery pending delivery
+     * @param ack      whether the delivery was consumed successfully
+     * @param requeue  whether a rejected delivery should be redelivered
+     */
+    public synchronized void settle(PendingDelivery delivery, boolean ack, boolean requeue) {
+        if (delivery.settled) {
+            return;
+        }
+        delivery.settled = true;
+        delivery.acked = ack;
+        try {
+            if (!ack) {
+                channel.basicNack(delivery.deliveryTag, false, requeue);
+            }
+            // a multiple ack covers every tag up to the given one, so only the contiguous settled prefix may be acked
+            while (!outstanding.isEmpty() && outstanding.peekFirst().settled) {
+                PendingDelivery head = outstanding.pollFirst();
+                if (head.acked) {
+                    lastAckableTag = head.deliveryTag;
+                    numAckable++;
+                }
+            }
+            if (numAckable > 0 && (numAckable >= ackBatchSize || outstanding.isEmpty())) {
+                channel.basicAck(lastAckableTag, true);
+                numAckable = 0;
+            }
+        } catch (Exception ex) {
+            log.error("[RabbitmqAckTracker] settle delivery {} happen exception.", delivery.deliveryTag, ex);
+        }
+    }
+
+    public synchronized int numOutstanding() {
+        return outstanding.size();
+    }
+
+    public static class PendingDelivery {
+
+        private final long deliveryTag;
+
+        private boolean settled;
+
+        private boolean acked;
+
+        PendingDelivery(long deliveryTag) {
+            this.deliveryTag = deliveryTag;
+        }
+
+        public long getDeliveryTag() {
+            return deliveryTag;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.common.config.connector.Config;
 import org.apache.eventmesh.common.config.connector.mq.rabbitmq.RabbitMQSourceConfig;
 import org.apache.eventmesh.common.config.connector.mq.rabbitmq.SourceConnectorConfig;
+import org.apache.eventmesh.common.utils.ThreadUtils;
+import org.apache.eventmesh.connector.rabbitmq.client.RabbitmqAckTracker;
 import org.apache.eventmesh.connector.rabbitmq.client.RabbitmqClient;
 import org.apache.eventmesh.connector.rabbitmq.client.RabbitmqConnectionFactory;
 import org.apache.eventmesh.connector.rabbitmq.cloudevent.RabbitmqCloudEvent;
@@ -32,7 +34,9 @@ import org.apache.eventmesh.openconnect.util.CloudEventUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -40,9 +44,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.cloudevents.CloudEvent;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
 
 import lombok.extern.slf4j.Slf4j;
@@ -50,11 +57,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RabbitMQSourceConnector implements Source {
 
+    private static final String CONSUME_MODE_PULL = "pull";
+
+    private static final long PULL_IDLE_WAIT_MILLIS = 100;
+
     private RabbitMQSourceConfig sourceConfig;
 
     private volatile boolean started = false;
 
-    private BlockingQueue<CloudEvent> queue;
+    private BlockingQueue<ConnectRecord> queue;
 
     private int maxBatchSize;
 
@@ -64,6 +75,14 @@ public class RabbitMQSourceConnector implements Source {
 
     private RabbitMQSourceHandler rabbitMQSourceHandler;
 
+    private RabbitmqAckTracker ackTracker;
+
+    /**
+     * Deliveries to acknowledge once their record is committed, by record id. Kept out of the record extensions so
+     * they never reach a sink.
+     */
+    private final Map<String, RabbitmqAckTracker.PendingDelivery> pendingDeliveries = new ConcurrentHashMap<>();
+
     private RabbitmqClient rabbitmqClient;
 
     private Connection connection;
@@ -86,10 +105,10 @@ public class RabbitMQSourceConnector implements Source {
 
     @Override
     public void init(ConnectorContext connectorContext) throws Exception {
+        this.sourceConfig = (RabbitMQSourceConfig) ((SourceConnectorContext) connectorContext).getSourceConfig();
         this.queue = new LinkedBlockingQueue<>(sourceConfig.getPollConfig().getCapacity());
         this.maxBatchSize = sourceConfig.getPollConfig().getMaxBatchSize();
         this.maxPollWaitTime = sourceConfig.getPollConfig().getMaxWaitTime();
-        this.sourceConfig = (RabbitMQSourceConfig) ((SourceConnectorContext) connectorContext).getSourceConfig();
         this.rabbitmqClient = new RabbitmqClient(rabbitmqConnectionFactory);
         this.connection = rabbitmqClient.getConnection(sourceConfig.getConnectorConfig().getHost(),
             sourceConfig.getConnectorConfig().getUsername(),
@@ -97,6 +116,7 @@ public class RabbitMQSourceConnector implements Source {
             sourceConfig.getConnectorConfig().getPort(),
             sourceConfig.getConnectorConfig().getVirtualHost());
         this.channel = rabbitmqConnectionFactory.createChannel(connection);
+        this.ackTracker = new RabbitmqAckTracker(channel, sourceConfig.getConnectorConfig().getAckBatchSize());
         this.rabbitMQSourceHandler = new RabbitMQSourceHandler(channel, sourceConfig.getConnectorConfig());
     }
 
@@ -113,7 +133,10 @@ public class RabbitMQSourceConnector implements Source {
 
     @Override
     public void commit(ConnectRecord record) {
-
+        RabbitmqAckTracker.PendingDelivery delivery = pendingDeliveries.remove(record.getRecordId());
+        if (delivery != null) {
+            ackTracker.settle(delivery, true, false);
+        }
     }
 
     @Override
@@ -123,7 +146,10 @@ public class RabbitMQSourceConnector implements Source {
 
     @Override
     public void onException(ConnectRecord record) {
-
+        RabbitmqAckTracker.PendingDelivery delivery = pendingDeliveries.remove(record.getRecordId());
+        if (delivery != null) {
+            ackTracker.settle(delivery, false, true);
+        }
     }
 
     @Override
@@ -132,9 +158,11 @@ public class RabbitMQSourceConnector implements Source {
             try {
                 rabbitmqClient.unbinding(channel, sourceConfig.getConnectorConfig().getExchangeName(),
                     sourceConfig.getConnectorConfig().getRoutingKey(), sourceConfig.getConnectorConfig().getQueueName());
+                rabbitMQSourceHandler.stop();
                 rabbitmqClient.closeConnection(connection);
                 rabbitmqClient.closeChannel(channel);
-                rabbitMQSourceHandler.stop();
+                // the broker requeues the unacked deliveries of the closed channel
+                pendingDeliveries.clear();
             } finally {
                 started = false;
             }
@@ -149,11 +177,11 @@ public class RabbitMQSourceConnector implements Source {
         List<ConnectRecord> connectRecords = new ArrayList<>(maxBatchSize);
         for (int count = 0; count < maxBatchSize; ++count) {
             try {
-                CloudEvent event = queue.poll(remainingTime, TimeUnit.MILLISECONDS);
-                if (event == null) {
+                ConnectRecord connectRecord = queue.poll(remainingTime, TimeUnit.MILLISECONDS);
+                if (connectRecord == null) {
                     break;
                 }
-                connectRecords.add(CloudEventUtil.convertEventToRecord(event));
+                connectRecords.add(connectRecord);
 
                 // calculate elapsed time and update remaining time for next poll
                 long elapsedTime = System.currentTimeMillis() - startTime;
@@ -170,6 +198,7 @@ public class RabbitMQSourceConnector implements Source {
         private final Channel channel;
         private final SourceConnectorConfig connectorConfig;
         private final AtomicBoolean stop = new AtomicBoolean(false);
+        private volatile String consumerTag;
 
         public RabbitMQSourceHandler(Channel channel, SourceConnectorConfig connectorConfig) {
             this.channel = channel;
@@ -178,27 +207,90 @@ public class RabbitMQSourceConnector implements Source {
 
         @Override
         public void run() {
+            if (CONSUME_MODE_PULL.equalsIgnoreCase(connectorConfig.getConsumeMode())) {
+                pull();
+            } else {
+                push();
+            }
+        }
+
+        private void push() {
+            try {
+                if (!connectorConfig.isAutoAck() && connectorConfig.getPrefetchCount() > 0) {
+                    channel.basicQos(connectorConfig.getPrefetchCount());
+                }
+                consumerTag = channel.basicConsume(connectorConfig.getQueueName(), connectorConfig.isAutoAck(),
+                    new DefaultConsumer(channel) {
+
+                        @Override
+                        public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body) {
+                            handle(envelope.getDeliveryTag(), body);
+                        }
+                    });
+            } catch (Exception ex) {
+                log.error("[RabbitMQSourceHandler] basic consume happen exception.", ex);
+            }
+        }
+
+        private void pull() {
             while (!stop.get()) {
                 try {
                     GetResponse response = channel.basicGet(connectorConfig.getQueueName(), connectorConfig.isAutoAck());
-                    if (response != null) {
-                        RabbitmqCloudEvent rabbitmqCloudEvent = RabbitmqCloudEvent.getFromByteArray(response.getBody());
-                        CloudEvent event = rabbitmqCloudEvent.convertToCloudEvent();
-                        if (event != null) {
-                            queue.add(event);
-                        }
-                        if (!connectorConfig.isAutoAck()) {
-                            channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
-                        }
+                    if (response == null) {
+                        ThreadUtils.sleep(PULL_IDLE_WAIT_MILLIS);
+                        continue;
                     }
+                    handle(response.getEnvelope().getDeliveryTag(), response.getBody());
                 } catch (Exception ex) {
                     log.error("[RabbitMQSourceHandler] thread run happen exception.", ex);
                 }
             }
         }
 
+        private void handle(long deliveryTag, byte[] body) {
+            RabbitmqAckTracker.PendingDelivery delivery = connectorConfig.isAutoAck() ? null : ackTracker.track(deliveryTag);
+            ConnectRecord connectRecord = null;
+            try {
+                RabbitmqCloudEvent rabbitmqCloudEvent = RabbitmqCloudEvent.getFromByteArray(body);
+                CloudEvent event = rabbitmqCloudEvent.convertToCloudEvent();
+                if (event == null) {
+                    if (delivery != null) {
+                        ackTracker.settle(delivery, true, false);
+                    }
+                    return;
+                }
+                connectRecord = CloudEventUtil.convertEventToRecord(event);
+                if (delivery != null) {
+                    // acked once the record is committed
+                    pendingDeliveries.put(connectRecord.getRecordId(), delivery);
+                }
+                // blocks the delivery thread when the queue is full, the prefetch window bounds unacked deliveries
+                queue.put(connectRecord);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                if (delivery != null) {
+                    pendingDeliveries.remove(connectRecord.getRecordId());
+                    ackTracker.settle(delivery, false, true);
+                }
+            } catch (Exception ex) {
+                log.error("[RabbitMQSourceHandler] convert delivery {} happen exception, dropped.", deliveryTag, ex);
+                if (delivery != null) {
+                    ackTracker.settle(delivery, false, false);
+                }
+            }
+        }
+
         public void stop() {
             stop.compareAndSet(false, true);
+            String tag = consumerTag;
+            if (tag != null && channel.isOpen()) {
+                try {
+                    channel.basicCancel(tag);
+                } catch (Exception ex) {
+                    log.error("[RabbitMQSourceHandler] basic cancel happen exception.", ex);
+                }
+            }
+            consumerTag = null;
         }
     }
 }
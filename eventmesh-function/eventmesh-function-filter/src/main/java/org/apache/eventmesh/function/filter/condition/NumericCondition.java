@@ -65,6 +65,9 @@ public class NumericCondition implements Condition {
 
     @Override
     public boolean match(JsonNode inputEvent) {
+        if (inputEvent == null) {
+            return false;
+        }
         if (inputEvent.isNumber()) {
             for (int i = 0; i < operators.size(); ++i) {
                 if (!compareNums(nums.get(i), inputEvent.asDouble(), operators.get(i))) {
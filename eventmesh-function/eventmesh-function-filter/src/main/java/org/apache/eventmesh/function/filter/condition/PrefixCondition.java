@@ -29,6 +29,6 @@ public class PrefixCondition implements Condition {
 
     @Override
     public boolean match(JsonNode inputEvent) {
-        return inputEvent.asText().startsWith(prefix);
+        return inputEvent != null && inputEvent.asText().startsWith(prefix);
     }
 }
@@ -29,6 +29,6 @@ public class SpecifiedCondition implements Condition {
 
     @Override
     public boolean match(JsonNode inputEvent) {
-        return inputEvent.asText().equals(specified.asText());
+        return inputEvent != null && inputEvent.asText().equals(specified.asText());
     }
 }
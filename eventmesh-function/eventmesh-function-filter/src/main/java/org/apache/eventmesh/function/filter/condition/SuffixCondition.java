@@ -29,6 +29,6 @@ public class SuffixCondition implements Condition {
 
     @Override
     public boolean match(JsonNode inputEvent) {
-        return inputEvent.asText().endsWith(this.suffix);
+        return inputEvent != null && inputEvent.asText().endsWith(this.suffix);
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.filter.pattern;
+
+import org.apache.eventmesh.common.exception.JsonException;
+import org.apache.eventmesh.function.api.EventMeshFunction;
+import org.apache.eventmesh.function.filter.PatternEntry;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.CloudEventData;
+import io.cloudevents.SpecVersion;
+import io.cloudevents.types.Time;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+/**
+ * {@link Pattern} with its JSON paths compiled to field accessors, see {@link Pattern#compile()}.
+ *
+ * <p>The event is parsed once and every condition is evaluated against that tree, or against the attributes,
+ * extensions and data of a {@link CloudEvent} without serializing it. A path missing from the event matches
+ * {@code {"exists": false}} and no other condition, and an array matches if one of its elements does.
+ */
+public class CompiledPattern implements EventMeshFunction<String, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<CompiledEntry> requiredFieldList = new ArrayList<>();
+
+    private final List<CompiledEntry> dataList = new ArrayList<>();
+
+    CompiledPattern(List<PatternEntry> requiredFieldList, List<PatternEntry> dataList) {
+        for (PatternEntry patternEntry : requiredFieldList) {
+            this.requiredFieldList.add(new CompiledEntry(patternEntry));
+        }
+        for (PatternEntry patternEntry : dataList) {
+            this.dataList.add(new CompiledEntry(patternEntry));
+        }
+    }
+
+    public boolean filter(String content) {
+        try {
+            return filter(MAPPER.readTree(content));
+        } catch (Exception e) {
+            throw new JsonException("INVALID_JSON_STRING", e);
+        }
+    }
+
+    /**
+     * @param event the event in its JSON form, attributes and extensions at the top level next to the data
+     */
+    public boolean filter(JsonNode event) {
+        for (CompiledEntry entry : requiredFieldList) {
+            if (!entry.match(event, 0)) {
+                return false;
+            }
+        }
+        for (CompiledEntry entry : dataList) {
+            if (!entry.match(event, 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Filter on the attributes and extensions of the event, its data is parsed only if the pattern has data fields
+     * and only as JSON.
+     */
+    public boolean filter(CloudEvent event) {
+        for (CompiledEntry entry : requiredFieldList) {
+            if (!entry.match(attributeNode(event, entry.path[0]), 1)) {
+                return false;
+            }
+        }
+        if (dataList.isEmpty()) {
+            return true;
+        }
+        JsonNode data = dataNode(event.getData());
+        for (CompiledEntry entry : dataList) {
+            if (!entry.match(data, 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String apply(String content) {
+        return filter(content) ? content : null;
+    }
+
+    private static JsonNode attributeNode(CloudEvent event, String name) {
+        Object value = SpecVersion.V1.getAllAttributes().contains(name) ? event.getAttribute(name) : event.getExtension(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String || value instanceof URI || value instanceof SpecVersion) {
+            return JsonNodeFactory.instance.textNode(value.toString());
+        }
+        if (value instanceof OffsetDateTime) {
+            return JsonNodeFactory.instance.textNode(Time.writeTime((OffsetDateTime) value));
+        }
+        return MAPPER.valueToTree(value);
+    }
+
+    private static JsonNode dataNode(CloudEventData data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(data.toBytes());
+        } catch (Exception e) {
+            // not JSON, the data has no fields to match
+            return null;
+        }
+    }
+
+    private static class CompiledEntry {
+
+        private final PatternEntry patternEntry;
+
+        /**
+         * Field names of the path after the root {@code $}
+         */
+        private final String[] path;
+
+        CompiledEntry(PatternEntry patternEntry) {
+            this.patternEntry = patternEntry;
+            String patternPath = patternEntry.getPatternPath();
+            if (!patternPath.startsWith("$.")) {
+                throw new JsonException("INVALID_PATTERN_PATH " + patternPath);
+            }
+            this.path = patternPath.substring(2).split("\\.");
+        }
+
+        /**
+         * @param node node of the event at {@code path[from - 1]}, the root for 0
+         */
+        boolean match(JsonNode node, int from) {
+            for (int i = from; i < path.length && node != null; i++) {
+                node = node.get(path[i]);
+            }
+            if (node != null && node.isArray()) {
+                for (JsonNode element : node) {
+                    if (patternEntry.match(element)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return patternEntry.match(node);
+        }
+    }
+}
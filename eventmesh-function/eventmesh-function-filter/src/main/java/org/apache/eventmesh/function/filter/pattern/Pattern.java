@@ -48,6 +48,13 @@ public class Pattern implements EventMeshFunction<String, String> {
         return matchRequiredFieldList(content, requiredFieldList) && matchRequiredFieldList(content, dataList);
     }
 
+    /**
+     * @return a pattern matching the same fields, which parses the event once for all of them
+     */
+    public CompiledPattern compile() {
+        return new CompiledPattern(requiredFieldList, dataList);
+    }
+
     @Override
     public String apply(String content) {
         // filter content
@@ -21,6 +21,7 @@ import org.apache.eventmesh.common.exception.JsonException;
 import org.apache.eventmesh.function.filter.PatternEntry;
 import org.apache.eventmesh.function.filter.condition.Condition;
 import org.apache.eventmesh.function.filter.condition.ConditionsBuilder;
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
 import org.apache.eventmesh.function.filter.pattern.Pattern;
 
 import java.util.ArrayDeque;
@@ -38,6 +39,12 @@ public class PatternBuilder {
 
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    /**
+     * Extension attributes are named with lower-case letters and digits, see the CloudEvents spec. Only
+     * {@link CompiledPattern} reads them, the json paths of {@link Pattern} accept spec attributes only.
+     */
+    private static final java.util.regex.Pattern EXTENSION_NAME = java.util.regex.Pattern.compile("[a-z0-9]+");
+
 
     public static Pattern build(String jsonStr) {
         try {
@@ -63,7 +70,26 @@ public class PatternBuilder {
         }
     }
 
+    /**
+     * Build a {@link CompiledPattern}, which also accepts extension attributes as top-level keys.
+     */
+    public static CompiledPattern buildCompiled(String jsonStr) {
+        try {
+            JsonNode jsonNode = mapper.readTree(jsonStr);
+            if (jsonNode.isEmpty() || !jsonNode.isObject()) {
+                return null;
+            }
+            return build(jsonNode, true).compile();
+        } catch (Exception e) {
+            throw new JsonException("INVALID_JSON_STRING", e);
+        }
+    }
+
     public static Pattern build(JsonNode jsonNode) {
+        return build(jsonNode, false);
+    }
+
+    private static Pattern build(JsonNode jsonNode, boolean allowExtensions) {
         Pattern pattern = new Pattern();
 
         // iter all json data
@@ -83,7 +109,7 @@ public class PatternBuilder {
                 throw new JsonException("INVALID_JSON_STRING");
             }
 
-            if (!SpecVersion.V1.getAllAttributes().contains(key)) {
+            if (!SpecVersion.V1.getAllAttributes().contains(key) && !(allowExtensions && EXTENSION_NAME.matcher(key).matches())) {
                 throw new JsonException("INVALID_JSON_KEY");
             }
 
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.filter;
+
+import org.apache.eventmesh.common.exception.JsonException;
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
+import org.apache.eventmesh.function.filter.patternbuild.PatternBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class CompiledPatternTest {
+
+    private final String event = "{\n"
+        + "\"id\": \"4b26115b-73e-cf74a******\",\n"
+        + "\"specversion\": \"1.0\",\n"
+        + "\"source\": \"eventmesh.source\",\n"
+        + "\"type\": \"object:put\",\n"
+        + "\"datacontenttype\": \"application/json\",\n"
+        + "\"subject\": \"xxx.jpg\",\n"
+        + "\"time\": \"2022-01-17T12:07:48.955Z\",\n"
+        + "\"data\": {\n"
+        + "\"name\": \"test01\",\n"
+        + "\"state\": \"enable\",\n"
+        + "\"num\": 10 ,\n"
+        + "\"num1\": 50.7, \n"
+        + "\"tags\": [\"a\", \"b\"]\n"
+        + "}\n"
+        + "}";
+
+    private final CloudEvent cloudEvent = CloudEventBuilder.v1()
+        .withId("4b26115b-73e-cf74a******")
+        .withSource(URI.create("eventmesh.source"))
+        .withType("object:put")
+        .withDataContentType("application/json")
+        .withSubject("xxx.jpg")
+        .withExtension("region", "eu-west")
+        .withData("{\"name\":\"test01\",\"state\":\"enable\",\"num\":10,\"num1\":50.7,\"tags\":[\"a\",\"b\"]}"
+            .getBytes(StandardCharsets.UTF_8))
+        .build();
+
+    private CompiledPattern compile(String condition) {
+        return PatternBuilder.buildCompiled(condition);
+    }
+
+    @Test
+    public void testPrefixAndSuffixFilter() {
+        CompiledPattern pattern = compile("{\"source\":[{\"prefix\":\"eventmesh.\"}],\"subject\":[{\"suffix\":\".jpg\"}]}");
+        Assertions.assertTrue(pattern.filter(event));
+        Assertions.assertTrue(pattern.filter(cloudEvent));
+
+        pattern = compile("{\"source\":[{\"prefix\":\"other.\"}]}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+    }
+
+    @Test
+    public void testNumericFilter() {
+        CompiledPattern pattern = compile("{\"data\":{\"num\":[{\"numeric\":[\">\",0,\"<=\",10]}],\"num1\":[{\"numeric\":[\"=\",50.7]}]}}");
+        Assertions.assertTrue(pattern.filter(event));
+        Assertions.assertTrue(pattern.filter(cloudEvent));
+
+        pattern = compile("{\"data\":{\"num\":[{\"numeric\":[\">\",10]}]}}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+    }
+
+    @Test
+    public void testExistsFilter() {
+        CompiledPattern pattern = compile("{\"data\":{\"state\":[{\"exists\":false}]}}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+
+        pattern = compile("{\"data\":{\"missing\":[{\"exists\":false}]}}");
+        Assertions.assertTrue(pattern.filter(event));
+        Assertions.assertTrue(pattern.filter(cloudEvent));
+
+        pattern = compile("{\"data\":{\"missing\":[{\"prefix\":\"a\"}]}}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+    }
+
+    @Test
+    public void testAnythingButFilter() {
+        CompiledPattern pattern = compile("{\"data\":{\"state\":[{\"anything-but\":\"enable\"}]}}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+    }
+
+    @Test
+    public void testArrayFilter() {
+        CompiledPattern pattern = compile("{\"data\":{\"tags\":[\"b\"]}}");
+        Assertions.assertTrue(pattern.filter(event));
+        Assertions.assertTrue(pattern.filter(cloudEvent));
+
+        pattern = compile("{\"data\":{\"tags\":[\"c\"]}}");
+        Assertions.assertFalse(pattern.filter(event));
+        Assertions.assertFalse(pattern.filter(cloudEvent));
+    }
+
+    @Test
+    public void testCloudEventAttributesAndExtensions() {
+        Assertions.assertTrue(compile("{\"datacontenttype\":[\"application/json\"]}").filter(cloudEvent));
+        Assertions.assertTrue(compile("{\"specversion\":[\"1.0\"]}").filter(cloudEvent));
+        Assertions.assertTrue(compile("{\"region\":[{\"prefix\":\"eu-\"}]}").filter(cloudEvent));
+        Assertions.assertFalse(compile("{\"region\":[{\"prefix\":\"us-\"}]}").filter(cloudEvent));
+        Assertions.assertTrue(compile("{\"zone\":[{\"exists\":false}]}").filter(cloudEvent));
+    }
+
+    @Test
+    public void testExtensionKeysOnlyForCompiledPattern() {
+        Assertions.assertThrows(JsonException.class, () -> PatternBuilder.build("{\"region\":[{\"prefix\":\"eu-\"}]}"));
+        Assertions.assertThrows(JsonException.class, () -> compile("{\"Region\":[{\"prefix\":\"eu-\"}]}"));
+    }
+
+    @Test
+    public void testNonJsonData() {
+        CloudEvent textEvent = CloudEventBuilder.v1(cloudEvent)
+            .withData("text/plain", "enable".getBytes(StandardCharsets.UTF_8))
+            .build();
+        Assertions.assertTrue(compile("{\"source\":[{\"prefix\":\"eventmesh.\"}]}").filter(textEvent));
+        Assertions.assertFalse(compile("{\"data\":{\"state\":[\"enable\"]}}").filter(textEvent));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.filter;
+
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
+import org.apache.eventmesh.function.filter.pattern.Pattern;
+import org.apache.eventmesh.function.filter.patternbuild.PatternBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+/**
+ * Compares {@link Pattern}, which runs a json path over the serialized event per condition, with
+ * {@link CompiledPattern} on the same event as JSON and as a {@link CloudEvent}. Run with {@code -prof gc} to see
+ * the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternBenchmark {
+
+    private static final String CONDITION = "{"
+        + "\"source\":[{\"prefix\":\"eventmesh.\"}],"
+        + "\"subject\":[{\"suffix\":\".jpg\"}],"
+        + "\"type\":[\"object:put\"],"
+        + "\"data\":{"
+        + "\"state\":[{\"anything-but\":\"disable\"}],"
+        + "\"num\":[{\"numeric\":[\">\",0,\"<=\",10]}],"
+        + "\"order\":{\"amount\":[{\"numeric\":[\">=\",100]}]}"
+        + "}}";
+
+    private static final String DATA = "{\"name\":\"test01\",\"state\":\"enable\",\"num\":10,\"num1\":50.7,"
+        + "\"order\":{\"id\":\"o-1\",\"amount\":250,\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\"}]}}";
+
+    private Pattern pattern;
+
+    private CompiledPattern compiledPattern;
+
+    private String json;
+
+    private CloudEvent cloudEvent;
+
+    @Setup
+    public void setup() {
+        pattern = PatternBuilder.build(CONDITION);
+        compiledPattern = pattern.compile();
+        json = "{\"id\":\"4b26115b-73e-cf74a\",\"specversion\":\"1.0\",\"source\":\"eventmesh.source\",\"type\":\"object:put\","
+            + "\"datacontenttype\":\"application/json\",\"subject\":\"xxx.jpg\",\"time\":\"2022-01-17T12:07:48.955Z\","
+            + "\"data\":" + DATA + "}";
+        cloudEvent = CloudEventBuilder.v1()
+            .withId("4b26115b-73e-cf74a")
+            .withSource(URI.create("eventmesh.source"))
+            .withType("object:put")
+            .withDataContentType("application/json")
+            .withSubject("xxx.jpg")
+            .withData(DATA.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    @Benchmark
+    public boolean pattern() {
+        return pattern.filter(json);
+    }
+
+    @Benchmark
+    public boolean compiledJson() {
+        return compiledPattern.filter(json);
+    }
+
+    @Benchmark
+    public boolean compiledCloudEvent() {
+        return compiledPattern.filter(cloudEvent);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PatternBenchmark.class.getSimpleName()).build()).run();
+    }
+}
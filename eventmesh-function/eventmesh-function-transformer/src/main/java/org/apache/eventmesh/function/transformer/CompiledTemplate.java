@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.transformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Template} split once into literal text and placeholders, rendered without parsing the template again.
+ *
+ * <p>Supports the syntax of {@link Template} used by transformers: {@code ${name}}, {@code ${name:-default}} and
+ * the {@code $${name}} escape. Values are inserted as they are, they are not substituted in turn.
+ */
+class CompiledTemplate {
+
+    private static final String PREFIX = "${";
+
+    private static final char SUFFIX = '}';
+
+    private static final char ESCAPE = '$';
+
+    private static final String DEFAULT_DELIMITER = ":-";
+
+    private final List<Segment> segments;
+
+    private CompiledTemplate(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * @param template      template text
+     * @param variableIndex index of each variable name in the values passed to {@link #render}
+     * @return the compiled template, or null if it uses nested placeholders, which only {@link Template} resolves
+     */
+    static CompiledTemplate compile(String template, Map<String, Integer> variableIndex) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < template.length()) {
+            int start = template.indexOf(PREFIX, pos);
+            if (start < 0) {
+                literal.append(template, pos, template.length());
+                break;
+            }
+            if (start > pos && template.charAt(start - 1) == ESCAPE) {
+                // $${name} stands for the text ${name}
+                literal.append(template, pos, start - 1).append(PREFIX);
+                pos = start + PREFIX.length();
+                continue;
+            }
+            int end = template.indexOf(SUFFIX, start + PREFIX.length());
+            if (end < 0) {
+                literal.append(template, pos, template.length());
+                break;
+            }
+            String expression = template.substring(start + PREFIX.length(), end);
+            if (expression.contains(PREFIX)) {
+                return null;
+            }
+            literal.append(template, pos, start);
+            if (literal.length() > 0) {
+                segments.add(new Segment(literal.toString()));
+                literal.setLength(0);
+            }
+            String name = expression;
+            String defaultValue = null;
+            int delimiter = expression.indexOf(DEFAULT_DELIMITER);
+            if (delimiter >= 0) {
+                name = expression.substring(0, delimiter);
+                defaultValue = expression.substring(delimiter + DEFAULT_DELIMITER.length());
+            }
+            Integer index = variableIndex.get(name);
+            segments.add(new Segment(index == null ? -1 : index, template.substring(start, end + 1), defaultValue));
+            pos = end + 1;
+        }
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString()));
+        }
+        return new CompiledTemplate(segments);
+    }
+
+    /**
+     * @return whether the template has a placeholder for the variable
+     */
+    boolean uses(int index) {
+        for (Segment segment : segments) {
+            if (segment.index == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param values values of the variables, a null value leaves its placeholder to the default or as it is
+     */
+    void render(String[] values, StringBuilder out) {
+        for (Segment segment : segments) {
+            if (segment.literal != null) {
+                out.append(segment.literal);
+                continue;
+            }
+            String value = segment.index < 0 ? null : values[segment.index];
+            if (value != null) {
+                out.append(value);
+            } else if (segment.defaultValue != null) {
+                out.append(segment.defaultValue);
+            } else {
+                out.append(segment.placeholder);
+            }
+        }
+    }
+
+    private static class Segment {
+
+        private final String literal;
+
+        private final int index;
+
+        private final String placeholder;
+
+        private final String defaultValue;
+
+        Segment(String literal) {
+            this.literal = literal;
+            this.index = -1;
+            this.placeholder = null;
+            this.defaultValue = null;
+        }
+
+        Segment(int index, String placeholder, String defaultValue) {
+            this.literal = null;
+            this.index = index;
+            this.placeholder = placeholder;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.transformer;
+
+import org.apache.eventmesh.common.utils.JsonPathUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+
+/**
+ * {@link TemplateTransformer} with its json paths and template compiled when it is built. The event is parsed once
+ * for all the variables the template uses, and rendered into a per thread buffer.
+ */
+class CompiledTemplateTransformer implements Transformer {
+
+    /**
+     * Buffers grown above this size are not kept for the next event
+     */
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * Compiled paths of the variables the template uses, null for the others
+     */
+    private final JsonPath[] paths;
+
+    /**
+     * Values of the constant variables, whose value is not a definite json path
+     */
+    private final String[] constants;
+
+    private final CompiledTemplate template;
+
+    private CompiledTemplateTransformer(JsonPath[] paths, String[] constants, CompiledTemplate template) {
+        this.paths = paths;
+        this.constants = constants;
+        this.template = template;
+    }
+
+    /**
+     * @return the transformer, or null if the template can only be rendered by {@link TemplateTransformer}
+     */
+    static CompiledTemplateTransformer compile(JsonPathParser jsonPathParser, String template) {
+        if (template == null) {
+            return null;
+        }
+        // a later variable of the same name replaces the former, as in the values map of Template
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (Variable variable : jsonPathParser.getVariablesList()) {
+            variables.remove(variable.getName());
+            variables.put(variable.getName(), variable.getValue());
+        }
+        Map<String, Integer> variableIndex = new LinkedHashMap<>();
+        for (String name : variables.keySet()) {
+            variableIndex.put(name, variableIndex.size());
+        }
+        CompiledTemplate compiledTemplate = CompiledTemplate.compile(template, variableIndex);
+        if (compiledTemplate == null) {
+            return null;
+        }
+
+        JsonPath[] paths = new JsonPath[variables.size()];
+        String[] constants = new String[variables.size()];
+        int index = 0;
+        for (String value : variables.values()) {
+            if (!compiledTemplate.uses(index)) {
+                index++;
+                continue;
+            }
+            if (JsonPathUtils.isValidAndDefinite(value)) {
+                paths[index] = JsonPath.compile(value);
+            } else {
+                constants[index] = value;
+            }
+            index++;
+        }
+        return new CompiledTemplateTransformer(paths, constants, compiledTemplate);
+    }
+
+    @Override
+    public String transform(String json) {
+        String[] values = new String[paths.length];
+        if (json != null && !json.isEmpty()) {
+            ReadContext readContext = null;
+            for (int i = 0; i < paths.length; i++) {
+                if (paths[i] == null) {
+                    values[i] = constants[i];
+                    continue;
+                }
+                if (readContext == null) {
+                    readContext = JsonPathUtils.parseReadContext(json);
+                }
+                values[i] = read(readContext, paths[i]);
+            }
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.render(values, buffer);
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static String read(ReadContext readContext, JsonPath path) {
+        Object value;
+        try {
+            value = readContext.read(path);
+        } catch (InvalidPathException e) {
+            // includes the paths not found in the event
+            value = null;
+        }
+        return value == null ? "null" : value.toString();
+    }
+}
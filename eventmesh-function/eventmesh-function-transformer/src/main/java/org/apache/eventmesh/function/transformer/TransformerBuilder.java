@@ -22,13 +22,21 @@ import java.util.Map;
 public class TransformerBuilder {
 
     public static Transformer buildTransformer(TransformerParam transformerParam) {
+        return buildTransformer(transformerParam, false);
+    }
+
+    /**
+     * @param compiled build template transformers with {@link #buildCompiledTemplateTransformer}
+     */
+    public static Transformer buildTransformer(TransformerParam transformerParam, boolean compiled) {
         switch (transformerParam.getTransformerType()) {
             case ORIGINAL:
                 return buildOriginalTransformer();
             case CONSTANT:
                 return buildConstantTransformer(transformerParam.getValue());
             case TEMPLATE:
-                return buildTemplateTransFormer(transformerParam.getValue(), transformerParam.getTemplate());
+                return compiled ? buildCompiledTemplateTransformer(transformerParam.getValue(), transformerParam.getTemplate())
+                    : buildTemplateTransFormer(transformerParam.getValue(), transformerParam.getTemplate());
             default:
                 throw new TransformException("invalid config");
         }
@@ -40,18 +48,33 @@ public class TransformerBuilder {
      * @param template template string
      * @return transformer
      */
-    @SuppressWarnings("unchecked")
     public static Transformer buildTemplateTransFormer(Object jsonContent, String template) {
-        Template templateEntry = new Template(template);
-        JsonPathParser jsonPathParser;
+        return new TemplateTransformer(buildJsonPathParser(jsonContent), new Template(template));
+    }
+
+    /**
+     * build template transformer which compiles its json paths and template once, and parses each event once for
+     * all the variables. Values are inserted as they are instead of being substituted in turn, and templates with
+     * nested placeholders fall back to {@link #buildTemplateTransFormer}.
+     * @param jsonContent json content, support string and map, other type will throw IllegalArgumentException
+     * @param template template string
+     * @return transformer
+     */
+    public static Transformer buildCompiledTemplateTransformer(Object jsonContent, String template) {
+        JsonPathParser jsonPathParser = buildJsonPathParser(jsonContent);
+        Transformer transformer = CompiledTemplateTransformer.compile(jsonPathParser, template);
+        return transformer != null ? transformer : new TemplateTransformer(jsonPathParser, new Template(template));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonPathParser buildJsonPathParser(Object jsonContent) {
         if (jsonContent instanceof String) {
-            jsonPathParser = new JsonPathParser((String) jsonContent);
+            return new JsonPathParser((String) jsonContent);
         } else if (jsonContent instanceof Map) {
-            jsonPathParser = new JsonPathParser((Map<String, String>) jsonContent);
+            return new JsonPathParser((Map<String, String>) jsonContent);
         } else {
             throw new TransformException("invalid json content");
         }
-        return new TemplateTransformer(jsonPathParser, templateEntry);
     }
 
     public static Transformer buildConstantTransformer(String constant) {
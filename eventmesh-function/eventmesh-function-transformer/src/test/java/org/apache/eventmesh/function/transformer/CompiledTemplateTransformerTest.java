@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.transformer;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompiledTemplateTransformerTest {
+
+    private static final String EVENT = TransformTest.EVENT;
+
+    private static String transform(String extractJson, String template) throws Exception {
+        Transformer transformer = TransformerBuilder.buildCompiledTemplateTransformer(extractJson, template);
+        Assertions.assertTrue(transformer instanceof CompiledTemplateTransformer);
+        return transformer.transform(EVENT);
+    }
+
+    @Test
+    public void testSameOutputAsTemplateTransformer() throws Exception {
+        String extractJson = "{\"name\":\"$.data.name\",\"num\":\"$.data.num\",\"boolean\":\"$.data.boolean\","
+            + "\"nullV\":\"$.data.nullV\",\"no\":\"$.data.no\",\"constant\":\"constant\"}";
+        String template = "name=${name}, num=${num}, boolean=${boolean}, null=${nullV}, no=${no}, constant=${constant}, "
+            + "unknown=${unknown}, default=${unknown:-d}, escaped=$${name}, open=${name";
+        Transformer legacy = TransformerBuilder.buildTemplateTransFormer(extractJson, template);
+
+        String output = transform(extractJson, template);
+        Assertions.assertEquals(legacy.transform(EVENT), output);
+        Assertions.assertEquals("name=test-transformer, num=100, boolean=true, null=null, no=null, constant=constant, "
+            + "unknown=${unknown}, default=d, escaped=${name}, open=${name", output);
+    }
+
+    @Test
+    public void testEmptyContent() throws Exception {
+        Transformer transformer = TransformerBuilder.buildCompiledTemplateTransformer("{\"name\":\"$.data.name\"}", "name is ${name}");
+        Assertions.assertEquals("name is ${name}", transformer.transform(""));
+        Assertions.assertEquals("name is ${name}", transformer.transform(null));
+    }
+
+    @Test
+    public void testMapContent() throws Exception {
+        Transformer transformer = TransformerBuilder.buildCompiledTemplateTransformer(
+            Collections.singletonMap("data-name", "$.data.name"), "Transformers test:data name is ${data-name}");
+        Assertions.assertEquals("Transformers test:data name is test-transformer", transformer.transform(EVENT));
+    }
+
+    @Test
+    public void testValuesNotSubstituted() throws Exception {
+        String event = "{\"data\":{\"name\":\"${secret}\"}}";
+        Transformer transformer = TransformerBuilder.buildCompiledTemplateTransformer(
+            "{\"name\":\"$.data.name\",\"secret\":\"s3cr3t\"}", "name is ${name}");
+        Assertions.assertEquals("name is ${secret}", transformer.transform(event));
+    }
+
+    @Test
+    public void testNestedPlaceholderFallsBack() throws Exception {
+        String extractJson = "{\"key\":\"name\",\"name\":\"$.data.name\"}";
+        String template = "name is ${${key}}";
+        Transformer transformer = TransformerBuilder.buildCompiledTemplateTransformer(extractJson, template);
+        Assertions.assertTrue(transformer instanceof TemplateTransformer);
+        Assertions.assertEquals(TransformerBuilder.buildTemplateTransFormer(extractJson, template).transform(EVENT), transformer.transform(EVENT));
+    }
+}
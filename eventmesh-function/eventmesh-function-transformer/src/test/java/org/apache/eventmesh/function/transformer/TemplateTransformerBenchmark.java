@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.function.transformer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the template transformer, which parses the event once per variable, with the compiled one on a template
+ * of a few variables. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateTransformerBenchmark {
+
+    private static final String EXTRACT_JSON = "{\"id\":\"$.id\",\"source\":\"$.source\",\"name\":\"$.data.name\","
+        + "\"num\":\"$.data.num\",\"flag\":\"$.data.boolean\",\"env\":\"prod\"}";
+
+    private static final String TEMPLATE = "{\"eventId\":\"${id}\",\"from\":\"${source}\",\"name\":\"${name}\","
+        + "\"count\":${num},\"enabled\":${flag},\"env\":\"${env}\"}";
+
+    private Transformer templateTransformer;
+
+    private Transformer compiledTransformer;
+
+    @Setup
+    public void setup() {
+        templateTransformer = TransformerBuilder.buildTemplateTransFormer(EXTRACT_JSON, TEMPLATE);
+        compiledTransformer = TransformerBuilder.buildCompiledTemplateTransformer(EXTRACT_JSON, TEMPLATE);
+    }
+
+    @Benchmark
+    public String template() throws Exception {
+        return templateTransformer.transform(TransformTest.EVENT);
+    }
+
+    @Benchmark
+    public String compiled() throws Exception {
+        return compiledTransformer.transform(TransformTest.EVENT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(TemplateTransformerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.eventmesh.client.tcp.EventMeshTCPClientFactory;
 import org.apache.eventmesh.client.tcp.common.MessageUtils;
 import org.apache.eventmesh.client.tcp.conf.EventMeshTCPClientConfig;
 import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.common.config.connector.PublishConfig;
 import org.apache.eventmesh.common.config.connector.SourceConfig;
 import org.apache.eventmesh.common.config.connector.offset.OffsetStorageConfig;
 import org.apache.eventmesh.common.exception.EventMeshException;
@@ -59,8 +60,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
@@ -73,8 +77,6 @@ public class SourceWorker implements ConnectorWorker {
     private final Source source;
     private final SourceConfig config;
 
-    private static final int MAX_RETRY_TIMES = 3;
-
     public static final String CALLBACK_EXTENSION = "callBackExtension";
 
     private OffsetStorageWriterImpl offsetStorageWriter;
@@ -93,19 +95,48 @@ public class SourceWorker implements ConnectorWorker {
     private final ExecutorService startService =
         ThreadPoolFactory.createSingleExecutor("eventMesh-sourceWorker-startService");
 
+    /**
+     * Single threaded lanes publishing records asynchronously when more than one request is allowed in flight,
+     * otherwise null. The records of a partition share a lane, so they are published one at a time in poll order.
+     */
+    private final ExecutorService[] publishLanes;
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    private final Semaphore inFlightPermits;
+
     private final BlockingQueue<ConnectRecord> queue;
     private final EventMeshTCPClient<CloudEvent> eventMeshTCPClient;
 
     private volatile boolean isRunning = false;
 
     public SourceWorker(Source source, SourceConfig config) {
+        this(source, config, buildEventMeshPubClient(config), null);
+    }
+
+    /**
+     * @param offsetManagementService offset storage, loaded from the offset storage config when null
+     */
+    SourceWorker(Source source, SourceConfig config, EventMeshTCPClient<CloudEvent> eventMeshTCPClient,
+        OffsetManagementService offsetManagementService) {
         this.source = source;
         this.config = config;
         queue = new LinkedBlockingQueue<>(1000);
-        eventMeshTCPClient = buildEventMeshPubClient(config);
+        this.eventMeshTCPClient = eventMeshTCPClient;
+        this.offsetManagementService = offsetManagementService;
+        int maxInFlightRequests = Math.max(config.getPublishConfig().getMaxInFlightRequests(), 1);
+        inFlightPermits = new Semaphore(maxInFlightRequests);
+        if (maxInFlightRequests > 1) {
+            publishLanes = new ExecutorService[maxInFlightRequests];
+            for (int i = 0; i < maxInFlightRequests; i++) {
+                publishLanes[i] = ThreadPoolFactory.createSingleExecutor("eventMesh-sourceWorker-publishService-" + i);
+            }
+        } else {
+            publishLanes = null;
+        }
     }
 
-    private EventMeshTCPClient<CloudEvent> buildEventMeshPubClient(SourceConfig config) {
+    private static EventMeshTCPClient<CloudEvent> buildEventMeshPubClient(SourceConfig config) {
         String meshAddress = config.getPubSubConfig().getMeshAddress();
         String meshIp = meshAddress.split(":")[0];
         int meshPort = Integer.parseInt(meshAddress.split(":")[1]);
@@ -147,10 +178,12 @@ public class SourceWorker implements ConnectorWorker {
         this.offsetManagement = new RecordOffsetManagement();
         this.committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
         OffsetStorageConfig offsetStorageConfig = config.getOffsetStorageConfig();
-        this.offsetManagementService = Optional.ofNullable(offsetStorageConfig)
-            .map(OffsetStorageConfig::getOffsetStorageType)
-            .map(storageType -> EventMeshExtensionFactory.getExtension(OffsetManagementService.class, storageType))
-            .orElse(new DefaultOffsetManagementServiceImpl());
+        if (this.offsetManagementService == null) {
+            this.offsetManagementService = Optional.ofNullable(offsetStorageConfig)
+                .map(OffsetStorageConfig::getOffsetStorageType)
+                .map(storageType -> EventMeshExtensionFactory.getExtension(OffsetManagementService.class, storageType))
+                .orElse(new DefaultOffsetManagementServiceImpl());
+        }
         this.offsetManagementService.initialize(offsetStorageConfig);
         this.offsetStorageWriter = new OffsetStorageWriterImpl(offsetManagementService);
         this.offsetStorageReader = new OffsetStorageReaderImpl(offsetManagementService);
@@ -177,49 +210,108 @@ public class SourceWorker implements ConnectorWorker {
     }
 
     public void startPollAndSend() {
+        PublishConfig publishConfig = config.getPublishConfig();
+        long lastOffsetCommitTime = System.currentTimeMillis();
         while (isRunning) {
             ConnectRecord connectRecord = null;
             try {
-                connectRecord = queue.poll(5, TimeUnit.SECONDS);
+                connectRecord = queue.poll(Math.min(publishConfig.getOffsetCommitInterval(), 5000L), TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.error("poll connect record error", e);
             }
-            if (connectRecord == null) {
-                continue;
+            if (connectRecord != null) {
+                sendRecord(connectRecord);
+            }
+            // update & commit the offsets acknowledged so far, records still in flight keep their partitions pending
+            if (System.currentTimeMillis() - lastOffsetCommitTime >= publishConfig.getOffsetCommitInterval()) {
+                updateCommittableOffsets();
+                commitOffsets();
+                lastOffsetCommitTime = System.currentTimeMillis();
             }
-            // todo: convert connectRecord to cloudevent
-            CloudEvent event = convertRecordToEvent(connectRecord);
-            Optional<RecordOffsetManagement.SubmittedPosition> submittedRecordPosition = prepareToUpdateRecordOffset(connectRecord);
-            Optional<SendMessageCallback> callback = Optional.ofNullable(connectRecord.getExtensionObj(CALLBACK_EXTENSION))
-                .map(v -> (SendMessageCallback) v);
-
-            int retryTimes = 0;
-            // retry until MAX_RETRY_TIMES is reached
-            while (retryTimes < MAX_RETRY_TIMES) {
+        }
+
+        awaitInFlightRecords(publishConfig.getTimeout() * publishConfig.getMaxRetryTimes());
+        updateCommittableOffsets();
+        commitOffsets();
+    }
+
+    private void sendRecord(ConnectRecord connectRecord) {
+        // todo: convert connectRecord to cloudevent
+        CloudEvent event = convertRecordToEvent(connectRecord);
+        Optional<RecordOffsetManagement.SubmittedPosition> submittedRecordPosition = prepareToUpdateRecordOffset(connectRecord);
+        Optional<SendMessageCallback> callback = Optional.ofNullable(connectRecord.getExtensionObj(CALLBACK_EXTENSION))
+            .map(v -> (SendMessageCallback) v);
+
+        if (publishLanes == null) {
+            publishRecord(connectRecord, event, submittedRecordPosition, callback);
+            return;
+        }
+        // block the poll thread once the in-flight window is full, records are acked in order of completion
+        inFlightPermits.acquireUninterruptibly();
+        try {
+            publishLanes[laneOf(connectRecord)].execute(() -> {
                 try {
-                    Package sendResult = eventMeshTCPClient.publish(event, 3000);
-                    if (sendResult.getHeader().getCode() == OPStatus.SUCCESS.getCode()) {
-                        // publish success
-                        // commit record
-                        this.source.commit(connectRecord);
-                        submittedRecordPosition.ifPresent(RecordOffsetManagement.SubmittedPosition::ack);
-                        callback.ifPresent(cb -> cb.onSuccess(convertToSendResult(event)));
-                        break;
-                    }
-                    throw new EventMeshException("failed to send record.");
-                } catch (Throwable t) {
-                    retryTimes++;
-                    log.error("{} failed to send record to {}, retry times = {}, failed record {}, throw {}",
-                        this, event.getSubject(), retryTimes, connectRecord, t.getMessage());
-                    callback.ifPresent(cb -> cb.onException(convertToExceptionContext(event, t)));
+                    publishRecord(connectRecord, event, submittedRecordPosition, callback);
+                } finally {
+                    inFlightPermits.release();
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightPermits.release();
+            log.error("{} failed to submit record {} for publishing", this, connectRecord, e);
+            callback.ifPresent(cb -> cb.onException(convertToExceptionContext(event, e)));
+        }
+    }
+
+    private int laneOf(ConnectRecord connectRecord) {
+        if (connectRecord.getPosition() == null || connectRecord.getPosition().getRecordPartition() == null) {
+            return (roundRobin.getAndIncrement() & Integer.MAX_VALUE) % publishLanes.length;
+        }
+        int hash = connectRecord.getPosition().getRecordPartition().hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % publishLanes.length;
+    }
+
+    private void publishRecord(ConnectRecord connectRecord, CloudEvent event,
+        Optional<RecordOffsetManagement.SubmittedPosition> submittedRecordPosition, Optional<SendMessageCallback> callback) {
+        PublishConfig publishConfig = config.getPublishConfig();
+        int retryTimes = 0;
+        // retry until maxRetryTimes is reached
+        while (retryTimes < publishConfig.getMaxRetryTimes()) {
+            try {
+                Package sendResult = eventMeshTCPClient.publish(event, publishConfig.getTimeout());
+                if (sendResult.getHeader().getCode() == OPStatus.SUCCESS.getCode()) {
+                    // publish success
+                    // commit record
+                    this.source.commit(connectRecord);
+                    submittedRecordPosition.ifPresent(RecordOffsetManagement.SubmittedPosition::ack);
+                    callback.ifPresent(cb -> cb.onSuccess(convertToSendResult(event)));
+                    break;
+                }
+                throw new EventMeshException("failed to send record.");
+            } catch (Throwable t) {
+                retryTimes++;
+                log.error("{} failed to send record to {}, retry times = {}, failed record {}, throw {}",
+                    this, event.getSubject(), retryTimes, connectRecord, t.getMessage());
+                callback.ifPresent(cb -> cb.onException(convertToExceptionContext(event, t)));
             }
+        }
+    }
 
-            offsetManagement.awaitAllMessages(5000, TimeUnit.MILLISECONDS);
-            // update & commit offset
-            updateCommittableOffsets();
-            commitOffsets();
+    private void awaitInFlightRecords(long timeoutMs) {
+        if (publishLanes == null) {
+            return;
+        }
+        int permits = Math.max(config.getPublishConfig().getMaxInFlightRequests(), 1);
+        try {
+            if (inFlightPermits.tryAcquire(permits, timeoutMs, TimeUnit.MILLISECONDS)) {
+                inFlightPermits.release(permits);
+            } else {
+                log.warn("{} timed out waiting for in-flight records, {} records remain unacknowledged", this, offsetManagement.numUnacked());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("{} interrupted while waiting for in-flight records", this);
         }
     }
 
@@ -288,6 +380,12 @@ public class SourceWorker implements ConnectorWorker {
         } catch (InterruptedException e) {
             log.error("awaitTermination error", e);
         }
+        if (publishLanes != null) {
+            log.info("publishService stopping");
+            for (ExecutorService publishLane : publishLanes) {
+                publishLane.shutdown();
+            }
+        }
         log.info("offsetMgmtService stopping");
         offsetManagementService.stop();
 
@@ -322,22 +420,22 @@ public class SourceWorker implements ConnectorWorker {
             this.committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
         }
 
-        if (committableOffsets.isEmpty()) {
+        if (offsetsToCommit.isEmpty()) {
             log.debug("Either no records were produced since the last offset commit, "
                 + "or every record has been filtered out by a transformation "
                 + "or dropped due to transformation or conversion errors.");
             // We continue with the offset commit process here instead of simply returning immediately
             // in order to invoke SourceTask::commit and record metrics for a successful offset commit
         } else {
-            log.info("{} Committing offsets for {} acknowledged messages", this, committableOffsets.numCommittableMessages());
-            if (committableOffsets.hasPending()) {
+            log.info("{} Committing offsets for {} acknowledged messages", this, offsetsToCommit.numCommittableMessages());
+            if (offsetsToCommit.hasPending()) {
                 log.debug("{} There are currently {} pending messages spread across {} source partitions whose offsets will not be committed. "
                         + "The source partition with the most pending messages is {}, with {} pending messages",
                     this,
-                    committableOffsets.numUncommittableMessages(),
-                    committableOffsets.numDeques(),
-                    committableOffsets.largestDequePartition(),
-                    committableOffsets.largestDequeSize());
+                    offsetsToCommit.numUncommittableMessages(),
+                    offsetsToCommit.numDeques(),
+                    offsetsToCommit.largestDequePartition(),
+                    offsetsToCommit.largestDequeSize());
             } else {
                 log.debug("{} There are currently no pending messages for this offset commit; "
                         + "all messages dispatched to the task's producer since the last commit have been acknowledged",
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.openconnect;
+
+import org.apache.eventmesh.client.tcp.EventMeshTCPClient;
+import org.apache.eventmesh.common.config.connector.PubSubConfig;
+import org.apache.eventmesh.common.config.connector.SourceConfig;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.OPStatus;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.remote.offset.RecordOffset;
+import org.apache.eventmesh.common.remote.offset.RecordPartition;
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordOffset;
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordPartition;
+import org.apache.eventmesh.openconnect.api.source.Source;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.storage.OffsetManagementService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+
+public class SourceWorkerTest {
+
+    private final Source source = Mockito.mock(Source.class);
+
+    @SuppressWarnings("unchecked")
+    private final EventMeshTCPClient<CloudEvent> client = Mockito.mock(EventMeshTCPClient.class);
+
+    private final OffsetManagementService offsetManagementService = Mockito.mock(OffsetManagementService.class);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final Map<Integer, AtomicInteger> inFlightByPartition = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean partitionOverlap = new AtomicBoolean();
+
+    /**
+     * "partition:offset" of every published record, in publish order
+     */
+    private final List<String> published = new CopyOnWriteArrayList<>();
+
+    private SourceWorker worker;
+
+    @AfterEach
+    public void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    @Test
+    public void testWindowBoundsInFlightAndKeepsPartitionOrder() throws Exception {
+        List<ConnectRecord> records = new ArrayList<>();
+        for (int offset = 0; offset < 5; offset++) {
+            for (int partition = 0; partition < 4; partition++) {
+                records.add(record(partition, offset));
+            }
+        }
+        startWorker(3, 60000, records, key -> sleep(5));
+
+        Mockito.verify(source, Mockito.timeout(10000).times(records.size())).commit(ArgumentMatchers.any());
+        Assertions.assertTrue(maxInFlight.get() <= 3, "in flight: " + maxInFlight.get());
+        Assertions.assertFalse(partitionOverlap.get());
+        for (int partition = 0; partition < 4; partition++) {
+            List<String> partitionRecords = new ArrayList<>();
+            for (String key : published) {
+                if (key.startsWith(partition + ":")) {
+                    partitionRecords.add(key);
+                }
+            }
+            Assertions.assertEquals(expectedKeys(partition, 5), partitionRecords);
+        }
+    }
+
+    @Test
+    public void testAcksInCompletionOrderAndFlushOnStop() throws Exception {
+        CountDownLatch slowRecord = new CountDownLatch(1);
+        List<ConnectRecord> records = new ArrayList<>();
+        records.add(record(0, 0));
+        for (int offset = 0; offset < 3; offset++) {
+            records.add(record(1, offset));
+        }
+        startWorker(2, 60000, records, key -> {
+            if ("0:0".equals(key)) {
+                await(slowRecord);
+            }
+        });
+
+        // partition 1 completes while the first polled record is still in flight
+        Mockito.verify(source, Mockito.timeout(10000).times(3)).commit(ArgumentMatchers.argThat(r -> partitionOf(r) == 1));
+        Mockito.verify(source, Mockito.never()).commit(ArgumentMatchers.argThat(r -> partitionOf(r) == 0));
+        Mockito.verify(offsetManagementService, Mockito.never()).putPosition(ArgumentMatchers.<Map<RecordPartition, RecordOffset>>any());
+
+        slowRecord.countDown();
+        Mockito.verify(source, Mockito.timeout(10000)).commit(ArgumentMatchers.argThat(r -> partitionOf(r) == 0));
+        worker.stop();
+        worker = null;
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<RecordPartition, RecordOffset>> flushed = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(offsetManagementService).putPosition(flushed.capture());
+        Assertions.assertEquals(0L, offsetOf(flushed.getValue(), 0));
+        Assertions.assertEquals(2L, offsetOf(flushed.getValue(), 1));
+    }
+
+    private void startWorker(int maxInFlightRequests, long offsetCommitInterval, List<ConnectRecord> records,
+        PublishHook hook) throws Exception {
+        PubSubConfig pubSubConfig = new PubSubConfig();
+        pubSubConfig.setMeshAddress("127.0.0.1:10000");
+        pubSubConfig.setSubject("topic");
+        SourceConfig config = new SourceConfig() {
+        };
+        config.setPubSubConfig(pubSubConfig);
+        config.getPublishConfig().setMaxInFlightRequests(maxInFlightRequests);
+        config.getPublishConfig().setOffsetCommitInterval(offsetCommitInterval);
+
+        AtomicBoolean polled = new AtomicBoolean();
+        Mockito.when(source.poll()).thenAnswer(invocation -> {
+            if (polled.compareAndSet(false, true)) {
+                return records;
+            }
+            sleep(10);
+            return Collections.emptyList();
+        });
+        Mockito.when(client.publish(ArgumentMatchers.any(), ArgumentMatchers.anyLong())).thenAnswer(invocation -> {
+            CloudEvent event = invocation.getArgument(0);
+            String key = new String(event.getData().toBytes(), StandardCharsets.UTF_8).replace("\"", "");
+            int partition = Integer.parseInt(key.split(":")[0]);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            if (inFlightByPartition.computeIfAbsent(partition, p -> new AtomicInteger()).incrementAndGet() > 1) {
+                partitionOverlap.set(true);
+            }
+            published.add(key);
+            try {
+                hook.beforeResult(key);
+            } finally {
+                inFlightByPartition.get(partition).decrementAndGet();
+                inFlight.decrementAndGet();
+            }
+            return new Package(new Header(null, OPStatus.SUCCESS.getCode(), null, null));
+        });
+
+        worker = new SourceWorker(source, config, client, offsetManagementService);
+        worker.init();
+        worker.start();
+    }
+
+    private static ConnectRecord record(int partition, long offset) {
+        KafkaRecordPartition recordPartition = new KafkaRecordPartition();
+        recordPartition.setTopic("topic");
+        recordPartition.setPartition(partition);
+        KafkaRecordOffset recordOffset = new KafkaRecordOffset();
+        recordOffset.setOffset(offset);
+        return new ConnectRecord(recordPartition, recordOffset, System.currentTimeMillis(), partition + ":" + offset);
+    }
+
+    private static int partitionOf(ConnectRecord record) {
+        return ((KafkaRecordPartition) record.getPosition().getRecordPartition()).getPartition();
+    }
+
+    private static long offsetOf(Map<RecordPartition, RecordOffset> offsets, int partition) {
+        for (Map.Entry<RecordPartition, RecordOffset> entry : offsets.entrySet()) {
+            if (((KafkaRecordPartition) entry.getKey()).getPartition() == partition) {
+                return ((KafkaRecordOffset) entry.getValue()).getOffset();
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> expectedKeys(int partition, int count) {
+        List<String> keys = new ArrayList<>();
+        for (int offset = 0; offset < count; offset++) {
+            keys.add(partition + ":" + offset);
+        }
+        return keys;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface PublishHook {
+
+        void beforeResult(String key);
+    }
+}
@@ -50,16 +50,20 @@ public class RecordOffsetManagement {
      * @param position
      * @return
      */
-    public SubmittedPosition submitRecord(RecordPosition position) {
+    public synchronized SubmittedPosition submitRecord(RecordPosition position) {
         SubmittedPosition submittedPosition = new SubmittedPosition(position);
         records.computeIfAbsent(position.getRecordPartition(), e -> new LinkedList<>()).add(submittedPosition);
-        // ensure thread safety in operation
-        synchronized (this) {
-            numUnacked.incrementAndGet();
-        }
+        numUnacked.incrementAndGet();
         return submittedPosition;
     }
 
+    /**
+     * @return number of submitted positions that have not been acknowledged yet
+     */
+    public int numUnacked() {
+        return numUnacked.get();
+    }
+
     /**
      * @param submittedPositions
      * @return
@@ -92,7 +96,11 @@ public class RecordOffsetManagement {
         }
     }
 
-    public CommittableOffsets committableOffsets() {
+    /**
+     * Positions may be submitted by the source thread while a background committer collects the acknowledged ones,
+     * so both sides synchronize on this instance.
+     */
+    public synchronized CommittableOffsets committableOffsets() {
         Map<RecordPartition, RecordOffset> offsets = new HashMap<>();
         int totalCommittableMessages = 0;
         int totalUncommittableMessages = 0;
@@ -213,6 +221,24 @@ public class RecordOffsetManagement {
                 newerOffsets.largestDequeSize,
                 newerOffsets.largestDequePartition);
         }
+
+        /**
+         * Combine with a snapshot taken at the same time over other source partitions, such as the one of another sink
+         * lane: message and deque counts add up and the largest deque of both is kept.
+         */
+        public CommittableOffsets mergedWith(CommittableOffsets otherOffsets) {
+            Map<RecordPartition, RecordOffset> offsets = new HashMap<>(this.offsets);
+            offsets.putAll(otherOffsets.offsets);
+
+            boolean otherHasLargestDeque = otherOffsets.largestDequeSize > this.largestDequeSize;
+            return new CommittableOffsets(
+                offsets,
+                this.numCommittableMessages + otherOffsets.numCommittableMessages,
+                this.numUncommittableMessages + otherOffsets.numUncommittableMessages,
+                this.numDeques + otherOffsets.numDeques,
+                otherHasLargestDeque ? otherOffsets.largestDequeSize : this.largestDequeSize,
+                otherHasLargestDeque ? otherOffsets.largestDequePartition : this.largestDequePartition);
+        }
     }
 
     public class SubmittedPosition {
@@ -240,6 +266,12 @@ public class RecordOffsetManagement {
          * @return
          */
         public boolean remove() {
+            synchronized (RecordOffsetManagement.this) {
+                return removeFromDeque();
+            }
+        }
+
+        private boolean removeFromDeque() {
             Deque<SubmittedPosition> deque = records.get(position.getRecordPartition());
             if (deque == null) {
                 return false;
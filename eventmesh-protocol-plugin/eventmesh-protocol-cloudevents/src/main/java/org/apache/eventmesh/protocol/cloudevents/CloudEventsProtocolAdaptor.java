@@ -18,6 +18,7 @@
 package org.apache.eventmesh.protocol.cloudevents;
 
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
 import org.apache.eventmesh.common.protocol.grpc.cloudevents.CloudEventBatch;
 import org.apache.eventmesh.common.protocol.grpc.common.BatchEventMeshCloudEventWrapper;
@@ -140,7 +141,8 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
                 EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(dataContentType);
                 Preconditions.checkNotNull(eventFormat,
                     String.format("DateContentType:%s is not supported", dataContentType));
-                pkg.setBody(eventFormat.serialize(cloudEvent));
+                pkg.setBody(cloudEvent instanceof EnvelopeCloudEvent
+                    ? ((EnvelopeCloudEvent) cloudEvent).serialize(eventFormat) : eventFormat.serialize(cloudEvent));
                 return pkg;
             case CloudEventsProtocolConstant.PROTOCOL_DESC_GRPC_CLOUD_EVENT:
                 return GrpcEventMeshCloudEventProtocolResolver.buildEventMeshCloudEvent(cloudEvent);
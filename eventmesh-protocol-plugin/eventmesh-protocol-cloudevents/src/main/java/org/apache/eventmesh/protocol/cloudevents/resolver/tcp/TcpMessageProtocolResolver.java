@@ -18,6 +18,7 @@
 package org.apache.eventmesh.protocol.cloudevents.resolver.tcp;
 
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.protocol.api.exception.ProtocolHandleException;
 import org.apache.eventmesh.protocol.cloudevents.CloudEventsProtocolConstant;
@@ -28,7 +29,6 @@ import java.nio.charset.StandardCharsets;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.SpecVersion;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.cloudevents.core.format.EventFormat;
 import io.cloudevents.core.provider.EventFormatProvider;
 import io.cloudevents.jackson.JsonFormat;
@@ -39,8 +39,6 @@ public class TcpMessageProtocolResolver {
 
     public static CloudEvent buildEvent(Header header, String cloudEventJson)
         throws ProtocolHandleException {
-        final CloudEventBuilder cloudEventBuilder;
-
         String protocolType = header.getProperty(Constants.PROTOCOL_TYPE).toString();
         String protocolVersion = header.getProperty(Constants.PROTOCOL_VERSION).toString();
         String protocolDesc = header.getProperty(Constants.PROTOCOL_DESC).toString();
@@ -65,12 +63,13 @@ public class TcpMessageProtocolResolver {
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions
                 .checkNotNull(eventFormat, "EventFormat: %s is not supported", JsonFormat.CONTENT_TYPE);
-            CloudEvent event = eventFormat.deserialize(cloudEventJson.getBytes(StandardCharsets.UTF_8));
-            cloudEventBuilder = CloudEventBuilder.from(event);
+            byte[] serialized = cloudEventJson.getBytes(StandardCharsets.UTF_8);
+            // keep the bytes, relaying the event then needs no re-encoding of its data
+            EnvelopeCloudEvent event = EnvelopeCloudEvent.of(eventFormat.deserialize(serialized), serialized, eventFormat.serializedContentType());
             header.getProperties().forEach((k, v) -> {
-                cloudEventBuilder.withExtension(k, v.toString());
+                event.withExtension(k, v.toString());
             });
-            return cloudEventBuilder.build();
+            return event;
         } else {
             throw new ProtocolHandleException(String.format("Unsupported protocolVersion: %s", protocolVersion));
         }
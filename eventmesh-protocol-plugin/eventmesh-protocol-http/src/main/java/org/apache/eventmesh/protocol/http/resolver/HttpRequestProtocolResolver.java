@@ -34,8 +34,6 @@ import java.util.UUID;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.v1.CloudEventBuilder;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-
 public class HttpRequestProtocolResolver {
 
     public static CloudEvent buildEvent(HttpEventWrapper httpEventWrapper) throws ProtocolHandleException {
@@ -79,12 +77,8 @@ public class HttpRequestProtocolResolver {
                 builder.withExtension(lowerExtensionKey, sysHeaderMap.get(extension.getKey()).toString());
             }
 
-            byte[] requestBody = httpEventWrapper.getBody();
-
             if (StringUtils.equals(dataContentType, HttpProtocolConstant.APPLICATION_JSON)) {
-                Map<String, Object> requestBodyMap = JsonUtils.parseTypeReferenceObject(new String(requestBody),
-                    new TypeReference<HashMap<String, Object>>() {
-                    });
+                Map<String, Object> requestBodyMap = httpEventWrapper.getBodyMap();
 
                 String requestURI = httpEventWrapper.getRequestURI();
 
@@ -97,7 +91,7 @@ public class HttpRequestProtocolResolver {
                 builder = builder.withData(JsonUtils.toJSONString(data).getBytes(StandardCharsets.UTF_8));
             } else if (StringUtils.equals(dataContentType, HttpProtocolConstant.PROTOBUF)) {
                 // with data
-                builder = builder.withData(requestBody);
+                builder = builder.withData(httpEventWrapper.getBody());
             }
             return builder.build();
         } catch (Exception e) {
@@ -18,28 +18,74 @@
 package org.apache.eventmesh.retry.api;
 
 import org.apache.eventmesh.common.EventMeshThreadFactory;
+import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.common.config.CommonConfiguration;
+import org.apache.eventmesh.retry.api.strategy.BackoffStrategy;
+import org.apache.eventmesh.retry.api.strategy.ExponentialBackoffStrategy;
 import org.apache.eventmesh.retry.api.timer.HashedWheelTimer;
+import org.apache.eventmesh.retry.api.timer.HierarchicalTimingWheelTimer;
 import org.apache.eventmesh.retry.api.timer.Timer;
 import org.apache.eventmesh.retry.api.timer.TimerTask;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Schedules in-memory retries. Each protocol server owns one retryer, so every protocol gets its own timer, task
+ * threads and {@code maxPendingTimeouts} budget; the scheduler and the backoff are read from the
+ * {@code eventMesh.server.retry.scheduler.*} and {@code eventMesh.server.retry.backoff.*} configuration.
+ */
 @Slf4j
 public abstract class AbstractRetryer implements Retryer {
 
+    public static final String SCHEDULER_TIMING_WHEEL = "timingWheel";
+
+    public static final String SCHEDULER_HASHED_WHEEL = "hashedWheel";
+
+    private final String name;
+
+    private final CommonConfiguration configuration;
+
+    private final BackoffStrategy backoffStrategy;
+
+    private final AtomicLong droppedTimeouts = new AtomicLong(0);
+
+    private volatile long lagInMills;
+
     private volatile Timer timer;
 
-    private static final int MAX_PENDING_TIMEOUTS = 10000;
+    private volatile ExecutorService taskExecutor;
+
+    protected AbstractRetryer() {
+        this("failback-cluster", new CommonConfiguration());
+    }
+
+    protected AbstractRetryer(String name, CommonConfiguration configuration) {
+        this.name = name;
+        this.configuration = configuration;
+        this.backoffStrategy = new ExponentialBackoffStrategy(
+            configuration.getEventMeshRetryBackoffMultiplier(),
+            configuration.getEventMeshRetryBackoffMaxDelayInMills(),
+            configuration.getEventMeshRetryBackoffJitter());
+    }
 
     @Override
     public void newTimeout(TimerTask timerTask, long delay, TimeUnit timeUnit) {
-        log.debug("[HASHED-WHEEL-TIMER] executed! taskClass={}, nowTime={}",
-            timeUnit.getClass().getName(), new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
-        timer.newTimeout(timerTask, delay, timeUnit);
+        long delayInMills = backoffStrategy.nextDelayInMills(timerTask.getRetryTimes(), timeUnit.toMillis(delay));
+        log.debug("[{}-retry] new timeout, taskClass={}, retryTimes={}, delay={}ms",
+            name, timerTask.getClass().getName(), timerTask.getRetryTimes(), delayInMills);
+        try {
+            timer.newTimeout(new LagRecordingTask(timerTask, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayInMills)),
+                delayInMills, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            droppedTimeouts.incrementAndGet();
+            log.warn("[{}-retry] retry dropped, taskClass={}, cause={}", name, timerTask.getClass().getName(), e.getMessage());
+        }
     }
 
     @Override
@@ -47,20 +93,38 @@ public abstract class AbstractRetryer implements Retryer {
         if (timer == null) {
             synchronized (this) {
                 if (timer == null) {
-                    timer = new HashedWheelTimer(
-                        new EventMeshThreadFactory("failback-cluster-timer", true),
-                        1,
-                        TimeUnit.SECONDS, 512, MAX_PENDING_TIMEOUTS);
+                    timer = createTimer();
                 }
             }
         }
-        log.info("EventMesh retryer started......");
+        log.info("EventMesh {} retryer started......", name);
+    }
+
+    private Timer createTimer() {
+        long maxPendingTimeouts = configuration.getEventMeshRetrySchedulerMaxPendingTimeouts();
+        if (SCHEDULER_HASHED_WHEEL.equals(configuration.getEventMeshRetrySchedulerType())) {
+            return new HashedWheelTimer(
+                new EventMeshThreadFactory(name + "-retry-timer", true),
+                configuration.getEventMeshRetrySchedulerTickInMills(),
+                TimeUnit.MILLISECONDS, configuration.getEventMeshRetrySchedulerWheelSize(), maxPendingTimeouts);
+        }
+        int threads = Math.max(1, configuration.getEventMeshRetrySchedulerThreads());
+        // maxPendingTimeouts also covers the tasks waiting in this queue, so it does not need a bound of its own
+        taskExecutor = ThreadPoolFactory.createThreadPoolExecutor(threads, threads, new LinkedBlockingQueue<>(),
+            name + "-retry-executor", true);
+        return new HierarchicalTimingWheelTimer(
+            new EventMeshThreadFactory(name + "-retry-timer", true),
+            configuration.getEventMeshRetrySchedulerTickInMills(),
+            TimeUnit.MILLISECONDS, configuration.getEventMeshRetrySchedulerWheelSize(), maxPendingTimeouts, taskExecutor);
     }
 
     @Override
     public void shutdown() {
         timer.stop();
-        log.info("EventMesh retryer shutdown......");
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+        log.info("EventMesh {} retryer shutdown......", name);
     }
 
     @Override
@@ -71,17 +135,67 @@ public abstract class AbstractRetryer implements Retryer {
         return timer.pendingTimeouts();
     }
 
+    @Override
+    public long getDroppedTimeouts() {
+        return droppedTimeouts.get();
+    }
+
+    @Override
+    public long getLagInMills() {
+        return lagInMills;
+    }
+
     @Override
     public void printState() {
         if (timer == null) {
-            log.warn("No HashedWheelTimer is provided!");
+            log.warn("No retry timer is provided!");
             return;
         }
-        HashedWheelTimer hashedWheelTimer = (HashedWheelTimer) timer;
 
-        log.info("[Retry-HashedWheelTimer] state==================");
-        log.info("Running :{}", !hashedWheelTimer.isStop());
-        log.info("Pending Timeouts: {} | Cancelled Timeouts: {}", hashedWheelTimer.pendingTimeouts(), hashedWheelTimer.cancelledTimeouts());
+        log.info("[Retry-{}] state==================", timer.getClass().getSimpleName());
+        log.info("Running :{}", !timer.isStop());
+        if (timer instanceof HashedWheelTimer) {
+            log.info("Pending Timeouts: {} | Cancelled Timeouts: {}", timer.pendingTimeouts(), ((HashedWheelTimer) timer).cancelledTimeouts());
+        } else {
+            log.info("Pending Timeouts: {}", timer.pendingTimeouts());
+        }
+        log.info("Dropped Timeouts: {} | Lag: {}ms", droppedTimeouts.get(), lagInMills);
         log.info("========================================");
     }
+
+    /**
+     * Records how late the retry actually starts compared with its deadline.
+     */
+    private final class LagRecordingTask implements TimerTask {
+
+        private final TimerTask task;
+
+        private final long deadlineNanos;
+
+        LagRecordingTask(TimerTask task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() throws Exception {
+            lagInMills = Math.max(0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadlineNanos));
+            task.run();
+        }
+
+        @Override
+        public void setExecuteTimeHook(long executeTime) {
+            task.setExecuteTimeHook(executeTime);
+        }
+
+        @Override
+        public int getRetryTimes() {
+            return task.getRetryTimes();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
 }
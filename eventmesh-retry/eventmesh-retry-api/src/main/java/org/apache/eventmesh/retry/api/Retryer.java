@@ -32,6 +32,16 @@ public interface Retryer {
 
     long getPendingTimeouts();
 
+    /**
+     * Number of retries rejected because too many were pending.
+     */
+    long getDroppedTimeouts();
+
+    /**
+     * How late, in milliseconds, the most recent retry started after its scheduled time.
+     */
+    long getLagInMills();
+
     void printState();
 
     void newTimeout(TimerTask timerTask, long delay, TimeUnit timeUnit);
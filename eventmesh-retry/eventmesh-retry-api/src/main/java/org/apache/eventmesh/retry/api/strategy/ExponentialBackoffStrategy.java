@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.retry.api.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Multiplies the base delay by {@code multiplier^retryTimes}, caps it at {@code maxDelayInMills} and then takes a
+ * random share of up to {@code jitter} off it, so that messages failed in one burst are not retried in one burst.
+ * A multiplier of 1 and a jitter of 0 give the plain fixed delay.
+ */
+public class ExponentialBackoffStrategy implements BackoffStrategy {
+
+    private final double multiplier;
+
+    private final long maxDelayInMills;
+
+    private final double jitter;
+
+    /**
+     * @param multiplier      growth factor per retry, at least 1
+     * @param maxDelayInMills upper bound of the delay before jitter, 0 or negative for none
+     * @param jitter          share of the delay that is randomized, between 0 and 1
+     */
+    public ExponentialBackoffStrategy(double multiplier, long maxDelayInMills, double jitter) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1: " + multiplier);
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+        }
+        this.multiplier = multiplier;
+        this.maxDelayInMills = maxDelayInMills > 0 ? maxDelayInMills : Long.MAX_VALUE;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public long nextDelayInMills(int retryTimes, long baseDelayInMills) {
+        if (baseDelayInMills <= 0) {
+            return 0;
+        }
+        double delay = baseDelayInMills * Math.pow(multiplier, Math.max(0, retryTimes));
+        long cappedDelay = delay >= maxDelayInMills ? maxDelayInMills : (long) delay;
+        if (jitter == 0) {
+            return cappedDelay;
+        }
+        return cappedDelay - (long) (cappedDelay * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+}
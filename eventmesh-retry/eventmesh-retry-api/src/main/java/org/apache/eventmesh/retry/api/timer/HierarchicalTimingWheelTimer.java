@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.retry.api.timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Timer} built on hierarchical timing wheels, suited to fine grained (millisecond) tick durations.
+ *
+ * <p>The innermost wheel covers {@code tickDuration * wheelSize}; timeouts further away go to an overflow wheel
+ * whose tick is the whole span of the wheel below, created on demand, so any delay is held in O(1) buckets without
+ * the round counting of {@link HashedWheelTimer}. Only non-empty buckets are put in a {@link DelayQueue}, the worker
+ * thread sleeps until the earliest of them is due instead of waking up on every tick, which keeps a 1ms tick cheap.
+ *
+ * <p>Expired tasks are handed to the given {@link Executor} so that a slow task does not delay the others. A timeout
+ * counts as pending until its task starts running, so {@code maxPendingTimeouts} bounds the executor backlog too.
+ */
+public class HierarchicalTimingWheelTimer implements Timer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheelTimer.class);
+
+    private static final long MAX_POLL_INTERVAL_MILLS = 200;
+
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    private static final int WORKER_STATE_INIT = 0;
+    private static final int WORKER_STATE_STARTED = 1;
+    private static final int WORKER_STATE_SHUTDOWN = 2;
+
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_STATE_INIT);
+
+    private final Thread workerThread;
+
+    private final Executor taskExecutor;
+
+    private final long maxPendingTimeouts;
+
+    private final AtomicLong pendingTimeouts = new AtomicLong(0);
+
+    private final DelayQueue<TimingWheelBucket> delayQueue = new DelayQueue<>();
+
+    private final TimingWheel timingWheel;
+
+    /**
+     * Guards the wheels: adding timeouts only needs the read lock, advancing the clock needs exclusive access.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates a new timer.
+     *
+     * @param threadFactory      a {@link ThreadFactory} that creates the worker thread
+     * @param tickDuration       the duration between ticks of the innermost wheel
+     * @param unit               the time unit of the {@code tickDuration}
+     * @param wheelSize          the number of buckets of each wheel
+     * @param maxPendingTimeouts the maximum number of pending timeouts after which call to
+     *                           {@code newTimeout} will result in {@link RejectedExecutionException}
+     *                           being thrown. No maximum pending timeouts limit is assumed if
+     *                           this value is 0 or negative.
+     * @param taskExecutor       the executor running the expired tasks
+     */
+    public HierarchicalTimingWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int wheelSize,
+        long maxPendingTimeouts, Executor taskExecutor) {
+        if (threadFactory == null) {
+            throw new NullPointerException("threadFactory");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        if (taskExecutor == null) {
+            throw new NullPointerException("taskExecutor");
+        }
+        long tickMills = unit.toMillis(tickDuration);
+        if (tickMills <= 0) {
+            throw new IllegalArgumentException("tickDuration must be at least 1ms: " + tickDuration + " " + unit);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("wheelSize must be greater than 0: " + wheelSize);
+        }
+        this.taskExecutor = taskExecutor;
+        this.maxPendingTimeouts = maxPendingTimeouts;
+        this.timingWheel = new TimingWheel(tickMills, wheelSize, currentTimeMills());
+        this.workerThread = threadFactory.newThread(this::runWorker);
+    }
+
+    public void start() {
+        switch (workerState.get()) {
+            case WORKER_STATE_INIT:
+                if (workerState.compareAndSet(WORKER_STATE_INIT, WORKER_STATE_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case WORKER_STATE_STARTED:
+                break;
+            case WORKER_STATE_SHUTDOWN:
+                throw new IllegalStateException("cannot be started once stopped");
+            default:
+                throw new Error("Invalid WorkerState");
+        }
+    }
+
+    @Override
+    public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+
+        long pendingTimeoutsCount = pendingTimeouts.incrementAndGet();
+        if (maxPendingTimeouts > 0 && pendingTimeoutsCount > maxPendingTimeouts) {
+            pendingTimeouts.decrementAndGet();
+            throw new RejectedExecutionException("Number of pending timeouts ("
+                + pendingTimeoutsCount + ") is greater than or equal to maximum allowed pending "
+                + "timeouts (" + maxPendingTimeouts + ")");
+        }
+
+        start();
+
+        long deadline = currentTimeMills() + unit.toMillis(Math.max(0, delay));
+        // Guard against overflow.
+        if (deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        lock.readLock().lock();
+        try {
+            addTimeout(timeout);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return timeout;
+    }
+
+    private void addTimeout(WheelTimeout timeout) {
+        if (!timingWheel.add(timeout)) {
+            // Already due (or cancelled): run it right away instead of waiting a tick.
+            timeout.expire();
+        }
+    }
+
+    private void runWorker() {
+        while (workerState.get() == WORKER_STATE_STARTED) {
+            try {
+                advanceClock(MAX_POLL_INTERVAL_MILLS);
+            } catch (InterruptedException e) {
+                // stop() interrupts the worker, the loop condition decides whether to go on.
+            } catch (Throwable t) {
+                logger.warn("An exception was thrown while advancing the timing wheel.", t);
+            }
+        }
+    }
+
+    private void advanceClock(long timeoutMills) throws InterruptedException {
+        TimingWheelBucket bucket = delayQueue.poll(timeoutMills, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            while (bucket != null) {
+                timingWheel.advanceClock(bucket.getExpiration());
+                // Re-inserting moves timeouts of an overflow wheel down to a finer wheel, or expires them.
+                bucket.flush(this::addTimeout);
+                bucket = delayQueue.poll();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<Timeout> stop() {
+        if (Thread.currentThread() == workerThread) {
+            throw new IllegalStateException(
+                HierarchicalTimingWheelTimer.class.getSimpleName() + ".stop() cannot be called from " + TimerTask.class.getSimpleName());
+        }
+        if (!workerState.compareAndSet(WORKER_STATE_STARTED, WORKER_STATE_SHUTDOWN)) {
+            workerState.set(WORKER_STATE_SHUTDOWN);
+            return Collections.emptySet();
+        }
+
+        boolean interrupted = false;
+        while (workerThread.isAlive()) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(100);
+            } catch (InterruptedException ignored) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Every non-empty bucket is queued, whether it is due or not.
+        Set<Timeout> unprocessedTimeouts = new HashSet<>();
+        for (TimingWheelBucket bucket : delayQueue) {
+            bucket.flush(timeout -> {
+                if (timeout.cancel()) {
+                    unprocessedTimeouts.add(timeout);
+                }
+            });
+        }
+        delayQueue.clear();
+        return unprocessedTimeouts;
+    }
+
+    @Override
+    public boolean isStop() {
+        return WORKER_STATE_SHUTDOWN == workerState.get();
+    }
+
+    @Override
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Monotonic milliseconds, never negative so that bucket arithmetic stays simple.
+     */
+    private static long currentTimeMills() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ORIGIN_NANOS);
+    }
+
+    /**
+     * One level of the hierarchy, its buckets span {@code tickMills} each.
+     */
+    private final class TimingWheel {
+
+        private final long tickMills;
+
+        private final int wheelSize;
+
+        private final long interval;
+
+        private final TimingWheelBucket[] buckets;
+
+        /**
+         * Always a multiple of {@code tickMills}, only moved forward by the worker under the write lock.
+         */
+        private volatile long currentTime;
+
+        private volatile TimingWheel overflowWheel;
+
+        TimingWheel(long tickMills, int wheelSize, long startMills) {
+            this.tickMills = tickMills;
+            this.wheelSize = wheelSize;
+            // The outermost wheels may span more than a long can hold.
+            this.interval = tickMills > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : tickMills * wheelSize;
+            this.buckets = new TimingWheelBucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new TimingWheelBucket();
+            }
+            this.currentTime = startMills - (startMills % tickMills);
+        }
+
+        /**
+         * @return false if the timeout is already due or cancelled and was not added
+         */
+        boolean add(WheelTimeout timeout) {
+            long deadline = timeout.deadline;
+            if (timeout.isCancelled()) {
+                return false;
+            }
+            long remaining = deadline - currentTime;
+            if (remaining < tickMills) {
+                return false;
+            }
+            if (remaining < interval) {
+                long virtualId = deadline / tickMills;
+                TimingWheelBucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMills)) {
+                    // The bucket was empty or has been flushed since it was last queued.
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            return getOverflowWheel().add(timeout);
+        }
+
+        void advanceClock(long timeMills) {
+            if (timeMills >= currentTime + tickMills) {
+                currentTime = timeMills - (timeMills % tickMills);
+                TimingWheel overflow = overflowWheel;
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private TimingWheel getOverflowWheel() {
+            if (overflowWheel == null) {
+                synchronized (this) {
+                    if (overflowWheel == null) {
+                        overflowWheel = new TimingWheel(interval, wheelSize, currentTime);
+                    }
+                }
+            }
+            return overflowWheel;
+        }
+    }
+
+    private static final class TimingWheelBucket implements Delayed {
+
+        private final AtomicLong expiration = new AtomicLong(-1L);
+
+        private List<WheelTimeout> timeouts = new ArrayList<>();
+
+        synchronized void add(WheelTimeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        /**
+         * @return true if the expiration changed, i.e. the bucket has to be (re)queued
+         */
+        boolean setExpiration(long expirationMills) {
+            return expiration.getAndSet(expirationMills) != expirationMills;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        void flush(Consumer<WheelTimeout> consumer) {
+            List<WheelTimeout> flushed;
+            synchronized (this) {
+                flushed = timeouts;
+                timeouts = new ArrayList<>();
+                expiration.set(-1L);
+            }
+            flushed.forEach(consumer);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - currentTimeMills(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((TimingWheelBucket) other).getExpiration());
+        }
+    }
+
+    private final class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final TimerTask task;
+
+        private final long deadline;
+
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        WheelTimeout(TimerTask task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Timer timer() {
+            return HierarchicalTimingWheelTimer.this;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean cancel() {
+            // The timeout stays in its bucket and is dropped when the bucket is flushed.
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            return true;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                taskExecutor.execute(this::runTask);
+            } catch (Throwable t) {
+                pendingTimeouts.decrementAndGet();
+                logger.warn("An exception was thrown while submitting " + TimerTask.class.getSimpleName() + '.', t);
+            }
+        }
+
+        private void runTask() {
+            pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+                task.setExecuteTimeHook(System.currentTimeMillis());
+            } catch (Throwable t) {
+                logger.warn("An exception was thrown by " + TimerTask.class.getSimpleName() + '.', t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "(deadline: " + (deadline - currentTimeMills()) + " ms later, task: " + task + ')';
+        }
+    }
+}
@@ -36,4 +36,12 @@ public interface TimerTask {
      * @param executeTime execute time
      */
     void setExecuteTimeHook(long executeTime);
+
+    /**
+     * Number of times the task has already been retried, used to back off.
+     * @return retry times
+     */
+    default int getRetryTimes() {
+        return 0;
+    }
 }
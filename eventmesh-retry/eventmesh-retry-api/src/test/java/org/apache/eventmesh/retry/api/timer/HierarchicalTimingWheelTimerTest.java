@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.retry.api.timer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HierarchicalTimingWheelTimerTest {
+
+    private ExecutorService executor;
+
+    private HierarchicalTimingWheelTimer timer;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        // a small wheel so that the test also goes through the overflow wheels
+        timer = new HierarchicalTimingWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 8, 100, executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSubSecondDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.newTimeout(new LatchTask(latch), 50, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        long elapsedMills = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsedMills >= 50, "fired early: " + elapsedMills);
+        Assertions.assertTrue(elapsedMills < 500, "fired late: " + elapsedMills);
+    }
+
+    @Test
+    public void testOverflowWheel() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        timer.newTimeout(new LatchTask(latch), 5, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new LatchTask(latch), 70, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new LatchTask(latch), 600, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, timer.pendingTimeouts());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        AtomicBoolean executed = new AtomicBoolean(false);
+        Timeout timeout = timer.newTimeout(new TimerTask() {
+
+            @Override
+            public void run() {
+                executed.set(true);
+            }
+
+            @Override
+            public void setExecuteTimeHook(long executeTime) {
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(timeout.cancel());
+        Assertions.assertEquals(0, timer.pendingTimeouts());
+        Thread.sleep(100);
+        Assertions.assertFalse(executed.get());
+    }
+
+    @Test
+    public void testMaxPendingTimeouts() {
+        for (int i = 0; i < 100; i++) {
+            timer.newTimeout(new LatchTask(new CountDownLatch(1)), 1, TimeUnit.HOURS);
+        }
+        Assertions.assertThrows(RejectedExecutionException.class,
+            () -> timer.newTimeout(new LatchTask(new CountDownLatch(1)), 1, TimeUnit.HOURS));
+        Assertions.assertEquals(100, timer.stop().size());
+    }
+
+    private static class LatchTask implements TimerTask {
+
+        private final CountDownLatch latch;
+
+        LatchTask(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+
+        @Override
+        public void setExecuteTimeHook(long executeTime) {
+        }
+    }
+}
@@ -67,18 +67,14 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
@@ -103,7 +99,10 @@ public class ConnectorRuntime implements Runtime {
 
     private Source sourceConnector;
 
-    private Sink sinkConnector;
+    /**
+     * one sink instance per lane, a sink is only ever called from its own lane thread
+     */
+    private final List<Sink> sinkConnectors = new ArrayList<>();
 
     private OffsetStorageWriterImpl offsetStorageWriter;
 
@@ -111,9 +110,13 @@ public class ConnectorRuntime implements Runtime {
 
     private OffsetManagementService offsetManagementService;
 
-    private RecordOffsetManagement offsetManagement;
+    /**
+     * one per lane when lanes are keyed by partition, otherwise a single instance shared by all lanes since a partition
+     * may then span lanes
+     */
+    private RecordOffsetManagement[] offsetManagements;
 
-    private volatile RecordOffsetManagement.CommittableOffsets committableOffsets;
+    private SourceOffsetCommitter offsetCommitter;
 
     private Producer producer;
 
@@ -121,10 +124,10 @@ public class ConnectorRuntime implements Runtime {
 
     private final ExecutorService sourceService = ThreadPoolFactory.createSingleExecutor("eventMesh-sourceService");
 
-    private final ExecutorService sinkService = ThreadPoolFactory.createSingleExecutor("eventMesh-sinkService");
+    private ExecutorService sinkService;
 
 
-    private final BlockingQueue<ConnectRecord> queue;
+    private SinkLanes sinkLanes;
 
     private volatile boolean isRunning = false;
 
@@ -149,7 +152,6 @@ public class ConnectorRuntime implements Runtime {
 
     public ConnectorRuntime(RuntimeInstanceConfig runtimeInstanceConfig) {
         this.runtimeInstanceConfig = runtimeInstanceConfig;
-        this.queue = new LinkedBlockingQueue<>(1000);
     }
 
     @Override
@@ -201,6 +203,11 @@ public class ConnectorRuntime implements Runtime {
     private void initConnectorService() throws Exception {
 
         connectorRuntimeConfig = ConfigService.getInstance().buildConfigInstance(ConnectorRuntimeConfig.class);
+        int laneCount = Math.max(1, connectorRuntimeConfig.getSinkLanes());
+        sinkLanes = new SinkLanes(laneCount, SinkLanes.keyExtractor(connectorRuntimeConfig.getSinkLaneKey()),
+            connectorRuntimeConfig.getQueueType(), connectorRuntimeConfig.getQueueCapacity(),
+            connectorRuntimeConfig.getMaxBatchSize(), connectorRuntimeConfig.getMaxBatchDelayMs());
+        sinkService = ThreadPoolFactory.createThreadPoolExecutor(laneCount, laneCount, "eventMesh-sinkService", false);
 
         FetchJobResponse jobResponse = fetchJobConfig();
         log.info("fetch job config from admin server: {}", JsonUtils.toJSONString(jobResponse));
@@ -220,8 +227,12 @@ public class ConnectorRuntime implements Runtime {
         connectorRuntimeConfig.setSinkConnectorConfig(jobResponse.getConnectorConfig().getSinkConnectorConfig());
 
         // spi load offsetMgmtService
-        this.offsetManagement = new RecordOffsetManagement();
-        this.committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
+        boolean laneByPartition = connectorRuntimeConfig.getSinkLaneKey() == null
+            || SinkLanes.KEY_PARTITION.equalsIgnoreCase(connectorRuntimeConfig.getSinkLaneKey());
+        this.offsetManagements = new RecordOffsetManagement[laneByPartition ? laneCount : 1];
+        for (int i = 0; i < offsetManagements.length; i++) {
+            offsetManagements[i] = new RecordOffsetManagement();
+        }
         OffsetStorageConfig offsetStorageConfig = new OffsetStorageConfig();
         offsetStorageConfig.setOffsetStorageAddr(connectorRuntimeConfig.getRuntimeConfig().get("offsetStorageAddr").toString());
         offsetStorageConfig.setOffsetStorageType(connectorRuntimeConfig.getRuntimeConfig().get("offsetStoragePluginType").toString());
@@ -253,16 +264,19 @@ public class ConnectorRuntime implements Runtime {
         }
         sourceConnector.init(sourceConnectorContext);
 
-        ConnectorCreateService<?> sinkConnectorCreateService =
-            ConnectorPluginFactory.createConnector(connectorRuntimeConfig.getSinkConnectorType() + "-Sink");
-        sinkConnector = (Sink) sinkConnectorCreateService.create();
-
-        SinkConfig sinkConfig = (SinkConfig) ConfigUtil.parse(connectorRuntimeConfig.getSinkConnectorConfig(), sinkConnector.configClass());
-        SinkConnectorContext sinkConnectorContext = new SinkConnectorContext();
-        sinkConnectorContext.setSinkConfig(sinkConfig);
-        sinkConnectorContext.setRuntimeConfig(connectorRuntimeConfig.getRuntimeConfig());
-        sinkConnectorContext.setJobType(jobResponse.getType());
-        sinkConnector.init(sinkConnectorContext);
+        for (int i = 0; i < laneCount; i++) {
+            ConnectorCreateService<?> sinkConnectorCreateService =
+                ConnectorPluginFactory.createConnector(connectorRuntimeConfig.getSinkConnectorType() + "-Sink");
+            Sink sinkConnector = (Sink) sinkConnectorCreateService.create();
+
+            SinkConfig sinkConfig = (SinkConfig) ConfigUtil.parse(connectorRuntimeConfig.getSinkConnectorConfig(), sinkConnector.configClass());
+            SinkConnectorContext sinkConnectorContext = new SinkConnectorContext();
+            sinkConnectorContext.setSinkConfig(sinkConfig);
+            sinkConnectorContext.setRuntimeConfig(connectorRuntimeConfig.getRuntimeConfig());
+            sinkConnectorContext.setJobType(jobResponse.getType());
+            sinkConnector.init(sinkConnectorContext);
+            sinkConnectors.add(sinkConnector);
+        }
 
         statusService.reportJobStatus(connectorRuntimeConfig.getJobID(), JobState.INIT);
 
@@ -311,22 +325,29 @@ public class ConnectorRuntime implements Runtime {
         healthService.start();
 
         isRunning = true;
-        // start sinkService
-        sinkService.execute(() -> {
-            try {
-                startSinkConnector();
-            } catch (Exception e) {
-                isFailed = true;
-                log.error("sink connector start fail", e.getStackTrace());
+        // acks only mark positions, offsets are flushed in the background
+        offsetCommitter = new SourceOffsetCommitter(offsetManagements, offsetStorageWriter, sourceMonitor,
+            connectorRuntimeConfig.getOffsetFlushIntervalMs(), connectorRuntimeConfig.getOffsetFlushMaxMessages());
+        offsetCommitter.start();
+        // start sinkService, one task per lane
+        for (int i = 0; i < sinkLanes.laneCount(); i++) {
+            final int lane = i;
+            sinkService.execute(() -> {
                 try {
-                    this.stop();
-                } catch (Exception ex) {
-                    log.error("Failed to stop after exception", ex);
+                    startSinkConnector(lane);
+                } catch (Exception e) {
+                    isFailed = true;
+                    log.error("sink connector start fail, lane: {}", lane, e);
+                    try {
+                        this.stop();
+                    } catch (Exception ex) {
+                        log.error("Failed to stop after exception", ex);
+                    }
+                } finally {
+                    System.exit(-1);
                 }
-            } finally {
-                System.exit(-1);
-            }
-        });
+            });
+        }
         // start sourceService
         sourceService.execute(() -> {
             try {
@@ -357,11 +378,19 @@ public class ConnectorRuntime implements Runtime {
             statusService.reportJobStatus(connectorRuntimeConfig.getJobID(), JobState.COMPLETE);
         }
         sourceConnector.stop();
-        sinkConnector.stop();
+        for (Sink sinkConnector : sinkConnectors) {
+            sinkConnector.stop();
+        }
+        if (offsetCommitter != null) {
+            // commit whatever has been acknowledged before going down
+            offsetCommitter.stop();
+        }
         monitorService.stop();
         healthService.stop();
         sourceService.shutdown();
-        sinkService.shutdown();
+        if (sinkService != null) {
+            sinkService.shutdown();
+        }
         verifyService.stop();
         statusService.stop();
         if (channel != null && !channel.isShutdown()) {
@@ -384,6 +413,11 @@ public class ConnectorRuntime implements Runtime {
                         record.addExtension("recordUniqueId", record.getRecordId());
                     }
 
+                    // submit the position in poll order, the sink callback only acknowledges it
+                    final int lane = sinkLanes.laneOf(record);
+                    final Optional<RecordOffsetManagement.SubmittedPosition> submittedRecordPosition =
+                        record.getPosition() != null ? prepareToUpdateRecordOffset(lane, record) : Optional.empty();
+
                     // set a callback for this record
                     // if used the memory storage callback will be triggered after sink put success
                     record.setCallback(new SendMessageCallback() {
@@ -394,15 +428,10 @@ public class ConnectorRuntime implements Runtime {
                             sinkMonitor.recordProcess(sinkEndTime - sinkStartTime);
                             // commit record
                             sourceConnector.commit(record);
-                            if (record.getPosition() != null) {
-                                Optional<RecordOffsetManagement.SubmittedPosition> submittedRecordPosition = prepareToUpdateRecordOffset(record);
-                                submittedRecordPosition.ifPresent(RecordOffsetManagement.SubmittedPosition::ack);
-                                log.debug("start wait all messages to commit");
-                                offsetManagement.awaitAllMessages(5000, TimeUnit.MILLISECONDS);
-                                // update & commit offset
-                                updateCommittableOffsets();
-                                commitOffsets();
-                            }
+                            submittedRecordPosition.ifPresent(position -> {
+                                position.ack();
+                                offsetCommitter.onRecordAcked();
+                            });
                             Optional<SendMessageCallback> callback =
                                 Optional.ofNullable(record.getExtensionObj(CALLBACK_EXTENSION)).map(v -> (SendMessageCallback) v);
                             callback.ifPresent(cb -> cb.onSuccess(convertToSendResult(record)));
@@ -423,7 +452,7 @@ public class ConnectorRuntime implements Runtime {
                         }
                     });
 
-                    queue.put(record);
+                    sinkLanes.put(lane, record);
                     long sourceEndTime = System.currentTimeMillis();
                     sourceMonitor.recordProcess(sourceEndTime - sourceStartTime);
 
@@ -447,99 +476,35 @@ public class ConnectorRuntime implements Runtime {
     }
 
 
-    public Optional<RecordOffsetManagement.SubmittedPosition> prepareToUpdateRecordOffset(ConnectRecord record) {
-        return Optional.of(this.offsetManagement.submitRecord(record.getPosition()));
-    }
-
-    public void updateCommittableOffsets() {
-        RecordOffsetManagement.CommittableOffsets newOffsets = offsetManagement.committableOffsets();
-        synchronized (this) {
-            this.committableOffsets = this.committableOffsets.updatedWith(newOffsets);
-        }
+    public Optional<RecordOffsetManagement.SubmittedPosition> prepareToUpdateRecordOffset(int lane, ConnectRecord record) {
+        return Optional.of(offsetManagementOf(lane).submitRecord(record.getPosition()));
     }
 
-    public boolean commitOffsets() {
-        log.info("Start Committing offsets");
-
-        long timeout = System.currentTimeMillis() + 5000L;
-
-        RecordOffsetManagement.CommittableOffsets offsetsToCommit;
-        synchronized (this) {
-            offsetsToCommit = this.committableOffsets;
-            this.committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
-        }
-
-        if (committableOffsets.isEmpty()) {
-            log.debug(
-                "Either no records were produced since the last offset commit, "
-                    + "or every record has been filtered out by a transformation or dropped due to transformation or conversion errors.");
-            // We continue with the offset commit process here instead of simply returning immediately
-            // in order to invoke SourceTask::commit and record metrics for a successful offset commit
-        } else {
-            log.info("{} Committing offsets for {} acknowledged messages", this, committableOffsets.numCommittableMessages());
-            if (committableOffsets.hasPending()) {
-                log.debug(
-                    "{} There are currently {} pending messages spread across {} source partitions whose offsets will not be committed."
-                        + " The source partition with the most pending messages is {}, with {} pending messages",
-                    this,
-                    committableOffsets.numUncommittableMessages(), committableOffsets.numDeques(), committableOffsets.largestDequePartition(),
-                    committableOffsets.largestDequeSize());
-            } else {
-                log.debug(
-                    "{} There are currently no pending messages for this offset commit; "
-                        + "all messages dispatched to the task's producer since the last commit have been acknowledged",
-                    this);
-            }
-        }
-
-        // write offset to memory
-        offsetsToCommit.offsets().forEach(offsetStorageWriter::writeOffset);
-
-        // begin flush
-        if (!offsetStorageWriter.beginFlush()) {
-            return true;
-        }
-
-        // using offsetManagementService to persist offset
-        Future<Void> flushFuture = offsetStorageWriter.doFlush();
-        try {
-            flushFuture.get(Math.max(timeout - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            log.warn("{} Flush of offsets interrupted, cancelling", this);
-            offsetStorageWriter.cancelFlush();
-            return false;
-        } catch (ExecutionException e) {
-            log.error("{} Flush of offsets threw an unexpected exception: ", this, e);
-            offsetStorageWriter.cancelFlush();
-            return false;
-        } catch (TimeoutException e) {
-            log.error("{} Timed out waiting to flush offsets to storage; will try again on next flush interval with latest offsets", this);
-            offsetStorageWriter.cancelFlush();
-            return false;
-        }
-        return true;
+    private RecordOffsetManagement offsetManagementOf(int lane) {
+        return offsetManagements[offsetManagements.length == 1 ? 0 : lane];
     }
 
-    private void startSinkConnector() throws Exception {
+    private void startSinkConnector(int lane) throws Exception {
+        Sink sinkConnector = sinkConnectors.get(lane);
         sinkConnector.start();
         while (isRunning) {
             // TODO: use consumer sub from storage to replace below
-            ConnectRecord connectRecord = null;
+            List<ConnectRecord> connectRecordList = Collections.emptyList();
             try {
-                connectRecord = queue.poll(5, TimeUnit.SECONDS);
+                connectRecordList = sinkLanes.pollBatch(lane, 5, TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.error("poll connect record error", e);
             }
-            if (connectRecord == null) {
+            if (connectRecordList.isEmpty()) {
                 continue;
             }
-            List<ConnectRecord> connectRecordList = new ArrayList<>();
-            connectRecordList.add(connectRecord);
             sinkConnector.put(connectRecordList);
             // if enabled incremental data reporting consistency check
             if (connectorRuntimeConfig.enableIncrementalDataConsistencyCheck) {
-                verifyService.reportVerifyRequest(connectRecord, ConnectorStage.SINK);
+                for (ConnectRecord connectRecord : connectRecordList) {
+                    verifyService.reportVerifyRequest(connectRecord, ConnectorStage.SINK);
+                }
             }
         }
     }
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.runtime.connector;
 
 import org.apache.eventmesh.common.config.Config;
+import org.apache.eventmesh.runtime.util.RecordQueue;
 
 import java.util.Map;
 
@@ -53,4 +54,41 @@ public class ConnectorRuntimeConfig {
 
     public boolean enableIncrementalDataConsistencyCheck = true;
 
+    /**
+     * interval of the background offset commit
+     */
+    private long offsetFlushIntervalMs = 10000;
+
+    /**
+     * commit early once this many records have been acknowledged since the last commit
+     */
+    private int offsetFlushMaxMessages = 1000;
+
+    /**
+     * source to sink hand-off queue, array (pre-allocated ring buffer) or linked
+     */
+    private String queueType = RecordQueue.TYPE_ARRAY;
+
+    private int queueCapacity = 1000;
+
+    /**
+     * max records handed to Sink.put in one call
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * how long the sink side may wait for a batch to fill, 0 only takes what is already queued
+     */
+    private long maxBatchDelayMs = 0;
+
+    /**
+     * number of parallel sink lanes, each with its own sink instance and thread
+     */
+    private int sinkLanes = 1;
+
+    /**
+     * how records are sharded across lanes: partition, or the name of a record extension
+     */
+    private String sinkLaneKey = SinkLanes.KEY_PARTITION;
+
 }
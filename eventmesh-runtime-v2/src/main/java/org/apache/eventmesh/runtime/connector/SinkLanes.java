@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.connector;
+
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+import org.apache.eventmesh.runtime.util.RecordQueue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Shards records across sink lanes by key. Records with the same key always land on the same lane, so they are
+ * delivered in order while different keys are delivered in parallel. Each lane is drained by its own thread.
+ */
+public class SinkLanes {
+
+    /**
+     * shard by {@code RecordPartition}, any other lane key is read from the record extension of that name
+     */
+    public static final String KEY_PARTITION = "partition";
+
+    private final RecordQueue[] queues;
+
+    private final Function<ConnectRecord, Object> keyExtractor;
+
+    /**
+     * spreads records without a key, which carry no ordering requirement
+     */
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public SinkLanes(int laneCount, Function<ConnectRecord, Object> keyExtractor, String queueType, int queueCapacity,
+        int maxBatchSize, long maxBatchDelayMs) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("sink lane count must be positive: " + laneCount);
+        }
+        this.queues = new RecordQueue[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            queues[i] = new RecordQueue(queueType, queueCapacity, maxBatchSize, maxBatchDelayMs);
+        }
+        this.keyExtractor = keyExtractor;
+    }
+
+    public static Function<ConnectRecord, Object> keyExtractor(String laneKey) {
+        if (laneKey == null || KEY_PARTITION.equalsIgnoreCase(laneKey)) {
+            return record -> record.getPosition() == null ? null : record.getPosition().getRecordPartition();
+        }
+        return record -> record.getExtension(laneKey);
+    }
+
+    public int laneCount() {
+        return queues.length;
+    }
+
+    public int laneOf(ConnectRecord record) {
+        if (queues.length == 1) {
+            return 0;
+        }
+        Object key = keyExtractor.apply(record);
+        if (key == null) {
+            return (roundRobin.getAndIncrement() & Integer.MAX_VALUE) % queues.length;
+        }
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % queues.length;
+    }
+
+    public void put(int lane, ConnectRecord record) throws InterruptedException {
+        queues[lane].put(record);
+    }
+
+    public List<ConnectRecord> pollBatch(int lane, long timeout, TimeUnit unit) throws InterruptedException {
+        return queues[lane].pollBatch(timeout, unit);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.connector;
+
+import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.RecordOffsetManagement;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.storage.OffsetStorageWriterImpl;
+import org.apache.eventmesh.runtime.service.monitor.SourceMonitor;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Commits the positions of the source records acknowledged by the sinks. Acks only mark positions in the
+ * {@link RecordOffsetManagement}s, the acknowledged prefix of each partition is committed in the background every flush
+ * interval, early once enough records have been acknowledged since the last commit, and a last time on stop.
+ */
+@Slf4j
+public class SourceOffsetCommitter {
+
+    private final RecordOffsetManagement[] offsetManagements;
+
+    private final OffsetStorageWriterImpl offsetStorageWriter;
+
+    private final SourceMonitor sourceMonitor;
+
+    private final long flushIntervalMs;
+
+    private final int flushMaxMessages;
+
+    private final ScheduledExecutorService offsetCommitService = ThreadPoolFactory.createSingleScheduledExecutor("eventMesh-offsetCommitService");
+
+    private final Object offsetCommitLock = new Object();
+
+    private final AtomicInteger ackedSinceLastCommit = new AtomicInteger(0);
+
+    private final AtomicBoolean offsetCommitRequested = new AtomicBoolean(false);
+
+    private RecordOffsetManagement.CommittableOffsets committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
+
+    /**
+     * @param offsetManagements where the positions are submitted and acknowledged, tracking disjoint partitions
+     * @param sourceMonitor     records the commits, may be null
+     */
+    public SourceOffsetCommitter(RecordOffsetManagement[] offsetManagements, OffsetStorageWriterImpl offsetStorageWriter,
+        SourceMonitor sourceMonitor, long flushIntervalMs, int flushMaxMessages) {
+        this.offsetManagements = offsetManagements;
+        this.offsetStorageWriter = offsetStorageWriter;
+        this.sourceMonitor = sourceMonitor;
+        this.flushIntervalMs = flushIntervalMs;
+        this.flushMaxMessages = flushMaxMessages;
+    }
+
+    public void start() {
+        offsetCommitService.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the background commits, then commit whatever has been acknowledged.
+     */
+    public void stop() {
+        offsetCommitService.shutdown();
+        flush();
+    }
+
+    /**
+     * Request an early commit once enough records have been acknowledged, instead of waiting for the next interval.
+     */
+    public void onRecordAcked() {
+        if (ackedSinceLastCommit.incrementAndGet() >= flushMaxMessages
+            && offsetCommitRequested.compareAndSet(false, true)) {
+            try {
+                offsetCommitService.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                offsetCommitRequested.set(false);
+                log.debug("offset commit service is shut down, skip early commit");
+            }
+        }
+    }
+
+    /**
+     * Collect the acknowledged positions and commit them, recording commit latency and pending depth.
+     */
+    public void flush() {
+        synchronized (offsetCommitLock) {
+            offsetCommitRequested.set(false);
+            ackedSinceLastCommit.set(0);
+            long startTime = System.currentTimeMillis();
+            int committedRecords = 0;
+            boolean success = false;
+            try {
+                updateCommittableOffsets();
+                committedRecords = this.committableOffsets.numCommittableMessages();
+                success = commitOffsets();
+            } catch (Exception e) {
+                log.error("commit offsets fail", e);
+            } finally {
+                if (sourceMonitor != null) {
+                    sourceMonitor.recordOffsetCommit(success, committedRecords, numUnackedPositions(),
+                        System.currentTimeMillis() - startTime);
+                }
+            }
+        }
+    }
+
+    private int numUnackedPositions() {
+        int numUnacked = 0;
+        for (RecordOffsetManagement offsetManagement : offsetManagements) {
+            numUnacked += offsetManagement.numUnacked();
+        }
+        return numUnacked;
+    }
+
+    public void updateCommittableOffsets() {
+        // the lanes track disjoint partitions, so their pending counts add up instead of replacing each other
+        RecordOffsetManagement.CommittableOffsets newOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
+        for (RecordOffsetManagement offsetManagement : offsetManagements) {
+            newOffsets = newOffsets.mergedWith(offsetManagement.committableOffsets());
+        }
+        synchronized (this) {
+            this.committableOffsets = this.committableOffsets.updatedWith(newOffsets);
+        }
+    }
+
+    public boolean commitOffsets() {
+        log.debug("Start Committing offsets");
+
+        long timeout = System.currentTimeMillis() + 5000L;
+
+        RecordOffsetManagement.CommittableOffsets offsetsToCommit;
+        synchronized (this) {
+            offsetsToCommit = this.committableOffsets;
+            this.committableOffsets = RecordOffsetManagement.CommittableOffsets.EMPTY;
+        }
+
+        if (offsetsToCommit.isEmpty()) {
+            log.debug(
+                "Either no records were produced since the last offset commit, "
+                    + "or every record has been filtered out by a transformation or dropped due to transformation or conversion errors.");
+            // We continue with the offset commit process here instead of simply returning immediately
+            // in order to invoke SourceTask::commit and record metrics for a successful offset commit
+        } else {
+            log.info("{} Committing offsets for {} acknowledged messages", this, offsetsToCommit.numCommittableMessages());
+            if (offsetsToCommit.hasPending()) {
+                log.debug(
+                    "{} There are currently {} pending messages spread across {} source partitions whose offsets will not be committed."
+                        + " The source partition with the most pending messages is {}, with {} pending messages",
+                    this,
+                    offsetsToCommit.numUncommittableMessages(), offsetsToCommit.numDeques(), offsetsToCommit.largestDequePartition(),
+                    offsetsToCommit.largestDequeSize());
+            } else {
+                log.debug(
+                    "{} There are currently no pending messages for this offset commit; "
+                        + "all messages dispatched to the task's producer since the last commit have been acknowledged",
+                    this);
+            }
+        }
+
+        // write offset to memory
+        offsetsToCommit.offsets().forEach(offsetStorageWriter::writeOffset);
+
+        // begin flush
+        if (!offsetStorageWriter.beginFlush()) {
+            return true;
+        }
+
+        // using offsetManagementService to persist offset
+        Future<Void> flushFuture = offsetStorageWriter.doFlush();
+        try {
+            flushFuture.get(Math.max(timeout - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.warn("{} Flush of offsets interrupted, cancelling", this);
+            offsetStorageWriter.cancelFlush();
+            return false;
+        } catch (ExecutionException e) {
+            log.error("{} Flush of offsets threw an unexpected exception: ", this, e);
+            offsetStorageWriter.cancelFlush();
+            return false;
+        } catch (TimeoutException e) {
+            log.error("{} Timed out waiting to flush offsets to storage; will try again on next flush interval with latest offsets", this);
+            offsetStorageWriter.cancelFlush();
+            return false;
+        }
+        return true;
+    }
+}
@@ -52,6 +52,7 @@ import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
 import org.apache.eventmesh.openconnect.util.ConfigUtil;
 import org.apache.eventmesh.runtime.Runtime;
 import org.apache.eventmesh.runtime.RuntimeInstanceConfig;
+import org.apache.eventmesh.runtime.util.RecordQueue;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -62,7 +63,6 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -90,7 +90,7 @@ public class FunctionRuntime implements Runtime {
 
     StreamObserver<Payload> requestObserver;
 
-    private final LinkedBlockingQueue<ConnectRecord> queue;
+    private RecordQueue queue;
 
     private FunctionRuntimeConfig functionRuntimeConfig;
 
@@ -115,7 +115,6 @@ public class FunctionRuntime implements Runtime {
 
     public FunctionRuntime(RuntimeInstanceConfig runtimeInstanceConfig) {
         this.runtimeInstanceConfig = runtimeInstanceConfig;
-        this.queue = new LinkedBlockingQueue<>(1000);
     }
 
 
@@ -123,6 +122,8 @@ public class FunctionRuntime implements Runtime {
     public void init() throws Exception {
         // load function runtime config from local file
         this.functionRuntimeConfig = ConfigService.getInstance().buildConfigInstance(FunctionRuntimeConfig.class);
+        this.queue = new RecordQueue(functionRuntimeConfig.getQueueType(), functionRuntimeConfig.getQueueCapacity(),
+            functionRuntimeConfig.getMaxBatchSize(), functionRuntimeConfig.getMaxBatchDelayMs());
 
         // init admin service
         initAdminService();
@@ -427,17 +428,17 @@ public class FunctionRuntime implements Runtime {
 
         // try to get data from queue and send it.
         while (this.isRunning) {
-            ConnectRecord connectRecord = null;
+            List<ConnectRecord> connectRecordList = Collections.emptyList();
             try {
-                connectRecord = queue.poll(5, TimeUnit.SECONDS);
+                connectRecordList = queue.pollBatch(5, TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 log.error("Failed to poll data from queue.", e);
                 Thread.currentThread().interrupt();
             }
 
-            // send data if not null
-            if (connectRecord != null) {
-                sinkConnector.put(Collections.singletonList(connectRecord));
+            // send data if not empty
+            if (!connectRecordList.isEmpty()) {
+                sinkConnector.put(connectRecordList);
             }
         }
     }
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.runtime.function;
 
 import org.apache.eventmesh.common.config.Config;
+import org.apache.eventmesh.runtime.util.RecordQueue;
 
 import java.util.List;
 import java.util.Map;
@@ -53,4 +54,21 @@ public class FunctionRuntimeConfig {
 
     private List<Map<String, Object>> functionConfigs;
 
+    /**
+     * source to sink hand-off queue, array (pre-allocated ring buffer) or linked
+     */
+    private String queueType = RecordQueue.TYPE_ARRAY;
+
+    private int queueCapacity = 1000;
+
+    /**
+     * max records handed to Sink.put in one call
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * how long the sink side may wait for a batch to fill, 0 only takes what is already queued
+     */
+    private long maxBatchDelayMs = 0;
+
 }
@@ -20,6 +20,9 @@ package org.apache.eventmesh.runtime.service.monitor;
 import org.apache.eventmesh.common.enums.ConnectorStage;
 import org.apache.eventmesh.openconnect.api.monitor.AbstractConnectorMonitor;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +34,21 @@ public class SourceMonitor extends AbstractConnectorMonitor {
 
     private String connectorStage = ConnectorStage.SOURCE.name();
 
+    private final LongAdder offsetCommitNum = new LongAdder();
+
+    private final LongAdder offsetCommitFailNum = new LongAdder();
+
+    private final LongAdder committedRecordNum = new LongAdder();
+
+    private final LongAdder offsetCommitTimeCost = new LongAdder();
+
+    private final AtomicLong maxOffsetCommitTimeCost = new AtomicLong();
+
+    /**
+     * positions submitted but not yet acknowledged by the sink, sampled at each offset commit
+     */
+    private final AtomicLong pendingPositionNum = new AtomicLong();
+
     public SourceMonitor(String taskId, String jobId, String ip) {
         super(taskId, jobId, ip);
     }
@@ -40,8 +58,24 @@ public class SourceMonitor extends AbstractConnectorMonitor {
         super.recordProcess(recordCount, timeCost);
     }
 
+    public void recordOffsetCommit(boolean success, int committedRecords, int pendingPositions, long timeCost) {
+        offsetCommitNum.increment();
+        if (!success) {
+            offsetCommitFailNum.increment();
+        }
+        committedRecordNum.add(committedRecords);
+        offsetCommitTimeCost.add(timeCost);
+        maxOffsetCommitTimeCost.updateAndGet(max -> Math.max(max, timeCost));
+        pendingPositionNum.set(pendingPositions);
+    }
+
     @Override
     public void printMetrics() {
         super.printMetrics();
+        long commits = offsetCommitNum.sum();
+        log.info("Offset commits: {}|failed: {}|committed records: {}", commits, offsetCommitFailNum, committedRecordNum);
+        log.info("Offset commit time avg (ms): {}|max (ms): {}", commits > 0 ? offsetCommitTimeCost.sum() / commits : 0,
+            maxOffsetCommitTimeCost);
+        log.info("Pending positions: {}", pendingPositionNum);
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.util;
+
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off between the source and sink threads, drained by the sink side in batches so that
+ * {@code Sink.put(List)} receives as many records as are available instead of one at a time.
+ */
+public class RecordQueue {
+
+    /**
+     * pre-allocated ring buffer, puts do not allocate
+     */
+    public static final String TYPE_ARRAY = "array";
+
+    public static final String TYPE_LINKED = "linked";
+
+    private final BlockingQueue<ConnectRecord> queue;
+
+    private final int maxBatchSize;
+
+    private final long maxBatchDelayMs;
+
+    public RecordQueue(String type, int capacity, int maxBatchSize, long maxBatchDelayMs) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("queue capacity must be positive: " + capacity);
+        }
+        this.queue = TYPE_LINKED.equalsIgnoreCase(type) ? new LinkedBlockingQueue<>(capacity) : new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchDelayMs = Math.max(0, maxBatchDelayMs);
+    }
+
+    public void put(ConnectRecord record) throws InterruptedException {
+        queue.put(record);
+    }
+
+    /**
+     * Wait up to {@code timeout} for the first record, then drain whatever else is queued, lingering up to
+     * {@code maxBatchDelayMs} for the batch to fill.
+     *
+     * @return the drained records, empty if none arrived within the timeout
+     */
+    public List<ConnectRecord> pollBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        ConnectRecord first = queue.poll(timeout, unit);
+        if (first == null) {
+            return new ArrayList<>(0);
+        }
+        List<ConnectRecord> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size() + 1));
+        batch.add(first);
+        if (maxBatchSize == 1) {
+            return batch;
+        }
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        if (maxBatchDelayMs > 0) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMs);
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                ConnectRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+        }
+        return batch;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.connector;
+
+import org.apache.eventmesh.common.config.connector.Config;
+import org.apache.eventmesh.common.remote.offset.file.FileRecordOffset;
+import org.apache.eventmesh.common.remote.offset.file.FileRecordPartition;
+import org.apache.eventmesh.openconnect.api.connector.ConnectorContext;
+import org.apache.eventmesh.openconnect.api.sink.Sink;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+import org.apache.eventmesh.runtime.util.RecordQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Pushes records from many partitions through {@link SinkLanes} into a local file sink that fsyncs every batch, the
+ * way a durable file or JDBC sink commits per {@code put}. With one lane the sink is bound by a single fsync at a
+ * time; each added lane writes its own file, so throughput should grow with the lane count until the disk saturates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SinkLanesBenchmark {
+
+    private static final int RECORDS = 20_000;
+
+    private static final int PARTITIONS = 64;
+
+    @Param({"1", "2", "4", "8"})
+    private int lanes;
+
+    private Path dir;
+
+    private SinkLanes sinkLanes;
+
+    private ExecutorService laneExecutor;
+
+    private volatile boolean running;
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    private List<ConnectRecord> records;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("sink-lanes");
+        sinkLanes = new SinkLanes(lanes, SinkLanes.keyExtractor(SinkLanes.KEY_PARTITION), RecordQueue.TYPE_ARRAY, 1000, 100, 0);
+        records = new ArrayList<>(RECORDS);
+        byte[] payload = new byte[256];
+        for (int i = 0; i < RECORDS; i++) {
+            FileRecordPartition partition = new FileRecordPartition();
+            partition.setFileName("file-" + i % PARTITIONS);
+            FileRecordOffset offset = new FileRecordOffset();
+            offset.setOffset((long) i);
+            records.add(new ConnectRecord(partition, offset, System.currentTimeMillis(), payload));
+        }
+
+        running = true;
+        laneExecutor = Executors.newFixedThreadPool(lanes);
+        for (int i = 0; i < lanes; i++) {
+            final int lane = i;
+            final FsyncFileSink sink = new FsyncFileSink(dir.resolve("lane-" + lane + ".log"));
+            laneExecutor.execute(() -> runLane(lane, sink));
+        }
+    }
+
+    private void runLane(int lane, FsyncFileSink sink) {
+        try {
+            sink.start();
+            while (running) {
+                List<ConnectRecord> batch = sinkLanes.pollBatch(lane, 100, TimeUnit.MILLISECONDS);
+                if (!batch.isEmpty()) {
+                    sink.put(batch);
+                    delivered.addAndGet(batch.size());
+                }
+            }
+            sink.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        running = false;
+        laneExecutor.shutdown();
+        laneExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        File[] files = dir.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long deliver() throws InterruptedException {
+        long target = delivered.get() + RECORDS;
+        for (ConnectRecord record : records) {
+            sinkLanes.put(sinkLanes.laneOf(record), record);
+        }
+        while (delivered.get() < target) {
+            Thread.yield();
+        }
+        return target;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(SinkLanesBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Appends each batch to a local file and forces it to disk before returning.
+     */
+    private static class FsyncFileSink implements Sink {
+
+        private final Path file;
+
+        private FileChannel channel;
+
+        FsyncFileSink(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public Class<? extends Config> configClass() {
+            return Config.class;
+        }
+
+        @Override
+        public void init(Config config) {
+        }
+
+        @Override
+        public void init(ConnectorContext connectorContext) {
+        }
+
+        @Override
+        public void start() throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        @Override
+        public void commit(ConnectRecord record) {
+        }
+
+        @Override
+        public String name() {
+            return "fsync-file";
+        }
+
+        @Override
+        public void onException(ConnectRecord record) {
+        }
+
+        @Override
+        public void stop() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public void put(List<ConnectRecord> sinkRecords) {
+            try {
+                for (ConnectRecord record : sinkRecords) {
+                    channel.write(ByteBuffer.wrap((byte[]) record.getData()));
+                    channel.write(ByteBuffer.wrap("\n".getBytes(StandardCharsets.UTF_8)));
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
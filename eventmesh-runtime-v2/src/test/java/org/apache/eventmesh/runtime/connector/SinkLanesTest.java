@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.connector;
+
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordOffset;
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordPartition;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+import org.apache.eventmesh.runtime.util.RecordQueue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SinkLanesTest {
+
+    private static final int LANES = 4;
+
+    @Test
+    public void testEqualPartitionsMapToSameLane() {
+        SinkLanes lanes = newLanes(SinkLanes.KEY_PARTITION);
+        Set<Integer> usedLanes = new HashSet<>();
+        for (int partition = 0; partition < 32; partition++) {
+            int lane = lanes.laneOf(record(partition, 0));
+            Assertions.assertTrue(lane >= 0 && lane < LANES);
+            // every record builds its own partition instance, equal ones must still share the lane
+            for (int offset = 1; offset < 10; offset++) {
+                Assertions.assertEquals(lane, lanes.laneOf(record(partition, offset)));
+            }
+            usedLanes.add(lane);
+        }
+        Assertions.assertEquals(LANES, usedLanes.size());
+    }
+
+    @Test
+    public void testExtensionKeyMapsToSameLane() {
+        SinkLanes lanes = newLanes("orderId");
+        ConnectRecord record = new ConnectRecord(null, null, System.currentTimeMillis(), "data");
+        record.addExtension("orderId", "order-1");
+        ConnectRecord sameKey = new ConnectRecord(null, null, System.currentTimeMillis(), "data");
+        sameKey.addExtension("orderId", "order-1");
+
+        Assertions.assertEquals(lanes.laneOf(record), lanes.laneOf(sameKey));
+    }
+
+    @Test
+    public void testKeylessRecordsRoundRobin() {
+        SinkLanes lanes = newLanes(SinkLanes.KEY_PARTITION);
+        int[] counts = new int[LANES];
+        int previous = -1;
+        for (int i = 0; i < LANES * 10; i++) {
+            int lane = lanes.laneOf(new ConnectRecord(null, null, System.currentTimeMillis(), i));
+            if (previous >= 0) {
+                Assertions.assertEquals((previous + 1) % LANES, lane);
+            }
+            previous = lane;
+            counts[lane]++;
+        }
+        for (int count : counts) {
+            Assertions.assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void testLaneKeepsRecordOrder() throws Exception {
+        SinkLanes lanes = newLanes(SinkLanes.KEY_PARTITION);
+        int lane = lanes.laneOf(record(7, 0));
+        for (int offset = 0; offset < 5; offset++) {
+            ConnectRecord record = record(7, offset);
+            lanes.put(lanes.laneOf(record), record);
+        }
+
+        List<ConnectRecord> batch = lanes.pollBatch(lane, 1, TimeUnit.SECONDS);
+        Assertions.assertEquals(5, batch.size());
+        for (int offset = 0; offset < 5; offset++) {
+            Assertions.assertEquals(offset, ((KafkaRecordOffset) batch.get(offset).getPosition().getRecordOffset()).getOffset().longValue());
+        }
+    }
+
+    @Test
+    public void testSingleLane() {
+        SinkLanes lanes = new SinkLanes(1, SinkLanes.keyExtractor(null), RecordQueue.TYPE_ARRAY, 16, 8, 0);
+        Assertions.assertEquals(0, lanes.laneOf(record(3, 0)));
+        Assertions.assertEquals(0, lanes.laneOf(new ConnectRecord(null, null, System.currentTimeMillis(), "data")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new SinkLanes(0, SinkLanes.keyExtractor(null), RecordQueue.TYPE_ARRAY, 16, 8, 0));
+    }
+
+    private static SinkLanes newLanes(String laneKey) {
+        return new SinkLanes(LANES, SinkLanes.keyExtractor(laneKey), RecordQueue.TYPE_ARRAY, 64, 16, 0);
+    }
+
+    private static ConnectRecord record(int partition, long offset) {
+        KafkaRecordPartition recordPartition = new KafkaRecordPartition();
+        recordPartition.setTopic("topic");
+        recordPartition.setPartition(partition);
+        KafkaRecordOffset recordOffset = new KafkaRecordOffset();
+        recordOffset.setOffset(offset);
+        return new ConnectRecord(recordPartition, recordOffset, System.currentTimeMillis(), "data");
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.connector;
+
+import org.apache.eventmesh.common.remote.offset.RecordOffset;
+import org.apache.eventmesh.common.remote.offset.RecordPartition;
+import org.apache.eventmesh.common.remote.offset.RecordPosition;
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordOffset;
+import org.apache.eventmesh.common.remote.offset.kafka.KafkaRecordPartition;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.RecordOffsetManagement;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.storage.DefaultOffsetManagementServiceImpl;
+import org.apache.eventmesh.openconnect.offsetmgmt.api.storage.OffsetStorageWriterImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SourceOffsetCommitterTest {
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final BlockingQueue<Map<RecordPartition, RecordOffset>> flushes = new LinkedBlockingQueue<>();
+
+    private final OffsetStorageWriterImpl offsetStorageWriter = new OffsetStorageWriterImpl(new DefaultOffsetManagementServiceImpl() {
+
+        @Override
+        public void putPosition(Map<RecordPartition, RecordOffset> positions) {
+            flushes.add(new HashMap<>(positions));
+        }
+    });
+
+    private final RecordOffsetManagement[] offsetManagements = {new RecordOffsetManagement(), new RecordOffsetManagement()};
+
+    private SourceOffsetCommitter committer;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (committer != null) {
+            committer.stop();
+        }
+        offsetStorageWriter.close();
+    }
+
+    @Test
+    public void testFlushEveryInterval() throws Exception {
+        committer = new SourceOffsetCommitter(offsetManagements, offsetStorageWriter, null, 50, Integer.MAX_VALUE);
+        committer.start();
+        // acked last to first, so that a flush in between has nothing to commit
+        List<RecordOffsetManagement.SubmittedPosition> positions = submit(0, 0, 3);
+        Collections.reverse(positions);
+        ackAll(positions);
+
+        Map<RecordPartition, RecordOffset> flushed = flushes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(flushed);
+        Assertions.assertEquals(2L, offsetOf(flushed, 0));
+
+        positions = submit(0, 3, 2);
+        Collections.reverse(positions);
+        ackAll(positions);
+        flushed = flushes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(flushed);
+        Assertions.assertEquals(4L, offsetOf(flushed, 0));
+    }
+
+    @Test
+    public void testEarlyFlushAtMaxMessages() throws Exception {
+        committer = new SourceOffsetCommitter(offsetManagements, offsetStorageWriter, null, NEVER, 3);
+        committer.start();
+        List<RecordOffsetManagement.SubmittedPosition> positions = submit(0, 0, 3);
+
+        ackAll(positions.subList(0, 2));
+        Assertions.assertNull(flushes.poll(200, TimeUnit.MILLISECONDS));
+
+        ackAll(positions.subList(2, 3));
+        Map<RecordPartition, RecordOffset> flushed = flushes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(flushed);
+        Assertions.assertEquals(2L, offsetOf(flushed, 0));
+    }
+
+    @Test
+    public void testFinalFlushOnStop() throws Exception {
+        committer = new SourceOffsetCommitter(offsetManagements, offsetStorageWriter, null, NEVER, Integer.MAX_VALUE);
+        committer.start();
+        ackAll(submit(0, 0, 5));
+        Assertions.assertNull(flushes.poll(200, TimeUnit.MILLISECONDS));
+
+        committer.stop();
+        committer = null;
+        Map<RecordPartition, RecordOffset> flushed = flushes.poll();
+        Assertions.assertNotNull(flushed);
+        Assertions.assertEquals(4L, offsetOf(flushed, 0));
+    }
+
+    @Test
+    public void testCommitContiguousPrefixOfOutOfOrderAcks() throws Exception {
+        committer = new SourceOffsetCommitter(offsetManagements, offsetStorageWriter, null, NEVER, Integer.MAX_VALUE);
+        List<RecordOffsetManagement.SubmittedPosition> partition0 = submit(0, 0, 5);
+        List<RecordOffsetManagement.SubmittedPosition> partition1 = submit(1, 0, 2);
+
+        partition0.get(3).ack();
+        partition0.get(0).ack();
+        partition0.get(4).ack();
+        partition0.get(1).ack();
+        partition1.get(1).ack();
+        committer.flush();
+        Map<RecordPartition, RecordOffset> flushed = flushes.poll();
+        Assertions.assertNotNull(flushed);
+        // offset 2 is still in flight, and partition 1 has not acked its head yet
+        Assertions.assertEquals(1L, offsetOf(flushed, 0));
+        Assertions.assertEquals(-1L, offsetOf(flushed, 1));
+
+        partition0.get(2).ack();
+        partition1.get(0).ack();
+        committer.flush();
+        flushed = flushes.poll();
+        Assertions.assertNotNull(flushed);
+        Assertions.assertEquals(4L, offsetOf(flushed, 0));
+        Assertions.assertEquals(1L, offsetOf(flushed, 1));
+
+        // nothing new was acknowledged
+        committer.flush();
+        Assertions.assertNull(flushes.poll());
+    }
+
+    /**
+     * Submit the positions of a partition in poll order, each partition tracked by its own lane
+     */
+    private List<RecordOffsetManagement.SubmittedPosition> submit(int partition, long fromOffset, int count) {
+        List<RecordOffsetManagement.SubmittedPosition> positions = new ArrayList<>();
+        for (long offset = fromOffset; offset < fromOffset + count; offset++) {
+            KafkaRecordPartition recordPartition = new KafkaRecordPartition();
+            recordPartition.setTopic("topic");
+            recordPartition.setPartition(partition);
+            KafkaRecordOffset recordOffset = new KafkaRecordOffset();
+            recordOffset.setOffset(offset);
+            positions.add(offsetManagements[partition].submitRecord(new RecordPosition(recordPartition, recordOffset)));
+        }
+        return positions;
+    }
+
+    private void ackAll(List<RecordOffsetManagement.SubmittedPosition> positions) {
+        for (RecordOffsetManagement.SubmittedPosition position : positions) {
+            position.ack();
+            committer.onRecordAcked();
+        }
+    }
+
+    private static long offsetOf(Map<RecordPartition, RecordOffset> offsets, int partition) {
+        for (Map.Entry<RecordPartition, RecordOffset> entry : offsets.entrySet()) {
+            if (((KafkaRecordPartition) entry.getKey()).getPartition() == partition) {
+                return ((KafkaRecordOffset) entry.getValue()).getOffset();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.util;
+
+import org.apache.eventmesh.openconnect.offsetmgmt.api.data.ConnectRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RecordQueueTest {
+
+    @Test
+    public void testPollTimesOutWithoutFirstRecord() throws Exception {
+        RecordQueue queue = new RecordQueue(RecordQueue.TYPE_ARRAY, 16, 8, 0);
+        long start = System.nanoTime();
+        List<ConnectRecord> batch = queue.pollBatch(50, TimeUnit.MILLISECONDS);
+
+        Assertions.assertTrue(batch.isEmpty());
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testDrainIsCappedAtMaxBatchSize() throws Exception {
+        for (String type : new String[] {RecordQueue.TYPE_ARRAY, RecordQueue.TYPE_LINKED}) {
+            RecordQueue queue = new RecordQueue(type, 16, 4, 0);
+            List<ConnectRecord> records = putAll(queue, 10);
+
+            Assertions.assertEquals(records.subList(0, 4), queue.pollBatch(1, TimeUnit.SECONDS), type);
+            Assertions.assertEquals(records.subList(4, 8), queue.pollBatch(1, TimeUnit.SECONDS), type);
+            Assertions.assertEquals(records.subList(8, 10), queue.pollBatch(1, TimeUnit.SECONDS), type);
+            Assertions.assertEquals(0, queue.size(), type);
+        }
+    }
+
+    @Test
+    public void testSingleRecordBatches() throws Exception {
+        RecordQueue queue = new RecordQueue(RecordQueue.TYPE_LINKED, 16, 1, 1000);
+        List<ConnectRecord> records = putAll(queue, 2);
+
+        long start = System.nanoTime();
+        Assertions.assertEquals(records.subList(0, 1), queue.pollBatch(1, TimeUnit.SECONDS));
+        // a batch of one never lingers
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        Assertions.assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testLingerCollectsLateRecords() throws Exception {
+        RecordQueue queue = new RecordQueue(RecordQueue.TYPE_ARRAY, 16, 4, 300);
+        ConnectRecord first = record(0);
+        ConnectRecord late = record(1);
+        queue.put(first);
+        Thread producer = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+                queue.put(late);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        long start = System.nanoTime();
+        List<ConnectRecord> batch = queue.pollBatch(1, TimeUnit.SECONDS);
+        producer.join();
+
+        // the batch did not fill up, so it waited out the whole linger
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertSame(first, batch.get(0));
+        Assertions.assertSame(late, batch.get(1));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void testLingerStopsOnceBatchIsFull() throws Exception {
+        RecordQueue queue = new RecordQueue(RecordQueue.TYPE_LINKED, 16, 3, 5000);
+        List<ConnectRecord> records = putAll(queue, 3);
+
+        long start = System.nanoTime();
+        Assertions.assertEquals(records, queue.pollBatch(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RecordQueue(RecordQueue.TYPE_ARRAY, 0, 1, 0));
+    }
+
+    private static List<ConnectRecord> putAll(RecordQueue queue, int count) throws InterruptedException {
+        List<ConnectRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ConnectRecord record = record(i);
+            queue.put(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static ConnectRecord record(int index) {
+        return new ConnectRecord(null, null, System.currentTimeMillis(), index);
+    }
+}
@@ -117,6 +117,8 @@ public class TCPClientHandler extends AbstractHttpHandler {
                 Optional.ofNullable(userAgent.getGroup()).orElse(""),
                 Optional.ofNullable(userAgent.getPurpose()).orElse(""),
                 "TCP");
+            getClientResponse.setUnackedMsgs(session.getPusher().getTotalUnackMsgs());
+            getClientResponse.setUnackedCapacity(session.getPusher().getUnAckMsg().getCapacity());
             getClientResponseList.add(getClientResponse);
         }
 
@@ -37,6 +37,12 @@ public class GetClientResponse {
     private String purpose;
     private String protocol;
 
+    /**
+     * Pushed msgs waiting for the client ack and the bound of them, only reported for TCP clients
+     */
+    private Integer unackedMsgs;
+    private Integer unackedCapacity;
+
     @JsonCreator
     public GetClientResponse(
         @JsonProperty("env") String env,
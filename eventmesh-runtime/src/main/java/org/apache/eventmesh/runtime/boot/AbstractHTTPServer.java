@@ -21,6 +21,7 @@ import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.common.config.CommonConfiguration;
 import org.apache.eventmesh.common.protocol.http.HttpCommand;
 import org.apache.eventmesh.common.protocol.http.body.Body;
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageRequestBody;
 import org.apache.eventmesh.common.protocol.http.common.EventMeshRetCode;
 import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
 import org.apache.eventmesh.common.protocol.http.common.ProtocolVersion;
@@ -63,9 +64,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -168,17 +167,14 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         initSharableHandlers();
 
         final Thread thread = new Thread(() -> {
-            final ServerBootstrap bootstrap = new ServerBootstrap();
+            final ServerBootstrap bootstrap = newServerBootstrap();
             try {
-                bootstrap.group(this.getBossGroup(), this.getIoGroup())
-                    .channel(useEpoll() ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
-                    .childHandler(new HttpsServerInitializer(useTLS ? SSLContextFactory.getSslContext(eventMeshHttpConfiguration) : null))
+                bootstrap.childHandler(new HttpsServerInitializer(useTLS ? SSLContextFactory.getSslContext(eventMeshHttpConfiguration) : null))
                     .childOption(ChannelOption.SO_KEEPALIVE, Boolean.TRUE);
 
                 log.info("HTTPServer[port={}] started.", this.getPort());
 
-                bootstrap.bind(this.getPort())
-                    .channel()
+                bind(bootstrap, this.getPort())
                     .closeFuture()
                     .sync();
             } catch (Exception e) {
@@ -332,8 +328,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                         requestCommand.createHttpCommandResponse(EventMeshRetCode.EVENTMESH_REQUESTCODE_INVALID);
                     sendResponse(ctx, responseCommand.httpResponse(HttpResponseStatus.BAD_REQUEST));
 
-                    span = TraceUtils.prepareServerSpan(headerMap,
-                        EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, false);
+                    span = prepareRequestSpan(headerMap, bodyMap);
                     TraceUtils.finishSpanWithException(span, headerMap,
                         EventMeshRetCode.EVENTMESH_REQUESTCODE_INVALID.getErrMsg(), null);
                     return;
@@ -346,8 +341,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                     responseCommand = requestCommand.createHttpCommandResponse(EventMeshRetCode.EVENTMESH_RUNTIME_ERR);
                     sendResponse(ctx, responseCommand.httpResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
 
-                    span = TraceUtils.prepareServerSpan(headerMap,
-                        EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, false);
+                    span = prepareRequestSpan(headerMap, bodyMap);
                     TraceUtils.finishSpanWithException(span, headerMap,
                         EventMeshRetCode.EVENTMESH_RUNTIME_ERR.getErrMsg(), e);
                     return;
@@ -387,6 +381,16 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
             requestHeaders.set(EventMeshConstants.REQ_SEND_EVENTMESH_IP, eventMeshHttpConfiguration.getEventMeshServerIp());
         }
 
+        /**
+         * Server span of a request answered before its event is decoded, sampled on the topic and sequence number in
+         * the body which become the subject and id of the event
+         */
+        private Span prepareRequestSpan(final Map<String, Object> headerMap, final Map<String, Object> bodyMap) {
+            return TraceUtils.prepareServerSpan(headerMap, MapUtils.getString(bodyMap, ProtocolKey.TOPIC),
+                MapUtils.getString(bodyMap, SendMessageRequestBody.BIZSEQNO),
+                EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, false);
+        }
+
         private void processHttpCommandRequest(final ChannelHandlerContext ctx, final AsyncContext<HttpCommand> asyncContext) {
             final HttpCommand request = asyncContext.getRequest();
             final HttpRequestProcessor choosed = httpRequestProcessorTable.get(request.getRequestCode());
@@ -402,10 +406,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                             sendResponse(ctx, responseCommand.httpResponse());
                             log.debug("{}", asyncContext.getResponse());
                             final Map<String, Object> traceMap = asyncContext.getRequest().getHeader().toMap();
-                            TraceUtils.finishSpanWithException(TraceUtils.prepareServerSpan(traceMap,
-
-                                    EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN,
-                                    false),
+                            TraceUtils.finishSpanWithException(prepareRequestSpan(traceMap, request.getBody().toMap()),
                                 traceMap,
                                 EventMeshRetCode.EVENTMESH_REJECT_BY_PROCESSOR_ERROR.getErrMsg(), null);
                         }
@@ -446,9 +447,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                     final Map<String, Object> traceMap = asyncContext.getRequest().getHeader().toMap();
 
                     TraceUtils.finishSpanWithException(
-                        TraceUtils.prepareServerSpan(traceMap,
-                            EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN,
-                            false),
+                        prepareRequestSpan(traceMap, request.getBody().toMap()),
                         traceMap,
                         EventMeshRetCode.EVENTMESH_RUNTIME_ERR.getErrMsg(),
                         re);
@@ -531,11 +530,17 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                 pipeline.addFirst(getWorkerGroup(), "ssl", new SslHandler(sslEngine));
             }
 
+            final int maxContentLength = eventMeshHttpConfiguration.getEventMeshHttpMaxContentLength();
             pipeline.addLast(getWorkerGroup(),
                 new HttpRequestDecoder(),
                 new HttpResponseEncoder(),
-                httpConnectionHandler,
-                new HttpObjectAggregator(Integer.MAX_VALUE),
+                httpConnectionHandler);
+            if (eventMeshHttpConfiguration.isEventMeshHttpStreamingBodyEnabled()) {
+                pipeline.addLast(getWorkerGroup(), new StreamingJsonBodyDecoder(maxContentLength,
+                    request -> Objects.nonNull(handlerService) && handlerService.isProcessorWrapper(request)));
+            }
+            pipeline.addLast(getWorkerGroup(),
+                new HttpObjectAggregator(maxContentLength),
                 httpDispatcher);
         }
     }
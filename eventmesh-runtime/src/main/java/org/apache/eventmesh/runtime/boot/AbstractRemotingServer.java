@@ -18,17 +18,19 @@
 package org.apache.eventmesh.runtime.boot;
 
 import org.apache.eventmesh.common.EventMeshThreadFactory;
-import org.apache.eventmesh.common.utils.SystemUtils;
+import org.apache.eventmesh.common.config.CommonConfiguration;
 import org.apache.eventmesh.common.utils.ThreadUtils;
+import org.apache.eventmesh.runtime.core.plugin.ProducerBatchStats;
 import org.apache.eventmesh.runtime.core.protocol.producer.ProducerManager;
 
 import java.util.concurrent.TimeUnit;
 
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.Epoll;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 import lombok.Getter;
@@ -54,41 +56,95 @@ public abstract class AbstractRemotingServer implements RemotingServer {
     @Setter
     private EventExecutorGroup workerGroup;
 
+    private NettyTransport transport;
+
+    private EventLoopMonitor eventLoopMonitor;
+
     protected ProducerManager producerManager;
 
+    private final ProducerBatchStats producerBatchStats = new ProducerBatchStats();
+
     @Setter
     private int port;
 
     protected void buildBossGroup(final String threadPrefix) {
-        if (useEpoll()) {
-            bossGroup = new EpollEventLoopGroup(1, new EventMeshThreadFactory(threadPrefix + "NettyEpoll-Boss", true));
-        } else {
-            bossGroup = new NioEventLoopGroup(1, new EventMeshThreadFactory(threadPrefix + "NettyNio-Boss", true));
-        }
-
+        bossGroup = transport.newEventLoopGroup(getAcceptorThreads(),
+            new EventMeshThreadFactory(threadPrefix + "-Netty" + transport.getDisplayName() + "-Boss", true));
     }
 
     private void buildIOGroup(final String threadPrefix) {
-        if (useEpoll()) {
-            ioGroup = new EpollEventLoopGroup(MAX_THREADS, new EventMeshThreadFactory(threadPrefix + "-NettyEpoll-IO"));
-        } else {
-            ioGroup = new NioEventLoopGroup(MAX_THREADS, new EventMeshThreadFactory(threadPrefix + "-NettyNio-IO"));
-        }
+        ioGroup = transport.newEventLoopGroup(getIoThreads(),
+            new EventMeshThreadFactory(threadPrefix + "-Netty" + transport.getDisplayName() + "-IO"));
     }
 
     private void buildWorkerGroup(final String threadPrefix) {
         workerGroup = new DefaultEventLoopGroup(MAX_THREADS, new EventMeshThreadFactory(threadPrefix + "-worker"));
     }
 
+    /**
+     * Netty io threads of the server, overridden by the protocols configuring them
+     */
+    protected int getIoThreads() {
+        return MAX_THREADS;
+    }
+
+    /**
+     * Accepting on several loops needs one listening socket each, so it takes SO_REUSEPORT
+     */
+    protected int getAcceptorThreads() {
+        return isReusePort() ? Math.max(1, getConfiguration().getEventMeshServerNettyAcceptorThreads()) : 1;
+    }
+
+    private boolean isReusePort() {
+        return getConfiguration().isEventMeshServerNettyReusePort() && transport.reusePortOption() != null;
+    }
+
     protected void initProducerManager() throws Exception {
         producerManager = new ProducerManager(this);
         producerManager.init();
     }
 
     public void init(final String threadPrefix) throws Exception {
+        final CommonConfiguration configuration = getConfiguration();
+        transport = NettyTransport.select(configuration.getEventMeshServerNettyTransport());
+        log.info("{} uses netty transport {}", threadPrefix, transport);
         buildBossGroup(threadPrefix);
         buildIOGroup(threadPrefix);
         buildWorkerGroup(threadPrefix);
+
+        eventLoopMonitor = new EventLoopMonitor(configuration.getEventMeshServerNettyLoopMonitorIntervalInMills());
+        eventLoopMonitor.monitor("boss", bossGroup);
+        eventLoopMonitor.monitor("io", ioGroup);
+        eventLoopMonitor.start();
+    }
+
+    /**
+     * Bootstrap on the server loops and transport, with pooled buffers and the accept counter
+     */
+    protected ServerBootstrap newServerBootstrap() {
+        final ServerBootstrap bootstrap = new ServerBootstrap()
+            .group(bossGroup, ioGroup)
+            .channel(transport.serverChannelClass())
+            .handler(eventLoopMonitor.getAcceptCounter())
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        if (isReusePort()) {
+            bootstrap.option(transport.reusePortOption(), true);
+        }
+        return bootstrap;
+    }
+
+    /**
+     * Bind the port on every acceptor loop
+     *
+     * @return the first listening channel, closed when the server shuts down
+     */
+    protected Channel bind(final ServerBootstrap bootstrap, final int port) throws InterruptedException {
+        final Channel channel = bootstrap.bind(port).sync().channel();
+        for (int i = 1; i < getAcceptorThreads(); i++) {
+            bootstrap.bind(port).sync();
+        }
+        return channel;
     }
 
     public void start() throws Exception {
@@ -96,6 +152,9 @@ public abstract class AbstractRemotingServer implements RemotingServer {
     }
 
     public void shutdown() throws Exception {
+        if (eventLoopMonitor != null) {
+            eventLoopMonitor.shutdown();
+        }
         if (bossGroup != null) {
             bossGroup.shutdownGracefully();
             log.info("shutdown bossGroup");
@@ -116,8 +175,4 @@ public abstract class AbstractRemotingServer implements RemotingServer {
             log.info("shutdown workerGroup");
         }
     }
-
-    protected boolean useEpoll() {
-        return SystemUtils.isLinuxPlatform() && Epoll.isAvailable();
-    }
 }
@@ -53,18 +53,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -119,16 +117,20 @@ public class AbstractTCPServer extends AbstractRemotingServer {
         return eventMeshTCPConfiguration;
     }
 
+    @Override
+    protected int getIoThreads() {
+        int ioThreads = eventMeshTCPConfiguration.getEventMeshTcpIoThreads();
+        return ioThreads > 0 ? ioThreads : super.getIoThreads();
+    }
+
     @Override
     public void start() throws Exception {
         initSharableHandlers();
 
         Thread thread = new Thread(() -> {
-            final ServerBootstrap bootstrap = new ServerBootstrap();
+            final ServerBootstrap bootstrap = newServerBootstrap();
 
-            bootstrap.group(this.getBossGroup(), this.getIoGroup())
-                .channel(useEpoll() ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
-                .option(ChannelOption.SO_BACKLOG, 128)
+            bootstrap.option(ChannelOption.SO_BACKLOG, 128)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
                 .childOption(ChannelOption.SO_KEEPALIVE, false)
@@ -137,16 +139,17 @@ public class AbstractTCPServer extends AbstractRemotingServer {
                 .childOption(ChannelOption.TCP_NODELAY, true)
                 .childOption(ChannelOption.SO_SNDBUF, 65_535 * 4)
                 .childOption(ChannelOption.SO_RCVBUF, 65_535 * 4)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                    eventMeshTCPConfiguration.getEventMeshTcpWriteBufferLowWaterMark(),
+                    eventMeshTCPConfiguration.getEventMeshTcpWriteBufferHighWaterMark()))
                 .option(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator(2_048, 4_096, 65_536))
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .childHandler(new TcpServerInitializer());
 
             try {
                 int port = eventMeshTCPConfiguration.getEventMeshTcpServerPort();
-                ChannelFuture f = bootstrap.bind(port).sync();
+                Channel channel = bind(bootstrap, port);
                 log.info("EventMeshTCPServer[port={}] started.....", port);
-                f.channel().closeFuture().sync();
+                channel.closeFuture().sync();
             } catch (Exception e) {
                 log.error("EventMeshTCPServer RemotingServer Start Err!", e);
                 try {
@@ -276,7 +279,9 @@ public class AbstractTCPServer extends AbstractRemotingServer {
                 log.error("exception occurred while pkg|cmd={}|pkg={}", cmd, pkg, e);
 
                 if (isNeedTrace(cmd)) {
-                    Span span = TraceUtils.prepareServerSpan(pkg.getHeader().getProperties(),
+                    // the event of a mesh message takes its topic and the header seq as subject and id
+                    String topic = pkg.getBody() instanceof EventMeshMessage ? ((EventMeshMessage) pkg.getBody()).getTopic() : null;
+                    Span span = TraceUtils.prepareServerSpan(pkg.getHeader().getProperties(), topic, pkg.getHeader().getSeq(),
                         EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, startTime,
                         TimeUnit.MILLISECONDS, false);
                     TraceUtils.finishSpanWithException(span, pkg.getHeader().getProperties(),
@@ -433,10 +438,26 @@ public class AbstractTCPServer extends AbstractRemotingServer {
             connections.decrementAndGet();
             final String remoteAddress = RemotingHelper.parseChannelRemoteAddr(ctx.channel());
             log.info("client|tcp|channelInactive|remoteAddress={}|msg={}", remoteAddress, "");
+            final Session session = clientSessionGroupMapping.getSession(ctx);
             clientSessionGroupMapping.closeSession(ctx);
+            if (session != null && session.getWriteBatcher().isEnabled()) {
+                // fail the writes still waiting in the batch so their listeners can retry elsewhere
+                session.getWriteBatcher().scheduleFlush();
+            }
             super.channelInactive(ctx);
         }
 
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isWritable()) {
+                final Session session = clientSessionGroupMapping.getSession(ctx);
+                if (session != null && session.getWriteBatcher().isEnabled()) {
+                    session.getWriteBatcher().scheduleFlush();
+                }
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
         @Override
         public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
             if (evt instanceof IdleStateEvent) {
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the event loops of a server: how late a task scheduled on each loop runs, how many tasks are queued on it,
+ * and how many connections each acceptor loop accepted.
+ */
+@Slf4j
+public class EventLoopMonitor {
+
+    private final long intervalInMills;
+
+    private final List<LoopStats> loops = new ArrayList<>();
+
+    private final Map<EventExecutor, LoopStats> loopIndex = new IdentityHashMap<>();
+
+    private final AcceptCounter acceptCounter = new AcceptCounter();
+
+    private volatile boolean running = false;
+
+    public EventLoopMonitor(long intervalInMills) {
+        this.intervalInMills = intervalInMills;
+    }
+
+    /**
+     * Watch every loop of the group, the loops are named {@code <role>-<index>}
+     */
+    public synchronized void monitor(String role, EventLoopGroup group) {
+        int index = 0;
+        for (EventExecutor executor : group) {
+            LoopStats stats = new LoopStats(role + "-" + index++, executor);
+            loops.add(stats);
+            loopIndex.put(executor, stats);
+            if (running) {
+                schedule(stats);
+            }
+        }
+    }
+
+    public synchronized void start() {
+        if (running || intervalInMills <= 0) {
+            return;
+        }
+        running = true;
+        for (LoopStats stats : loops) {
+            schedule(stats);
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+
+    /**
+     * Handler of the server channels counting the connections accepted by their loop
+     */
+    public AcceptCounter getAcceptCounter() {
+        return acceptCounter;
+    }
+
+    public synchronized List<LoopStats> getLoops() {
+        return Collections.unmodifiableList(new ArrayList<>(loops));
+    }
+
+    private void schedule(LoopStats stats) {
+        if (!running || stats.executor.isShuttingDown()) {
+            return;
+        }
+        final long expected = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalInMills);
+        try {
+            stats.executor.schedule(() -> {
+                stats.latencyInMicros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, System.nanoTime() - expected));
+                schedule(stats);
+            }, intervalInMills, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("event loop {} is shut down, stop monitoring it", stats.name);
+        }
+    }
+
+    @Sharable
+    public class AcceptCounter extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            // a server channel reads the channels it accepted
+            LoopStats stats = loopIndex.get(ctx.channel().eventLoop());
+            if (stats != null) {
+                stats.acceptNum.increment();
+            }
+            super.channelRead(ctx, msg);
+        }
+    }
+
+    public static class LoopStats {
+
+        private final String name;
+
+        private final EventExecutor executor;
+
+        private final LongAdder acceptNum = new LongAdder();
+
+        private volatile long latencyInMicros;
+
+        LoopStats(String name, EventExecutor executor) {
+            this.name = name;
+            this.executor = executor;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return how late the last probe task ran on the loop
+         */
+        public long getLatencyInMicros() {
+            return latencyInMicros;
+        }
+
+        public long getPendingTasks() {
+            return executor instanceof SingleThreadEventExecutor ? ((SingleThreadEventExecutor) executor).pendingTasks() : 0;
+        }
+
+        public long getAcceptNum() {
+            return acceptNum.sum();
+        }
+    }
+}
@@ -41,9 +41,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequest;
@@ -86,18 +84,15 @@ public class EventMeshAdminServer extends AbstractHTTPServer {
     @Override
     public void start() throws Exception {
         final Thread thread = new Thread(() -> {
-            final ServerBootstrap bootstrap = new ServerBootstrap();
+            final ServerBootstrap bootstrap = newServerBootstrap();
             try {
-                bootstrap.group(this.getBossGroup(), this.getIoGroup())
-                    .channel(useEpoll() ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
-                    .childHandler(new AdminServerInitializer(
+                bootstrap.childHandler(new AdminServerInitializer(
                         this.isUseTLS() ? SSLContextFactory.getSslContext(eventMeshAdminConfiguration) : null, this.isUseTLS()))
                     .childOption(ChannelOption.AUTO_CLOSE, Boolean.TRUE);
 
                 log.info("AdminHttpServer[port={}] started.", this.getPort());
 
-                bootstrap.bind(this.getPort())
-                    .channel()
+                bind(bootstrap, this.getPort())
                     .closeFuture()
                     .sync();
             } catch (Exception e) {
@@ -30,6 +30,7 @@ import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.ConsumerManager;
 import org.apache.eventmesh.runtime.core.protocol.grpc.retry.GrpcRetryer;
 import org.apache.eventmesh.runtime.core.protocol.grpc.service.ConsumerService;
@@ -74,6 +75,8 @@ public class EventMeshGrpcServer extends AbstractRemotingServer {
 
     private GrpcRetryer grpcRetryer;
 
+    private WaitingRequestTracker waitingRequestTracker;
+
     private ThreadPoolExecutor sendMsgExecutor;
 
     private ThreadPoolExecutor replyMsgExecutor;
@@ -111,6 +114,7 @@ public class EventMeshGrpcServer extends AbstractRemotingServer {
         msgRateLimiter = RateLimiter.create(eventMeshGrpcConfiguration.getEventMeshMsgReqNumPerSecond());
 
         initProducerManager();
+        waitingRequestTracker = new WaitingRequestTracker("eventMesh-grpc-pushMsgTimeout", WaitingRequestTracker.DEFAULT_GROUP_THRESHOLD);
         consumerManager = new ConsumerManager(this);
         consumerManager.init();
 
@@ -139,6 +143,7 @@ public class EventMeshGrpcServer extends AbstractRemotingServer {
         log.info("---------------EventMeshGRPCServer starting-------------------");
 
         producerManager.start();
+        waitingRequestTracker.start();
         consumerManager.start();
         grpcRetryer.start();
         server.start();
@@ -156,6 +161,7 @@ public class EventMeshGrpcServer extends AbstractRemotingServer {
 
         producerManager.shutdown();
         consumerManager.shutdown();
+        waitingRequestTracker.shutdown();
         grpcRetryer.shutdown();
 
         shutdownThreadPools();
@@ -216,6 +222,10 @@ public class EventMeshGrpcServer extends AbstractRemotingServer {
         return grpcRetryer;
     }
 
+    public WaitingRequestTracker getWaitingRequestTracker() {
+        return waitingRequestTracker;
+    }
+
     public ThreadPoolExecutor getSendMsgExecutor() {
         return sendMsgExecutor;
     }
@@ -30,6 +30,7 @@ import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.consumer.SubscriptionManager;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.ConsumerManager;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.BatchSendMessageProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.BatchSendMessageV2Processor;
@@ -49,7 +50,9 @@ import org.apache.eventmesh.runtime.core.protocol.http.processor.SendAsyncRemote
 import org.apache.eventmesh.runtime.core.protocol.http.processor.SendSyncMessageProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.SubscribeProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.UnSubscribeProcessor;
+import org.apache.eventmesh.runtime.core.protocol.http.push.AsyncHTTPPushClient;
 import org.apache.eventmesh.runtime.core.protocol.http.push.HTTPClientPool;
+import org.apache.eventmesh.runtime.core.protocol.http.push.HTTPPushBatchAccumulator;
 import org.apache.eventmesh.runtime.core.protocol.http.retry.HttpRetryer;
 import org.apache.eventmesh.runtime.core.protocol.producer.ProducerManager;
 import org.apache.eventmesh.runtime.meta.MetaStorage;
@@ -84,6 +87,9 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
     private final Acl acl;
     private final EventBus eventBus = new EventBus();
     private final transient HTTPClientPool httpClientPool = new HTTPClientPool(10);
+    private AsyncHTTPPushClient httpPushClient;
+    private HTTPPushBatchAccumulator httpPushBatchAccumulator;
+    private WaitingRequestTracker waitingRequestTracker;
     private ConsumerManager consumerManager;
     private ProducerManager producerManager;
     private SubscriptionManager subscriptionManager;
@@ -103,6 +109,12 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
         this.acl = eventMeshServer.getAcl();
     }
 
+    @Override
+    protected int getIoThreads() {
+        int ioThreads = eventMeshHttpConfiguration.getEventMeshHttpIoThreads();
+        return ioThreads > 0 ? ioThreads : super.getIoThreads();
+    }
+
     public void init() throws Exception {
         log.info("==================EventMeshHTTPServer Initialing==================");
         super.init();
@@ -117,6 +129,9 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
                 pluginType -> metricsRegistries.add(MetricsPluginFactory.getMetricsRegistry(pluginType))));
 
         httpRetryer = new HttpRetryer(this);
+        httpPushClient = new AsyncHTTPPushClient(eventMeshHttpConfiguration, getHttpThreadPoolGroup().getPushMsgExecutor());
+        httpPushBatchAccumulator = new HTTPPushBatchAccumulator("eventMesh-http", eventMeshHttpConfiguration, httpPushClient);
+        waitingRequestTracker = new WaitingRequestTracker("eventMesh-http-pushMsgTimeout", WaitingRequestTracker.DEFAULT_GROUP_THRESHOLD);
 
         super.setEventMeshHttpMetricsManager(new EventMeshHttpMetricsManager(this, metricsRegistries));
         subscriptionManager = new SubscriptionManager(eventMeshHttpConfiguration.isEventMeshServerMetaStorageEnable(), metaStorage);
@@ -129,7 +144,8 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
 
         filterEngine = new FilterEngine(metaStorage, producerManager, consumerManager);
 
-        transformerEngine = new TransformerEngine(metaStorage, producerManager, consumerManager);
+        transformerEngine = new TransformerEngine(metaStorage, producerManager, consumerManager,
+            eventMeshHttpConfiguration.isEventMeshHttpTransformerCompiledEnabled());
 
         super.setHandlerService(new HandlerService());
         super.getHandlerService().setMetrics(this.getEventMeshHttpMetricsManager());
@@ -151,6 +167,10 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
         super.start();
         this.getEventMeshHttpMetricsManager().start();
 
+        // consumers push through the client as soon as they are started
+        httpPushClient.start();
+        httpPushBatchAccumulator.start();
+        waitingRequestTracker.start();
         consumerManager.start();
         producerManager.start();
         httpRetryer.start();
@@ -180,6 +200,12 @@ public class EventMeshHTTPServer extends AbstractHTTPServer {
 
         httpClientPool.shutdown();
 
+        httpPushBatchAccumulator.shutdown();
+
+        httpPushClient.shutdown();
+
+        waitingRequestTracker.shutdown();
+
         producerManager.shutdown();
 
         httpRetryer.shutdown();
@@ -18,7 +18,9 @@
 package org.apache.eventmesh.runtime.boot;
 
 import org.apache.eventmesh.api.meta.MetaServiceListener;
+import org.apache.eventmesh.common.exception.JsonException;
 import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
 import org.apache.eventmesh.function.filter.pattern.Pattern;
 import org.apache.eventmesh.function.filter.patternbuild.PatternBuilder;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.ConsumerGroupManager;
@@ -49,6 +51,11 @@ public class FilterEngine {
      **/
     private final Map<String, Pattern> filterPatternMap = new HashMap<>();
 
+    /**
+     * key:group-topic
+     **/
+    private final Map<String, CompiledPattern> compiledPatternMap = new HashMap<>();
+
     private final String filterPrefix = "filter-";
 
     private final MetaStorage metaStorage;
@@ -109,8 +116,19 @@ public class FilterEngine {
             for (JsonNode filterJsonNode : filterJsonNodeArray) {
                 String topic = filterJsonNode.get("topic").asText();
                 String filterCondition = filterJsonNode.get("condition").toString();
-                Pattern filterPattern = PatternBuilder.build(filterCondition);
-                filterPatternMap.put(group + "-" + topic, filterPattern);
+                CompiledPattern compiledPattern = PatternBuilder.buildCompiled(filterCondition);
+                if (compiledPattern != null) {
+                    compiledPatternMap.put(group + "-" + topic, compiledPattern);
+                } else {
+                    compiledPatternMap.remove(group + "-" + topic);
+                }
+                try {
+                    filterPatternMap.put(group + "-" + topic, PatternBuilder.build(filterCondition));
+                } catch (JsonException e) {
+                    // extension attributes are only filtered by the compiled patterns
+                    filterPatternMap.remove(group + "-" + topic);
+                    log.warn("filter condition of group {} topic {} is only supported by the compiled filter", group, topic, e);
+                }
             }
         }
         addFilterListener(group);
@@ -132,4 +150,8 @@ public class FilterEngine {
     public Pattern getFilterPattern(String key) {
         return filterPatternMap.get(key);
     }
+
+    public CompiledPattern getCompiledFilterPattern(String key) {
+        return compiledPatternMap.get(key);
+    }
 }
@@ -112,6 +112,14 @@ public class HTTPTrace {
             return traceOperation;
         }
 
+        public TraceOperation createClientTraceOperation(String protocolVersion, CloudEvent event, String spanName,
+            boolean isSpanFinishInOtherThread) {
+            TraceOperation traceOperation = new TraceOperation(
+                TraceUtils.prepareClientSpan(protocolVersion, event, spanName, isSpanFinishInOtherThread), null, this.traceEnabled);
+            this.setChildTraceOperation(traceOperation);
+            return traceOperation;
+        }
+
         public void setChildTraceOperation(TraceOperation traceOperation) {
             if (childTraceOperation != null) {
                 childTraceOperation.setChildTraceOperation(traceOperation);
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.common.utils.SystemUtils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Netty transports the servers can run on.
+ *
+ * <p>io_uring comes from the netty incubator, it is loaded reflectively and only used when
+ * {@code netty-incubator-transport-native-io_uring} is on the classpath and supported by the kernel.
+ */
+@Slf4j
+public enum NettyTransport {
+
+    NIO("Nio") {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> socketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public ChannelOption<Boolean> reusePortOption() {
+            return null;
+        }
+    },
+
+    EPOLL("Epoll") {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> socketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public ChannelOption<Boolean> reusePortOption() {
+            return EpollChannelOption.SO_REUSEPORT;
+        }
+    },
+
+    IO_URING("IOUring") {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            try {
+                return (EventLoopGroup) IOUringHolder.loadClass("IOUringEventLoopGroup")
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(threads, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("create io_uring event loop group error", e);
+            }
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return IOUringHolder.loadClass("IOUringServerSocketChannel").asSubclass(ServerChannel.class);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> socketChannelClass() {
+            return IOUringHolder.loadClass("IOUringSocketChannel").asSubclass(SocketChannel.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ChannelOption<Boolean> reusePortOption() {
+            try {
+                return (ChannelOption<Boolean>) IOUringHolder.loadClass("IOUringChannelOption").getField("SO_REUSEPORT").get(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("load io_uring SO_REUSEPORT option error", e);
+            }
+        }
+    };
+
+    private final String displayName;
+
+    NettyTransport(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Used in the thread names, e.g. {@code eventMesh-tcp-NettyEpoll-IO}
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    public abstract Class<? extends ServerChannel> serverChannelClass();
+
+    public abstract Class<? extends SocketChannel> socketChannelClass();
+
+    /**
+     * @return the SO_REUSEPORT option of the transport, null when it is not supported
+     */
+    public abstract ChannelOption<Boolean> reusePortOption();
+
+    public boolean isAvailable() {
+        switch (this) {
+            case EPOLL:
+                return SystemUtils.isLinuxPlatform() && Epoll.isAvailable();
+            case IO_URING:
+                return SystemUtils.isLinuxPlatform() && IOUringHolder.isAvailable();
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Resolve the configured transport, falling back to epoll and then nio when it is not available here.
+     *
+     * @param name auto, nio, epoll or io_uring, case insensitive
+     */
+    public static NettyTransport select(String name) {
+        if (StringUtils.isBlank(name) || "auto".equalsIgnoreCase(name)) {
+            return EPOLL.isAvailable() ? EPOLL : NIO;
+        }
+        NettyTransport transport;
+        try {
+            transport = valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("unknown netty transport: {}, use auto", name);
+            return select(null);
+        }
+        if (!transport.isAvailable()) {
+            NettyTransport fallback = select(null);
+            log.warn("netty transport {} is not available, use {}", transport, fallback);
+            return fallback;
+        }
+        return transport;
+    }
+
+    private static class IOUringHolder {
+
+        private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+        static Class<?> loadClass(String simpleName) {
+            try {
+                return Class.forName(PACKAGE + simpleName, true, NettyTransport.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("netty io_uring transport is not on the classpath", e);
+            }
+        }
+
+        static boolean isAvailable() {
+            try {
+                return (Boolean) loadClass("IOUring").getMethod("isAvailable").invoke(null);
+            } catch (Throwable t) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes the json body of a request while its chunks arrive, in front of the {@code HttpObjectAggregator}.
+ *
+ * <p>For a json POST accepted by {@code streamable}, each content chunk is fed from its pooled buffer into a
+ * non-blocking Jackson parser and released right away, so the body is never held as a whole, neither as bytes nor
+ * as text. Once the last chunk is parsed a {@link JsonBodyRequest} with an empty content and the decoded body is
+ * passed on, which the aggregator lets through. Other requests pass untouched to the aggregator.
+ *
+ * <p>A body longer than {@code maxContentLength} is answered with 413 and one that is not a json object with 400,
+ * closing the connection in both cases.
+ */
+@Slf4j
+public class StreamingJsonBodyDecoder extends ChannelInboundHandlerAdapter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int maxContentLength;
+
+    private final Predicate<HttpRequest> streamable;
+
+    private HttpRequest request;
+
+    private JsonParser parser;
+
+    private JsonMapBuilder builder;
+
+    private long contentLength;
+
+    private boolean discarding;
+
+    public StreamingJsonBodyDecoder(int maxContentLength, Predicate<HttpRequest> streamable) {
+        this.maxContentLength = maxContentLength;
+        this.streamable = streamable;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) msg;
+            if (!isJsonPost(httpRequest) || !streamable.test(httpRequest)) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+            if (HttpUtil.getContentLength(httpRequest, -1L) > maxContentLength) {
+                ReferenceCountUtil.release(msg);
+                reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, !(msg instanceof LastHttpContent));
+                return;
+            }
+            if (HttpUtil.is100ContinueExpected(httpRequest)) {
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+                httpRequest.headers().remove(HttpHeaderNames.EXPECT);
+            }
+            start(httpRequest);
+            if (!(msg instanceof HttpContent)) {
+                return;
+            }
+        } else if (!(msg instanceof HttpContent)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        HttpContent content = (HttpContent) msg;
+        if (discarding) {
+            discarding = !(content instanceof LastHttpContent);
+            content.release();
+            return;
+        }
+        if (request == null) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        try {
+            ByteBuf buf = content.content();
+            contentLength += buf.readableBytes();
+            if (contentLength > maxContentLength) {
+                reset();
+                reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, !(content instanceof LastHttpContent));
+                return;
+            }
+            feed(buf);
+            if (content instanceof LastHttpContent) {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+                drain();
+                complete(ctx, ((LastHttpContent) content).trailingHeaders());
+            }
+        } catch (IOException e) {
+            log.warn("decode json body of {} failed: {}", request.uri(), e.getMessage());
+            reset();
+            reject(ctx, HttpResponseStatus.BAD_REQUEST, !(content instanceof LastHttpContent));
+        } finally {
+            content.release();
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        reset();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        reset();
+    }
+
+    private static boolean isJsonPost(HttpRequest httpRequest) {
+        return HttpMethod.POST.equals(httpRequest.method())
+            && HttpHeaderValues.APPLICATION_JSON.contentEqualsIgnoreCase(HttpUtil.getMimeType(httpRequest));
+    }
+
+    private void start(HttpRequest httpRequest) throws IOException {
+        this.request = httpRequest;
+        this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        this.builder = new JsonMapBuilder();
+        this.contentLength = 0;
+    }
+
+    private void feed(ByteBuf buf) throws IOException {
+        if (!buf.isReadable()) {
+            return;
+        }
+        if (buf.nioBufferCount() == 1) {
+            feed(buf.nioBuffer());
+        } else {
+            for (ByteBuffer buffer : buf.nioBuffers()) {
+                feed(buffer);
+            }
+        }
+    }
+
+    private void feed(ByteBuffer buffer) throws IOException {
+        if (buffer.hasRemaining()) {
+            ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(buffer);
+            drain();
+        }
+    }
+
+    /**
+     * Consume every token available from the input fed so far, the parser must not keep the buffer after that
+     */
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            builder.accept(parser, token);
+        }
+    }
+
+    private void complete(ChannelHandlerContext ctx, HttpHeaders trailingHeaders) {
+        HttpRequest httpRequest = request;
+        Map<String, Object> body = builder.getResult();
+        reset();
+        ctx.fireChannelRead(new JsonBodyRequest(httpRequest, trailingHeaders, body == null ? new HashMap<>() : body));
+    }
+
+    private void reject(ChannelHandlerContext ctx, HttpResponseStatus status, boolean moreContent) {
+        discarding = moreContent;
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        HttpUtil.setContentLength(response, 0);
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    private void reset() {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("close json parser failed", e);
+            }
+        }
+        request = null;
+        parser = null;
+        builder = null;
+        contentLength = 0;
+    }
+
+    /**
+     * A request whose json body has already been decoded, its content is empty
+     */
+    public static class JsonBodyRequest extends DefaultFullHttpRequest {
+
+        private final Map<String, Object> body;
+
+        JsonBodyRequest(HttpRequest request, HttpHeaders trailingHeaders, Map<String, Object> body) {
+            super(request.protocolVersion(), request.method(), request.uri(), Unpooled.EMPTY_BUFFER, request.headers(),
+                trailingHeaders);
+            this.body = body;
+        }
+
+        public Map<String, Object> getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Builds the same maps, lists and values as an untyped databind read of a json object, one token at a time
+     */
+    private static class JsonMapBuilder {
+
+        private final Deque<Object> containers = new ArrayDeque<>();
+
+        private final Deque<String> fieldNames = new ArrayDeque<>();
+
+        private String fieldName;
+
+        private Map<String, Object> result;
+
+        void accept(JsonParser parser, JsonToken token) throws IOException {
+            switch (token) {
+                case START_OBJECT:
+                    if (containers.isEmpty() && result != null) {
+                        throw new JsonParseException(parser, "unexpected content after the json body");
+                    }
+                    push(new HashMap<String, Object>());
+                    break;
+                case START_ARRAY:
+                    if (containers.isEmpty()) {
+                        throw new JsonParseException(parser, "json body must be an object");
+                    }
+                    push(new ArrayList<>());
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    pop();
+                    break;
+                case FIELD_NAME:
+                    fieldName = parser.currentName();
+                    break;
+                case VALUE_STRING:
+                    add(parser, parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                    add(parser, parser.getNumberValue());
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    add(parser, parser.getDoubleValue());
+                    break;
+                case VALUE_TRUE:
+                    add(parser, Boolean.TRUE);
+                    break;
+                case VALUE_FALSE:
+                    add(parser, Boolean.FALSE);
+                    break;
+                case VALUE_NULL:
+                    add(parser, null);
+                    break;
+                default:
+                    throw new JsonParseException(parser, "unexpected json token " + token);
+            }
+        }
+
+        Map<String, Object> getResult() {
+            return result;
+        }
+
+        private void push(Object container) {
+            fieldNames.push(fieldName == null ? "" : fieldName);
+            fieldName = null;
+            containers.push(container);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void pop() {
+            Object container = containers.pop();
+            fieldName = fieldNames.pop();
+            if (containers.isEmpty()) {
+                result = (Map<String, Object>) container;
+                fieldName = null;
+                return;
+            }
+            addToParent(container);
+        }
+
+        private void add(JsonParser parser, Object value) throws JsonParseException {
+            if (containers.isEmpty()) {
+                throw new JsonParseException(parser, "json body must be an object");
+            }
+            addToParent(value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addToParent(Object value) {
+            Object parent = containers.peek();
+            if (parent instanceof Map) {
+                ((Map<String, Object>) parent).put(fieldName, value);
+                fieldName = null;
+            } else {
+                ((List<Object>) parent).add(value);
+            }
+        }
+    }
+}
@@ -62,10 +62,16 @@ public class TransformerEngine {
 
     private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 
-    public TransformerEngine(MetaStorage metaStorage, ProducerManager producerManager, ConsumerManager consumerManager) {
+    private final boolean compiled;
+
+    /**
+     * @param compiled build compiled template transformers, which parse each event once for all their variables
+     */
+    public TransformerEngine(MetaStorage metaStorage, ProducerManager producerManager, ConsumerManager consumerManager, boolean compiled) {
         this.metaStorage = metaStorage;
         this.producerManager = producerManager;
         this.consumerManager = consumerManager;
+        this.compiled = compiled;
     }
 
     public void start() {
@@ -112,7 +118,7 @@ public class TransformerEngine {
                 String topic = transformerJsonNode.get("topic").asText();
                 String transformerParam = transformerJsonNode.get("transformerParam").toString();
                 TransformerParam tfp = JsonUtils.parseObject(transformerParam, TransformerParam.class);
-                Transformer transformer = TransformerBuilder.buildTransformer(tfp);
+                Transformer transformer = TransformerBuilder.buildTransformer(tfp, compiled);
                 transformerMap.put(group + "-" + topic, transformer);
             }
         }
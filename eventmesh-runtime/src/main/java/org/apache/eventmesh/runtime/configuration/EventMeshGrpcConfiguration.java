@@ -98,6 +98,12 @@ public class EventMeshGrpcConfiguration extends CommonConfiguration {
     @ConfigField(field = "http.msgReqnumPerSecond")
     private int eventMeshMsgReqNumPerSecond = 15000;
 
+    @ConfigField(field = "grpc.streamPush.flowControl.enabled")
+    private boolean eventMeshGrpcStreamPushFlowControlEnabled = false;
+
+    @ConfigField(field = "grpc.streamPush.maxPendingSize")
+    private int eventMeshGrpcStreamPushMaxPendingSize = 1000;
+
     @ConfigField(field = "", reload = true)
     private String eventMeshIp;
 
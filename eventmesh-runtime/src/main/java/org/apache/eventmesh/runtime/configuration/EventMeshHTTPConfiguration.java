@@ -39,6 +39,71 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
     @ConfigField(field = "http.port", notNull = true, beNumber = true)
     private int httpServerPort = 10105;
 
+    /**
+     * Netty io threads, 0 for the number of processors
+     */
+    @ConfigField(field = "http.ioThreads")
+    private int eventMeshHttpIoThreads = 0;
+
+    /**
+     * Largest request body accepted, bigger requests are answered with 413
+     */
+    @ConfigField(field = "http.maxContentLength")
+    private int eventMeshHttpMaxContentLength = 10 * 1024 * 1024;
+
+    /**
+     * Decode the json body of requests to the {@code HandlerService} processors chunk by chunk as it arrives,
+     * instead of aggregating the whole body first
+     */
+    @ConfigField(field = "http.streamingBody.enabled")
+    private boolean eventMeshHttpStreamingBodyEnabled = false;
+
+    /**
+     * Connections of the webhook push client, in total and to each host
+     */
+    @ConfigField(field = "http.push.maxConnTotal")
+    private int eventMeshHttpPushMaxConnTotal = 1000;
+
+    @ConfigField(field = "http.push.maxConnPerRoute")
+    private int eventMeshHttpPushMaxConnPerRoute = 200;
+
+    /**
+     * Pushes in flight to one subscriber url, further pushes wait for a slot
+     */
+    @ConfigField(field = "http.push.maxConcurrentPerSubscriber")
+    private int eventMeshHttpPushMaxConcurrentPerSubscriber = 200;
+
+    @ConfigField(field = "http.push.connectTimeoutInMills")
+    private int eventMeshHttpPushConnectTimeoutInMills = 5000;
+
+    @ConfigField(field = "http.push.responseTimeoutInMills")
+    private int eventMeshHttpPushResponseTimeoutInMills = 5000;
+
+    /**
+     * negotiate: HTTP/2 over TLS when the subscriber offers it by ALPN, HTTP/1.1 otherwise; http1; http2
+     */
+    @ConfigField(field = "http.push.httpVersion")
+    private String eventMeshHttpPushHttpVersion = "negotiate";
+
+    /**
+     * Batched push of the subscriptions opting in: messages of a group, topic and url are posted together once
+     * maxSize of them are queued or the oldest waited lingerInMills
+     */
+    @ConfigField(field = "http.push.batch.maxSize")
+    private int eventMeshHttpPushBatchMaxSize = 100;
+
+    @ConfigField(field = "http.push.batch.lingerInMills")
+    private int eventMeshHttpPushBatchLingerInMills = 10;
+
+    @ConfigField(field = "http.push.batch.maxPendingSize")
+    private int eventMeshHttpPushBatchMaxPendingSize = 10000;
+
+    @ConfigField(field = "http.filter.compiled.enabled")
+    private boolean eventMeshHttpFilterCompiledEnabled = false;
+
+    @ConfigField(field = "http.transformer.compiled.enabled")
+    private boolean eventMeshHttpTransformerCompiledEnabled = false;
+
     @ConfigField(field = "batchmsg.batch.enabled")
     private boolean eventMeshServerBatchMsgBatchEnabled = Boolean.TRUE;
 
@@ -58,6 +58,12 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
     @ConfigField(field = "global.scheduler")
     private int eventMeshTcpGlobalScheduler = 5;
 
+    /**
+     * Netty io threads, 0 for the number of processors
+     */
+    @ConfigField(field = "tcp.ioThreads")
+    private int eventMeshTcpIoThreads = 0;
+
     @ConfigField(field = "tcp.taskHandleExecutorPoolSize")
     private int eventMeshTcpTaskHandleExecutorPoolSize = 2 * Runtime.getRuntime().availableProcessors();
 
@@ -91,6 +97,37 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
     @ConfigField(field = "session.upstreamBufferSize")
     private int eventMeshTcpSessionUpstreamBufferSize = 100;
 
+    /**
+     * Max pushed msgs waiting for the ack of a session, the session gets no more msgs while it is full
+     */
+    @ConfigField(field = "session.maxUnackedMsgs")
+    private int eventMeshTcpSessionMaxUnackedMsgs = 10000;
+
+    /**
+     * Tick of the timing wheel expiring the unacked msgs of all sessions
+     */
+    @ConfigField(field = "session.unackedTickInMills")
+    private int eventMeshTcpSessionUnackedTickInMills = 100;
+
+    /**
+     * fixed: upstreamBufferSize in-flight sends per session, aimd: a window starting at minLimit and resized up to
+     * upstreamBufferSize from the latency and errors of the sends
+     */
+    @ConfigField(field = "session.upstreamFlowControl.type")
+    private String eventMeshTcpSessionUpstreamFlowControlType = "fixed";
+
+    @ConfigField(field = "session.upstreamFlowControl.minLimit")
+    private int eventMeshTcpSessionUpstreamFlowControlMinLimit = 10;
+
+    /**
+     * Sends slower than this shrink the window like failed ones
+     */
+    @ConfigField(field = "session.upstreamFlowControl.latencyThresholdInMills")
+    private long eventMeshTcpSessionUpstreamFlowControlLatencyThresholdInMills = 200;
+
+    @ConfigField(field = "session.upstreamFlowControl.backoffRatio")
+    private double eventMeshTcpSessionUpstreamFlowControlBackoffRatio = 0.9;
+
     @ConfigField(field = "retry.async.pushRetryTimes")
     private int eventMeshTcpMsgAsyncRetryTimes = 3;
 
@@ -115,9 +152,39 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
     @ConfigField(field = "tcp.SendBackMaxTimes")
     private int eventMeshTcpSendBackMaxTimes = 3;
 
+    /**
+     * How a consumer session is chosen for each message: freePriority, roundRobin, leastUnacked or powerOfTwoChoices
+     */
+    @ConfigField(field = "tcp.dispatchStrategy")
+    private String eventMeshTcpDispatchStrategy = "freePriority";
+
     @ConfigField(field = "tcp.pushFailIsolateTimeInMills")
     private int eventMeshTcpPushFailIsolateTimeInMills = 30 * 1000;
 
+    /**
+     * Coalesce downstream writes of a session and flush them once per batch instead of once per message
+     */
+    @ConfigField(field = "tcp.pushBatch.enabled")
+    private boolean eventMeshTcpPushBatchEnabled = false;
+
+    @ConfigField(field = "tcp.pushBatch.maxSize")
+    private int eventMeshTcpPushBatchMaxSize = 64;
+
+    @ConfigField(field = "tcp.pushBatch.flushIntervalInMills")
+    private int eventMeshTcpPushBatchFlushIntervalInMills = 2;
+
+    /**
+     * Max writes waiting in a session's batch while the channel is not writable, further writes fail fast
+     */
+    @ConfigField(field = "tcp.pushBatch.maxPendingSize")
+    private int eventMeshTcpPushBatchMaxPendingSize = 10000;
+
+    @ConfigField(field = "tcp.writeBufferLowWaterMark")
+    private int eventMeshTcpWriteBufferLowWaterMark = 32 * 1024;
+
+    @ConfigField(field = "tcp.writeBufferHighWaterMark")
+    private int eventMeshTcpWriteBufferHighWaterMark = 64 * 1024;
+
     @ConfigField(field = "gracefulShutdown.sleepIntervalInMills")
     private int gracefulShutdownSleepIntervalInMills = 1000;
 
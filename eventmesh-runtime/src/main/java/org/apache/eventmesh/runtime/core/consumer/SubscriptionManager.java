@@ -142,6 +142,7 @@ public class SubscriptionManager {
             }
 
             consumerGroupTopicConf.getUrls().add(url);
+            consumerGroupTopicConf.updateBatchPushUrl(url, subscription.isBatchPush());
             if (!consumerGroupTopicConf.getIdcUrls().containsKey(clientInfo.getIdc())) {
                 consumerGroupTopicConf.getIdcUrls().putIfAbsent(clientInfo.getIdc(), new ArrayList<>());
             }
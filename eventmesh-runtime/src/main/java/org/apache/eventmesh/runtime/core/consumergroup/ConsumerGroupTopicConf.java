@@ -51,6 +51,11 @@ public class ConsumerGroupTopicConf implements Serializable {
      */
     private Set<String> urls = Sets.newConcurrentHashSet();
 
+    /**
+     * URLs taking their messages in batches, see {@link SubscriptionItem#isBatchPush()}
+     */
+    private Set<String> batchPushUrls = Sets.newConcurrentHashSet();
+
     /**
      * url auth type
      */
@@ -71,12 +76,14 @@ public class ConsumerGroupTopicConf implements Serializable {
             &&
             Objects.equals(subscriptionItem, that.subscriptionItem)
             &&
-            Objects.equals(idcUrls, that.idcUrls);
+            Objects.equals(idcUrls, that.idcUrls)
+            &&
+            Objects.equals(batchPushUrls, that.batchPushUrls);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(consumerGroup, topic, subscriptionItem, idcUrls);
+        return Objects.hash(consumerGroup, topic, subscriptionItem, idcUrls, batchPushUrls);
     }
 
     @Override
@@ -85,7 +92,8 @@ public class ConsumerGroupTopicConf implements Serializable {
         sb.append("consumeTopicConfig={consumerGroup=").append(consumerGroup)
             .append(",topic=").append(topic)
             .append(",subscriptionMode=").append(subscriptionItem)
-            .append(",idcUrls=").append(idcUrls).append('}');
+            .append(",idcUrls=").append(idcUrls)
+            .append(",batchPushUrls=").append(batchPushUrls).append('}');
         return sb.toString();
     }
 
@@ -129,6 +137,27 @@ public class ConsumerGroupTopicConf implements Serializable {
         this.urls = urls;
     }
 
+    public Set<String> getBatchPushUrls() {
+        return batchPushUrls;
+    }
+
+    public void setBatchPushUrls(final Set<String> batchPushUrls) {
+        this.batchPushUrls = batchPushUrls;
+    }
+
+    public boolean isBatchPushUrl(final String url) {
+        return !batchPushUrls.isEmpty() && batchPushUrls.contains(url);
+    }
+
+    /**
+     * Record whether the url subscribed with batched push
+     *
+     * @return true if the setting of the url changed
+     */
+    public boolean updateBatchPushUrl(final String url, final boolean batchPush) {
+        return batchPush ? batchPushUrls.add(url) : batchPushUrls.remove(url);
+    }
+
     public Map<String, String> getHttpAuthTypeMap() {
         return httpAuthTypeMap;
     }
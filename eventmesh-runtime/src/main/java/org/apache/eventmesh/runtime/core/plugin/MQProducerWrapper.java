@@ -17,11 +17,15 @@
 
 package org.apache.eventmesh.runtime.core.plugin;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.factory.StoragePluginFactory;
 import org.apache.eventmesh.api.producer.Producer;
+import org.apache.eventmesh.common.config.CommonConfiguration;
+import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -33,7 +37,23 @@ public class MQProducerWrapper extends MQWrapper {
 
     protected Producer meshMQProducer;
 
+    private final CommonConfiguration configuration;
+
+    private final ProducerBatchStats producerBatchStats;
+
+    private ProducerBatchAccumulator batchAccumulator;
+
     public MQProducerWrapper(String storagePluginType) {
+        this(storagePluginType, null, null);
+    }
+
+    /**
+     * @param configuration      enables the batching of the events sent, null to send them one by one
+     * @param producerBatchStats statistics of the batches, shared by the producers of the server
+     */
+    public MQProducerWrapper(String storagePluginType, CommonConfiguration configuration, ProducerBatchStats producerBatchStats) {
+        this.configuration = configuration;
+        this.producerBatchStats = producerBatchStats == null ? new ProducerBatchStats() : producerBatchStats;
         this.meshMQProducer = StoragePluginFactory.getMeshMQProducer(storagePluginType);
         if (meshMQProducer == null) {
             log.error("can't load the meshMQProducer plugin, please check.");
@@ -47,6 +67,10 @@ public class MQProducerWrapper extends MQWrapper {
         }
 
         meshMQProducer.init(keyValue);
+        if (configuration != null && configuration.isEventMeshProducerBatchEnabled()) {
+            batchAccumulator = new ProducerBatchAccumulator(keyValue.getProperty(EventMeshConstants.PRODUCER_GROUP),
+                meshMQProducer, configuration, producerBatchStats);
+        }
         inited.compareAndSet(false, true);
     }
 
@@ -56,6 +80,9 @@ public class MQProducerWrapper extends MQWrapper {
         }
 
         meshMQProducer.start();
+        if (batchAccumulator != null) {
+            batchAccumulator.start();
+        }
 
         started.compareAndSet(false, true);
     }
@@ -69,6 +96,9 @@ public class MQProducerWrapper extends MQWrapper {
             return;
         }
 
+        if (batchAccumulator != null) {
+            batchAccumulator.shutdown();
+        }
         meshMQProducer.shutdown();
 
         inited.compareAndSet(true, false);
@@ -76,9 +106,17 @@ public class MQProducerWrapper extends MQWrapper {
     }
 
     public void send(CloudEvent cloudEvent, SendCallback sendCallback) throws Exception {
+        if (batchAccumulator != null) {
+            batchAccumulator.append(cloudEvent, sendCallback);
+            return;
+        }
         meshMQProducer.publish(cloudEvent, sendCallback);
     }
 
+    public void send(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        meshMQProducer.publish(cloudEvents, batchSendCallback);
+    }
+
     public void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout)
         throws Exception {
         meshMQProducer.request(cloudEvent, rrCallback, timeout);
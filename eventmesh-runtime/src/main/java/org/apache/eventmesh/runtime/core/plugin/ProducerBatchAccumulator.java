@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.plugin;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.exception.StorageRuntimeException;
+import org.apache.eventmesh.api.producer.Producer;
+import org.apache.eventmesh.common.EventMeshThreadFactory;
+import org.apache.eventmesh.common.config.CommonConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.cloudevents.CloudEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups the events of one producer per topic, like the record accumulator of the Kafka client. A batch is sent with
+ * {@link Producer#publish(List, BatchSendCallback)} from a dedicated thread once it holds {@code maxSize} events or its
+ * first event waited {@code lingerInMills}, and the callback of every event is completed with the outcome of the batch.
+ */
+@Slf4j
+public class ProducerBatchAccumulator {
+
+    private final Producer producer;
+
+    private final int maxBatchSize;
+
+    private final long lingerInNanos;
+
+    private final int maxPendingSize;
+
+    private final ProducerBatchStats stats;
+
+    private final AtomicInteger pendingSize = new AtomicInteger(0);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchReady = lock.newCondition();
+
+    /**
+     * Open batches by topic, in creation order so the first one is the next to linger out. Guarded by {@link #lock}.
+     */
+    private final Map<String, Batch> openBatches = new LinkedHashMap<>();
+
+    /**
+     * Full batches waiting for the sender thread. Guarded by {@link #lock}.
+     */
+    private final List<Batch> fullBatches = new ArrayList<>();
+
+    private final Thread senderThread;
+
+    private volatile boolean running;
+
+    public ProducerBatchAccumulator(final String name, final Producer producer, final CommonConfiguration configuration,
+        final ProducerBatchStats stats) {
+        this.producer = producer;
+        this.maxBatchSize = Math.max(1, configuration.getEventMeshProducerBatchMaxSize());
+        this.lingerInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, configuration.getEventMeshProducerBatchLingerInMills()));
+        this.maxPendingSize = Math.max(maxBatchSize, configuration.getEventMeshProducerBatchMaxPendingSize());
+        this.stats = stats;
+        this.senderThread = new EventMeshThreadFactory(name + "-producer-batch", true).newThread(this::run);
+    }
+
+    public void start() {
+        running = true;
+        senderThread.start();
+    }
+
+    /**
+     * Stop the sender thread and send the batches still open
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            senderThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Batch batch : drain(true)) {
+            send(batch);
+        }
+    }
+
+    public int getPendingSize() {
+        return pendingSize.get();
+    }
+
+    /**
+     * Queue an event for the batch of its topic, the callback is completed once the batch has been sent
+     */
+    public void append(final CloudEvent cloudEvent, final SendCallback sendCallback) {
+        if (pendingSize.incrementAndGet() > maxPendingSize) {
+            pendingSize.decrementAndGet();
+            throw new StorageRuntimeException(String.format("too many events waiting to be sent, max: %d", maxPendingSize));
+        }
+
+        lock.lock();
+        try {
+            if (!running) {
+                pendingSize.decrementAndGet();
+                throw new StorageRuntimeException("producer batch accumulator is not running");
+            }
+            stats.addPending(1);
+            final String topic = cloudEvent.getSubject();
+            Batch batch = openBatches.get(topic);
+            if (batch == null) {
+                batch = new Batch(System.nanoTime());
+                openBatches.put(topic, batch);
+                if (openBatches.size() == 1) {
+                    // the sender waits without a deadline while there is no open batch
+                    batchReady.signal();
+                }
+            }
+            batch.add(cloudEvent, sendCallback);
+            if (batch.size() >= maxBatchSize) {
+                openBatches.remove(topic);
+                fullBatches.add(batch);
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            List<Batch> ready;
+            try {
+                ready = awaitReadyBatches();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            for (Batch batch : ready) {
+                send(batch);
+            }
+        }
+    }
+
+    private List<Batch> awaitReadyBatches() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running) {
+                List<Batch> ready = drain(false);
+                if (!ready.isEmpty()) {
+                    return ready;
+                }
+                if (openBatches.isEmpty()) {
+                    batchReady.await();
+                } else {
+                    Batch oldest = openBatches.values().iterator().next();
+                    batchReady.awaitNanos(oldest.createTimeInNanos + lingerInNanos - System.nanoTime());
+                }
+            }
+            return Collections.emptyList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Batch> drain(final boolean all) {
+        lock.lock();
+        try {
+            List<Batch> ready = new ArrayList<>(fullBatches);
+            fullBatches.clear();
+            final long now = System.nanoTime();
+            Iterator<Batch> iterator = openBatches.values().iterator();
+            while (iterator.hasNext()) {
+                Batch batch = iterator.next();
+                if (!all && now - batch.createTimeInNanos < lingerInNanos) {
+                    break;
+                }
+                iterator.remove();
+                ready.add(batch);
+            }
+            return ready;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void send(final Batch batch) {
+        final int size = batch.size();
+        pendingSize.addAndGet(-size);
+        stats.addPending(-size);
+        stats.recordBatch(size, maxBatchSize, System.nanoTime() - batch.createTimeInNanos);
+        try {
+            producer.publish(batch.cloudEvents, new BatchSendCallback() {
+
+                @Override
+                public void onSuccess(List<SendResult> sendResults) {
+                    for (int i = 0; i < size; i++) {
+                        batch.sendCallbacks.get(i).onSuccess(sendResults.get(i));
+                    }
+                }
+
+                @Override
+                public void onException(List<CloudEvent> failedEvents, OnExceptionContext context) {
+                    Set<CloudEvent> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+                    failed.addAll(failedEvents);
+                    for (int i = 0; i < size; i++) {
+                        CloudEvent cloudEvent = batch.cloudEvents.get(i);
+                        if (failed.contains(cloudEvent)) {
+                            batch.sendCallbacks.get(i).onException(contextOf(cloudEvent, context.getException()));
+                        } else {
+                            batch.sendCallbacks.get(i).onSuccess(resultOf(cloudEvent));
+                        }
+                    }
+                }
+            });
+        } catch (Throwable e) {
+            log.error("send batch of {} events failed", size, e);
+            StorageRuntimeException exception = e instanceof StorageRuntimeException
+                ? (StorageRuntimeException) e : new StorageRuntimeException(e);
+            for (int i = 0; i < size; i++) {
+                batch.sendCallbacks.get(i).onException(contextOf(batch.cloudEvents.get(i), exception));
+            }
+        }
+    }
+
+    private static SendResult resultOf(final CloudEvent cloudEvent) {
+        SendResult sendResult = new SendResult();
+        sendResult.setMessageId(cloudEvent.getId());
+        sendResult.setTopic(cloudEvent.getSubject());
+        return sendResult;
+    }
+
+    private static OnExceptionContext contextOf(final CloudEvent cloudEvent, final StorageRuntimeException exception) {
+        return OnExceptionContext.builder()
+            .messageId(cloudEvent.getId())
+            .topic(cloudEvent.getSubject())
+            .exception(exception)
+            .build();
+    }
+
+    private static class Batch {
+
+        private final long createTimeInNanos;
+
+        private final List<CloudEvent> cloudEvents = new ArrayList<>();
+
+        private final List<SendCallback> sendCallbacks = new ArrayList<>();
+
+        Batch(long createTimeInNanos) {
+            this.createTimeInNanos = createTimeInNanos;
+        }
+
+        void add(CloudEvent cloudEvent, SendCallback sendCallback) {
+            cloudEvents.add(cloudEvent);
+            sendCallbacks.add(sendCallback);
+        }
+
+        int size() {
+            return cloudEvents.size();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.plugin;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the producer batches of one protocol server, shared by the {@link ProducerBatchAccumulator}s of its
+ * producer groups. Fill ratio and linger time are moving averages over the latest batches.
+ */
+public class ProducerBatchStats {
+
+    private static final double WEIGHT = 0.1;
+
+    private final LongAdder pendingSize = new LongAdder();
+
+    private final LongAdder batchNum = new LongAdder();
+
+    private double avgFillRatio;
+
+    private double avgLingerInMicros;
+
+    void addPending(int size) {
+        pendingSize.add(size);
+    }
+
+    synchronized void recordBatch(int size, int maxSize, long lingerInNanos) {
+        double fillRatio = size * 100.0 / maxSize;
+        double lingerInMicros = lingerInNanos / 1000.0;
+        if (batchNum.sum() == 0) {
+            avgFillRatio = fillRatio;
+            avgLingerInMicros = lingerInMicros;
+        } else {
+            avgFillRatio += WEIGHT * (fillRatio - avgFillRatio);
+            avgLingerInMicros += WEIGHT * (lingerInMicros - avgLingerInMicros);
+        }
+        batchNum.increment();
+    }
+
+    /**
+     * @return number of events waiting in the batches
+     */
+    public long getPendingSize() {
+        return pendingSize.sum();
+    }
+
+    public long getBatchNum() {
+        return batchNum.sum();
+    }
+
+    /**
+     * @return percentage of the max batch size filled by the latest batches
+     */
+    public synchronized long getAvgFillRatio() {
+        return Math.round(avgFillRatio);
+    }
+
+    /**
+     * @return time the first event of the latest batches waited before the batch was sent
+     */
+    public synchronized long getAvgLingerInMicros() {
+        return Math.round(avgLingerInMicros);
+    }
+}
@@ -61,6 +61,11 @@ public abstract class RetryContext implements TimerTask {
         this.executeTime = executeTime;
     }
 
+    @Override
+    public int getRetryTimes() {
+        return retryTimes;
+    }
+
     @Override
     public final void run() throws Exception {
         String eventMeshRetryPluginType = Optional.ofNullable(commonConfiguration.getEventMeshRetryPluginType())
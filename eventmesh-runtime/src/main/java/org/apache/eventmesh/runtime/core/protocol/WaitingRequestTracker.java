@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol;
+
+import org.apache.eventmesh.common.EventMeshThreadFactory;
+import org.apache.eventmesh.retry.api.timer.HierarchicalTimingWheelTimer;
+import org.apache.eventmesh.retry.api.timer.Timeout;
+import org.apache.eventmesh.retry.api.timer.TimerTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Push requests of one protocol server waiting for the response of their subscriber, counted per consumer group.
+ *
+ * <p>Every request is armed on a timing wheel at {@code lastPushTime + ttl}: adding and removing a request are O(1)
+ * and a single thread expires the requests of all the groups in deadline order, instead of each group scanning its
+ * waiting requests every second. A request removed before its deadline never reaches the expire handler.
+ */
+@Slf4j
+public class WaitingRequestTracker {
+
+    public static final int DEFAULT_GROUP_THRESHOLD = 10000;
+
+    private static final long TICK_IN_MILLS = 100;
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final int groupThreshold;
+
+    private final HierarchicalTimingWheelTimer timer;
+
+    private final Map<String, AtomicInteger> waitingPerGroup = new ConcurrentHashMap<>();
+
+    /**
+     * @param name           name of the expiry thread
+     * @param groupThreshold waiting requests above which a consumer group takes no more pushes
+     */
+    public WaitingRequestTracker(String name, int groupThreshold) {
+        this.groupThreshold = groupThreshold;
+        // expired requests only schedule their retry, so they run on the timer thread itself
+        this.timer = new HierarchicalTimingWheelTimer(new EventMeshThreadFactory(name, true), TICK_IN_MILLS, TimeUnit.MILLISECONDS,
+            WHEEL_SIZE, 0, Runnable::run);
+    }
+
+    public void start() {
+        timer.start();
+    }
+
+    public void shutdown() {
+        timer.stop();
+        waitingPerGroup.clear();
+    }
+
+    /**
+     * Wait for the response of a push
+     *
+     * @param consumerGroup group the request is pushed for
+     * @param ttlInMills    time after which {@code onExpire} runs, unless the request has been removed
+     * @param onExpire      called on the expiry thread once the request waited for its ttl
+     * @return the handle to remove the request with
+     */
+    public Waiting add(String consumerGroup, long ttlInMills, Runnable onExpire) {
+        Waiting waiting = new Waiting(counterOf(consumerGroup), onExpire);
+        waiting.counter.incrementAndGet();
+        waiting.timeout = timer.newTimeout(waiting, Math.max(0, ttlInMills), TimeUnit.MILLISECONDS);
+        return waiting;
+    }
+
+    /**
+     * The push got its response, a request removed or expired already is ignored
+     */
+    public void remove(Waiting waiting) {
+        if (waiting == null || !waiting.done.compareAndSet(false, true)) {
+            return;
+        }
+        waiting.counter.decrementAndGet();
+        Timeout timeout = waiting.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public int getWaiting(String consumerGroup) {
+        AtomicInteger counter = waitingPerGroup.get(consumerGroup);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public boolean isOverThreshold(String consumerGroup) {
+        return getWaiting(consumerGroup) > groupThreshold;
+    }
+
+    public int getGroupThreshold() {
+        return groupThreshold;
+    }
+
+    /**
+     * @return waiting requests of all the groups
+     */
+    public long getTotalWaiting() {
+        long total = 0;
+        for (AtomicInteger counter : waitingPerGroup.values()) {
+            total += counter.get();
+        }
+        return total;
+    }
+
+    /**
+     * @return waiting requests of the group closest to the threshold
+     */
+    public long getMaxGroupWaiting() {
+        long max = 0;
+        for (AtomicInteger counter : waitingPerGroup.values()) {
+            max = Math.max(max, counter.get());
+        }
+        return max;
+    }
+
+    private AtomicInteger counterOf(String consumerGroup) {
+        AtomicInteger counter = waitingPerGroup.get(consumerGroup);
+        return counter != null ? counter : waitingPerGroup.computeIfAbsent(consumerGroup, k -> new AtomicInteger(0));
+    }
+
+    public static final class Waiting implements TimerTask {
+
+        private final AtomicInteger counter;
+
+        private final Runnable onExpire;
+
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        private volatile Timeout timeout;
+
+        private Waiting(AtomicInteger counter, Runnable onExpire) {
+            this.counter = counter;
+            this.onExpire = onExpire;
+        }
+
+        @Override
+        public void run() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            counter.decrementAndGet();
+            try {
+                onExpire.run();
+            } catch (Exception e) {
+                log.error("expire waiting push request error", e);
+            }
+        }
+
+        @Override
+        public void setExecuteTimeHook(long executeTime) {
+        }
+    }
+}
@@ -18,11 +18,13 @@
 package org.apache.eventmesh.runtime.core.protocol.grpc.consumer;
 
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
+import org.apache.eventmesh.common.protocol.grpc.cloudevents.CloudEvent;
 import org.apache.eventmesh.common.protocol.grpc.common.GrpcType;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
 import org.apache.eventmesh.runtime.common.ServiceState;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.ConsumerGroupClient;
+import org.apache.eventmesh.runtime.core.protocol.grpc.service.EventEmitter;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -142,6 +144,21 @@ public class ConsumerManager {
         return false;
     }
 
+    /**
+     * @return the emitters of the stream clients, once per subscriber stream
+     */
+    public synchronized Set<EventEmitter<CloudEvent>> getStreamEmitters() {
+        final Set<EventEmitter<CloudEvent>> emitters = new HashSet<>();
+        for (final List<ConsumerGroupClient> localClients : clientTable.values()) {
+            for (final ConsumerGroupClient localClient : localClients) {
+                if (GrpcType.STREAM == localClient.getGrpcType() && localClient.getEventEmitter() != null) {
+                    emitters.add(localClient.getEventEmitter());
+                }
+            }
+        }
+        return emitters;
+    }
+
     public synchronized void deregisterClient(final ConsumerGroupClient client) {
         final String consumerGroup = client.getConsumerGroup();
         final List<ConsumerGroupClient> localClients = clientTable.get(consumerGroup);
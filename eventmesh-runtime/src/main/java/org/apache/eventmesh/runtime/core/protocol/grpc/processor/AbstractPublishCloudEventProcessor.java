@@ -44,6 +44,11 @@ public abstract class AbstractPublishCloudEventProcessor implements PublishProce
 
     protected final Acl acl;
 
+    /**
+     * Time the request was received, the processor being created per request
+     */
+    protected final long createTime = System.currentTimeMillis();
+
     public AbstractPublishCloudEventProcessor(final EventMeshGrpcServer eventMeshGrpcServer, final Acl acl) {
         this.eventMeshGrpcServer = eventMeshGrpcServer;
         this.acl = acl;
@@ -17,7 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.grpc.processor;
 
-import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
@@ -34,7 +34,6 @@ import org.apache.eventmesh.runtime.core.protocol.grpc.service.EventEmitter;
 import org.apache.eventmesh.runtime.core.protocol.grpc.service.ServiceUtils;
 import org.apache.eventmesh.runtime.core.protocol.producer.EventMeshProducer;
 import org.apache.eventmesh.runtime.core.protocol.producer.ProducerManager;
-import org.apache.eventmesh.runtime.core.protocol.producer.SendMessageContext;
 
 import java.util.List;
 
@@ -58,33 +57,34 @@ public class BatchPublishCloudEventProcessor extends AbstractPublishBatchCloudEv
         List<io.cloudevents.CloudEvent> cloudEvents = grpcCommandProtocolAdaptor.toBatchCloudEvent(
             new BatchEventMeshCloudEventWrapper(cloudEventBatch));
 
-        for (io.cloudevents.CloudEvent event : cloudEvents) {
-            String seqNum = event.getId();
-            String uniqueId = (event.getExtension(ProtocolKey.UNIQUE_ID) == null) ? "" : event.getExtension(ProtocolKey.UNIQUE_ID).toString();
-            ProducerManager producerManager = eventMeshGrpcServer.getProducerManager();
-            EventMeshProducer eventMeshProducer = producerManager.getEventMeshProducer(producerGroup);
-
-            SendMessageContext sendMessageContext = new SendMessageContext(seqNum, event, eventMeshProducer, eventMeshGrpcServer);
+        ProducerManager producerManager = eventMeshGrpcServer.getProducerManager();
+        EventMeshProducer eventMeshProducer = producerManager.getEventMeshProducer(producerGroup);
 
+        for (int i = 0; i < cloudEvents.size(); i++) {
             eventMeshGrpcServer.getEventMeshGrpcMetricsManager().recordSendMsgToQueue();
-            long startTime = System.currentTimeMillis();
-            eventMeshProducer.send(sendMessageContext, new SendCallback() {
+        }
+        long startTime = System.currentTimeMillis();
+        eventMeshProducer.send(cloudEvents, new BatchSendCallback() {
 
-                @Override
-                public void onSuccess(SendResult sendResult) {
-                    long endTime = System.currentTimeMillis();
-                    log.info("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
-                        endTime - startTime, topic, seqNum, uniqueId);
-                }
+            @Override
+            public void onSuccess(List<SendResult> sendResults) {
+                long endTime = System.currentTimeMillis();
+                eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordEventMesh2Mq(endTime - startTime);
+                log.info("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|msgNum={}",
+                    endTime - startTime, topic, sendResults.size());
+            }
 
-                @Override
-                public void onException(OnExceptionContext context) {
-                    long endTime = System.currentTimeMillis();
+            @Override
+            public void onException(List<io.cloudevents.CloudEvent> failedEvents, OnExceptionContext context) {
+                long endTime = System.currentTimeMillis();
+                eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordEventMesh2Mq(endTime - startTime);
+                for (io.cloudevents.CloudEvent event : failedEvents) {
+                    String uniqueId = (event.getExtension(ProtocolKey.UNIQUE_ID) == null) ? "" : event.getExtension(ProtocolKey.UNIQUE_ID).toString();
                     log.error("message|eventMesh2mq|REQ|BatchSend|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
-                        endTime - startTime, topic, seqNum, uniqueId, context.getException());
+                        endTime - startTime, topic, event.getId(), uniqueId, context.getException());
                 }
-            });
-        }
+            }
+        });
         ServiceUtils.sendResponseCompleted(StatusCode.SUCCESS, "batch publish success", emitter);
     }
 
@@ -33,6 +33,7 @@ import org.apache.eventmesh.runtime.core.protocol.grpc.service.ServiceUtils;
 import org.apache.eventmesh.runtime.core.protocol.producer.EventMeshProducer;
 import org.apache.eventmesh.runtime.core.protocol.producer.ProducerManager;
 import org.apache.eventmesh.runtime.core.protocol.producer.SendMessageContext;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 
 import lombok.extern.slf4j.Slf4j;
@@ -69,6 +70,7 @@ public class PublishCloudEventsProcessor extends AbstractPublishCloudEventProces
             public void onSuccess(SendResult sendResult) {
                 ServiceUtils.sendResponseCompleted(StatusCode.SUCCESS, sendResult.toString(), emitter);
                 long endTime = System.currentTimeMillis();
+                recordLatency(startTime, endTime);
                 log.info("message|eventMesh2mq|REQ|ASYNC|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
                     endTime - startTime, topic, seqNum, uniqueId);
                 eventMeshGrpcServer.getEventMeshGrpcMetricsManager().recordSendMsgToClient(EventMeshCloudEventUtils.getIp(message));
@@ -79,10 +81,16 @@ public class PublishCloudEventsProcessor extends AbstractPublishCloudEventProces
                 ServiceUtils.sendResponseCompleted(StatusCode.EVENTMESH_SEND_ASYNC_MSG_ERR,
                     EventMeshUtil.stackTrace(context.getException(), 2), emitter);
                 long endTime = System.currentTimeMillis();
+                recordLatency(startTime, endTime);
                 log.error("message|eventMesh2mq|REQ|ASYNC|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
                     endTime - startTime, topic, seqNum, uniqueId, context.getException());
             }
         });
     }
 
+    private void recordLatency(long startTime, long endTime) {
+        LatencyMetrics latencyMetrics = eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics();
+        latencyMetrics.recordEventMesh2Mq(endTime - startTime);
+        latencyMetrics.recordClient2EventMesh(endTime - createTime);
+    }
 }
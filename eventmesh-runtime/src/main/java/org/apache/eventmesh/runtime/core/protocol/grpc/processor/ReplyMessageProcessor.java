@@ -116,6 +116,7 @@ public class ReplyMessageProcessor {
             @Override
             public void onSuccess(SendResult sendResult) {
                 long endTime = System.currentTimeMillis();
+                eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordEventMesh2Mq(endTime - startTime);
                 log.info("message|mq2eventmesh|REPLY|ReplyToServer|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
                     endTime - startTime, replyTopic, seqNum, uniqueId);
             }
@@ -125,6 +126,7 @@ public class ReplyMessageProcessor {
                 ServiceUtils.sendStreamResponseCompleted(messageReply, StatusCode.EVENTMESH_REPLY_MSG_ERR,
                     EventMeshUtil.stackTrace(onExceptionContext.getException(), 2), emitter);
                 long endTime = System.currentTimeMillis();
+                eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordEventMesh2Mq(endTime - startTime);
                 log.error("message|mq2eventmesh|REPLY|ReplyToServer|send2MQCost={}ms|topic={}|bizSeqNo={}|uniqueId={}",
                     endTime - startTime, replyTopic, seqNum, uniqueId, onExceptionContext.getException());
             }
@@ -30,18 +30,17 @@ import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.RetryContext;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.EventMeshConsumer;
 import org.apache.eventmesh.runtime.core.protocol.grpc.retry.GrpcRetryer;
 
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.Collections;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import com.google.common.collect.Sets;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -55,15 +54,19 @@ public abstract class AbstractPushRequest extends RetryContext {
     protected EventMeshGrpcConfiguration eventMeshGrpcConfiguration;
     protected GrpcRetryer grpcRetryer;
 
-    protected Map<String, Set<AbstractPushRequest>> waitingRequests;
+    protected WaitingRequestTracker waitingRequests;
+
+    private volatile WaitingRequestTracker.Waiting waiting;
 
     protected HandleMsgContext handleMsgContext;
     // protected CloudEvent event;
     protected CloudEvent eventMeshCloudEvent;
 
+    protected long ttl;
+
     private final AtomicBoolean complete = new AtomicBoolean(Boolean.FALSE);
 
-    public AbstractPushRequest(HandleMsgContext handleMsgContext, Map<String, Set<AbstractPushRequest>> waitingRequests) {
+    public AbstractPushRequest(HandleMsgContext handleMsgContext, WaitingRequestTracker waitingRequests) {
         this.eventMeshGrpcServer = handleMsgContext.getEventMeshGrpcServer();
         this.handleMsgContext = handleMsgContext;
         this.waitingRequests = waitingRequests;
@@ -73,6 +76,8 @@ public abstract class AbstractPushRequest extends RetryContext {
         this.grpcRetryer = handleMsgContext.getEventMeshGrpcServer().getGrpcRetryer();
         io.cloudevents.CloudEvent event = handleMsgContext.getEvent();
         this.eventMeshCloudEvent = getEventMeshCloudEvent(event);
+        String ttlStr = eventMeshCloudEvent == null ? null : EventMeshCloudEventUtils.getTtl(eventMeshCloudEvent);
+        this.ttl = StringUtils.isNumeric(ttlStr) ? Long.parseLong(ttlStr) : EventMeshConstants.DEFAULT_TIMEOUT_IN_MILLISECONDS;
     }
 
     public abstract void tryPushRequest();
@@ -132,7 +137,8 @@ public abstract class AbstractPushRequest extends RetryContext {
     }
 
     protected void timeout() {
-        if (!isComplete() && System.currentTimeMillis() - lastPushTime >= Long.parseLong(EventMeshCloudEventUtils.getTtl(eventMeshCloudEvent))) {
+        // only the tracker calls this, after the ttl on a wheel that may fire a tick early, so no deadline check here
+        if (!isComplete()) {
             delayRetry();
         }
     }
@@ -141,19 +147,12 @@ public abstract class AbstractPushRequest extends RetryContext {
         return handleMsgContext;
     }
 
-    protected void addToWaitingMap(WebhookPushRequest request) {
-        if (waitingRequests.containsKey(handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(handleMsgContext.getConsumerGroup()).add(request);
-            return;
-        }
-        waitingRequests.put(handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet());
-        waitingRequests.get(handleMsgContext.getConsumerGroup()).add(request);
+    protected void addToWaitingMap() {
+        waiting = waitingRequests.add(handleMsgContext.getConsumerGroup(), ttl, this::timeout);
     }
 
-    protected void removeWaitingMap(WebhookPushRequest request) {
-        if (waitingRequests.containsKey(handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(handleMsgContext.getConsumerGroup()).remove(request);
-        }
+    protected void removeWaitingMap() {
+        waitingRequests.remove(waiting);
     }
 
     @Override
@@ -17,55 +17,30 @@
 
 package org.apache.eventmesh.runtime.core.protocol.grpc.push;
 
-import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.common.protocol.grpc.common.GrpcType;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 
-import org.apache.commons.collections4.MapUtils;
-
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class MessageHandler {
 
-    private static final ScheduledExecutorService SCHEDULER = ThreadPoolFactory.createSingleScheduledExecutor("eventMesh-pushMsgTimeout-");
-
     private final ThreadPoolExecutor pushExecutor;
 
-    private static final Integer CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD = 10000;
+    private final WaitingRequestTracker waitingRequests;
 
-    private static final Map<String, Set<AbstractPushRequest>> waitingRequests = Maps.newConcurrentMap();
-
-    public MessageHandler(String consumerGroup, ThreadPoolExecutor pushMsgExecutor) {
+    public MessageHandler(ThreadPoolExecutor pushMsgExecutor, WaitingRequestTracker waitingRequests) {
         this.pushExecutor = pushMsgExecutor;
-        waitingRequests.put(consumerGroup, Sets.newConcurrentHashSet());
-        SCHEDULER.scheduleAtFixedRate(this::checkTimeout, 0, 1000, TimeUnit.MILLISECONDS);
-    }
-
-    private void checkTimeout() {
-        waitingRequests.forEach((key, value) -> {
-            for (AbstractPushRequest request : value) {
-                request.timeout();
-                waitingRequests.get(request.getHandleMsgContext().getConsumerGroup()).remove(request);
-            }
-        });
+        this.waitingRequests = waitingRequests;
     }
 
     public boolean handle(HandleMsgContext handleMsgContext) {
-        Set<AbstractPushRequest> waitingRequests4Group = MapUtils.getObject(waitingRequests,
-            handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet());
-        if (waitingRequests4Group.size() > CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD) {
+        if (waitingRequests.isOverThreshold(handleMsgContext.getConsumerGroup())) {
             log.warn("waitingRequests is too many, so reject, this message will be send back to MQ, consumerGroup:{}, threshold:{}",
-                handleMsgContext.getConsumerGroup(), CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD);
+                handleMsgContext.getConsumerGroup(), waitingRequests.getGroupThreshold());
             return false;
         }
 
@@ -22,6 +22,7 @@ import org.apache.eventmesh.common.protocol.grpc.cloudevents.CloudEvent;
 import org.apache.eventmesh.common.protocol.grpc.cloudevents.CloudEvent.CloudEventAttributeValue;
 import org.apache.eventmesh.common.protocol.grpc.common.EventMeshCloudEventUtils;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.StreamTopicConfig;
 import org.apache.eventmesh.runtime.core.protocol.grpc.service.EventEmitter;
 
@@ -29,12 +30,13 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.RandomUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-
-import io.grpc.stub.StreamObserver;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,7 +51,14 @@ public class StreamPushRequest extends AbstractPushRequest {
 
     private final int startIdx;
 
-    public StreamPushRequest(HandleMsgContext handleMsgContext, Map<String, Set<AbstractPushRequest>> waitingRequests) {
+    private final long createTime = System.currentTimeMillis();
+
+    /**
+     * Broadcast streams which already got the message, skipped when the push is deferred
+     */
+    private Set<EventEmitter<CloudEvent>> pushedEmitters;
+
+    public StreamPushRequest(HandleMsgContext handleMsgContext, WaitingRequestTracker waitingRequests) {
         super(handleMsgContext, waitingRequests);
 
         StreamTopicConfig topicConfig = (StreamTopicConfig) handleMsgContext.getConsumeTopicConfig();
@@ -67,7 +76,11 @@ public class StreamPushRequest extends AbstractPushRequest {
 
         List<EventEmitter<CloudEvent>> eventEmitters = selectEmitter();
 
+        boolean deferred = false;
         for (EventEmitter<CloudEvent> eventEmitter : eventEmitters) {
+            if (pushedEmitters != null && pushedEmitters.contains(eventEmitter)) {
+                continue;
+            }
             this.lastPushTime = System.currentTimeMillis();
 
             eventMeshCloudEvent = CloudEvent.newBuilder(eventMeshCloudEvent)
@@ -75,17 +88,25 @@ public class StreamPushRequest extends AbstractPushRequest {
                     CloudEventAttributeValue.newBuilder().setCeString(String.valueOf(lastPushTime)).build())
                 .build();
             try {
-                // catch the error and retry, don't use eventEmitter.onNext() to hide the error
-                StreamObserver<CloudEvent> emitter = eventEmitter.getEmitter();
-                synchronized (emitter) {
-                    emitter.onNext(eventMeshCloudEvent);
+                // throws the error of the stream so that it is retried, unlike eventEmitter.onNext()
+                if (!eventEmitter.tryNext(eventMeshCloudEvent)) {
+                    deferred = true;
+                    continue;
                 }
 
                 long cost = System.currentTimeMillis() - lastPushTime;
+                eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordPush(cost);
                 log.info("message|eventMesh2client|emitter|topic={}|bizSeqNo={}" + "|uniqueId={}|cost={}",
                     EventMeshCloudEventUtils.getSubject(eventMeshCloudEvent), EventMeshCloudEventUtils.getSeqNum(eventMeshCloudEvent),
                     EventMeshCloudEventUtils.getUniqueId(eventMeshCloudEvent), cost);
-                complete();
+                if (subscriptionMode != SubscriptionMode.BROADCASTING) {
+                    complete();
+                    return;
+                }
+                if (pushedEmitters == null) {
+                    pushedEmitters = new HashSet<>();
+                }
+                pushedEmitters.add(eventEmitter);
             } catch (Throwable t) {
                 long cost = System.currentTimeMillis() - lastPushTime;
                 log.error("message|eventMesh2client|exception={} |emitter|topic={}|bizSeqNo={}" + "|uniqueId={}|cost={}",
@@ -93,8 +114,32 @@ public class StreamPushRequest extends AbstractPushRequest {
                     EventMeshCloudEventUtils.getUniqueId(eventMeshCloudEvent), cost, t);
 
                 delayRetry();
+                return;
             }
         }
+
+        if (deferred) {
+            deferPush();
+        } else if (!eventEmitters.isEmpty()) {
+            complete();
+        }
+    }
+
+    /**
+     * The streams are not ready: wait for them without counting a retry, until the message outlives its ttl
+     */
+    private void deferPush() {
+        if (System.currentTimeMillis() - createTime >= ttl) {
+            log.warn("message|eventMesh2client|streams not ready before ttl|topic={}|bizSeqNo={}|uniqueId={}",
+                EventMeshCloudEventUtils.getSubject(eventMeshCloudEvent), EventMeshCloudEventUtils.getSeqNum(eventMeshCloudEvent),
+                EventMeshCloudEventUtils.getUniqueId(eventMeshCloudEvent));
+            delayRetry();
+            return;
+        }
+        log.debug("message|eventMesh2client|deferred|topic={}|bizSeqNo={}|uniqueId={}",
+            EventMeshCloudEventUtils.getSubject(eventMeshCloudEvent), EventMeshCloudEventUtils.getSeqNum(eventMeshCloudEvent),
+            EventMeshCloudEventUtils.getUniqueId(eventMeshCloudEvent));
+        grpcRetryer.newTimeout(this, EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS, TimeUnit.MILLISECONDS);
     }
 
     private List<EventEmitter<CloudEvent>> selectEmitter() {
@@ -115,7 +160,13 @@ public class StreamPushRequest extends AbstractPushRequest {
     private List<EventEmitter<CloudEvent>> getEventEmitters(List<EventEmitter<CloudEvent>> emitterList) {
         switch (subscriptionMode) {
             case CLUSTERING:
-                return Collections.singletonList(emitterList.get((startIdx + retryTimes) % emitterList.size()));
+                // the emitter of this try first, the others in case its stream is not ready
+                int size = emitterList.size();
+                List<EventEmitter<CloudEvent>> ordered = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ordered.add(emitterList.get((startIdx + retryTimes + i) % size));
+                }
+                return ordered;
             case BROADCASTING:
                 return emitterList;
             default:
@@ -30,6 +30,7 @@ import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.consumergroup.WebhookTopicConfig;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -53,7 +54,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,8 +77,7 @@ public class WebhookPushRequest extends AbstractPushRequest {
 
     private final SubscriptionMode subscriptionMode;
 
-    public WebhookPushRequest(HandleMsgContext handleMsgContext,
-        Map<String, Set<AbstractPushRequest>> waitingRequests) {
+    public WebhookPushRequest(HandleMsgContext handleMsgContext, WaitingRequestTracker waitingRequests) {
         super(handleMsgContext, waitingRequests);
 
         WebhookTopicConfig topicConfig = (WebhookTopicConfig) handleMsgContext.getConsumeTopicConfig();
@@ -133,7 +132,7 @@ public class WebhookPushRequest extends AbstractPushRequest {
 
             builder.setEntity(new UrlEncodedFormEntity(body, StandardCharsets.UTF_8));
 
-            addToWaitingMap(this);
+            addToWaitingMap();
 
             CMD_LOGGER.info("cmd={}|eventMesh2client|from={}|to={}", requestCode, IPUtils.getLocalAddress(), selectedPushUrl);
 
@@ -148,7 +147,7 @@ public class WebhookPushRequest extends AbstractPushRequest {
                 MESSAGE_LOGGER.error("message|eventMesh2client|exception={} |emitter|topic={}|bizSeqNo={}|uniqueId={}|cost={}",
                     e.getMessage(), EventMeshCloudEventUtils.getSubject(eventMeshCloudEvent),
                     EventMeshCloudEventUtils.getSeqNum(eventMeshCloudEvent), EventMeshCloudEventUtils.getUniqueId(eventMeshCloudEvent), cost, e);
-                removeWaitingMap(this);
+                removeWaitingMap();
                 delayRetry();
             }
         }
@@ -171,8 +170,9 @@ public class WebhookPushRequest extends AbstractPushRequest {
 
     private ResponseHandler<Object> handleResponse(String selectedPushUrl) {
         return response -> {
-            removeWaitingMap(WebhookPushRequest.this);
+            removeWaitingMap();
             long cost = System.currentTimeMillis() - lastPushTime;
+            eventMeshGrpcServer.getEventMeshGrpcMetricsManager().getLatencyMetrics().recordPush(cost);
 
             if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
                 MESSAGE_LOGGER.info("message|eventMesh2client|exception|url={}|topic={}|bizSeqNo={}|uniqueId={}|cost={}", selectedPushUrl,
@@ -29,6 +29,7 @@ public class GrpcRetryer extends AbstractRetryer {
     private final EventMeshGrpcConfiguration grpcConfiguration;
 
     public GrpcRetryer(EventMeshGrpcServer eventMeshGrpcServer) {
+        super("grpc", eventMeshGrpcServer.getEventMeshGrpcConfiguration());
         this.grpcConfiguration = eventMeshGrpcServer.getEventMeshGrpcConfiguration();
     }
 
@@ -24,6 +24,7 @@ import org.apache.eventmesh.common.protocol.grpc.common.EventMeshCloudEventUtils
 import org.apache.eventmesh.common.protocol.grpc.common.ProtocolKey;
 import org.apache.eventmesh.common.protocol.grpc.common.StatusCode;
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.grpc.processor.ReplyMessageProcessor;
 import org.apache.eventmesh.runtime.core.protocol.grpc.processor.SubscribeProcessor;
@@ -79,7 +80,9 @@ public class ConsumerService extends ConsumerServiceGrpc.ConsumerServiceImplBase
 
     @Override
     public StreamObserver<CloudEvent> subscribeStream(StreamObserver<CloudEvent> responseObserver) {
-        EventEmitter<CloudEvent> emitter = new EventEmitter<>(responseObserver);
+        EventMeshGrpcConfiguration grpcConfiguration = eventMeshGrpcServer.getEventMeshGrpcConfiguration();
+        EventEmitter<CloudEvent> emitter = new EventEmitter<>(responseObserver,
+            grpcConfiguration.isEventMeshGrpcStreamPushFlowControlEnabled() ? grpcConfiguration.getEventMeshGrpcStreamPushMaxPendingSize() : 0);
 
         return new StreamObserver<CloudEvent>() {
 
@@ -17,17 +17,59 @@
 
 package org.apache.eventmesh.runtime.core.protocol.grpc.service;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Serializes the writes to a response stream.
+ *
+ * <p>Created with a {@code maxPendingSize}, an emitter of a server call follows the flow control of the stream:
+ * {@link #tryNext(Object)} writes while the client is ready, queues up to {@code maxPendingSize} events while it is
+ * not, and refuses the rest. The queue drains from the on-ready handler of the call.
+ */
 @Slf4j
 public class EventEmitter<T> {
 
     private final StreamObserver<T> emitter;
 
+    private final ServerCallStreamObserver<T> callObserver;
+
+    private final int maxPendingSize;
+
+    private final Queue<T> pending;
+
+    private volatile int pendingSize;
+
+    private final AtomicLong deferredNum = new AtomicLong(0);
+
     public EventEmitter(StreamObserver<T> emitter) {
+        this(emitter, 0);
+    }
+
+    /**
+     * @param emitter        response stream
+     * @param maxPendingSize events queued while the stream is not ready, 0 to write regardless of its readiness.
+     *                       The on-ready handler can only be set before the service method returns, so the
+     *                       emitter has to be created there.
+     */
+    public EventEmitter(StreamObserver<T> emitter, int maxPendingSize) {
         this.emitter = emitter;
+        if (maxPendingSize > 0 && emitter instanceof ServerCallStreamObserver) {
+            this.callObserver = (ServerCallStreamObserver<T>) emitter;
+            this.maxPendingSize = maxPendingSize;
+            this.pending = new ArrayDeque<>();
+            this.callObserver.setOnReadyHandler(this::drain);
+        } else {
+            this.callObserver = null;
+            this.maxPendingSize = 0;
+            this.pending = null;
+        }
     }
 
     public synchronized void onNext(T event) {
@@ -38,6 +80,45 @@ public class EventEmitter<T> {
         }
     }
 
+    /**
+     * Write the event, or queue it if the stream is not ready. Errors of the stream are thrown to the caller.
+     *
+     * @return false if the stream is not ready and its queue is full, the event is neither written nor queued
+     */
+    public synchronized boolean tryNext(T event) {
+        if (callObserver == null) {
+            emitter.onNext(event);
+            return true;
+        }
+        if (callObserver.isCancelled()) {
+            throw new IllegalStateException("stream is cancelled by the client");
+        }
+        if (pending.isEmpty() && callObserver.isReady()) {
+            emitter.onNext(event);
+            return true;
+        }
+        if (pending.size() >= maxPendingSize) {
+            deferredNum.incrementAndGet();
+            return false;
+        }
+        pending.offer(event);
+        pendingSize = pending.size();
+        return true;
+    }
+
+    private synchronized void drain() {
+        T event;
+        while (callObserver.isReady() && (event = pending.poll()) != null) {
+            try {
+                emitter.onNext(event);
+            } catch (Exception e) {
+                log.warn("StreamObserver Error onNext, drop {} pending events. {}", pending.size(), e.getMessage());
+                pending.clear();
+            }
+        }
+        pendingSize = pending.size();
+    }
+
     public synchronized void onCompleted() {
         try {
             emitter.onCompleted();
@@ -57,4 +138,29 @@ public class EventEmitter<T> {
     public StreamObserver<T> getEmitter() {
         return emitter;
     }
+
+    public boolean isFlowControlled() {
+        return callObserver != null;
+    }
+
+    /**
+     * @return events queued until the stream is ready
+     */
+    public int getPendingSize() {
+        return pendingSize;
+    }
+
+    /**
+     * @return whether the stream is not ready and takes no more events
+     */
+    public boolean isFull() {
+        return callObserver != null && pendingSize >= maxPendingSize;
+    }
+
+    /**
+     * @return events refused because the queue was full
+     */
+    public long getDeferredNum() {
+        return deferredNum.get();
+    }
 }
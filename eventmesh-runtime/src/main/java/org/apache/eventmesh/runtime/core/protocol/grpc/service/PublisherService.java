@@ -63,8 +63,8 @@ public class PublisherService extends PublisherServiceGrpc.PublisherServiceImplB
         eventMeshGrpcServer.getEventMeshGrpcMetricsManager().recordReceiveMsgFromClient(clientId);
 
         EventEmitter<CloudEvent> emitter = new EventEmitter<>(responseObserver);
+        PublishCloudEventsProcessor publishCloudEventsProcessor = new PublishCloudEventsProcessor(eventMeshGrpcServer);
         threadPoolExecutor.submit(() -> {
-            PublishCloudEventsProcessor publishCloudEventsProcessor = new PublishCloudEventsProcessor(eventMeshGrpcServer);
             try {
                 publishCloudEventsProcessor.process(request, emitter);
             } catch (Exception e) {
@@ -108,8 +108,7 @@ public class EventMeshConsumer {
             String protocolVersion =
                 Objects.requireNonNull(event.getSpecVersion()).toString();
 
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span span = TraceUtils.prepareServerSpan(protocolVersion, event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
                 Optional<TopicNameHelper> topicNameHelper =
@@ -190,8 +189,7 @@ public class EventMeshConsumer {
             String protocolVersion =
                 Objects.requireNonNull(event.getSpecVersion()).toString();
 
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span span = TraceUtils.prepareServerSpan(protocolVersion, event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
 
@@ -280,6 +280,9 @@ public final class HttpClientGroupMapping {
                 }
             }
         }
+        if (consumerGroupConf.getConsumerGroupTopicConf().get(subTopic.getTopic()).updateBatchPushUrl(url, subTopic.isBatchPush())) {
+            isChange = true;
+        }
         return isChange;
     }
 
@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.processor;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
@@ -240,23 +241,24 @@ public class BatchSendMessageProcessor extends AbstractHttpRequestProcessor {
         summaryMetrics.recordSendBatchMsg(delta);
 
         if (httpConfiguration.isEventMeshServerBatchMsgBatchEnabled()) {
+            final String retryBatchId = batchId;
             for (List<CloudEvent> eventlist : topicBatchMessageMappings.values()) {
-                // TODO: Implementation in API. Consider whether to put it in the plug-in.
-                CloudEvent event = null;
-                // TODO: Detect the maximum length of messages for different producers.
-                final SendMessageContext sendMessageContext = new SendMessageContext(batchId, event, batchEventMeshProducer, eventMeshHTTPServer);
-                batchEventMeshProducer.send(sendMessageContext, new SendCallback() {
+                batchEventMeshProducer.send(eventlist, new BatchSendCallback() {
 
                     @Override
-                    public void onSuccess(SendResult sendResult) {
+                    public void onSuccess(List<SendResult> sendResults) {
                     }
 
                     @Override
-                    public void onException(OnExceptionContext context) {
-                        BATCH_MSG_LOGGER.warn("", context.getException());
-                        eventMeshHTTPServer.getHttpRetryer().newTimeout(sendMessageContext, 10, TimeUnit.SECONDS);
+                    public void onException(List<CloudEvent> failedEvents, OnExceptionContext context) {
+                        BATCH_MSG_LOGGER.warn("batch send failed, {} of {} messages will be retried", failedEvents.size(),
+                            eventlist.size(), context.getException());
+                        for (CloudEvent event : failedEvents) {
+                            final SendMessageContext sendMessageContext =
+                                new SendMessageContext(retryBatchId, event, batchEventMeshProducer, eventMeshHTTPServer);
+                            eventMeshHTTPServer.getHttpRetryer().newTimeout(sendMessageContext, 10, TimeUnit.SECONDS);
+                        }
                     }
-
                 });
             }
         } else {
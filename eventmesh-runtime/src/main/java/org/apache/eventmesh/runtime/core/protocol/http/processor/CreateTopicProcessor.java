@@ -22,7 +22,6 @@ import org.apache.eventmesh.common.protocol.http.common.EventMeshRetCode;
 import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
 import org.apache.eventmesh.common.protocol.http.common.RequestURI;
 import org.apache.eventmesh.common.utils.IPUtils;
-import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
 import org.apache.eventmesh.runtime.common.EventMeshTrace;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
@@ -45,8 +44,6 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-
 @EventMeshTrace
 public class CreateTopicProcessor implements AsyncHttpProcessor {
 
@@ -82,11 +79,7 @@ public class CreateTopicProcessor implements AsyncHttpProcessor {
         responseHeaderMap.put(ProtocolKey.EventMeshInstanceKey.EVENTMESHIDC, eventMeshHTTPServer.getEventMeshHttpConfiguration().getEventMeshIDC());
 
         // validate body
-        byte[] requestBody = requestWrapper.getBody();
-
-        Map<String, Object> requestBodyMap = JsonUtils.parseTypeReferenceObject(new String(requestBody),
-            new TypeReference<HashMap<String, Object>>() {
-            });
+        Map<String, Object> requestBodyMap = requestWrapper.getBodyMap();
 
         HttpEventWrapper responseWrapper;
 
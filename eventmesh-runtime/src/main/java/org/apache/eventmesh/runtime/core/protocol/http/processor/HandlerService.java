@@ -17,13 +17,13 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.processor;
 
-import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.enums.ConnectionType;
 import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
 import org.apache.eventmesh.common.protocol.http.common.EventMeshRetCode;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.runtime.boot.HTTPTrace;
 import org.apache.eventmesh.runtime.boot.HTTPTrace.TraceOperation;
+import org.apache.eventmesh.runtime.boot.StreamingJsonBodyDecoder;
 import org.apache.eventmesh.runtime.common.EventMeshTrace;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.http.async.AsyncContext;
@@ -35,13 +35,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -49,6 +46,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -73,7 +71,7 @@ public class HandlerService {
 
     private static final Logger HTTP_LOGGER = LoggerFactory.getLogger(EventMeshConstants.PROTOCOL_HTTP);
 
-    private final Map<String, ProcessorWrapper> httpProcessorMap = new ConcurrentHashMap<>();
+    private final HttpRouteTable<ProcessorWrapper> httpProcessorRoutes = new HttpRouteTable<>();
 
     @Setter
     private EventMeshHttpMetricsManager metrics;
@@ -101,7 +99,7 @@ public class HandlerService {
 
     public void register(String path, HttpProcessor httpProcessor, Executor threadPoolExecutor) {
 
-        if (httpProcessorMap.containsKey(path)) {
+        if (httpProcessorRoutes.get(path) != null) {
             throw new RuntimeException(String.format("HandlerService path %s repeat, repeat processor is %s ",
                 path, httpProcessor.getClass().getSimpleName()));
         }
@@ -112,7 +110,7 @@ public class HandlerService {
         }
         processorWrapper.httpProcessor = httpProcessor;
         processorWrapper.traceEnabled = httpProcessor.getClass().getAnnotation(EventMeshTrace.class).isEnable();
-        httpProcessorMap.put(path, processorWrapper);
+        httpProcessorRoutes.register(path, processorWrapper);
         log.info("path is {}  processor name is {}", path, httpProcessor.getClass().getSimpleName());
     }
 
@@ -121,13 +119,7 @@ public class HandlerService {
     }
 
     private ProcessorWrapper getProcessorWrapper(HttpRequest httpRequest) {
-        String uri = httpRequest.uri();
-        for (Entry<String, ProcessorWrapper> e : httpProcessorMap.entrySet()) {
-            if (uri.startsWith(e.getKey())) {
-                return e.getValue();
-            }
-        }
-        return null;
+        return httpProcessorRoutes.match(httpRequest.uri());
     }
 
     /**
@@ -144,6 +136,7 @@ public class HandlerService {
         try {
             HandlerSpecific handlerSpecific = new HandlerSpecific();
             handlerSpecific.request = httpRequest;
+            handlerSpecific.processorWrapper = processorWrapper;
             handlerSpecific.ctx = ctx;
             handlerSpecific.traceOperation = traceOperation;
             handlerSpecific.asyncContext = new AsyncContext<>(new HttpEventWrapper(), null, asyncContextCompleteHandler);
@@ -203,6 +196,13 @@ public class HandlerService {
         }
 
         final long bodyDecodeStart = System.currentTimeMillis();
+        // the body has been decoded while it was received
+        if (httpRequest instanceof StreamingJsonBodyDecoder.JsonBodyRequest) {
+            httpEventWrapper.setBodyMap(((StreamingJsonBodyDecoder.JsonBodyRequest) httpRequest).getBody());
+            metrics.getHttpMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart);
+            return httpEventWrapper;
+        }
+
         // parse http body
         FullHttpRequest fullHttpRequest = (FullHttpRequest) httpRequest;
         final Map<String, Object> bodyMap = new HashMap<>();
@@ -212,13 +212,10 @@ public class HandlerService {
         } else if (HttpMethod.POST == fullHttpRequest.method()) {
 
             if (StringUtils.contains(httpRequest.headers().get("Content-Type"), ContentType.APPLICATION_JSON.getMimeType())) {
-                int length = fullHttpRequest.content().readableBytes();
-                if (length > 0) {
-                    byte[] body = new byte[length];
-                    fullHttpRequest.content().readBytes(body);
+                if (fullHttpRequest.content().isReadable()) {
+                    // read straight from the pooled buffer, without copying it to an array and a string first
                     Optional
-                        .ofNullable(JsonUtils.parseTypeReferenceObject(
-                            new String(body, Constants.DEFAULT_CHARSET),
+                        .ofNullable(JsonUtils.parseTypeReferenceObject(new ByteBufInputStream(fullHttpRequest.content()),
                             new TypeReference<Map<String, Object>>() {
                             }))
                         .ifPresent(bodyMap::putAll);
@@ -239,11 +236,8 @@ public class HandlerService {
             throw new RuntimeException("UnSupported Method " + fullHttpRequest.method());
         }
 
-        byte[] requestBody = Optional.ofNullable(JsonUtils.toJSONString(bodyMap))
-            .map(s -> s.getBytes(StandardCharsets.UTF_8))
-            .orElse(new byte[0]);
-
-        httpEventWrapper.setBody(requestBody);
+        // processors read the map, it is only serialized again when the body bytes are needed
+        httpEventWrapper.setBodyMap(bodyMap);
 
         metrics.getHttpMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart);
 
@@ -260,6 +254,8 @@ public class HandlerService {
 
         private HttpRequest request;
 
+        private ProcessorWrapper processorWrapper;
+
         private HttpResponse response;
 
         private AsyncContext<HttpEventWrapper> asyncContext;
@@ -273,14 +269,6 @@ public class HandlerService {
         private CloudEvent ce;
 
         public void run() {
-            String processorKey = "/";
-            for (String eventProcessorKey : httpProcessorMap.keySet()) {
-                if (request.uri().startsWith(eventProcessorKey)) {
-                    processorKey = eventProcessorKey;
-                    break;
-                }
-            }
-            ProcessorWrapper processorWrapper = HandlerService.this.httpProcessorMap.get(processorKey);
             try {
                 if (processorWrapper.httpProcessor instanceof AsyncHttpProcessor) {
                     // set actual async request
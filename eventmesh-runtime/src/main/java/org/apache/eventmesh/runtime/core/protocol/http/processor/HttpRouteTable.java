@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.processor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes request uris to the handler registered with the longest path the uri starts with.
+ *
+ * <p>Routes are compiled into an exact-match map and a character trie whenever one is registered, and the compiled
+ * table is swapped in as a whole, so a lookup is one hash probe for an exact path, otherwise one walk over the uri,
+ * without locking or allocation.
+ */
+public class HttpRouteTable<T> {
+
+    private final Map<String, T> routes = new HashMap<>();
+
+    private volatile Compiled<T> compiled = new Compiled<>(new HashMap<>(), new Node<>());
+
+    /**
+     * @throws IllegalArgumentException when the path is registered already
+     */
+    public synchronized void register(String path, T handler) {
+        if (routes.containsKey(path)) {
+            throw new IllegalArgumentException("path " + path + " is registered already");
+        }
+        routes.put(path, handler);
+
+        Node<T> root = new Node<>();
+        for (Map.Entry<String, T> route : routes.entrySet()) {
+            root.insert(route.getKey(), route.getValue());
+        }
+        compiled = new Compiled<>(new HashMap<>(routes), root.freeze());
+    }
+
+    /**
+     * @return the handler registered with exactly this path, null when there is none
+     */
+    public T get(String path) {
+        return compiled.exact.get(path);
+    }
+
+    /**
+     * @return the handler of the longest registered path the uri starts with, null when there is none
+     */
+    public T match(String uri) {
+        final Compiled<T> table = compiled;
+        T handler = table.exact.get(uri);
+        if (handler != null) {
+            return handler;
+        }
+        Node<T> node = table.root;
+        T longest = node.value;
+        for (int i = 0; i < uri.length(); i++) {
+            node = node.child(uri.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                longest = node.value;
+            }
+        }
+        return longest;
+    }
+
+    public int size() {
+        return compiled.exact.size();
+    }
+
+    private static class Compiled<T> {
+
+        private final Map<String, T> exact;
+
+        private final Node<T> root;
+
+        Compiled(Map<String, T> exact, Node<T> root) {
+            this.exact = exact;
+            this.root = root;
+        }
+    }
+
+    private static class Node<T> {
+
+        private final Map<Character, Node<T>> building = new HashMap<>();
+
+        /**
+         * sorted, looked up by binary search once frozen
+         */
+        private char[] keys;
+
+        private Node<T>[] children;
+
+        private T value;
+
+        void insert(String path, T handler) {
+            Node<T> node = this;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.building.computeIfAbsent(path.charAt(i), c -> new Node<>());
+            }
+            node.value = handler;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> freeze() {
+            keys = new char[building.size()];
+            int i = 0;
+            for (Character key : building.keySet()) {
+                keys[i++] = key;
+            }
+            Arrays.sort(keys);
+            children = new Node[keys.length];
+            for (i = 0; i < keys.length; i++) {
+                children[i] = building.get(keys[i]).freeze();
+            }
+            building.clear();
+            return this;
+        }
+
+        Node<T> child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.processor;
 
-import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
 import org.apache.eventmesh.common.protocol.http.common.EventMeshRetCode;
@@ -87,10 +86,7 @@ public class LocalSubscribeEventProcessor extends AbstractEventProcessor {
         }
 
         // validate body
-        final Map<String, Object> requestBodyMap = Optional.ofNullable(JsonUtils.parseTypeReferenceObject(
-            new String(requestWrapper.getBody(), Constants.DEFAULT_CHARSET),
-            new TypeReference<HashMap<String, Object>>() {
-            })).orElseGet(HashMap::new);
+        final Map<String, Object> requestBodyMap = Optional.ofNullable(requestWrapper.getBodyMap()).orElseGet(HashMap::new);
 
         if (validatedRequestBodyMap(requestBodyMap)) {
             handlerSpecific.sendErrorResponse(EventMeshRetCode.EVENTMESH_PROTOCOL_BODY_ERR, responseHeaderMap,
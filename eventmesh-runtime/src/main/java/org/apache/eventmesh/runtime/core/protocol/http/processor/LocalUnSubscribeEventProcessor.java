@@ -17,7 +17,6 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.processor;
 
-import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
 import org.apache.eventmesh.common.protocol.http.common.EventMeshRetCode;
 import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
@@ -99,12 +98,7 @@ public class LocalUnSubscribeEventProcessor extends AbstractEventProcessor {
         }
 
         // validate body
-        final byte[] requestBody = requestWrapper.getBody();
-
-        final Map<String, Object> requestBodyMap = Optional.ofNullable(JsonUtils.parseTypeReferenceObject(
-            new String(requestBody, Constants.DEFAULT_CHARSET),
-            new TypeReference<HashMap<String, Object>>() {
-            })).orElseGet(Maps::newHashMap);
+        final Map<String, Object> requestBodyMap = Optional.ofNullable(requestWrapper.getBodyMap()).orElseGet(Maps::newHashMap);
 
         if (validatedRequestBodyMap(requestBodyMap)) {
             handlerSpecific.sendErrorResponse(EventMeshRetCode.EVENTMESH_PROTOCOL_BODY_ERR, responseHeaderMap,
@@ -170,6 +164,8 @@ public class LocalUnSubscribeEventProcessor extends AbstractEventProcessor {
                                 latestTopicConf.setSubscriptionItem(entry.getValue().getSubscriptionItem());
                                 latestTopicConf.setUrls(clientUrls);
                                 latestTopicConf.setIdcUrls(idcUrls);
+                                latestTopicConf.getBatchPushUrls().addAll(entry.getValue().getBatchPushUrls());
+                                latestTopicConf.getBatchPushUrls().retainAll(clientUrls);
                                 map.put(unSubTopic, latestTopicConf);
                             }
                         }
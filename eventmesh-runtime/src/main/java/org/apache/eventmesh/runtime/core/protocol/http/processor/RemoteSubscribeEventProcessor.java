@@ -102,12 +102,7 @@ public class RemoteSubscribeEventProcessor extends AbstractEventProcessor {
         }
 
         // validate body
-        byte[] requestBody = requestWrapper.getBody();
-
-        Map<String, Object> requestBodyMap = Optional.ofNullable(JsonUtils.parseTypeReferenceObject(
-            new String(requestBody, Constants.DEFAULT_CHARSET),
-            new TypeReference<HashMap<String, Object>>() {
-            })).orElseGet(Maps::newHashMap);
+        Map<String, Object> requestBodyMap = Optional.ofNullable(requestWrapper.getBodyMap()).orElseGet(Maps::newHashMap);
 
         if (validatedRequestBodyMap(requestBodyMap)) {
             handlerSpecific.sendErrorResponse(EventMeshRetCode.EVENTMESH_PROTOCOL_BODY_ERR, responseHeaderMap,
@@ -31,6 +31,7 @@ import org.apache.eventmesh.common.protocol.http.common.RequestURI;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.common.utils.RandomStringUtils;
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
 import org.apache.eventmesh.function.filter.pattern.Pattern;
 import org.apache.eventmesh.function.transformer.Transformer;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
@@ -162,6 +163,8 @@ public class SendAsyncEventProcessor implements AsyncHttpProcessor {
         final String topic = event.getSubject();
 
         Pattern filterPattern = eventMeshHTTPServer.getFilterEngine().getFilterPattern(producerGroup + "-" + topic);
+        CompiledPattern compiledPattern = eventMeshHTTPServer.getEventMeshHttpConfiguration().isEventMeshHttpFilterCompiledEnabled()
+            ? eventMeshHTTPServer.getFilterEngine().getCompiledFilterPattern(producerGroup + "-" + topic) : null;
         Transformer transformer = eventMeshHTTPServer.getTransformerEngine().getTransformer(producerGroup + "-" + topic);
 
         // validate body
@@ -246,9 +249,11 @@ public class SendAsyncEventProcessor implements AsyncHttpProcessor {
             event = CloudEventBuilder.from(sendMessageContext.getEvent())
                 .withExtension(EventMeshConstants.REQ_EVENTMESH2MQ_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
                 .build();
-            handlerSpecific.getTraceOperation().createClientTraceOperation(EventMeshUtil.getCloudEventExtensionMap(SpecVersion.V1.toString(), event),
+            handlerSpecific.getTraceOperation().createClientTraceOperation(SpecVersion.V1.toString(), event,
                 EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
-            if (filterPattern != null) {
+            if (compiledPattern != null) {
+                isFiltered = compiledPattern.filter(event);
+            } else if (filterPattern != null) {
                 isFiltered = filterPattern.filter(JsonUtils.toJSONString(event));
             }
 
@@ -108,7 +108,7 @@ public class SendAsyncMessageProcessor extends AbstractHttpRequestProcessor {
             ProtocolPluginFactory.getProtocolAdaptor(protocolType);
         CloudEvent event = httpCommandProtocolAdaptor.toCloudEvent(request);
 
-        Span span = TraceUtils.prepareServerSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+        Span span = TraceUtils.prepareServerSpan(protocolVersion, event,
             EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, true);
 
         // validate event
@@ -247,7 +247,7 @@ public class SendAsyncMessageProcessor extends AbstractHttpRequestProcessor {
                 .build();
             sendMessageContext.setEvent(event);
 
-            Span clientSpan = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span clientSpan = TraceUtils.prepareClientSpan(protocolVersion, event,
                 EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
             try {
                 eventMeshProducer.send(sendMessageContext, new SendCallback() {
@@ -312,8 +312,11 @@ public class SendAsyncMessageProcessor extends AbstractHttpRequestProcessor {
     }
 
     private void spanWithException(CloudEvent event, String protocolVersion, EventMeshRetCode retCode) {
-        Span excepSpan = TraceUtils.prepareServerSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+        Span excepSpan = TraceUtils.prepareServerSpan(protocolVersion, event,
             EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN, false);
+        if (excepSpan == null || !excepSpan.isRecording()) {
+            return;
+        }
         TraceUtils.finishSpanWithException(excepSpan, EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
             retCode.getErrMsg(), null);
     }
@@ -161,6 +161,8 @@ public class UnSubscribeProcessor extends AbstractHttpRequestProcessor {
                                 latestTopicConf.setSubscriptionItem(topicConf.getValue().getSubscriptionItem());
                                 latestTopicConf.setUrls(clientUrls);
                                 latestTopicConf.setIdcUrls(idcUrls);
+                                latestTopicConf.getBatchPushUrls().addAll(topicConf.getValue().getBatchPushUrls());
+                                latestTopicConf.getBatchPushUrls().retainAll(clientUrls);
                                 map.put(unSubTopic, latestTopicConf);
                             }
                         }
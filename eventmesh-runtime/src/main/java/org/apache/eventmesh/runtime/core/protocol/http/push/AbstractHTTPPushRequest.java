@@ -124,8 +124,13 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
         complete.compareAndSet(Boolean.FALSE, Boolean.TRUE);
     }
 
+    /**
+     * Called by the waiting request tracker once the ttl of the push elapsed. The timing wheel may fire up to one tick
+     * before {@code lastPushTime + ttl}, so the deadline is not checked again here: every expired push that has not
+     * completed is retried.
+     */
     public void timeout() {
-        if (!isComplete() && System.currentTimeMillis() - lastPushTime >= ttl) {
+        if (!isComplete()) {
             delayRetry();
         }
     }
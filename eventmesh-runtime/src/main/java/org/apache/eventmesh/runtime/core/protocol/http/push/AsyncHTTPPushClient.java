@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.security.GeneralSecurityException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import javax.net.ssl.SSLContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Non-blocking client pushing messages to webhook subscribers.
+ *
+ * <p>Requests are multiplexed by the client's I/O reactor instead of holding a push thread for the round trip.
+ * Connections are pooled per host, and over TLS HTTP/2 is used when the subscriber offers it, so that all pushes to
+ * it share one connection. Each subscriber url may have at most {@code maxConcurrentPerSubscriber} pushes in flight,
+ * {@link #push} refuses the request beyond that. Callbacks run on the {@code callbackExecutor}, off the reactor.
+ */
+@Slf4j
+public class AsyncHTTPPushClient {
+
+    private static final int IDLE_TIME_IN_SECONDS = 30;
+
+    private final EventMeshHTTPConfiguration eventMeshHttpConfiguration;
+
+    private final Executor callbackExecutor;
+
+    private final int maxConcurrentPerSubscriber;
+
+    private final Map<String, Semaphore> subscriberPermits = new ConcurrentHashMap<>();
+
+    private CloseableHttpAsyncClient client;
+
+    public AsyncHTTPPushClient(EventMeshHTTPConfiguration eventMeshHttpConfiguration, Executor callbackExecutor) {
+        this.eventMeshHttpConfiguration = eventMeshHttpConfiguration;
+        this.callbackExecutor = callbackExecutor;
+        this.maxConcurrentPerSubscriber = Math.max(1, eventMeshHttpConfiguration.getEventMeshHttpPushMaxConcurrentPerSubscriber());
+    }
+
+    public void start() throws GeneralSecurityException {
+        // subscribers are trusted like they were by the blocking client
+        SSLContext sslContext = SSLContexts.custom().loadTrustMaterial(TrustAllStrategy.INSTANCE).build();
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+            .setTlsStrategy(ClientTlsStrategyBuilder.create()
+                .setSslContext(sslContext)
+                .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                .build())
+            .setDefaultTlsConfig(TlsConfig.custom()
+                .setVersionPolicy(versionPolicy(eventMeshHttpConfiguration.getEventMeshHttpPushHttpVersion()))
+                .build())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(eventMeshHttpConfiguration.getEventMeshHttpPushConnectTimeoutInMills()))
+                .build())
+            .setMaxConnTotal(eventMeshHttpConfiguration.getEventMeshHttpPushMaxConnTotal())
+            .setMaxConnPerRoute(eventMeshHttpConfiguration.getEventMeshHttpPushMaxConnPerRoute())
+            .build();
+
+        client = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(eventMeshHttpConfiguration.getEventMeshHttpPushConnectTimeoutInMills()))
+                .setResponseTimeout(Timeout.ofMilliseconds(eventMeshHttpConfiguration.getEventMeshHttpPushResponseTimeoutInMills()))
+                .build())
+            .evictIdleConnections(TimeValue.ofSeconds(IDLE_TIME_IN_SECONDS))
+            .build();
+        client.start();
+        log.info("async http push client started, httpVersion:{}, maxConcurrentPerSubscriber:{}",
+            eventMeshHttpConfiguration.getEventMeshHttpPushHttpVersion(), maxConcurrentPerSubscriber);
+    }
+
+    public void shutdown() {
+        if (client != null) {
+            client.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    /**
+     * Send the request if the subscriber has a free slot
+     *
+     * @return false, without sending, if {@code url} already has {@code maxConcurrentPerSubscriber} pushes in flight
+     */
+    public boolean push(String url, SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback) {
+        Semaphore permits = subscriberPermits.computeIfAbsent(url, k -> new Semaphore(maxConcurrentPerSubscriber));
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        try {
+            client.execute(request, new FutureCallback<SimpleHttpResponse>() {
+
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    permits.release();
+                    dispatch(() -> callback.completed(response));
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    permits.release();
+                    dispatch(() -> callback.failed(ex));
+                }
+
+                @Override
+                public void cancelled() {
+                    permits.release();
+                    dispatch(callback::cancelled);
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Pushes in flight to the subscriber url
+     */
+    public int getInflight(String url) {
+        Semaphore permits = subscriberPermits.get(url);
+        return permits == null ? 0 : maxConcurrentPerSubscriber - permits.availablePermits();
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            callbackExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private static HttpVersionPolicy versionPolicy(String httpVersion) {
+        switch (httpVersion == null ? "" : httpVersion.toLowerCase(Locale.ROOT)) {
+            case "http1":
+                return HttpVersionPolicy.FORCE_HTTP_1;
+            case "http2":
+                return HttpVersionPolicy.FORCE_HTTP_2;
+            default:
+                return HttpVersionPolicy.NEGOTIATE;
+        }
+    }
+}
@@ -30,28 +30,30 @@ import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.common.utils.RandomStringUtils;
+import org.apache.eventmesh.function.filter.pattern.CompiledPattern;
 import org.apache.eventmesh.function.filter.pattern.Pattern;
 import org.apache.eventmesh.function.transformer.Transformer;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
-import org.apache.http.Header;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.HttpStatus;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.util.EntityUtils;
-
-import java.io.IOException;
-import java.nio.charset.Charset;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.net.WWWFormCodec;
+
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -59,8 +61,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,7 +72,6 @@ import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.collect.Sets;
 
 public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
 
@@ -81,10 +83,11 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
 
     public String currPushUrl;
 
-    private final Map<String, Set<AbstractHTTPPushRequest>> waitingRequests;
+    private final WaitingRequestTracker waitingRequests;
+
+    private volatile WaitingRequestTracker.Waiting waiting;
 
-    public AsyncHTTPPushRequest(HandleMsgContext handleMsgContext,
-        Map<String, Set<AbstractHTTPPushRequest>> waitingRequests) {
+    public AsyncHTTPPushRequest(HandleMsgContext handleMsgContext, WaitingRequestTracker waitingRequests) {
         super(handleMsgContext);
         this.waitingRequests = waitingRequests;
     }
@@ -100,7 +103,7 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
             return;
         }
 
-        HttpPost builder = new HttpPost(currPushUrl);
+        SimpleHttpRequest builder = SimpleRequestBuilder.post(currPushUrl).build();
 
         String requestCode = "";
         if (SubscriptionType.SYNC == handleMsgContext.getSubscriptionItem().getType()) {
@@ -128,15 +131,11 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
             .withExtension(EventMeshConstants.RSP_GROUP, handleMsgContext.getConsumerGroup())
             .build();
 
-        Pattern filterPattern = eventMeshHTTPServer.getFilterEngine()
-            .getFilterPattern(handleMsgContext.getConsumerGroup() + "-" + handleMsgContext.getTopic());
-        if (filterPattern != null) {
-            if (!filterPattern.filter(JsonUtils.toJSONString(event))) {
-                LOGGER.error("apply filter failed, group:{}, topic:{}, bizSeqNo={}, uniqueId={}",
-                    this.handleMsgContext.getConsumerGroup(),
-                    this.handleMsgContext.getTopic(), this.handleMsgContext.getBizSeqNo(), this.handleMsgContext.getUniqueId());
-                return;
-            }
+        if (!isFilterMatched(event)) {
+            LOGGER.error("apply filter failed, group:{}, topic:{}, bizSeqNo={}, uniqueId={}",
+                this.handleMsgContext.getConsumerGroup(),
+                this.handleMsgContext.getTopic(), this.handleMsgContext.getBizSeqNo(), this.handleMsgContext.getUniqueId());
+            return;
         }
         Transformer transformer = eventMeshHTTPServer.getTransformerEngine()
             .getTransformer(handleMsgContext.getConsumerGroup() + "-" + handleMsgContext.getTopic());
@@ -206,68 +205,46 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
         body.add(new BasicNameValuePair(PushMessageRequestBody.EXTFIELDS,
             JsonUtils.toJSONString(EventMeshUtil.getEventProp(handleMsgContext.getEvent()))));
 
-        HttpEntity httpEntity = new UrlEncodedFormEntity(body, Constants.DEFAULT_CHARSET);
-
-        builder.setEntity(httpEntity);
+        if (handleMsgContext.getConsumeTopicConfig().isBatchPushUrl(currPushUrl)) {
+            if (!eventMeshHTTPServer.getHttpPushBatchAccumulator().append(this, builder.getHeaders(), body)) {
+                deferPush();
+            }
+            return;
+        }
 
-        eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordPushMsg();
+        builder.setBody(WWWFormCodec.format(body, Constants.DEFAULT_CHARSET),
+            ContentType.APPLICATION_FORM_URLENCODED.withCharset(Constants.DEFAULT_CHARSET));
 
         this.lastPushTime = System.currentTimeMillis();
 
-        addToWaitingMap(this);
-
-        CMD_LOGGER.info("cmd={}|eventMesh2client|from={}|to={}", requestCode, localAddress, currPushUrl);
+        addToWaitingMap();
 
         try {
-            eventMeshHTTPServer.getHttpClientPool().getClient().execute(builder, response -> {
-                removeWaitingMap(AsyncHTTPPushRequest.this);
-                long cost = System.currentTimeMillis() - lastPushTime;
-                eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordHTTPPushTimeCost(cost);
-
-                if (processResponseStatus(response.getStatusLine().getStatusCode(), response)) {
-                    // this is successful response, process response payload
-                    String res;
-                    try {
-                        res = EntityUtils.toString(response.getEntity(), Charset.forName(EventMeshConstants.DEFAULT_CHARSET));
-                    } catch (IOException e) {
-                        LOGGER.warn("handleResponse exception", e);
-                        handleMsgContext.finish();
-                        return new Object();
-                    }
-                    ClientRetCode result = processResponseContent(res);
-                    MESSAGE_LOGGER.info("message|eventMesh2client|{}|url={}|topic={}|bizSeqNo={}|uniqueId={}|cost={}",
-                        result, currPushUrl, handleMsgContext.getTopic(),
-                        handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
-                    switch (result) {
-                        case OK:
-                        case REMOTE_OK:
-                        case FAIL:
-                            complete();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                            break;
-                        case RETRY:
-                        case NOLISTEN:
-                            delayRetry();
-                            if (isComplete()) {
-                                handleMsgContext.finish();
-                            }
-                            break;
-                        default: // do nothing
-                    }
-                } else {
-                    eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordHttpPushMsgFailed();
-                    MESSAGE_LOGGER.info("message|eventMesh2client|exception|url={}|topic={}|bizSeqNo={}|uniqueId={}|cost={}",
-                        currPushUrl, handleMsgContext.getTopic(), handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
+            boolean sent = eventMeshHTTPServer.getHttpPushClient().push(currPushUrl, builder, new FutureCallback<SimpleHttpResponse>() {
 
-                    if (isComplete()) {
-                        handleMsgContext.finish();
-                    }
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    onResponse(response);
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    onFailure(ex);
+                }
+
+                @Override
+                public void cancelled() {
+                    onFailure(new CancellationException("push to " + currPushUrl + " cancelled"));
                 }
-                return new Object();
             });
+            if (!sent) {
+                removeWaitingMap();
+                deferPush();
+                return;
+            }
 
+            eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordPushMsg();
+            CMD_LOGGER.info("cmd={}|eventMesh2client|from={}|to={}", requestCode, localAddress, currPushUrl);
             if (MESSAGE_LOGGER.isDebugEnabled()) {
                 MESSAGE_LOGGER.debug("message|eventMesh2client|url={}|topic={}|event={}",
                     currPushUrl, handleMsgContext.getTopic(), handleMsgContext.getEvent());
@@ -275,14 +252,115 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
                 MESSAGE_LOGGER.info("message|eventMesh2client|url={}|topic={}|bizSeqNo={}|uniqueId={}",
                     currPushUrl, handleMsgContext.getTopic(), handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId());
             }
-        } catch (IOException e) {
-            MESSAGE_LOGGER.error("push2client err", e);
-            removeWaitingMap(this);
+        } catch (Exception e) {
+            onFailure(e);
+        }
+    }
+
+    private void onResponse(SimpleHttpResponse response) {
+        onResponse(response, () -> {
+            byte[] responseBody = response.getBodyBytes();
+            return processResponseContent(responseBody == null ? null : new String(responseBody, Constants.DEFAULT_CHARSET));
+        });
+    }
+
+    /**
+     * The batch holding this message was answered
+     *
+     * @param result result of this message read from the response of the batch
+     */
+    void onBatchResponse(SimpleHttpResponse response, ClientRetCode result) {
+        onResponse(response, () -> result);
+    }
+
+    private void onResponse(SimpleHttpResponse response, Supplier<ClientRetCode> resultSupplier) {
+        removeWaitingMap();
+        long cost = System.currentTimeMillis() - lastPushTime;
+        eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordHTTPPushTimeCost(cost);
+
+        if (processResponseStatus(response.getCode(), response)) {
+            // this is successful response, process response payload
+            ClientRetCode result = resultSupplier.get();
+            MESSAGE_LOGGER.info("message|eventMesh2client|{}|url={}|topic={}|bizSeqNo={}|uniqueId={}|cost={}",
+                result, currPushUrl, handleMsgContext.getTopic(),
+                handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
+            switch (result) {
+                case OK:
+                case REMOTE_OK:
+                case FAIL:
+                    complete();
+                    if (isComplete()) {
+                        handleMsgContext.finish();
+                    }
+                    break;
+                case RETRY:
+                case NOLISTEN:
+                    delayRetry();
+                    if (isComplete()) {
+                        handleMsgContext.finish();
+                    }
+                    break;
+                default: // do nothing
+            }
+        } else {
+            eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordHttpPushMsgFailed();
+            MESSAGE_LOGGER.info("message|eventMesh2client|exception|url={}|topic={}|bizSeqNo={}|uniqueId={}|cost={}",
+                currPushUrl, handleMsgContext.getTopic(), handleMsgContext.getBizSeqNo(), handleMsgContext.getUniqueId(), cost);
+
+            if (isComplete()) {
+                handleMsgContext.finish();
+            }
+        }
+    }
+
+    /**
+     * The message is about to be pushed in a batch
+     */
+    void onBatchPush() {
+        this.lastPushTime = System.currentTimeMillis();
+        addToWaitingMap();
+    }
+
+    /**
+     * The batch holding this message could not be pushed, push the message again later
+     */
+    void onBatchDeferred() {
+        removeWaitingMap();
+        deferPush();
+    }
+
+    void onFailure(Exception e) {
+        MESSAGE_LOGGER.error("push2client err", e);
+        removeWaitingMap();
+        delayRetry();
+        if (isComplete()) {
+            handleMsgContext.finish();
+        }
+    }
+
+    /**
+     * The subscriber has as many pushes in flight as it may have. Push again a bit later without spending a retry,
+     * until the message has waited for its ttl.
+     */
+    private void deferPush() {
+        if (System.currentTimeMillis() - createTime >= ttl) {
             delayRetry();
             if (isComplete()) {
                 handleMsgContext.finish();
             }
+            return;
+        }
+        retryer.newTimeout(this, EventMeshConstants.DEFAULT_PUSH_RETRY_TIME_DISTANCE_IN_MILLSECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isFilterMatched(CloudEvent event) {
+        String filterKey = handleMsgContext.getConsumerGroup() + "-" + handleMsgContext.getTopic();
+        if (eventMeshHTTPServer.getEventMeshHttpConfiguration().isEventMeshHttpFilterCompiledEnabled()) {
+            CompiledPattern compiledPattern = eventMeshHTTPServer.getFilterEngine().getCompiledFilterPattern(filterKey);
+            return compiledPattern == null || compiledPattern.filter(event);
         }
+        Pattern filterPattern = eventMeshHTTPServer.getFilterEngine().getFilterPattern(filterKey);
+        return filterPattern == null || filterPattern.filter(JsonUtils.toJSONString(event));
     }
 
     @Override
@@ -358,20 +436,12 @@ public class AsyncHTTPPushRequest extends AbstractHTTPPushRequest {
         }
     }
 
-    private void addToWaitingMap(AsyncHTTPPushRequest request) {
-        if (waitingRequests.containsKey(request.handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(request.handleMsgContext.getConsumerGroup()).add(request);
-            return;
-        }
-        waitingRequests
-            .put(request.handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet());
-        waitingRequests.get(request.handleMsgContext.getConsumerGroup()).add(request);
+    private void addToWaitingMap() {
+        waiting = waitingRequests.add(handleMsgContext.getConsumerGroup(), ttl, this::timeout);
     }
 
-    private void removeWaitingMap(AsyncHTTPPushRequest request) {
-        if (waitingRequests.containsKey(request.handleMsgContext.getConsumerGroup())) {
-            waitingRequests.get(request.handleMsgContext.getConsumerGroup()).remove(request);
-        }
+    private void removeWaitingMap() {
+        waitingRequests.remove(waiting);
     }
 
     @Override
@@ -17,28 +17,18 @@
 
 package org.apache.eventmesh.runtime.core.protocol.http.push;
 
-import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.EventMeshConsumer;
 import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
-import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.TraceUtils;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
-import org.apache.commons.collections4.MapUtils;
-
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import io.opentelemetry.api.trace.Span;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -46,37 +36,22 @@ public class HTTPMessageHandler implements MessageHandler {
 
     private final transient EventMeshConsumer eventMeshConsumer;
 
-    private static final ScheduledExecutorService SCHEDULER =
-        ThreadPoolFactory.createSingleScheduledExecutor("eventMesh-pushMsgTimeout");
-
-    private static final Integer CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD = 10000;
-
-    protected static final Map<String, Set<AbstractHTTPPushRequest>> waitingRequests = Maps.newConcurrentMap();
-
     private final transient ThreadPoolExecutor pushExecutor;
 
-    private void checkTimeout() {
-        waitingRequests.forEach((key, value) -> value.forEach(r -> {
-            r.timeout();
-            waitingRequests.get(r.handleMsgContext.getConsumerGroup()).remove(r);
-        }));
-
-    }
+    private final transient WaitingRequestTracker waitingRequests;
 
     public HTTPMessageHandler(EventMeshConsumer eventMeshConsumer) {
         this.eventMeshConsumer = eventMeshConsumer;
         this.pushExecutor = eventMeshConsumer.getEventMeshHTTPServer().getHttpThreadPoolGroup().getPushMsgExecutor();
-        waitingRequests.put(this.eventMeshConsumer.getConsumerGroupConf().getConsumerGroup(), Sets.newConcurrentHashSet());
-        SCHEDULER.scheduleAtFixedRate(this::checkTimeout, 0, 1000, TimeUnit.MILLISECONDS);
+        this.waitingRequests = eventMeshConsumer.getEventMeshHTTPServer().getWaitingRequestTracker();
     }
 
     @Override
     public boolean handle(final HandleMsgContext handleMsgContext) {
-        if (MapUtils.getObject(waitingRequests, handleMsgContext.getConsumerGroup(), Sets.newConcurrentHashSet())
-            .size() > CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD) {
+        if (waitingRequests.isOverThreshold(handleMsgContext.getConsumerGroup())) {
             log.warn("waitingRequests is too many, so reject, this message will be send back to MQ, "
                 + "consumerGroup:{}, threshold:{}",
-                handleMsgContext.getConsumerGroup(), CONSUMER_GROUP_WAITING_REQUEST_THRESHOLD);
+                handleMsgContext.getConsumerGroup(), waitingRequests.getGroupThreshold());
             return false;
         }
 
@@ -84,8 +59,7 @@ public class HTTPMessageHandler implements MessageHandler {
             pushExecutor.submit(() -> {
                 String protocolVersion = Objects.requireNonNull(handleMsgContext.getEvent().getSpecVersion()).toString();
 
-                Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                    handleMsgContext.getEvent()),
+                Span span = TraceUtils.prepareClientSpan(protocolVersion, handleMsgContext.getEvent(),
                     EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_CLIENT_SPAN, false);
 
                 try {
@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.EventMeshThreadFactory;
+import org.apache.eventmesh.common.protocol.http.common.ClientRetCode;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
+import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.NameValuePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups the webhook pushes of the subscriptions opting in to batched push, per consumer group, topic and url. A
+ * batch is posted as one JSON array from a dedicated thread once it holds {@code maxSize} messages or its first
+ * message waited {@code lingerInMills}. Each element of the array has the fields of the form of a single push, and
+ * the headers of its event under {@code headers}. The batch request itself only carries the protocol headers shared
+ * by all of its messages.
+ *
+ * <p>The subscriber answers with the result of every message, in the order of the array:
+ * <pre>
+ * {"retCode": 1, "results": [{"retCode": 1}, {"retCode": 2}, ...]}
+ * </pre>
+ * A message without its own result takes the top level {@code retCode}. Every message is then acked or retried on its
+ * own, a retried message joins the batch of the url it is retried on.
+ */
+@Slf4j
+public class HTTPPushBatchAccumulator {
+
+    private static final Logger CMD_LOGGER = LoggerFactory.getLogger(EventMeshConstants.CMD);
+
+    static final String RESULTS = "results";
+
+    static final String HEADERS = "headers";
+
+    /**
+     * Headers of a push which are the same for every message of a batch
+     */
+    private static final Set<String> SHARED_HEADERS = new HashSet<>(Arrays.asList(ProtocolKey.REQUEST_CODE, ProtocolKey.LANGUAGE,
+        ProtocolKey.VERSION, ProtocolKey.EventMeshInstanceKey.EVENTMESHCLUSTER, ProtocolKey.EventMeshInstanceKey.EVENTMESHIP,
+        ProtocolKey.EventMeshInstanceKey.EVENTMESHENV, ProtocolKey.EventMeshInstanceKey.EVENTMESHIDC));
+
+    private final AsyncHTTPPushClient pushClient;
+
+    private final int maxBatchSize;
+
+    private final long lingerInNanos;
+
+    private final int maxPendingSize;
+
+    private final AtomicInteger pendingSize = new AtomicInteger(0);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchReady = lock.newCondition();
+
+    /**
+     * Open batches by group, topic and url, in creation order so the first one is the next to linger out. Guarded by
+     * {@link #lock}.
+     */
+    private final Map<String, Batch> openBatches = new LinkedHashMap<>();
+
+    /**
+     * Full batches waiting for the sender thread. Guarded by {@link #lock}.
+     */
+    private final List<Batch> fullBatches = new ArrayList<>();
+
+    private final Thread senderThread;
+
+    private volatile boolean running;
+
+    public HTTPPushBatchAccumulator(final String name, final EventMeshHTTPConfiguration eventMeshHttpConfiguration,
+        final AsyncHTTPPushClient pushClient) {
+        this.pushClient = pushClient;
+        this.maxBatchSize = Math.max(1, eventMeshHttpConfiguration.getEventMeshHttpPushBatchMaxSize());
+        this.lingerInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, eventMeshHttpConfiguration.getEventMeshHttpPushBatchLingerInMills()));
+        this.maxPendingSize = Math.max(maxBatchSize, eventMeshHttpConfiguration.getEventMeshHttpPushBatchMaxPendingSize());
+        this.senderThread = new EventMeshThreadFactory(name + "-push-batch", true).newThread(this::run);
+    }
+
+    public void start() {
+        running = true;
+        senderThread.start();
+    }
+
+    /**
+     * Stop the sender thread and push the batches still open
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            senderThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Batch batch : drain(true)) {
+            send(batch);
+        }
+    }
+
+    public int getPendingSize() {
+        return pendingSize.get();
+    }
+
+    /**
+     * Queue a message for the batch of its group, topic and url
+     *
+     * @param request the push of the message, its url is the one to push the batch to
+     * @param headers headers of the single push, the shared protocol headers of the first message go on the batch
+     *                request and the other ones into the element of the message
+     * @param fields  form fields of the single push
+     * @return false when too many messages are waiting for their batch
+     */
+    public boolean append(final AsyncHTTPPushRequest request, final Header[] headers, final List<NameValuePair> fields) {
+        if (pendingSize.incrementAndGet() > maxPendingSize) {
+            pendingSize.decrementAndGet();
+            return false;
+        }
+
+        final Map<String, Object> element = new LinkedHashMap<>();
+        for (NameValuePair field : fields) {
+            element.put(field.getName(), field.getValue());
+        }
+        final List<Header> sharedHeaders = new ArrayList<>();
+        final Map<String, String> eventHeaders = new LinkedHashMap<>();
+        for (Header header : headers) {
+            if (SHARED_HEADERS.contains(header.getName())) {
+                sharedHeaders.add(header);
+            } else {
+                eventHeaders.put(header.getName(), header.getValue());
+            }
+        }
+        if (!eventHeaders.isEmpty()) {
+            element.put(HEADERS, eventHeaders);
+        }
+        final String key = request.handleMsgContext.getConsumerGroup() + "@" + request.handleMsgContext.getTopic() + "@"
+            + request.currPushUrl;
+
+        lock.lock();
+        try {
+            if (!running) {
+                pendingSize.decrementAndGet();
+                return false;
+            }
+            Batch batch = openBatches.get(key);
+            if (batch == null) {
+                batch = new Batch(request.currPushUrl, sharedHeaders, System.nanoTime());
+                openBatches.put(key, batch);
+                if (openBatches.size() == 1) {
+                    // the sender waits without a deadline while there is no open batch
+                    batchReady.signal();
+                }
+            }
+            batch.add(request, element);
+            if (batch.size() >= maxBatchSize) {
+                openBatches.remove(key);
+                fullBatches.add(batch);
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            List<Batch> ready;
+            try {
+                ready = awaitReadyBatches();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            for (Batch batch : ready) {
+                send(batch);
+            }
+        }
+    }
+
+    private List<Batch> awaitReadyBatches() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running) {
+                List<Batch> ready = drain(false);
+                if (!ready.isEmpty()) {
+                    return ready;
+                }
+                if (openBatches.isEmpty()) {
+                    batchReady.await();
+                } else {
+                    Batch oldest = openBatches.values().iterator().next();
+                    batchReady.awaitNanos(oldest.createTimeInNanos + lingerInNanos - System.nanoTime());
+                }
+            }
+            return Collections.emptyList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Batch> drain(final boolean all) {
+        lock.lock();
+        try {
+            List<Batch> ready = new ArrayList<>(fullBatches);
+            fullBatches.clear();
+            final long now = System.nanoTime();
+            Iterator<Batch> iterator = openBatches.values().iterator();
+            while (iterator.hasNext()) {
+                Batch batch = iterator.next();
+                if (!all && now - batch.createTimeInNanos < lingerInNanos) {
+                    break;
+                }
+                iterator.remove();
+                ready.add(batch);
+            }
+            return ready;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void send(final Batch batch) {
+        final int size = batch.size();
+        pendingSize.addAndGet(-size);
+
+        final SimpleHttpRequest httpRequest = SimpleRequestBuilder.post(batch.url).build();
+        for (Header header : batch.headers) {
+            httpRequest.addHeader(header);
+        }
+        httpRequest.setBody(JsonUtils.toJSONString(batch.elements), ContentType.APPLICATION_JSON);
+
+        for (AsyncHTTPPushRequest request : batch.requests) {
+            request.onBatchPush();
+        }
+        try {
+            boolean sent = pushClient.push(batch.url, httpRequest, new FutureCallback<SimpleHttpResponse>() {
+
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    byte[] responseBody = response.getBodyBytes();
+                    List<ClientRetCode> results = resultsOf(responseBody == null ? null : new String(responseBody, Constants.DEFAULT_CHARSET),
+                        size);
+                    for (int i = 0; i < size; i++) {
+                        batch.requests.get(i).onBatchResponse(response, results.get(i));
+                    }
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    for (AsyncHTTPPushRequest request : batch.requests) {
+                        request.onFailure(ex);
+                    }
+                }
+
+                @Override
+                public void cancelled() {
+                    failed(new CancellationException("push batch to " + batch.url + " cancelled"));
+                }
+            });
+            if (!sent) {
+                for (AsyncHTTPPushRequest request : batch.requests) {
+                    request.onBatchDeferred();
+                }
+                return;
+            }
+            for (AsyncHTTPPushRequest request : batch.requests) {
+                request.eventMeshHTTPServer.getEventMeshHttpMetricsManager().getHttpMetrics().recordPushMsg();
+            }
+            CMD_LOGGER.info("cmd=batchPush|eventMesh2client|to={}|size={}", batch.url, size);
+        } catch (Exception e) {
+            log.error("push batch of {} messages to {} failed", size, batch.url, e);
+            for (AsyncHTTPPushRequest request : batch.requests) {
+                request.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Read the result of every message of a batch from the response of the subscriber
+     */
+    static List<ClientRetCode> resultsOf(final String content, final int size) {
+        ClientRetCode defaultResult = ClientRetCode.FAIL;
+        List<?> results = Collections.emptyList();
+        if (StringUtils.isNotBlank(content)) {
+            try {
+                Map<String, Object> ret = JsonUtils.parseTypeReferenceObject(content, new TypeReference<Map<String, Object>>() {
+                });
+                if (ret != null) {
+                    defaultResult = retCodeOf(ret.get(ProtocolKey.RETCODE), ClientRetCode.FAIL);
+                    if (ret.get(RESULTS) instanceof List) {
+                        results = (List<?>) ret.get(RESULTS);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("invalid response of batch push: {}", content, e);
+            }
+        }
+
+        List<ClientRetCode> retCodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            retCodes.add(result instanceof Map ? retCodeOf(((Map<?, ?>) result).get(ProtocolKey.RETCODE), defaultResult) : defaultResult);
+        }
+        return retCodes;
+    }
+
+    private static ClientRetCode retCodeOf(final Object retCode, final ClientRetCode defaultResult) {
+        if (retCode instanceof Integer && ClientRetCode.contains((Integer) retCode)) {
+            return ClientRetCode.get((Integer) retCode);
+        }
+        return defaultResult;
+    }
+
+    private static class Batch {
+
+        private final String url;
+
+        private final List<Header> headers;
+
+        private final long createTimeInNanos;
+
+        private final List<AsyncHTTPPushRequest> requests = new ArrayList<>();
+
+        private final List<Map<String, Object>> elements = new ArrayList<>();
+
+        Batch(String url, List<Header> headers, long createTimeInNanos) {
+            this.url = url;
+            this.headers = headers;
+            this.createTimeInNanos = createTimeInNanos;
+        }
+
+        void add(AsyncHTTPPushRequest request, Map<String, Object> element) {
+            requests.add(request);
+            elements.add(element);
+        }
+
+        int size() {
+            return requests.size();
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class HttpRetryer extends AbstractRetryer {
     private final EventMeshHTTPServer eventMeshHTTPServer;
 
     public HttpRetryer(EventMeshHTTPServer eventMeshHTTPServer) {
+        super("http", eventMeshHTTPServer.getEventMeshHttpConfiguration());
         this.eventMeshHTTPServer = eventMeshHTTPServer;
     }
 }
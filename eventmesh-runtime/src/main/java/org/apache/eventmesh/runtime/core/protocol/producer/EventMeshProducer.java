@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.runtime.core.protocol.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.common.config.CommonConfiguration;
@@ -24,10 +25,14 @@ import org.apache.eventmesh.runtime.common.ServiceState;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.consumergroup.ProducerGroupConf;
 import org.apache.eventmesh.runtime.core.plugin.MQProducerWrapper;
+import org.apache.eventmesh.runtime.core.plugin.ProducerBatchStats;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 
+import java.util.List;
 import java.util.Properties;
 
+import io.cloudevents.CloudEvent;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -44,6 +49,11 @@ public class EventMeshProducer {
         mqProducerWrapper.send(sendMsgContext.getEvent(), sendCallback);
     }
 
+    public void send(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback)
+        throws Exception {
+        mqProducerWrapper.send(cloudEvents, batchSendCallback);
+    }
+
     public void request(SendMessageContext sendMsgContext, RequestReplyCallback rrCallback, long timeout)
         throws Exception {
         mqProducerWrapper.request(sendMsgContext.getEvent(), rrCallback, timeout);
@@ -53,8 +63,13 @@ public class EventMeshProducer {
         mqProducerWrapper.reply(sendMessageContext.getEvent(), sendCallback);
     }
 
-    public synchronized void init(CommonConfiguration configuration,
+    public void init(CommonConfiguration configuration,
         ProducerGroupConf producerGroupConfig) throws Exception {
+        init(configuration, producerGroupConfig, null);
+    }
+
+    public synchronized void init(CommonConfiguration configuration,
+        ProducerGroupConf producerGroupConfig, ProducerBatchStats producerBatchStats) throws Exception {
         if (ServiceState.INITED == serviceState) {
             return;
         }
@@ -67,7 +82,7 @@ public class EventMeshProducer {
 
         keyValue.put(EventMeshConstants.EVENT_MESH_IDC, configuration.getEventMeshIDC());
         mqProducerWrapper = new MQProducerWrapper(
-            configuration.getEventMeshStoragePluginType());
+            configuration.getEventMeshStoragePluginType(), configuration, producerBatchStats);
         mqProducerWrapper.init(keyValue);
         serviceState = ServiceState.INITED;
         log.info("EventMeshProducer [{}] inited...........", producerGroupConfig.getGroupName());
@@ -93,7 +93,7 @@ public class ProducerManager {
             return producerTable.get(producerGroupConfig.getGroupName());
         }
         EventMeshProducer eventMeshProducer = new EventMeshProducer();
-        eventMeshProducer.init(eventMeshServer.getConfiguration(), producerGroupConfig);
+        eventMeshProducer.init(eventMeshServer.getConfiguration(), producerGroupConfig, eventMeshServer.getProducerBatchStats());
         producerTable.put(producerGroupConfig.getGroupName(), eventMeshProducer);
         return eventMeshProducer;
     }
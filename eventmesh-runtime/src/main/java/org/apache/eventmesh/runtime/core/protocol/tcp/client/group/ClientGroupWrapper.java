@@ -25,6 +25,7 @@ import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.utils.JsonUtils;
@@ -34,6 +35,7 @@ import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
 import org.apache.eventmesh.runtime.core.plugin.MQProducerWrapper;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.TopicSessionIndex;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry.TcpRetryer;
@@ -58,12 +60,12 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.opentelemetry.api.trace.Span;
 
 import com.google.common.base.Preconditions;
@@ -120,6 +122,8 @@ public class ClientGroupWrapper {
 
     private final ConcurrentHashMap<String, SubscriptionItem> subscriptions = new ConcurrentHashMap<>();
 
+    private final TopicSessionIndex topicSessionIndex = new TopicSessionIndex();
+
     private final MQProducerWrapper mqProducerWrapper;
 
     public ClientGroupWrapper(String sysId, String group,
@@ -135,7 +139,8 @@ public class ClientGroupWrapper {
         this.downstreamDispatchStrategy = downstreamDispatchStrategy;
         this.persistentMsgConsumer = new MQConsumerWrapper(eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshStoragePluginType());
         this.broadCastMsgConsumer = new MQConsumerWrapper(eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshStoragePluginType());
-        this.mqProducerWrapper = new MQProducerWrapper(eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshStoragePluginType());
+        this.mqProducerWrapper = new MQProducerWrapper(eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshStoragePluginType(),
+            eventMeshTCPConfiguration, eventMeshTCPServer.getProducerBatchStats());
     }
 
     public ConcurrentHashMap<String, Map<String, Session>> getTopic2sessionInGroupMapping() {
@@ -190,6 +195,13 @@ public class ClientGroupWrapper {
         return true;
     }
 
+    /**
+     * Select a session subscribed to the topic to downstream a message, without locking the group.
+     */
+    public Session selectSession(String topic) {
+        return downstreamDispatchStrategy.select(group, topic, topicSessionIndex.getSessions(topic));
+    }
+
     public MQProducerWrapper getMqProducerWrapper() {
         return mqProducerWrapper;
     }
@@ -216,6 +228,7 @@ public class ClientGroupWrapper {
             }
             Session s = topic2sessionInGroupMapping.get(topic).putIfAbsent(session.getSessionId(), session);
             if (s == null) {
+                topicSessionIndex.add(topic, session);
                 log.info("Cache session success, group:{} topic:{} client:{} sessionId:{}",
                     group, topic, session.getClient(), session.getSessionId());
             } else {
@@ -252,6 +265,7 @@ public class ClientGroupWrapper {
             this.groupLock.writeLock().lockInterruptibly();
             if (topic2sessionInGroupMapping.containsKey(topic)) {
                 if (topic2sessionInGroupMapping.get(topic).remove(session.getSessionId()) != null) {
+                    topicSessionIndex.remove(topic, session);
                     log.info("removeSubscription remove session success, group:{} topic:{} client:{}",
                         group, topic, session.getClient());
                 } else {
@@ -432,24 +446,21 @@ public class ClientGroupWrapper {
             String protocolVersion =
                 Objects.requireNonNull(event.getSpecVersion()).toString();
 
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span span = TraceUtils.prepareServerSpan(protocolVersion, event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
 
             try {
                 eventMeshTcpMetricsManager.mq2eventMeshMsgNumIncrement();
-                event = CloudEventBuilder.from(event)
+                event = EnvelopeCloudEvent.wrap(event)
                     .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP,
                         String.valueOf(System.currentTimeMillis()))
                     .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                        eventMeshTCPConfiguration.getEventMeshServerIp())
-                    .build();
+                        eventMeshTCPConfiguration.getEventMeshServerIp());
                 String topic = event.getSubject();
 
                 EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
                     (EventMeshAsyncConsumeContext) context;
-                Session session = downstreamDispatchStrategy
-                    .select(group, topic, groupConsumerSessions);
+                Session session = selectSession(topic);
                 String bizSeqNo = EventMeshUtil.getMessageBizSeq(event);
                 if (session == null) {
                     try {
@@ -478,12 +489,11 @@ public class ClientGroupWrapper {
                                 group, topic, bizSeqNo);
                         } else {
                             sendBackTimes++;
-                            event = CloudEventBuilder.from(event)
+                            event = EnvelopeCloudEvent.wrap(event)
                                 .withExtension(EventMeshConstants.EVENTMESH_SEND_BACK_TIMES,
                                     sendBackTimes.toString())
                                 .withExtension(EventMeshConstants.EVENTMESH_SEND_BACK_IP,
-                                    eventMeshTCPConfiguration.getEventMeshServerIp())
-                                .build();
+                                    eventMeshTCPConfiguration.getEventMeshServerIp());
                             sendMsgBackToBroker(event, bizSeqNo);
                         }
                     } catch (Exception e) {
@@ -500,8 +510,15 @@ public class ClientGroupWrapper {
                         eventMeshAsyncConsumeContext.getAbstractContext(), false,
                         subscriptionItem);
                 // msg put in eventmesh,waiting client ack
-                session.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
-                session.downstreamMsg(downStreamMsgContext);
+                if (session.getPusher().unAckMsg(downStreamMsgContext)) {
+                    session.downstreamMsg(downStreamMsgContext);
+                } else {
+                    // the session filled up after it was selected, push it again later
+                    log.warn("unacked msgs of session are full, retry later, client:{}, seq:{}", session.getClient(),
+                        downStreamMsgContext.seq);
+                    tcpRetryer.newTimeout(downStreamMsgContext,
+                        eventMeshTCPConfiguration.getEventMeshTcpMsgRetryAsyncDelayInMills(), TimeUnit.MILLISECONDS);
+                }
                 eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
             } finally {
                 TraceUtils.finishSpan(span, event);
@@ -540,17 +557,15 @@ public class ClientGroupWrapper {
             String protocolVersion =
                 Objects.requireNonNull(event.getSpecVersion()).toString();
 
-            Span span = TraceUtils.prepareServerSpan(
-                EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event),
+            Span span = TraceUtils.prepareServerSpan(protocolVersion, event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_SERVER_SPAN, false);
             try {
                 eventMeshTcpMetricsManager.mq2eventMeshMsgNumIncrement();
-                event = CloudEventBuilder.from(event)
+                event = EnvelopeCloudEvent.wrap(event)
                     .withExtension(EventMeshConstants.REQ_MQ2EVENTMESH_TIMESTAMP,
                         String.valueOf(System.currentTimeMillis()))
                     .withExtension(EventMeshConstants.REQ_RECEIVE_EVENTMESH_IP,
-                        eventMeshTCPConfiguration.getEventMeshServerIp())
-                    .build();
+                        eventMeshTCPConfiguration.getEventMeshServerIp());
                 String topic = event.getSubject();
 
                 EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
@@ -583,7 +598,16 @@ public class ClientGroupWrapper {
                     eventMeshTCPServer.getTcpThreadPoolGroup().getBroadcastMsgDownstreamExecutorService()
                         .submit(() -> {
                             // msg put in eventmesh,waiting client ack
-                            session.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+                            if (!session.getPusher().unAckMsg(downStreamMsgContext)) {
+                                // push it to this session again later, on a context of its own as the shared one moves on
+                                DownStreamMsgContext retryContext = new DownStreamMsgContext(downStreamMsgContext.event, session,
+                                    broadCastMsgConsumer, eventMeshAsyncConsumeContext.getAbstractContext(), false, subscriptionItem);
+                                log.warn("downstream broadcast msg, unacked msgs of session are full, retry later, client:{}, seq:{}",
+                                    session.getClient(), retryContext.seq);
+                                tcpRetryer.newTimeout(retryContext,
+                                    eventMeshTCPConfiguration.getEventMeshTcpMsgRetryAsyncDelayInMills(), TimeUnit.MILLISECONDS);
+                                return;
+                            }
                             session.downstreamMsg(downStreamMsgContext);
                         });
                 }
@@ -18,21 +18,24 @@
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.group;
 
 import org.apache.eventmesh.api.meta.config.EventMeshMetaConfig;
+import org.apache.eventmesh.common.EventMeshThreadFactory;
 import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.common.utils.ThreadUtils;
+import org.apache.eventmesh.retry.api.timer.HierarchicalTimingWheelTimer;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupMetadata;
 import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicMetadata;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcp2Client;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
-import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.FreePriorityDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategyFactory;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.UnackedMessageStore;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.RemotingHelper;
 
@@ -78,6 +81,11 @@ public class ClientSessionGroupMapping {
 
     private EventMeshTCPServer eventMeshTCPServer;
 
+    /**
+     * Expires the unacked msgs of all sessions
+     */
+    private HierarchicalTimingWheelTimer unackedTimer;
+
     public ClientSessionGroupMapping(EventMeshTCPServer eventMeshTCPServer) {
         this.eventMeshTCPServer = eventMeshTCPServer;
     }
@@ -109,7 +117,7 @@ public class ClientSessionGroupMapping {
         Session session;
         if (!sessionTable.containsKey(addr)) {
             log.info("createSession client[{}]", RemotingHelper.parseChannelRemoteAddr(ctx.channel()));
-            session = new Session(user, ctx, eventMeshTCPServer.getEventMeshTCPConfiguration());
+            session = new Session(user, ctx, eventMeshTCPServer.getEventMeshTCPConfiguration(), unackedTimer);
             initClientGroupWrapper(user, session);
             sessionTable.put(addr, session);
             SESSION_LOGGER.info("session|open|succeed|user={}", user);
@@ -208,7 +216,8 @@ public class ClientSessionGroupMapping {
         synchronized (lockMap.get(user.getGroup())) {
             if (!clientGroupMap.containsKey(user.getGroup())) {
                 ClientGroupWrapper cgw = constructClientGroupWrapper(user.getSubsystem(), user.getGroup(),
-                    eventMeshTCPServer, new FreePriorityDispatchStrategy());
+                    eventMeshTCPServer, DownstreamDispatchStrategyFactory.create(
+                        eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshTcpDispatchStrategy()));
                 clientGroupMap.put(user.getGroup(), cgw);
                 log.info("create new ClientGroupWrapper, group:{}", user.getGroup());
             }
@@ -312,30 +321,26 @@ public class ClientSessionGroupMapping {
      * @param session
      */
     private void handleUnackMsgsInSession(Session session) {
-        // key: seq
-        ConcurrentHashMap<String, DownStreamMsgContext> unAckMsg = session.getPusher().getUnAckMsg();
+        UnackedMessageStore unAckMsg = session.getPusher().getUnAckMsg();
         ClientGroupWrapper clientGroupWrapper = Objects.requireNonNull(session.getClientGroupWrapper().get());
         if (unAckMsg.size() > 0 && !clientGroupWrapper.getGroupConsumerSessions().isEmpty()) {
-            for (Map.Entry<String, DownStreamMsgContext> entry : unAckMsg.entrySet()) {
-                DownStreamMsgContext downStreamMsgContext = entry.getValue();
+            for (DownStreamMsgContext downStreamMsgContext : unAckMsg.values()) {
                 if (SubscriptionMode.BROADCASTING == downStreamMsgContext.getSubscriptionItem().getMode()) {
                     log.warn("exist broadcast msg unack when closeSession,seq:{},bizSeq:{},client:{}",
                         downStreamMsgContext.seq, EventMeshUtil.getMessageBizSeq(downStreamMsgContext.event),
                         session.getClient());
                     continue;
                 }
-                Session reChooseSession = clientGroupWrapper.getDownstreamDispatchStrategy()
-                    .select(clientGroupWrapper.getGroup(),
-                        downStreamMsgContext.event.getSubject(),
-                        clientGroupWrapper.getGroupConsumerSessions());
-                if (reChooseSession != null) {
+                Session reChooseSession = clientGroupWrapper.selectSession(downStreamMsgContext.event.getSubject());
+                // msgs left behind expire from the closed session and are retried or acked then
+                if (reChooseSession != null && reChooseSession.getPusher().unAckMsg(downStreamMsgContext)) {
+                    unAckMsg.remove(downStreamMsgContext.getSeqId());
                     downStreamMsgContext.setSession(reChooseSession);
-                    reChooseSession.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
                     reChooseSession.downstreamMsg(downStreamMsgContext);
-                    log.info("rePush msg form unAckMsgs,seq:{},rePushClient:{}", entry.getKey(),
+                    log.info("rePush msg form unAckMsgs,seq:{},rePushClient:{}", downStreamMsgContext.seq,
                         downStreamMsgContext.getSession().getClient());
                 } else {
-                    log.warn("select session fail in handleUnackMsgsInSession,seq:{},topic:{}", entry.getKey(),
+                    log.warn("select session fail in handleUnackMsgsInSession,seq:{},topic:{}", downStreamMsgContext.seq,
                         downStreamMsgContext.event.getSubject());
                 }
             }
@@ -393,30 +398,16 @@ public class ClientSessionGroupMapping {
             }, 1000, eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshTcpSessionExpiredInMills(), TimeUnit.MILLISECONDS);
     }
 
-    private void initDownStreamMsgContextCleaner() {
-        eventMeshTCPServer.getTcpThreadPoolGroup().getScheduler().scheduleAtFixedRate(
-            () -> {
-
-                // scan non-broadcast msg
-                for (Session tmp : sessionTable.values()) {
-                    for (Map.Entry<String, DownStreamMsgContext> entry : tmp.getPusher().getUnAckMsg().entrySet()) {
-                        String seqKey = entry.getKey();
-                        DownStreamMsgContext downStreamMsgContext = entry.getValue();
-                        if (!downStreamMsgContext.isExpire()) {
-                            continue;
-                        }
-                        downStreamMsgContext.ackMsg();
-                        tmp.getPusher().getUnAckMsg().remove(seqKey);
-                        log.warn("remove expire downStreamMsgContext, session:{}, topic:{}, seq:{}", tmp,
-                            downStreamMsgContext.event.getSubject(), seqKey);
-                    }
-                }
-            }, 1000, 5 * 1000, TimeUnit.MILLISECONDS);
+    private void initUnackedTimer() {
+        unackedTimer = new HierarchicalTimingWheelTimer(new EventMeshThreadFactory("eventMesh-tcp-unacked-timer", true),
+            eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshTcpSessionUnackedTickInMills(), TimeUnit.MILLISECONDS,
+            64, 0, eventMeshTCPServer.getTcpThreadPoolGroup().getScheduler());
+        unackedTimer.start();
     }
 
     public void init() throws Exception {
         initSessionCleaner();
-        initDownStreamMsgContextCleaner();
+        initUnackedTimer();
         log.info("ClientSessionGroupMapping inited......");
     }
 
@@ -457,6 +448,9 @@ public class ClientSessionGroupMapping {
             }
         });
         ThreadUtils.randomPause(50);
+        if (unackedTimer != null) {
+            unackedTimer.stop();
+        }
         log.info("ClientSessionGroupMapping shutdown......");
     }
 
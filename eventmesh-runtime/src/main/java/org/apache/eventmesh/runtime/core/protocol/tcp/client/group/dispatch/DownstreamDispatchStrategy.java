@@ -19,6 +19,8 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
 
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -34,4 +36,16 @@ public interface DownstreamDispatchStrategy {
      * @return client session
      */
     Session select(String group, String topic, Set<Session> consumeSessions);
+
+    /**
+     * select a SESSION from the sessions subscribed to the topic
+     *
+     * @param group
+     * @param topic
+     * @param topicSessions snapshot from {@link TopicSessionIndex}, must not be modified
+     * @return client session
+     */
+    default Session select(String group, String topic, Session[] topicSessions) {
+        return select(group, topic, new HashSet<>(Arrays.asList(topicSessions)));
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the {@link DownstreamDispatchStrategy} configured by {@code eventMesh.server.tcp.dispatchStrategy}.
+ */
+@Slf4j
+public final class DownstreamDispatchStrategyFactory {
+
+    public static final String FREE_PRIORITY = "freePriority";
+
+    public static final String ROUND_ROBIN = "roundRobin";
+
+    public static final String LEAST_UNACKED = "leastUnacked";
+
+    public static final String POWER_OF_TWO_CHOICES = "powerOfTwoChoices";
+
+    private DownstreamDispatchStrategyFactory() {
+    }
+
+    public static DownstreamDispatchStrategy create(final String strategy) {
+        if (StringUtils.isBlank(strategy) || FREE_PRIORITY.equalsIgnoreCase(strategy)) {
+            return new FreePriorityDispatchStrategy();
+        }
+        if (ROUND_ROBIN.equalsIgnoreCase(strategy)) {
+            return new RoundRobinDispatchStrategy();
+        }
+        if (LEAST_UNACKED.equalsIgnoreCase(strategy)) {
+            return new LeastUnackedDispatchStrategy();
+        }
+        if (POWER_OF_TWO_CHOICES.equalsIgnoreCase(strategy)) {
+            return new PowerOfTwoChoicesDispatchStrategy();
+        }
+        log.warn("unknown downstream dispatch strategy:{}, use {} instead", strategy, FREE_PRIORITY);
+        return new FreePriorityDispatchStrategy();
+    }
+}
@@ -19,55 +19,15 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
 
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
+import java.util.concurrent.ThreadLocalRandom;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
-
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
-public class FreePriorityDispatchStrategy implements DownstreamDispatchStrategy {
+/**
+ * Picks a random session, preferring the ones that are not isolated.
+ */
+public class FreePriorityDispatchStrategy extends IndexedDispatchStrategy {
 
     @Override
-    public Session select(final String group, final String topic, final Set<Session> groupConsumerSessions) {
-        if (CollectionUtils.isEmpty(groupConsumerSessions)
-            || StringUtils.isBlank(topic)
-            || StringUtils.isBlank(group)) {
-            return null;
-        }
-
-        final List<Session> filtered = new ArrayList<>();
-        final List<Session> isolatedSessions = new ArrayList<>();
-        for (final Session session : groupConsumerSessions) {
-            if (!session.isAvailable(topic)) {
-                continue;
-            }
-
-            if (session.isIsolated()) {
-                isolatedSessions.add(session);
-                log.info("session is not available because session is isolated,isolateTime:{},client:{}",
-                    session.getIsolateTime(), session.getClient());
-                continue;
-            }
-
-            filtered.add(session);
-        }
-
-        if (CollectionUtils.isEmpty(filtered)) {
-            if (CollectionUtils.isEmpty(isolatedSessions)) {
-                log.warn("all sessions can't downstream msg");
-                return null;
-            } else {
-                log.warn("all sessions are isolated,group:{},topic:{}", group, topic);
-                filtered.addAll(isolatedSessions);
-            }
-        }
-
-        Collections.shuffle(filtered);
-        return filtered.get(0);
+    protected Session selectAvailable(final Session[] sessions) {
+        return probe(sessions, ThreadLocalRandom.current().nextInt(sessions.length));
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base class of the strategies selecting from a {@link TopicSessionIndex} snapshot. Every session in the snapshot
+ * is subscribed to the topic, so selection only has to skip closed, isolated and full sessions, without allocating or
+ * logging per session. When every open session is isolated, one of them is still chosen.
+ */
+@Slf4j
+public abstract class IndexedDispatchStrategy implements DownstreamDispatchStrategy {
+
+    @Override
+    public Session select(final String group, final String topic, final Set<Session> consumeSessions) {
+        if (CollectionUtils.isEmpty(consumeSessions) || StringUtils.isBlank(topic)) {
+            return null;
+        }
+        final List<Session> subscribed = new ArrayList<>(consumeSessions.size());
+        for (final Session session : consumeSessions) {
+            if (session.getSessionContext().getSubscribeTopics().containsKey(topic)) {
+                subscribed.add(session);
+            }
+        }
+        return select(group, topic, subscribed.toArray(new Session[0]));
+    }
+
+    @Override
+    public Session select(final String group, final String topic, final Session[] topicSessions) {
+        if (topicSessions == null || topicSessions.length == 0) {
+            log.warn("no session subscribes topic, group:{}, topic:{}", group, topic);
+            return null;
+        }
+
+        final Session selected = selectAvailable(topicSessions);
+        if (selected != null) {
+            return selected;
+        }
+
+        final int start = ThreadLocalRandom.current().nextInt(topicSessions.length);
+        for (int i = 0; i < topicSessions.length; i++) {
+            final Session session = topicSessions[(start + i) % topicSessions.length];
+            if (SessionState.CLOSED != session.getSessionState()) {
+                log.warn("all sessions are isolated,group:{},topic:{}", group, topic);
+                return session;
+            }
+        }
+        log.warn("all sessions can't downstream msg, group:{}, topic:{}", group, topic);
+        return null;
+    }
+
+    /**
+     * Select one available session.
+     *
+     * @param sessions non-empty snapshot of the sessions subscribed to the topic
+     * @return an available session, or null when there is none
+     */
+    protected abstract Session selectAvailable(Session[] sessions);
+
+    protected static boolean isAvailable(final Session session) {
+        return SessionState.CLOSED != session.getSessionState() && !session.isIsolated()
+            && !session.getPusher().isUnAckMsgFull();
+    }
+
+    /**
+     * Probe the sessions from {@code start} on and return the first available one.
+     */
+    protected static Session probe(final Session[] sessions, final int start) {
+        for (int i = 0; i < sessions.length; i++) {
+            final Session session = sessions[(start + i) % sessions.length];
+            if (isAvailable(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the available session with the fewest unacked messages. The counts are read live from each pusher instead of
+ * being kept in an index, which would have to be updated on every push, ack and expiry of every session whatever
+ * strategy is configured; so this scans the snapshot, stopping early at an idle session. Prefer
+ * {@link PowerOfTwoChoicesDispatchStrategy} for groups with many consumer sessions.
+ */
+public class LeastUnackedDispatchStrategy extends IndexedDispatchStrategy {
+
+    @Override
+    protected Session selectAvailable(final Session[] sessions) {
+        // start at a random offset so that ties do not always go to the same session
+        final int start = ThreadLocalRandom.current().nextInt(sessions.length);
+        Session selected = null;
+        int minUnacked = Integer.MAX_VALUE;
+        for (int i = 0; i < sessions.length; i++) {
+            final Session session = sessions[(start + i) % sessions.length];
+            if (!isAvailable(session)) {
+                continue;
+            }
+            final int unacked = session.getPusher().getTotalUnackMsgs();
+            if (unacked == 0) {
+                return session;
+            }
+            if (unacked < minUnacked) {
+                minUnacked = unacked;
+                selected = session;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples two random sessions and picks the one with fewer unacked messages, which spreads load almost as well
+ * as {@link LeastUnackedDispatchStrategy} in constant time.
+ */
+public class PowerOfTwoChoicesDispatchStrategy extends IndexedDispatchStrategy {
+
+    @Override
+    protected Session selectAvailable(final Session[] sessions) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int size = sessions.length;
+        final int first = random.nextInt(size);
+        if (size == 1) {
+            return isAvailable(sessions[first]) ? sessions[first] : null;
+        }
+        // a second index distinct from the first one
+        final int second = (first + 1 + random.nextInt(size - 1)) % size;
+
+        final Session a = sessions[first];
+        final Session b = sessions[second];
+        final boolean aAvailable = isAvailable(a);
+        final boolean bAvailable = isAvailable(b);
+        if (aAvailable && bAvailable) {
+            return a.getPusher().getTotalUnackMsgs() <= b.getPusher().getTotalUnackMsgs() ? a : b;
+        }
+        if (aAvailable) {
+            return a;
+        }
+        if (bAvailable) {
+            return b;
+        }
+        return probe(sessions, second);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-topic index of the sessions subscribed in a client group.
+ * Each topic maps to an immutable array that is replaced on every change, so readers on the dispatch path
+ * never lock and never observe a half-updated view, while writers are serialized per topic by the map.
+ */
+public class TopicSessionIndex {
+
+    private static final Session[] EMPTY = new Session[0];
+
+    private final ConcurrentHashMap<String, Session[]> topicSessions = new ConcurrentHashMap<>();
+
+    public void add(final String topic, final Session session) {
+        topicSessions.compute(topic, (key, sessions) -> {
+            if (sessions == null) {
+                return new Session[] {session};
+            }
+            if (indexOf(sessions, session) >= 0) {
+                return sessions;
+            }
+            Session[] copy = Arrays.copyOf(sessions, sessions.length + 1);
+            copy[sessions.length] = session;
+            return copy;
+        });
+    }
+
+    public void remove(final String topic, final Session session) {
+        topicSessions.computeIfPresent(topic, (key, sessions) -> {
+            int index = indexOf(sessions, session);
+            if (index < 0) {
+                return sessions;
+            }
+            if (sessions.length == 1) {
+                return null;
+            }
+            Session[] copy = new Session[sessions.length - 1];
+            System.arraycopy(sessions, 0, copy, 0, index);
+            System.arraycopy(sessions, index + 1, copy, index, sessions.length - index - 1);
+            return copy;
+        });
+    }
+
+    /**
+     * @return a snapshot of the sessions subscribed to the topic, never null; callers must not modify it
+     */
+    public Session[] getSessions(final String topic) {
+        Session[] sessions = topicSessions.get(topic);
+        return sessions == null ? EMPTY : sessions;
+    }
+
+    private static int indexOf(final Session[] sessions, final Session session) {
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] == session) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
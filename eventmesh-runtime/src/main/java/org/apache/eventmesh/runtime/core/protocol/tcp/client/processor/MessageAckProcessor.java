@@ -55,11 +55,12 @@ public class MessageAckProcessor implements TcpProcessor {
             log.error("MessageAckTask failed, seq cannot be null|user={}", session.getClient());
             return;
         }
-        DownStreamMsgContext downStreamMsgContext = session.getPusher().getUnAckMsg().get(seq);
+        DownStreamMsgContext downStreamMsgContext = session.getPusher().ackMsg(seq);
         // ack non-broadcast msg
         if (downStreamMsgContext != null) {
+            eventMeshTCPServer.getEventMeshTcpMetricsManager().getLatencyMetrics()
+                .recordPush(System.currentTimeMillis() - downStreamMsgContext.getLastPushTime());
             downStreamMsgContext.ackMsg();
-            session.getPusher().getUnAckMsg().remove(seq);
         } else {
             if (cmd != Command.RESPONSE_TO_CLIENT_ACK) {
                 log.warn("MessageAckTask, seq:{}, downStreamMsgContext not in downStreamMap,client:{}",
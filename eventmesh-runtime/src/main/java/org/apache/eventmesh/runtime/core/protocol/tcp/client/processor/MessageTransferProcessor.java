@@ -24,6 +24,7 @@ import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
@@ -55,7 +56,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.opentelemetry.api.trace.Span;
@@ -92,21 +92,6 @@ public class MessageTransferProcessor implements TcpProcessor {
         long taskExecuteTime = System.currentTimeMillis();
         Command cmd = pkg.getHeader().getCmd();
 
-        try {
-            if (eventMeshTCPServer.getEventMeshTCPConfiguration().isEventMeshServerTraceEnable()
-                && RESPONSE_TO_SERVER != cmd) {
-                // attach the span to the server context
-                Span span = TraceUtils.prepareServerSpan(pkg.getHeader().getProperties(),
-                    EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN,
-                    startTime, TimeUnit.MILLISECONDS, true);
-                Context context = Context.current().with(SpanKey.SERVER_KEY, span);
-                // put the context in channel
-                ctx.channel().attr(AttributeKeys.SERVER_CONTEXT).set(context);
-            }
-        } catch (Exception ex) {
-            log.warn("upload trace fail in MessageTransferTask[server-span-start]", ex);
-        }
-
         Command replyCmd = getReplyCmd(cmd);
         Package msg = new Package();
 
@@ -126,6 +111,7 @@ public class MessageTransferProcessor implements TcpProcessor {
             if (event == null) {
                 throw new Exception("event is null");
             }
+            startServerSpan(pkg, ctx, event, startTime);
 
             String content = new String(Objects.requireNonNull(event.getData()).toBytes(), StandardCharsets.UTF_8);
             int eventMeshEventSize = eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshEventSize();
@@ -182,6 +168,7 @@ public class MessageTransferProcessor implements TcpProcessor {
                     new Header(replyCmd, OPStatus.FAIL.getCode(), e.toString(),
                         pkg.getHeader()
                             .getSeq()));
+                session.getSender().advertiseCredits(msg.getHeader());
                 Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(), session);
 
                 if (event != null) {
@@ -191,6 +178,27 @@ public class MessageTransferProcessor implements TcpProcessor {
         }
     }
 
+    /**
+     * Start the server span once the event is decoded, so it is sampled on the subject and id like the other spans of
+     * the event
+     */
+    private void startServerSpan(Package pkg, ChannelHandlerContext ctx, CloudEvent event, long startTime) {
+        try {
+            if (eventMeshTCPServer.getEventMeshTCPConfiguration().isEventMeshServerTraceEnable()
+                && RESPONSE_TO_SERVER != pkg.getHeader().getCmd()) {
+                // attach the span to the server context
+                Span span = TraceUtils.prepareServerSpan(pkg.getHeader().getProperties(), event.getSubject(), event.getId(),
+                    EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_SERVER_SPAN,
+                    startTime, TimeUnit.MILLISECONDS, true);
+                Context context = Context.current().with(SpanKey.SERVER_KEY, span);
+                // put the context in channel
+                ctx.channel().attr(AttributeKeys.SERVER_CONTEXT).set(context);
+            }
+        } catch (Exception ex) {
+            log.warn("upload trace fail in MessageTransferTask[server-span-start]", ex);
+        }
+    }
+
     private CloudEvent addTimestamp(CloudEvent event, Command cmd, long sendTime) {
         if (cmd == RESPONSE_TO_SERVER) {
             return buildCloudEventWithTimestamps(event,
@@ -207,11 +215,10 @@ public class MessageTransferProcessor implements TcpProcessor {
 
     private CloudEvent buildCloudEventWithTimestamps(CloudEvent event, String client2EventMeshTime,
         String eventMesh2MqTime, long sendTime, String eventMeshIP) {
-        return CloudEventBuilder.from(event)
+        return EnvelopeCloudEvent.wrap(event)
             .withExtension(client2EventMeshTime, String.valueOf(startTime))
             .withExtension(eventMesh2MqTime, String.valueOf(sendTime))
-            .withExtension(eventMeshIP, eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp())
-            .build();
+            .withExtension(eventMeshIP, eventMeshTCPServer.getEventMeshTCPConfiguration().getEventMeshServerIp());
     }
 
     private Command getReplyCmd(Command cmd) {
@@ -236,15 +243,17 @@ public class MessageTransferProcessor implements TcpProcessor {
 
             @Override
             public void onSuccess(SendResult sendResult) {
-                session.getSender().getUpstreamBuff().release();
+                long cost = System.currentTimeMillis() - createTime;
+                session.getSender().getFlowController().release(cost, true);
+                eventMeshTCPServer.getEventMeshTcpMetricsManager().getLatencyMetrics().recordEventMesh2Mq(cost);
                 MESSAGE_LOGGER.info("upstreamMsg message success|user={}|callback cost={}",
-                    session.getClient(),
-                    System.currentTimeMillis() - createTime);
+                    session.getClient(), cost);
                 if (replyCmd == Command.BROADCAST_MESSAGE_TO_SERVER_ACK
                     || replyCmd == Command.ASYNC_MESSAGE_TO_SERVER_ACK) {
                     msg.setHeader(
                         new Header(replyCmd, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(),
                             pkg.getHeader().getSeq()));
+                    session.getSender().advertiseCredits(msg.getHeader());
                     msg.setBody(event);
                     Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(),
                         session);
@@ -256,7 +265,9 @@ public class MessageTransferProcessor implements TcpProcessor {
 
             @Override
             public void onException(OnExceptionContext context) {
-                session.getSender().getUpstreamBuff().release();
+                long cost = System.currentTimeMillis() - createTime;
+                session.getSender().getFlowController().release(cost, false);
+                eventMeshTCPServer.getEventMeshTcpMetricsManager().getLatencyMetrics().recordEventMesh2Mq(cost);
 
                 // retry
                 UpStreamMsgContext upStreamMsgContext = new UpStreamMsgContext(
@@ -269,11 +280,12 @@ public class MessageTransferProcessor implements TcpProcessor {
                 MESSAGE_LOGGER
                     .error("upstreamMsg mq message error|user={}|callback cost={}, errMsg={}",
                         session.getClient(),
-                        (System.currentTimeMillis() - createTime),
+                        cost,
                         new Exception(context.getException()));
                 msg.setHeader(
                     new Header(replyCmd, OPStatus.FAIL.getCode(), context.getException().toString(),
                         pkg.getHeader().getSeq()));
+                session.getSender().advertiseCredits(msg.getHeader());
                 msg.setBody(event);
                 Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(), session);
 
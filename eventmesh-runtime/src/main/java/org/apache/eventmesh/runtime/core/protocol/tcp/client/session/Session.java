@@ -27,6 +27,7 @@ import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.retry.api.timer.Timer;
 import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientGroupWrapper;
@@ -95,6 +96,9 @@ public class Session {
     @Getter
     private SessionSender sender;
 
+    @Getter
+    private final SessionWriteBatcher writeBatcher;
+
     private final long createTime = System.currentTimeMillis();
 
     @Setter
@@ -180,19 +184,23 @@ public class Session {
                 return;
             }
 
-            context.writeAndFlush(pkg).addListener(
-                new ChannelFutureListener() {
-
-                    @Override
-                    public void operationComplete(ChannelFuture future) throws Exception {
-                        if (!future.isSuccess()) {
-                            MESSAGE_LOGGER.error("write2Client fail, pkg[{}] session[{}]", pkg, this);
-                        } else {
-                            Objects.requireNonNull(clientGroupWrapper.get())
-                                .getEventMeshTcpMetricsManager().eventMesh2clientMsgNumIncrement(IPUtils.parseChannelRemoteAddr(future.channel()));
-                        }
+            ChannelFutureListener listener = new ChannelFutureListener() {
+
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    if (!future.isSuccess()) {
+                        MESSAGE_LOGGER.error("write2Client fail, pkg[{}] session[{}]", pkg, this);
+                    } else {
+                        Objects.requireNonNull(clientGroupWrapper.get())
+                            .getEventMeshTcpMetricsManager().eventMesh2clientMsgNumIncrement(IPUtils.parseChannelRemoteAddr(future.channel()));
                     }
-                });
+                }
+            };
+            if (writeBatcher.isEnabled()) {
+                writeBatcher.write(pkg, listener);
+            } else {
+                context.writeAndFlush(pkg).addListener(listener);
+            }
         } catch (Exception e) {
             log.error("exception while write2Client", e);
         }
@@ -250,13 +258,15 @@ public class Session {
         return result;
     }
 
-    public Session(UserAgent client, ChannelHandlerContext context, EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+    public Session(UserAgent client, ChannelHandlerContext context, EventMeshTCPConfiguration eventMeshTCPConfiguration,
+        Timer unackedTimer) {
         this.client = client;
         this.context = context;
         this.eventMeshTCPConfiguration = eventMeshTCPConfiguration;
         this.remoteAddress = (InetSocketAddress) context.channel().remoteAddress();
         this.sender = new SessionSender(this);
-        this.pusher = new SessionPusher(this);
+        this.writeBatcher = new SessionWriteBatcher(this, eventMeshTCPConfiguration);
+        this.pusher = new SessionPusher(this, unackedTimer);
     }
 
     public void trySendListenResponse(Header header, long startTime, long taskExecuteTime) {
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session;
+
+import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.internal.PlatformDependent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the downstream writes of one session. Packages are queued from any thread and written on the channel
+ * event loop, with a single flush per batch of {@code maxSize} packages or after {@code flushIntervalInMills},
+ * whichever comes first.
+ *
+ * <p>Draining stops while the channel is not writable, so a slow client keeps its messages here instead of in the
+ * Netty outbound buffer; once {@code maxPendingSize} writes are waiting, new writes fail immediately and the
+ * caller's listener handles them like any other write failure (isolate and retry for pushes).
+ */
+@Slf4j
+public class SessionWriteBatcher {
+
+    private final Session session;
+
+    private final boolean enabled;
+
+    private final int maxBatchSize;
+
+    private final long flushIntervalInMills;
+
+    private final int maxPendingSize;
+
+    private final Queue<PendingWrite> pendingWrites = PlatformDependent.newMpscQueue();
+
+    private final AtomicInteger pendingSize = new AtomicInteger(0);
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final AtomicBoolean delayedFlushScheduled = new AtomicBoolean(false);
+
+    private final Runnable flushTask = this::flush;
+
+    public SessionWriteBatcher(Session session, EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+        this.session = session;
+        this.enabled = eventMeshTCPConfiguration.isEventMeshTcpPushBatchEnabled();
+        this.maxBatchSize = Math.max(1, eventMeshTCPConfiguration.getEventMeshTcpPushBatchMaxSize());
+        this.flushIntervalInMills = Math.max(0, eventMeshTCPConfiguration.getEventMeshTcpPushBatchFlushIntervalInMills());
+        this.maxPendingSize = Math.max(maxBatchSize, eventMeshTCPConfiguration.getEventMeshTcpPushBatchMaxPendingSize());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPendingSize() {
+        return pendingSize.get();
+    }
+
+    /**
+     * Queue a package for the next batch, the listener is notified once the package has been written
+     */
+    public void write(final Package pkg, final ChannelFutureListener listener) {
+        final ChannelHandlerContext context = session.getContext();
+        if (pendingSize.incrementAndGet() > maxPendingSize) {
+            pendingSize.decrementAndGet();
+            ChannelFuture failed = context.newFailedFuture(
+                new IllegalStateException("too many pending writes, client is not consuming, session=" + session.getClient()));
+            if (listener != null) {
+                failed.addListener(listener);
+            }
+            return;
+        }
+        pendingWrites.offer(new PendingWrite(pkg, listener));
+
+        if (pendingSize.get() >= maxBatchSize || flushIntervalInMills == 0) {
+            scheduleFlush();
+        } else if (delayedFlushScheduled.compareAndSet(false, true)) {
+            context.channel().eventLoop().schedule(flushTask, flushIntervalInMills, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Resume draining, called when the channel becomes writable again or is closed
+     */
+    public void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            session.getContext().channel().eventLoop().execute(flushTask);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        delayedFlushScheduled.set(false);
+
+        final ChannelHandlerContext context = session.getContext();
+        final Channel channel = context.channel();
+        // writes to an inactive channel fail at once, so they are drained too and their listeners notified
+        final boolean active = channel.isActive();
+        int written = 0;
+        PendingWrite pendingWrite;
+        while ((!active || channel.isWritable()) && (pendingWrite = pendingWrites.poll()) != null) {
+            pendingSize.decrementAndGet();
+            ChannelFuture future = context.write(pendingWrite.pkg);
+            if (pendingWrite.listener != null) {
+                future.addListener(pendingWrite.listener);
+            }
+            if (++written == maxBatchSize) {
+                context.flush();
+                written = 0;
+            }
+        }
+        if (written > 0) {
+            context.flush();
+        }
+
+        if (!pendingWrites.isEmpty()) {
+            if (channel.isWritable()) {
+                scheduleFlush();
+            } else {
+                log.debug("session is not writable, {} writes pending, client:{}", pendingSize.get(), session.getClient());
+            }
+        }
+    }
+
+    private static class PendingWrite {
+
+        private final Package pkg;
+
+        private final ChannelFutureListener listener;
+
+        PendingWrite(Package pkg, ChannelFutureListener listener) {
+            this.pkg = pkg;
+            this.listener = listener;
+        }
+    }
+}
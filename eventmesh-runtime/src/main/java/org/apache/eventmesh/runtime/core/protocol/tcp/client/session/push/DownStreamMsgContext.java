@@ -33,6 +33,7 @@ import org.apache.commons.lang3.time.DateFormatUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import io.cloudevents.CloudEvent;
 
@@ -54,6 +55,16 @@ public class DownStreamMsgContext extends RetryContext {
     @Getter
     private final SubscriptionItem subscriptionItem;
 
+    @Getter
+    private final long seqId;
+
+    /**
+     * Time the client has to ack a push of the message, from the TTL extension
+     */
+    @Getter
+    private final long ttl;
+
+    @Getter
     private long lastPushTime;
 
     private final long createTime;
@@ -65,7 +76,8 @@ public class DownStreamMsgContext extends RetryContext {
     public DownStreamMsgContext(CloudEvent event, Session session, MQConsumerWrapper consumer,
         AbstractContext consumeConcurrentlyContext, boolean msgFromOtherEventMesh,
         SubscriptionItem subscriptionItem) {
-        this.seq = String.valueOf(ServerGlobal.getInstance().getMsgCounter().incrementAndGet());
+        this.seqId = ServerGlobal.getInstance().getMsgCounter().incrementAndGet();
+        this.seq = String.valueOf(seqId);
         this.event = event;
         this.session = session;
         this.consumer = consumer;
@@ -74,8 +86,8 @@ public class DownStreamMsgContext extends RetryContext {
         this.createTime = System.currentTimeMillis();
         this.subscriptionItem = subscriptionItem;
         String ttlStr = (String) event.getExtension("TTL");
-        long ttl = StringUtils.isNumeric(ttlStr) ? Long.parseLong(ttlStr) : EventMeshConstants.DEFAULT_TIMEOUT_IN_MILLISECONDS;
-        this.expireTime = System.currentTimeMillis() + ttl;
+        this.ttl = StringUtils.isNumeric(ttlStr) ? Long.parseLong(ttlStr) : EventMeshConstants.DEFAULT_TIMEOUT_IN_MILLISECONDS;
+        this.expireTime = createTime + ttl;
         this.msgFromOtherEventMesh = msgFromOtherEventMesh;
     }
 
@@ -127,6 +139,7 @@ public class DownStreamMsgContext extends RetryContext {
                 EventMeshUtil.getMessageBizSeq(this.event));
 
             if (isRetryMsgTimeout(this)) {
+                this.session.getPusher().getUnAckMsg().remove(seqId);
                 return;
             }
             this.retryTimes++;
@@ -135,9 +148,7 @@ public class DownStreamMsgContext extends RetryContext {
             Session rechoosen;
             String topic = this.event.getSubject();
             if (SubscriptionMode.BROADCASTING != this.subscriptionItem.getMode()) {
-                rechoosen = Objects.requireNonNull(this.session.getClientGroupWrapper().get())
-                    .getDownstreamDispatchStrategy().select(Objects.requireNonNull(this.session.getClientGroupWrapper().get()).getSysId(),
-                        topic, Objects.requireNonNull(this.session.getClientGroupWrapper().get()).getGroupConsumerSessions());
+                rechoosen = Objects.requireNonNull(this.session.getClientGroupWrapper().get()).selectSession(topic);
             } else {
                 rechoosen = this.session;
             }
@@ -146,7 +157,18 @@ public class DownStreamMsgContext extends RetryContext {
                 log.warn("retry, found no session to downstream msg,seq:{}, retryTimes:{}, bizSeq:{}", this.seq,
                     this.retryTimes, EventMeshUtil.getMessageBizSeq(this.event));
             } else {
+                if (rechoosen != this.session) {
+                    this.session.getPusher().getUnAckMsg().remove(seqId);
+                }
                 this.session = rechoosen;
+                if (!rechoosen.getPusher().unAckMsg(this)) {
+                    log.warn("retry, unacked msgs of session are full,seq:{}, retryTimes:{}, client:{}", this.seq,
+                        this.retryTimes, rechoosen.getClient());
+                    Objects.requireNonNull(rechoosen.getClientGroupWrapper().get()).getTcpRetryer()
+                        .newTimeout(this, rechoosen.getEventMeshTCPConfiguration().getEventMeshTcpMsgRetryAsyncDelayInMills(),
+                            TimeUnit.MILLISECONDS);
+                    return;
+                }
                 rechoosen.downstreamMsg(this);
                 log.info("retry downStream msg end,seq:{},retryTimes:{},bizSeq:{}", this.seq, this.retryTimes,
                     EventMeshUtil.getMessageBizSeq(this.event));
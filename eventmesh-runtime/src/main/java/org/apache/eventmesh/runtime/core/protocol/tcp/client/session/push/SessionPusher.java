@@ -18,6 +18,7 @@
 package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
 
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.protocol.SubscriptionType;
@@ -28,24 +29,24 @@ import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
+import org.apache.eventmesh.retry.api.timer.Timer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionWriteBatcher;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.TraceUtils;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.cloudevents.core.builder.CloudEventBuilder;
 import io.netty.channel.ChannelFutureListener;
 import io.opentelemetry.api.trace.Span;
 
@@ -60,12 +61,14 @@ public class SessionPusher {
 
     private final AtomicLong deliverFailMsgsCount = new AtomicLong(0);
 
-    private final ConcurrentHashMap<String /* seq */, DownStreamMsgContext> downStreamMap = new ConcurrentHashMap<>();
+    private final UnackedMessageStore downStreamMap;
 
     private final Session session;
 
-    public SessionPusher(Session session) {
+    public SessionPusher(Session session, Timer unackedTimer) {
         this.session = session;
+        this.downStreamMap = new UnackedMessageStore(session.getEventMeshTCPConfiguration().getEventMeshTcpSessionMaxUnackedMsgs(),
+            unackedTimer, this::onUnAckMsgExpired);
     }
 
     @Override
@@ -76,7 +79,7 @@ public class SessionPusher {
             +
             ",deliverFailCount=" + deliverFailMsgsCount.longValue()
             +
-            ",unAckMsg=" + CollectionUtils.size(downStreamMap) + '}';
+            ",unAckMsg=" + downStreamMap.size() + '}';
     }
 
     public void push(final DownStreamMsgContext downStreamMsgContext) {
@@ -95,13 +98,12 @@ public class SessionPusher {
 
         Package pkg = new Package();
 
-        downStreamMsgContext.event = CloudEventBuilder.from(downStreamMsgContext.event)
+        downStreamMsgContext.event = EnvelopeCloudEvent.wrap(downStreamMsgContext.event)
             .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
             .withExtension(EventMeshConstants.RSP_SYS, session.getClient().getSubsystem())
             .withExtension(EventMeshConstants.RSP_GROUP, session.getClient().getGroup())
             .withExtension(EventMeshConstants.RSP_IDC, session.getClient().getIdc())
-            .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost())
-            .build();
+            .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost());
         try {
             pkg = (Package) protocolAdaptor.fromCloudEvent(downStreamMsgContext.event);
             pkg.setHeader(new Header(cmd, OPStatus.SUCCESS.getCode(), null, downStreamMsgContext.seq));
@@ -116,59 +118,101 @@ public class SessionPusher {
             // TODO uploadTrace
             String protocolVersion = Objects.requireNonNull(downStreamMsgContext.event.getSpecVersion()).toString();
 
-            Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, downStreamMsgContext.event),
+            Span span = TraceUtils.prepareClientSpan(protocolVersion, downStreamMsgContext.event,
                 EventMeshTraceConstants.TRACE_DOWNSTREAM_EVENTMESH_CLIENT_SPAN, false);
 
             try {
                 Package finalPkg = pkg;
-                session.getContext().channel().eventLoop().execute(() -> {
-                    session.getContext().writeAndFlush(finalPkg).addListener(
-                        (ChannelFutureListener) future -> {
-                            if (!future.isSuccess()) {
-                                log.error("downstreamMsg fail,seq:{}, retryTimes:{}, event:{}", downStreamMsgContext.seq,
-                                    downStreamMsgContext.retryTimes, downStreamMsgContext.event);
-                                deliverFailMsgsCount.incrementAndGet();
-
-                                // how long to isolate client when push fail
-                                long isolateTime = System.currentTimeMillis()
-                                    + session.getEventMeshTCPConfiguration().getEventMeshTcpPushFailIsolateTimeInMills();
-                                session.setIsolateTime(isolateTime);
-                                log.warn("isolate client:{},isolateTime:{}", session.getClient(), isolateTime);
-
-                                // retry
-                                long delayTime = SubscriptionType.SYNC == downStreamMsgContext.getSubscriptionItem().getType()
-                                    ? session.getEventMeshTCPConfiguration().getEventMeshTcpMsgRetrySyncDelayInMills()
-                                    : session.getEventMeshTCPConfiguration().getEventMeshTcpMsgRetryAsyncDelayInMills();
-                                Objects.requireNonNull(session.getClientGroupWrapper().get()).getTcpRetryer()
-                                    .newTimeout(downStreamMsgContext, delayTime, TimeUnit.MILLISECONDS);
-                            } else {
-                                deliveredMsgsCount.incrementAndGet();
-                                log.info("downstreamMsg success,seq:{}, retryTimes:{}, bizSeq:{}", downStreamMsgContext.seq,
-                                    downStreamMsgContext.retryTimes, EventMeshUtil.getMessageBizSeq(downStreamMsgContext.event));
-
-                                if (session.isIsolated()) {
-                                    log.info("cancel isolated,client:{}", session.getClient());
-                                    session.setIsolateTime(System.currentTimeMillis());
-                                }
-                            }
-                        });
-                });
+                ChannelFutureListener listener = future -> {
+                    if (!future.isSuccess()) {
+                        log.error("downstreamMsg fail,seq:{}, retryTimes:{}, event:{}", downStreamMsgContext.seq,
+                            downStreamMsgContext.retryTimes, downStreamMsgContext.event);
+                        deliverFailMsgsCount.incrementAndGet();
+
+                        // how long to isolate client when push fail
+                        long isolateTime = System.currentTimeMillis()
+                            + session.getEventMeshTCPConfiguration().getEventMeshTcpPushFailIsolateTimeInMills();
+                        session.setIsolateTime(isolateTime);
+                        log.warn("isolate client:{},isolateTime:{}", session.getClient(), isolateTime);
+
+                        // retry
+                        long delayTime = SubscriptionType.SYNC == downStreamMsgContext.getSubscriptionItem().getType()
+                            ? session.getEventMeshTCPConfiguration().getEventMeshTcpMsgRetrySyncDelayInMills()
+                            : session.getEventMeshTCPConfiguration().getEventMeshTcpMsgRetryAsyncDelayInMills();
+                        Objects.requireNonNull(session.getClientGroupWrapper().get()).getTcpRetryer()
+                            .newTimeout(downStreamMsgContext, delayTime, TimeUnit.MILLISECONDS);
+                    } else {
+                        deliveredMsgsCount.incrementAndGet();
+                        log.info("downstreamMsg success,seq:{}, retryTimes:{}, bizSeq:{}", downStreamMsgContext.seq,
+                            downStreamMsgContext.retryTimes, EventMeshUtil.getMessageBizSeq(downStreamMsgContext.event));
+
+                        if (session.isIsolated()) {
+                            log.info("cancel isolated,client:{}", session.getClient());
+                            session.setIsolateTime(System.currentTimeMillis());
+                        }
+                    }
+                };
+                SessionWriteBatcher writeBatcher = session.getWriteBatcher();
+                if (writeBatcher.isEnabled()) {
+                    writeBatcher.write(finalPkg, listener);
+                } else {
+                    session.getContext().channel().eventLoop().execute(
+                        () -> session.getContext().writeAndFlush(finalPkg).addListener(listener));
+                }
             } finally {
                 TraceUtils.finishSpan(span, downStreamMsgContext.event);
             }
         }
     }
 
-    public void unAckMsg(String seq, DownStreamMsgContext downStreamMsgContext) {
-        downStreamMap.put(seq, downStreamMsgContext);
-        log.info("put msg in unAckMsg,seq:{},unAckMsgSize:{}", seq, getTotalUnackMsgs());
+    /**
+     * Wait for the client ack of a message before pushing it
+     *
+     * @return false when the session holds too many unacked msgs, the message must not be pushed to it
+     */
+    public boolean unAckMsg(DownStreamMsgContext downStreamMsgContext) {
+        if (!downStreamMap.put(downStreamMsgContext)) {
+            log.warn("unAckMsg is full,seq:{},unAckMsgSize:{},client:{}", downStreamMsgContext.seq, getTotalUnackMsgs(),
+                session.getClient());
+            return false;
+        }
+        log.info("put msg in unAckMsg,seq:{},unAckMsgSize:{}", downStreamMsgContext.seq, getTotalUnackMsgs());
+        return true;
+    }
+
+    /**
+     * @return the message acked by the client, null when it is not waiting for an ack
+     */
+    public DownStreamMsgContext ackMsg(String seq) {
+        long seqId = NumberUtils.toLong(seq, -1L);
+        return seqId < 0 ? null : downStreamMap.remove(seqId);
+    }
+
+    private void onUnAckMsgExpired(DownStreamMsgContext downStreamMsgContext) {
+        int maxRetryTimes = SubscriptionType.SYNC == downStreamMsgContext.getSubscriptionItem().getType()
+            ? session.getEventMeshTCPConfiguration().getEventMeshTcpMsgSyncRetryTimes()
+            : session.getEventMeshTCPConfiguration().getEventMeshTcpMsgAsyncRetryTimes();
+        if (SubscriptionMode.BROADCASTING != downStreamMsgContext.getSubscriptionItem().getMode()
+            && downStreamMsgContext.retryTimes < maxRetryTimes) {
+            log.warn("unAckMsg expired, repush it, session:{}, topic:{}, seq:{}", session.getClient(),
+                downStreamMsgContext.event.getSubject(), downStreamMsgContext.seq);
+            downStreamMsgContext.retry();
+            return;
+        }
+        downStreamMsgContext.ackMsg();
+        log.warn("remove expire downStreamMsgContext, session:{}, topic:{}, seq:{}", session.getClient(),
+            downStreamMsgContext.event.getSubject(), downStreamMsgContext.seq);
     }
 
     public int getTotalUnackMsgs() {
         return downStreamMap.size();
     }
 
-    public ConcurrentHashMap<String, DownStreamMsgContext> getUnAckMsg() {
+    public boolean isUnAckMsgFull() {
+        return downStreamMap.isFull();
+    }
+
+    public UnackedMessageStore getUnAckMsg() {
         return downStreamMap;
     }
 
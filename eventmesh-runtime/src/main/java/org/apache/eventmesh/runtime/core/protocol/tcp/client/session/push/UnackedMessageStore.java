@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
+
+import org.apache.eventmesh.retry.api.timer.Timeout;
+import org.apache.eventmesh.retry.api.timer.Timer;
+import org.apache.eventmesh.retry.api.timer.TimerTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Messages pushed to a session and waiting for the client ack, keyed by their {@code long} seq.
+ *
+ * <p>Entries are spread over a fixed number of shards, each a primitive map guarded by its own lock, so acks and
+ * pushes of the same session rarely contend. At most {@code capacity} messages are held: {@link #put} refuses more
+ * and the session is skipped by the dispatch until the client acks. Every entry has a timeout on a shared timing
+ * wheel, when the client does not ack in time the entry is removed and handed to the expire handler.
+ */
+@Slf4j
+public class UnackedMessageStore {
+
+    private static final int SHARD_NUM = 16;
+
+    private final Shard[] shards = new Shard[SHARD_NUM];
+
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    private final int capacity;
+
+    private final Timer timer;
+
+    private final Consumer<DownStreamMsgContext> expireHandler;
+
+    public UnackedMessageStore(int capacity, Timer timer, Consumer<DownStreamMsgContext> expireHandler) {
+        this.capacity = capacity;
+        this.timer = timer;
+        this.expireHandler = expireHandler;
+        for (int i = 0; i < SHARD_NUM; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Hold a pushed message until it is acked or expires, a message held already gets a new timeout
+     *
+     * @return false when the store is full
+     */
+    public boolean put(DownStreamMsgContext downStreamMsgContext) {
+        final long seq = downStreamMsgContext.getSeqId();
+        final Shard shard = shardOf(seq);
+        final Entry entry = new Entry(downStreamMsgContext);
+        synchronized (shard) {
+            Entry previous = shard.entries.get(seq);
+            if (previous == null) {
+                if (size.incrementAndGet() > capacity) {
+                    size.decrementAndGet();
+                    return false;
+                }
+            } else {
+                previous.cancel();
+            }
+            shard.entries.put(seq, entry);
+            entry.timeout = timer.newTimeout(entry, downStreamMsgContext.getTtl(), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    public DownStreamMsgContext get(long seq) {
+        final Shard shard = shardOf(seq);
+        synchronized (shard) {
+            Entry entry = shard.entries.get(seq);
+            return entry == null ? null : entry.downStreamMsgContext;
+        }
+    }
+
+    /**
+     * @return the message removed, null when it was not held
+     */
+    public DownStreamMsgContext remove(long seq) {
+        final Shard shard = shardOf(seq);
+        final Entry entry;
+        synchronized (shard) {
+            entry = shard.entries.remove(seq);
+            if (entry == null) {
+                return null;
+            }
+            size.decrementAndGet();
+        }
+        entry.cancel();
+        return entry.downStreamMsgContext;
+    }
+
+    /**
+     * @return a snapshot of the messages held
+     */
+    public List<DownStreamMsgContext> values() {
+        List<DownStreamMsgContext> values = new ArrayList<>(size.get());
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Entry entry : shard.entries.values()) {
+                    values.add(entry.downStreamMsgContext);
+                }
+            }
+        }
+        return values;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return size.get() >= capacity;
+    }
+
+    private Shard shardOf(long seq) {
+        return shards[(int) (seq & (SHARD_NUM - 1))];
+    }
+
+    private void expire(Entry entry) {
+        final long seq = entry.downStreamMsgContext.getSeqId();
+        final Shard shard = shardOf(seq);
+        synchronized (shard) {
+            // acked or pushed again since the timeout fired
+            if (shard.entries.get(seq) != entry) {
+                return;
+            }
+            shard.entries.remove(seq);
+            size.decrementAndGet();
+        }
+        expireHandler.accept(entry.downStreamMsgContext);
+    }
+
+    private static class Shard {
+
+        private final LongObjectMap<Entry> entries = new LongObjectHashMap<>();
+    }
+
+    private class Entry implements TimerTask {
+
+        private final DownStreamMsgContext downStreamMsgContext;
+
+        private volatile Timeout timeout;
+
+        Entry(DownStreamMsgContext downStreamMsgContext) {
+            this.downStreamMsgContext = downStreamMsgContext;
+        }
+
+        void cancel() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                expire(this);
+            } catch (Exception e) {
+                log.error("expire unacked msg error, seq:{}", downStreamMsgContext.seq, e);
+            }
+        }
+
+        @Override
+        public void setExecuteTimeHook(long executeTime) {
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class TcpRetryer extends AbstractRetryer {
     private EventMeshTCPServer eventMeshTCPServer;
 
     public TcpRetryer(EventMeshTCPServer eventMeshTCPServer) {
+        super("tcp", eventMeshTCPServer.getEventMeshTCPConfiguration());
         this.eventMeshTCPServer = eventMeshTCPServer;
     }
 
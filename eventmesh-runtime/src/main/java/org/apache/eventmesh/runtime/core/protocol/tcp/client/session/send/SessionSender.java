@@ -20,6 +20,7 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
@@ -29,7 +30,6 @@ import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
-import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.runtime.util.TraceUtils;
 import org.apache.eventmesh.runtime.util.Utils;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
@@ -38,7 +38,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 
 import java.util.Objects;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -68,7 +67,7 @@ public class SessionSender {
 
     @Override
     public String toString() {
-        return "SessionSender{upstreamBuff=" + upstreamBuff.availablePermits()
+        return "SessionSender{upstreamBuff=" + flowController.getCredits()
             +
             ",upMsgs=" + upMsgs.longValue()
             +
@@ -77,21 +76,28 @@ public class SessionSender {
             ",createTime=" + DateFormatUtils.format(createTime, EventMeshConstants.DATE_FORMAT) + '}';
     }
 
-    public Semaphore getUpstreamBuff() {
-        return upstreamBuff;
+    public UpstreamFlowController getFlowController() {
+        return flowController;
     }
 
-    private final Semaphore upstreamBuff;
+    private final UpstreamFlowController flowController;
 
     public SessionSender(Session session) {
         this.session = session;
-        this.upstreamBuff = new Semaphore(session.getEventMeshTCPConfiguration().getEventMeshTcpSessionUpstreamBufferSize());
+        this.flowController = new UpstreamFlowController(session.getEventMeshTCPConfiguration());
+    }
+
+    /**
+     * Tell the client how many more sends it may start, in the header of an ack
+     */
+    public void advertiseCredits(Header header) {
+        header.putProperty(Constants.UPSTREAM_CREDITS, flowController.getCredits());
     }
 
     public EventMeshTcpSendResult send(Header header, CloudEvent event, SendCallback sendCallback, long startTime,
         long taskExecuteTime) {
         try {
-            if (upstreamBuff.tryAcquire(TRY_PERMIT_TIME_OUT, TimeUnit.MILLISECONDS)) {
+            if (flowController.tryAcquire(TRY_PERMIT_TIME_OUT, TimeUnit.MILLISECONDS)) {
                 upMsgs.incrementAndGet();
                 UpStreamMsgContext upStreamMsgContext;
                 Command cmd = header.getCmd();
@@ -106,14 +112,13 @@ public class SessionSender {
                     }
                     upStreamMsgContext = new UpStreamMsgContext(session, event, header, startTime, taskExecuteTime);
 
-                    Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                        event),
+                    Span span = TraceUtils.prepareClientSpan(protocolVersion, event,
                         EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
                     try {
                         Objects.requireNonNull(session.getClientGroupWrapper().get())
                             .request(upStreamMsgContext, initSyncRRCallback(header,
                                 startTime, taskExecuteTime, event), ttl);
-                        upstreamBuff.release();
+                        flowController.release();
                     } finally {
                         TraceUtils.finishSpan(span, event);
                     }
@@ -127,12 +132,11 @@ public class SessionSender {
 
                     upStreamMsgContext = new UpStreamMsgContext(session, event, header, startTime, taskExecuteTime);
                     Objects.requireNonNull(session.getClientGroupWrapper().get()).reply(upStreamMsgContext);
-                    upstreamBuff.release();
+                    flowController.release();
                 } else {
                     upStreamMsgContext = new UpStreamMsgContext(session, event, header, startTime, taskExecuteTime);
 
-                    Span span = TraceUtils.prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion,
-                        event),
+                    Span span = TraceUtils.prepareClientSpan(protocolVersion, event,
                         EventMeshTraceConstants.TRACE_UPSTREAM_EVENTMESH_CLIENT_SPAN, false);
                     try {
                         Objects.requireNonNull(session.getClientGroupWrapper().get())
@@ -143,14 +147,14 @@ public class SessionSender {
                 }
                 Objects.requireNonNull(session.getClientGroupWrapper().get()).getEventMeshTcpMetricsManager().eventMesh2mqMsgNumIncrement();
             } else {
-                log.warn("send too fast,session flow control,session:{}", session.getClient());
+                log.warn("send too fast,session flow control,session:{},{}", session.getClient(), flowController);
                 return new EventMeshTcpSendResult(header.getSeq(), EventMeshTcpSendStatus.SEND_TOO_FAST,
                     EventMeshTcpSendStatus.SEND_TOO_FAST.name());
             }
         } catch (Exception e) {
             log.warn("SessionSender send failed", e);
             if (!(e instanceof InterruptedException)) {
-                upstreamBuff.release();
+                flowController.release();
             }
             failMsgCount.incrementAndGet();
             return new EventMeshTcpSendResult(header.getSeq(), EventMeshTcpSendStatus.OTHER_EXCEPTION,
@@ -168,11 +172,10 @@ public class SessionSender {
             public void onSuccess(CloudEvent event) {
                 String seq = header.getSeq();
                 // TODO: How to assign values here
-                event = CloudEventBuilder.from(event)
+                event = EnvelopeCloudEvent.wrap(event)
                     .withExtension(EventMeshConstants.RSP_MQ2EVENTMESH_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
                     .withExtension(EventMeshConstants.RSP_RECEIVE_EVENTMESH_IP,
-                        session.getEventMeshTCPConfiguration().getEventMeshServerIp())
-                    .build();
+                        session.getEventMeshTCPConfiguration().getEventMeshServerIp());
                 Objects.requireNonNull(session.getClientGroupWrapper().get()).getEventMeshTcpMetricsManager().mq2eventMeshMsgNumIncrement();
 
                 Command cmd;
@@ -182,9 +185,8 @@ public class SessionSender {
                     MESSAGE_LOGGER.error("invalid message|messageHeader={}|event={}", header, event);
                     return;
                 }
-                event = CloudEventBuilder.from(event)
-                    .withExtension(EventMeshConstants.RSP_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
-                    .build();
+                event = EnvelopeCloudEvent.wrap(event)
+                    .withExtension(EventMeshConstants.RSP_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()));
                 String protocolType = Objects.requireNonNull(event.getExtension(Constants.PROTOCOL_TYPE)).toString();
 
                 ProtocolAdaptor<ProtocolTransportObject> protocolAdaptor = ProtocolPluginFactory.getProtocolAdaptor(protocolType);
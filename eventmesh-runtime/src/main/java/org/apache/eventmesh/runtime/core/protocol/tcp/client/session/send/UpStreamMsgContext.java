@@ -119,11 +119,12 @@ public class UpStreamMsgContext extends RetryContext {
 
             @Override
             public void onSuccess(SendResult sendResult) {
-                session.getSender().getUpstreamBuff().release();
+                session.getSender().getFlowController().release(System.currentTimeMillis() - createTime, true);
                 log.info("upstreamMsg message success|user={}|callback cost={}", session.getClient(),
                     System.currentTimeMillis() - createTime);
                 if (replyCmd == Command.BROADCAST_MESSAGE_TO_SERVER_ACK || replyCmd == Command.ASYNC_MESSAGE_TO_SERVER_ACK) {
                     msg.setHeader(new Header(replyCmd, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(), seq));
+                    session.getSender().advertiseCredits(msg.getHeader());
                     msg.setBody(event);
                     Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(), session);
                 }
@@ -131,7 +132,7 @@ public class UpStreamMsgContext extends RetryContext {
 
             @Override
             public void onException(OnExceptionContext context) {
-                session.getSender().getUpstreamBuff().release();
+                session.getSender().getFlowController().release(System.currentTimeMillis() - createTime, false);
 
                 // retry
                 Objects.requireNonNull(session.getClientGroupWrapper().get()).getTcpRetryer()
@@ -141,6 +142,7 @@ public class UpStreamMsgContext extends RetryContext {
                 log.error("upstreamMsg mq message error|user={}|callback cost={}, errMsg={}", session.getClient(),
                     System.currentTimeMillis() - createTime, new Exception(context.getException()));
                 msg.setHeader(new Header(replyCmd, OPStatus.FAIL.getCode(), context.getException().toString(), seq));
+                session.getSender().advertiseCredits(msg.getHeader());
                 msg.setBody(event);
                 Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(), session);
             }
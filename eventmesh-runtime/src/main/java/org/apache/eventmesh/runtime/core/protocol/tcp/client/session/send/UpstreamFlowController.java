@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the sends of a session waiting for the storage. In {@link #TYPE_FIXED} mode the window is
+ * {@code upstreamBufferSize}; in {@link #TYPE_AIMD} mode it starts at {@code minLimit} and is resized from the
+ * completed sends: grown by one, up to {@code upstreamBufferSize}, after a fast send while at least half of it is in
+ * use, and multiplied by {@code backoffRatio}, down to {@code minLimit}, after a failed or slow one.
+ */
+public class UpstreamFlowController {
+
+    public static final String TYPE_FIXED = "fixed";
+
+    public static final String TYPE_AIMD = "aimd";
+
+    private final boolean adaptive;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdInMills;
+
+    private final double backoffRatio;
+
+    /**
+     * Always holds limit - inflight permits, negative after the window shrank below the sends in flight
+     */
+    private final ResizableSemaphore permits;
+
+    private final AtomicInteger inflight = new AtomicInteger(0);
+
+    private volatile int limit;
+
+    public UpstreamFlowController(EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+        this.adaptive = TYPE_AIMD.equalsIgnoreCase(eventMeshTCPConfiguration.getEventMeshTcpSessionUpstreamFlowControlType());
+        this.maxLimit = Math.max(1, eventMeshTCPConfiguration.getEventMeshTcpSessionUpstreamBufferSize());
+        this.minLimit = Math.min(maxLimit, Math.max(1, eventMeshTCPConfiguration.getEventMeshTcpSessionUpstreamFlowControlMinLimit()));
+        this.latencyThresholdInMills = eventMeshTCPConfiguration.getEventMeshTcpSessionUpstreamFlowControlLatencyThresholdInMills();
+        this.backoffRatio = eventMeshTCPConfiguration.getEventMeshTcpSessionUpstreamFlowControlBackoffRatio();
+        // an adaptive window probes its way up from the floor instead of letting a new session start at the cap
+        this.limit = adaptive ? minLimit : maxLimit;
+        this.permits = new ResizableSemaphore(limit);
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        if (permits.tryAcquire(timeout, unit)) {
+            inflight.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Give back a permit without resizing the window, for sends that did not reach the storage
+     */
+    public void release() {
+        inflight.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Give back the permit of a completed send and resize the window from its outcome
+     */
+    public void release(long latencyInMills, boolean success) {
+        if (adaptive) {
+            if (success && latencyInMills <= latencyThresholdInMills) {
+                increase();
+            } else {
+                decrease();
+            }
+        }
+        release();
+    }
+
+    private synchronized void increase() {
+        if (limit < maxLimit && inflight.get() * 2 >= limit) {
+            limit++;
+            permits.release();
+        }
+    }
+
+    private synchronized void decrease() {
+        int newLimit = Math.max(minLimit, (int) (limit * backoffRatio));
+        if (newLimit < limit) {
+            permits.reducePermits(limit - newLimit);
+            limit = newLimit;
+        }
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * @return sends the client may start now without being told SEND_TOO_FAST
+     */
+    public int getCredits() {
+        return Math.max(0, permits.availablePermits());
+    }
+
+    @Override
+    public String toString() {
+        return "UpstreamFlowController{limit=" + limit + ",inflight=" + inflight.get() + ",adaptive=" + adaptive + '}';
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 6474431281453066262L;
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import org.apache.eventmesh.common.MetricsConstants;
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongCounterMetric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.runtime.boot.EventLoopMonitor;
+import org.apache.eventmesh.runtime.boot.EventLoopMonitor.LoopStats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduling latency, queued tasks and accepted connections of every netty event loop of one protocol server,
+ * labelled with the loop name.
+ */
+public class EventLoopMetrics {
+
+    private final List<Metric> metrics = new ArrayList<>();
+
+    /**
+     * @param namePrefix metric name prefix of the protocol, e.g. {@code eventmesh.tcp.}
+     * @param metricName metric name of the protocol, e.g. {@code TCP}
+     * @param monitor    event loop monitor of the protocol server
+     * @param labelMap   common attributes of the protocol metrics
+     */
+    public EventLoopMetrics(final String namePrefix, final String metricName, final EventLoopMonitor monitor,
+        final Map<String, String> labelMap) {
+
+        for (LoopStats loop : monitor.getLoops()) {
+            Map<String, String> attributes = new HashMap<>(labelMap);
+            attributes.put(MetricsConstants.NETTY_EVENT_LOOP, loop.getName());
+
+            InstrumentFurther furtherLatency = new InstrumentFurther();
+            furtherLatency.setUnit(MetricInstrumentUnit.MICROSECONDS);
+            furtherLatency.setDescription("Delay of the last probe task run on the event loop.");
+            furtherLatency.setName(namePrefix + "netty.loop.latency");
+            ObservableLongGaugeMetric latencyGauge = new ObservableLongGaugeMetric(furtherLatency, metricName, loop::getLatencyInMicros);
+            latencyGauge.putAll(attributes);
+            metrics.add(latencyGauge);
+
+            InstrumentFurther furtherPending = new InstrumentFurther();
+            furtherPending.setUnit(MetricInstrumentUnit.SINGLETON);
+            furtherPending.setDescription("Number of tasks waiting on the event loop.");
+            furtherPending.setName(namePrefix + "netty.loop.pending.tasks");
+            ObservableLongGaugeMetric pendingGauge = new ObservableLongGaugeMetric(furtherPending, metricName, loop::getPendingTasks);
+            pendingGauge.putAll(attributes);
+            metrics.add(pendingGauge);
+
+            InstrumentFurther furtherAccept = new InstrumentFurther();
+            furtherAccept.setUnit(MetricInstrumentUnit.SINGLETON);
+            furtherAccept.setDescription("Number of connections accepted on the event loop.");
+            furtherAccept.setName(namePrefix + "netty.loop.accept.num");
+            ObservableLongCounterMetric acceptCounter = new ObservableLongCounterMetric(furtherAccept, metricName, loop::getAcceptNum);
+            acceptCounter.putAll(attributes);
+            metrics.add(acceptCounter);
+        }
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with HdrHistogram-like buckets: values below 64 have a bucket each, larger values fall in 32
+ * linear sub-buckets per power of two, so a percentile is within 1/32 of the recorded value.
+ *
+ * <p>Recording never blocks, it increments one bucket. {@link #snapshot()} starts a new interval and summarizes the
+ * previous one; a value recorded while the intervals are swapped may be counted in neither.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    private static final int LINEAR_LIMIT = 1 << LINEAR_BITS;
+
+    /**
+     * Values of 2^MAX_EXPONENT and above are counted in the last bucket
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_BITS) * SUB_BUCKET_COUNT;
+
+    private volatile Interval current = new Interval();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        Interval interval = current;
+        interval.counts.incrementAndGet(bucketIndex(value));
+        interval.sum.add(value);
+        interval.max.accumulate(value);
+    }
+
+    /**
+     * Start a new interval
+     *
+     * @return summary of the values recorded since the previous snapshot
+     */
+    public Snapshot snapshot() {
+        Interval interval = current;
+        current = new Interval();
+
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = interval.counts.get(i);
+            total += counts[i];
+        }
+        long max = interval.max.get();
+        if (total == 0) {
+            return Snapshot.EMPTY;
+        }
+        return new Snapshot(total, (double) interval.sum.sum() / total, max,
+            valueAtPercentile(counts, total, 50.0, max),
+            valueAtPercentile(counts, total, 99.0, max),
+            valueAtPercentile(counts, total, 99.9, max));
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @return the largest value counted in the bucket
+     */
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = LINEAR_BITS + (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile, long max) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static class Interval {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+        private final LongAdder sum = new LongAdder();
+
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Count, mean and percentiles of the values recorded in one interval
+     */
+    public static class Snapshot {
+
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+
+        private final long count;
+
+        private final double mean;
+
+        private final long max;
+
+        private final long p50;
+
+        private final long p99;
+
+        private final long p999;
+
+        Snapshot(long count, double mean, long max, long p50, long p99, long p999) {
+            this.count = count;
+            this.mean = mean;
+            this.max = max;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + String.format("%.2f", mean) + ", p50=" + p50 + ", p99=" + p99
+                + ", p999=" + p999 + ", max=" + max;
+        }
+    }
+}
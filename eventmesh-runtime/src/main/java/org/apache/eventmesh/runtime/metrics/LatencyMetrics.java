@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Latency percentiles of one protocol server: client to EventMesh (a request until its response), EventMesh to MQ
+ * (a send until the MQ callback) and push (a push until the subscriber answers it).
+ *
+ * <p>Values are recorded in milliseconds into {@link LatencyHistogram}s, the gauges report the interval ended by the
+ * latest {@link #snapshot()}.
+ */
+public class LatencyMetrics {
+
+    private final LatencyHistogram client2EventMesh = new LatencyHistogram();
+
+    private final LatencyHistogram eventMesh2Mq = new LatencyHistogram();
+
+    private final LatencyHistogram push = new LatencyHistogram();
+
+    private volatile LatencyHistogram.Snapshot client2EventMeshSnapshot = LatencyHistogram.Snapshot.EMPTY;
+
+    private volatile LatencyHistogram.Snapshot eventMesh2MqSnapshot = LatencyHistogram.Snapshot.EMPTY;
+
+    private volatile LatencyHistogram.Snapshot pushSnapshot = LatencyHistogram.Snapshot.EMPTY;
+
+    private final List<Metric> metrics = new ArrayList<>(9);
+
+    /**
+     * @param namePrefix metric name prefix of the protocol, e.g. {@code eventmesh.tcp.}
+     * @param metricName metric name of the protocol, e.g. {@code TCP}
+     * @param labelMap   common attributes of the protocol metrics
+     */
+    public LatencyMetrics(final String namePrefix, final String metricName, final Map<String, String> labelMap) {
+        addGauges(namePrefix + "client.eventmesh.latency", "client to EventMesh", metricName, labelMap,
+            () -> client2EventMeshSnapshot);
+        addGauges(namePrefix + "eventmesh.mq.latency", "EventMesh to MQ", metricName, labelMap,
+            () -> eventMesh2MqSnapshot);
+        addGauges(namePrefix + "push.latency", "push to client", metricName, labelMap,
+            () -> pushSnapshot);
+    }
+
+    private void addGauges(final String name, final String stage, final String metricName, final Map<String, String> labelMap,
+        final Supplier<LatencyHistogram.Snapshot> snapshot) {
+        addGauge(name + ".p50", "Median latency of " + stage + ".", metricName, labelMap, snapshot,
+            LatencyHistogram.Snapshot::getP50);
+        addGauge(name + ".p99", "99th percentile latency of " + stage + ".", metricName, labelMap, snapshot,
+            LatencyHistogram.Snapshot::getP99);
+        addGauge(name + ".p999", "99.9th percentile latency of " + stage + ".", metricName, labelMap, snapshot,
+            LatencyHistogram.Snapshot::getP999);
+    }
+
+    private void addGauge(final String name, final String description, final String metricName, final Map<String, String> labelMap,
+        final Supplier<LatencyHistogram.Snapshot> snapshot, final Function<LatencyHistogram.Snapshot, Long> value) {
+        InstrumentFurther further = new InstrumentFurther();
+        further.setUnit(MetricInstrumentUnit.MILLISECONDS);
+        further.setDescription(description);
+        further.setName(name);
+        ObservableLongGaugeMetric gauge = new ObservableLongGaugeMetric(further, metricName, () -> value.apply(snapshot.get()));
+        gauge.putAll(labelMap);
+        metrics.add(gauge);
+    }
+
+    public void recordClient2EventMesh(long cost) {
+        client2EventMesh.record(cost);
+    }
+
+    public void recordEventMesh2Mq(long cost) {
+        eventMesh2Mq.record(cost);
+    }
+
+    public void recordPush(long cost) {
+        push.record(cost);
+    }
+
+    /**
+     * Close the current interval, called periodically by the metrics manager of the protocol
+     */
+    public void snapshot() {
+        client2EventMeshSnapshot = client2EventMesh.snapshot();
+        eventMesh2MqSnapshot = eventMesh2Mq.snapshot();
+        pushSnapshot = push.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getClient2EventMeshSnapshot() {
+        return client2EventMeshSnapshot;
+    }
+
+    public LatencyHistogram.Snapshot getEventMesh2MqSnapshot() {
+        return eventMesh2MqSnapshot;
+    }
+
+    public LatencyHistogram.Snapshot getPushSnapshot() {
+        return pushSnapshot;
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
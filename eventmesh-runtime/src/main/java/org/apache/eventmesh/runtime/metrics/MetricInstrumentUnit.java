@@ -30,6 +30,8 @@ public class MetricInstrumentUnit {
 
     public static final String MILLISECONDS = "ms";
 
+    public static final String MICROSECONDS = "us";
+
     public static final String PERCENT = "%";
 
 }
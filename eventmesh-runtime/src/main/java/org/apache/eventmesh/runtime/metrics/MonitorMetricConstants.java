@@ -30,6 +30,9 @@ public class MonitorMetricConstants {
     public static final String ALL_TPS = "allTPS";
     public static final String CONNECTION = "connection";
     public static final String SUB_TOPIC_NUM = "subTopicNum";
+    public static final String CLIENT_2_EVENTMESH_LATENCY = "client2eventMeshLatency";
+    public static final String EVENTMESH_2_MQ_LATENCY = "eventMesh2mqLatency";
+    public static final String PUSH_LATENCY = "pushLatency";
 
     public static final String RETRY_QUEUE_SIZE = "retryQueueSize";
 
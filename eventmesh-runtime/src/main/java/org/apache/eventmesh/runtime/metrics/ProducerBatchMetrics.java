@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongCounterMetric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.runtime.core.plugin.ProducerBatchStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fill ratio, linger time and backlog of the producer batches of one protocol server.
+ */
+public class ProducerBatchMetrics {
+
+    private final List<Metric> metrics = new ArrayList<>(4);
+
+    /**
+     * @param namePrefix metric name prefix of the protocol, e.g. {@code eventmesh.tcp.}
+     * @param metricName metric name of the protocol, e.g. {@code TCP}
+     * @param stats      batch statistics of the protocol server
+     * @param labelMap   common attributes of the protocol metrics
+     */
+    public ProducerBatchMetrics(final String namePrefix, final String metricName, final ProducerBatchStats stats,
+        final Map<String, String> labelMap) {
+
+        InstrumentFurther furtherFillRatio = new InstrumentFurther();
+        furtherFillRatio.setUnit(MetricInstrumentUnit.PERCENT);
+        furtherFillRatio.setDescription("Average percentage of the max batch size filled by the producer batches sent.");
+        furtherFillRatio.setName(namePrefix + "producer.batch.fill.ratio");
+        ObservableLongGaugeMetric fillRatioGauge = new ObservableLongGaugeMetric(furtherFillRatio, metricName, stats::getAvgFillRatio);
+        fillRatioGauge.putAll(labelMap);
+        metrics.add(fillRatioGauge);
+
+        InstrumentFurther furtherLinger = new InstrumentFurther();
+        furtherLinger.setUnit(MetricInstrumentUnit.MICROSECONDS);
+        furtherLinger.setDescription("Average time the first event of a producer batch waited before the batch was sent.");
+        furtherLinger.setName(namePrefix + "producer.batch.linger.time");
+        ObservableLongGaugeMetric lingerGauge = new ObservableLongGaugeMetric(furtherLinger, metricName, stats::getAvgLingerInMicros);
+        lingerGauge.putAll(labelMap);
+        metrics.add(lingerGauge);
+
+        InstrumentFurther furtherPending = new InstrumentFurther();
+        furtherPending.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherPending.setDescription("Number of events waiting in the producer batches.");
+        furtherPending.setName(namePrefix + "producer.batch.pending.num");
+        ObservableLongGaugeMetric pendingGauge = new ObservableLongGaugeMetric(furtherPending, metricName, stats::getPendingSize);
+        pendingGauge.putAll(labelMap);
+        metrics.add(pendingGauge);
+
+        InstrumentFurther furtherBatchNum = new InstrumentFurther();
+        furtherBatchNum.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherBatchNum.setDescription("Number of producer batches sent to the storage.");
+        furtherBatchNum.setName(namePrefix + "producer.batch.num");
+        ObservableLongCounterMetric batchNumCounter = new ObservableLongCounterMetric(furtherBatchNum, metricName, stats::getBatchNum);
+        batchNumCounter.putAll(labelMap);
+        metrics.add(batchNumCounter);
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongCounterMetric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.retry.api.Retryer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Queue depth, lag and drops of the retryer of one protocol server.
+ */
+public class RetryMetrics {
+
+    private final List<Metric> metrics = new ArrayList<>(3);
+
+    /**
+     * @param namePrefix metric name prefix of the protocol, e.g. {@code eventmesh.tcp.}
+     * @param metricName metric name of the protocol, e.g. {@code TCP}
+     * @param retryer    supplies the retryer, which may be created after the metrics
+     * @param labelMap   common attributes of the protocol metrics
+     */
+    public RetryMetrics(final String namePrefix, final String metricName, final Supplier<Retryer> retryer,
+        final Map<String, String> labelMap) {
+
+        InstrumentFurther furtherPending = new InstrumentFurther();
+        furtherPending.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherPending.setDescription("Number of retries waiting in the retry scheduler.");
+        furtherPending.setName(namePrefix + "retry.pending.num");
+        ObservableLongGaugeMetric pendingGauge = new ObservableLongGaugeMetric(furtherPending, metricName,
+            () -> Objects.isNull(retryer.get()) ? 0L : retryer.get().getPendingTimeouts());
+        pendingGauge.putAll(labelMap);
+        metrics.add(pendingGauge);
+
+        InstrumentFurther furtherLag = new InstrumentFurther();
+        furtherLag.setUnit(MetricInstrumentUnit.MILLISECONDS);
+        furtherLag.setDescription("Delay between the scheduled and the actual start of the latest retry.");
+        furtherLag.setName(namePrefix + "retry.lag");
+        ObservableLongGaugeMetric lagGauge = new ObservableLongGaugeMetric(furtherLag, metricName,
+            () -> Objects.isNull(retryer.get()) ? 0L : retryer.get().getLagInMills());
+        lagGauge.putAll(labelMap);
+        metrics.add(lagGauge);
+
+        InstrumentFurther furtherDropped = new InstrumentFurther();
+        furtherDropped.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherDropped.setDescription("Number of retries dropped because the retry scheduler was full.");
+        furtherDropped.setName(namePrefix + "retry.dropped.num");
+        ObservableLongCounterMetric droppedCounter = new ObservableLongCounterMetric(furtherDropped, metricName,
+            () -> Objects.isNull(retryer.get()) ? 0L : retryer.get().getDroppedTimeouts());
+        droppedCounter.putAll(labelMap);
+        metrics.add(droppedCounter);
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Push requests of one protocol server waiting for the response of their subscriber, and the per consumer group
+ * threshold above which a group takes no more pushes.
+ */
+public class WaitingRequestMetrics {
+
+    private final List<Metric> metrics = new ArrayList<>(3);
+
+    /**
+     * @param namePrefix metric name prefix of the protocol, e.g. {@code eventmesh.http.}
+     * @param metricName metric name of the protocol, e.g. {@code HTTP}
+     * @param tracker    supplies the waiting request tracker, which may be created after the metrics
+     * @param labelMap   common attributes of the protocol metrics
+     */
+    public WaitingRequestMetrics(final String namePrefix, final String metricName, final Supplier<WaitingRequestTracker> tracker,
+        final Map<String, String> labelMap) {
+
+        InstrumentFurther furtherWaiting = new InstrumentFurther();
+        furtherWaiting.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherWaiting.setDescription("Number of pushes waiting for the response of the subscriber.");
+        furtherWaiting.setName(namePrefix + "push.waiting.num");
+        ObservableLongGaugeMetric waitingGauge = new ObservableLongGaugeMetric(furtherWaiting, metricName,
+            () -> Objects.isNull(tracker.get()) ? 0L : tracker.get().getTotalWaiting());
+        waitingGauge.putAll(labelMap);
+        metrics.add(waitingGauge);
+
+        InstrumentFurther furtherMaxGroup = new InstrumentFurther();
+        furtherMaxGroup.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherMaxGroup.setDescription("Number of waiting pushes of the consumer group with the most of them.");
+        furtherMaxGroup.setName(namePrefix + "push.waiting.group.max");
+        ObservableLongGaugeMetric maxGroupGauge = new ObservableLongGaugeMetric(furtherMaxGroup, metricName,
+            () -> Objects.isNull(tracker.get()) ? 0L : tracker.get().getMaxGroupWaiting());
+        maxGroupGauge.putAll(labelMap);
+        metrics.add(maxGroupGauge);
+
+        InstrumentFurther furtherThreshold = new InstrumentFurther();
+        furtherThreshold.setUnit(MetricInstrumentUnit.SINGLETON);
+        furtherThreshold.setDescription("Waiting pushes above which a consumer group takes no more messages.");
+        furtherThreshold.setName(namePrefix + "push.waiting.group.threshold");
+        ObservableLongGaugeMetric thresholdGauge = new ObservableLongGaugeMetric(furtherThreshold, metricName,
+            () -> Objects.isNull(tracker.get()) ? 0L : (long) tracker.get().getGroupThreshold());
+        thresholdGauge.putAll(labelMap);
+        metrics.add(thresholdGauge);
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
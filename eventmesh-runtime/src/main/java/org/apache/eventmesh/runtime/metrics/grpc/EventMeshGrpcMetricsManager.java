@@ -25,8 +25,12 @@ import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.Metric;
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.metrics.MetricsManager;
 import org.apache.eventmesh.runtime.metrics.MetricsUtils;
+import org.apache.eventmesh.runtime.metrics.ProducerBatchMetrics;
+import org.apache.eventmesh.runtime.metrics.RetryMetrics;
+import org.apache.eventmesh.runtime.metrics.WaitingRequestMetrics;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,10 +63,25 @@ public class EventMeshGrpcMetricsManager implements MetricsManager {
 
     private final GrpcMetrics grpcMetrics;
 
+    private final RetryMetrics retryMetrics;
+
+    private final ProducerBatchMetrics producerBatchMetrics;
+
+    private final WaitingRequestMetrics waitingRequestMetrics;
+
+    private final StreamPushMetrics streamPushMetrics;
+
+    private final LatencyMetrics latencyMetrics;
+
     public EventMeshGrpcMetricsManager(EventMeshGrpcServer eventMeshGrpcServer, List<MetricsRegistry> metricsRegistries) {
         this.eventMeshGrpcServer = Preconditions.checkNotNull(eventMeshGrpcServer);
         this.metricsRegistries = Preconditions.checkNotNull(metricsRegistries);
         this.grpcMetrics = new GrpcMetrics(eventMeshGrpcServer, labelMap);
+        this.retryMetrics = new RetryMetrics("eventmesh.grpc.", "GRPC", eventMeshGrpcServer::getGrpcRetryer, labelMap);
+        this.producerBatchMetrics = new ProducerBatchMetrics("eventmesh.grpc.", "GRPC", eventMeshGrpcServer.getProducerBatchStats(), labelMap);
+        this.waitingRequestMetrics = new WaitingRequestMetrics("eventmesh.grpc.", "GRPC", eventMeshGrpcServer::getWaitingRequestTracker, labelMap);
+        this.streamPushMetrics = new StreamPushMetrics(eventMeshGrpcServer::getConsumerManager, labelMap);
+        this.latencyMetrics = new LatencyMetrics("eventmesh.grpc.", "GRPC", labelMap);
         this.scheduler = ThreadPoolFactory.createScheduledExecutor(SCHEDULE_THREAD_SIZE, new EventMeshThreadFactory(THREAD_NAME_PREFIX, true));
         init();
     }
@@ -82,6 +101,7 @@ public class EventMeshGrpcMetricsManager implements MetricsManager {
         scheduleTask = scheduler.scheduleAtFixedRate(() -> {
             grpcMetrics.refreshTpsMetrics(SCHEDULE_PERIOD_MILLS);
             grpcMetrics.clearAllMessageCounter();
+            latencyMetrics.snapshot();
             grpcMetrics.setRetrySize(0);
             grpcMetrics.setSubscribeTopicNum(eventMeshGrpcServer.getConsumerManager().getAllConsumerTopic().size());
         }, DELAY_MILLS, SCHEDULE_PERIOD_MILLS, TimeUnit.MILLISECONDS);
@@ -130,6 +150,10 @@ public class EventMeshGrpcMetricsManager implements MetricsManager {
         grpcMetrics.recordGrpcPublishHandleCost(costTime, MetricsUtils.buildAttributes(attributes));
     }
 
+    public LatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
     @Override
     public void shutdown() {
         scheduleTask.cancel(true);
@@ -138,7 +162,13 @@ public class EventMeshGrpcMetricsManager implements MetricsManager {
 
     @Override
     public List<Metric> getMetrics() {
-        return new ArrayList<>(grpcMetrics.getMetrics());
+        List<Metric> metrics = new ArrayList<>(grpcMetrics.getMetrics());
+        metrics.addAll(retryMetrics.getMetrics());
+        metrics.addAll(producerBatchMetrics.getMetrics());
+        metrics.addAll(waitingRequestMetrics.getMetrics());
+        metrics.addAll(streamPushMetrics.getMetrics());
+        metrics.addAll(latencyMetrics.getMetrics());
+        return metrics;
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics.grpc;
+
+import org.apache.eventmesh.common.protocol.grpc.cloudevents.CloudEvent;
+import org.apache.eventmesh.metrics.api.model.InstrumentFurther;
+import org.apache.eventmesh.metrics.api.model.Metric;
+import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.runtime.core.protocol.grpc.consumer.ConsumerManager;
+import org.apache.eventmesh.runtime.core.protocol.grpc.service.EventEmitter;
+import org.apache.eventmesh.runtime.metrics.MetricInstrumentUnit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Flow control of the subscriber streams: events queued while a stream is not ready, and pushes deferred because
+ * its queue was full.
+ */
+public class StreamPushMetrics {
+
+    private static final String METRIC_NAME = "GRPC";
+
+    private final List<Metric> metrics = new ArrayList<>(4);
+
+    private final Supplier<ConsumerManager> consumerManager;
+
+    /**
+     * @param consumerManager supplies the consumer manager, which may be created after the metrics
+     * @param labelMap        common attributes of the grpc metrics
+     */
+    public StreamPushMetrics(final Supplier<ConsumerManager> consumerManager, final Map<String, String> labelMap) {
+        this.consumerManager = consumerManager;
+
+        addGauge("eventmesh.grpc.push.stream.pending.num", "Number of events queued until their subscriber stream is ready.",
+            emitters -> sum(emitters, EventEmitter::getPendingSize), labelMap);
+        addGauge("eventmesh.grpc.push.stream.pending.max", "Number of queued events of the subscriber stream with the most of them.",
+            emitters -> emitters.stream().mapToLong(EventEmitter::getPendingSize).max().orElse(0L), labelMap);
+        addGauge("eventmesh.grpc.push.stream.full.num", "Number of subscriber streams not ready with a full queue.",
+            emitters -> emitters.stream().filter(EventEmitter::isFull).count(), labelMap);
+        addGauge("eventmesh.grpc.push.stream.deferred.num", "Number of pushes deferred because the queue of the stream was full.",
+            emitters -> sum(emitters, EventEmitter::getDeferredNum), labelMap);
+    }
+
+    private void addGauge(final String name, final String description, final ToLongFunction<Set<EventEmitter<CloudEvent>>> value,
+        final Map<String, String> labelMap) {
+        InstrumentFurther further = new InstrumentFurther();
+        further.setUnit(MetricInstrumentUnit.SINGLETON);
+        further.setDescription(description);
+        further.setName(name);
+        ObservableLongGaugeMetric gauge = new ObservableLongGaugeMetric(further, METRIC_NAME,
+            () -> value.applyAsLong(getStreamEmitters()));
+        gauge.putAll(labelMap);
+        metrics.add(gauge);
+    }
+
+    private Set<EventEmitter<CloudEvent>> getStreamEmitters() {
+        return Objects.isNull(consumerManager.get()) ? Collections.emptySet() : consumerManager.get().getStreamEmitters();
+    }
+
+    private static long sum(final Set<EventEmitter<CloudEvent>> emitters, final ToLongFunction<EventEmitter<CloudEvent>> value) {
+        return emitters.stream().mapToLong(value).sum();
+    }
+
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+}
@@ -24,8 +24,13 @@ import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.Metric;
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.metrics.EventLoopMetrics;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.metrics.MetricsManager;
 import org.apache.eventmesh.runtime.metrics.MetricsUtils;
+import org.apache.eventmesh.runtime.metrics.ProducerBatchMetrics;
+import org.apache.eventmesh.runtime.metrics.RetryMetrics;
+import org.apache.eventmesh.runtime.metrics.WaitingRequestMetrics;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -51,6 +56,16 @@ public class EventMeshHttpMetricsManager implements MetricsManager {
 
     private final  HttpMetrics httpMetrics;
 
+    private final RetryMetrics retryMetrics;
+
+    private final ProducerBatchMetrics producerBatchMetrics;
+
+    private final EventLoopMetrics eventLoopMetrics;
+
+    private final WaitingRequestMetrics waitingRequestMetrics;
+
+    private final LatencyMetrics latencyMetrics;
+
     public EventMeshHttpMetricsManager(final EventMeshHTTPServer eventMeshHTTPServer,
         final List<MetricsRegistry> metricsRegistries) {
         Objects.requireNonNull(eventMeshHTTPServer, "EventMeshHTTPServer can not be null");
@@ -59,12 +74,18 @@ public class EventMeshHttpMetricsManager implements MetricsManager {
         this.eventMeshHTTPServer = eventMeshHTTPServer;
         this.metricsRegistries = metricsRegistries;
         init();
+        this.latencyMetrics = new LatencyMetrics("eventmesh.http.", "HTTP", labelMap);
         this.httpMetrics = new HttpMetrics(
             eventMeshHTTPServer.getHttpThreadPoolGroup().getBatchMsgExecutor(),
             eventMeshHTTPServer.getHttpThreadPoolGroup().getSendMsgExecutor(),
             eventMeshHTTPServer.getHttpThreadPoolGroup().getPushMsgExecutor(),
             new DelayQueue<>(),
+            latencyMetrics,
             labelMap);
+        this.retryMetrics = new RetryMetrics("eventmesh.http.", "HTTP", eventMeshHTTPServer::getHttpRetryer, labelMap);
+        this.producerBatchMetrics = new ProducerBatchMetrics("eventmesh.http.", "HTTP", eventMeshHTTPServer.getProducerBatchStats(), labelMap);
+        this.eventLoopMetrics = new EventLoopMetrics("eventmesh.http.", "HTTP", eventMeshHTTPServer.getEventLoopMonitor(), labelMap);
+        this.waitingRequestMetrics = new WaitingRequestMetrics("eventmesh.http.", "HTTP", eventMeshHTTPServer::getWaitingRequestTracker, labelMap);
     }
 
     private void init() {
@@ -224,6 +245,14 @@ public class EventMeshHttpMetricsManager implements MetricsManager {
                 summaryMetrics.avgReplyMsgCost());
         }
         summaryMetrics.send2MQStatInfoClear();
+
+        latencyMetrics.snapshot();
+        if (log.isInfoEnabled()) {
+            log.info("client2eventMeshLatency: [{}], eventMesh2mqLatency: [{}], pushLatency: [{}]",
+                latencyMetrics.getClient2EventMeshSnapshot(),
+                latencyMetrics.getEventMesh2MqSnapshot(),
+                latencyMetrics.getPushSnapshot());
+        }
     }
 
     public HttpMetrics getHttpMetrics() {
@@ -232,7 +261,13 @@ public class EventMeshHttpMetricsManager implements MetricsManager {
 
     @Override
     public List<Metric> getMetrics() {
-        return new ArrayList<>(httpMetrics.getMetrics());
+        List<Metric> metrics = new ArrayList<>(httpMetrics.getMetrics());
+        metrics.addAll(retryMetrics.getMetrics());
+        metrics.addAll(producerBatchMetrics.getMetrics());
+        metrics.addAll(eventLoopMetrics.getMetrics());
+        metrics.addAll(waitingRequestMetrics.getMetrics());
+        metrics.addAll(latencyMetrics.getMetrics());
+        return metrics;
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.apache.eventmesh.metrics.api.model.LongCounterMetric;
 import org.apache.eventmesh.metrics.api.model.Metric;
 import org.apache.eventmesh.metrics.api.model.ObservableDoubleGaugeMetric;
 import org.apache.eventmesh.metrics.api.model.ObservableLongGaugeMetric;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.metrics.MetricInstrumentUnit;
 
 import org.apache.commons.collections4.MapUtils;
@@ -35,6 +36,7 @@ import java.util.Optional;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
@@ -49,7 +51,7 @@ public class HttpMetrics {
 
     private static final String METRIC_NAME = "HTTP";
 
-    private float wholeCost = 0f;
+    private final LongAdder wholeCost = new LongAdder();
 
     private final AtomicLong wholeRequestNum = new AtomicLong(0);
 
@@ -64,7 +66,7 @@ public class HttpMetrics {
 
     private final LinkedList<Integer> httpRequestTPSSnapshots = new LinkedList<>();
 
-    private float httpDecodeTimeCost = 0f;
+    private final LongAdder httpDecodeTimeCost = new LongAdder();
 
     private final AtomicLong httpDecodeNum = new AtomicLong(0);
 
@@ -105,7 +107,7 @@ public class HttpMetrics {
 
     private final LinkedList<Integer> sendMsgTPSSnapshots = new LinkedList<Integer>();
 
-    private float wholePushCost = 0f;
+    private final LongAdder wholePushCost = new LongAdder();
 
     private final AtomicLong wholePushRequestNum = new AtomicLong(0);
 
@@ -123,15 +125,15 @@ public class HttpMetrics {
 
     private LongCounterMetric httpPushFailNumSumMetric;
 
-    private float batchSend2MQWholeCost = 0f;
+    private final LongAdder batchSend2MQWholeCost = new LongAdder();
 
     private final AtomicLong batchSend2MQNum = new AtomicLong(0);
 
-    private float send2MQWholeCost = 0f;
+    private final LongAdder send2MQWholeCost = new LongAdder();
 
     private final AtomicLong send2MQNum = new AtomicLong(0);
 
-    private float reply2MQWholeCost = 0f;
+    private final LongAdder reply2MQWholeCost = new LongAdder();
 
     private final AtomicLong reply2MQNum = new AtomicLong(0);
 
@@ -146,6 +148,8 @@ public class HttpMetrics {
 
     private final Map<String, String> labelMap;
 
+    private final LatencyMetrics latencyMetrics;
+
     private final Map<String, Metric> metrics = new HashMap<>(32);
 
     private ObservableDoubleGaugeMetric avgHttpBodyDecodeCostMetric;
@@ -198,11 +202,13 @@ public class HttpMetrics {
         final ThreadPoolExecutor sendMsgExecutor,
         final ThreadPoolExecutor pushMsgExecutor,
         final DelayQueue<?> httpFailedQueue,
+        final LatencyMetrics latencyMetrics,
         final Map<String, String> labelMap) {
         this.batchMsgExecutor = batchMsgExecutor;
         this.sendMsgExecutor = sendMsgExecutor;
         this.pushMsgExecutor = pushMsgExecutor;
         this.httpFailedQueue = httpFailedQueue;
+        this.latencyMetrics = latencyMetrics;
         this.labelMap = Optional.ofNullable(labelMap).orElse(new HashMap<>(0));
         initMetrics();
     }
@@ -502,7 +508,7 @@ public class HttpMetrics {
     }
 
     public double avgHTTPCost() {
-        return (wholeRequestNum.longValue() == 0L) ? 0f : wholeCost / wholeRequestNum.longValue();
+        return (wholeRequestNum.longValue() == 0L) ? 0f : (double) wholeCost.sum() / wholeRequestNum.longValue();
     }
 
     public long maxHTTPCost() {
@@ -551,28 +557,27 @@ public class HttpMetrics {
 
     public void recordHTTPReqResTimeCost(long cost) {
         wholeRequestNum.incrementAndGet();
-        wholeCost = wholeCost + cost;
-        if (cost > maxCost.longValue()) {
-            maxCost.set(cost);
-        }
+        wholeCost.add(cost);
+        maxCost.accumulateAndGet(cost, Math::max);
+        latencyMetrics.recordClient2EventMesh(cost);
     }
 
     public void httpStatInfoClear() {
         wholeRequestNum.set(0L);
-        wholeCost = 0f;
+        wholeCost.reset();
         maxCost.set(0L);
         httpDecodeNum.set(0L);
-        httpDecodeTimeCost = 0f;
+        httpDecodeTimeCost.reset();
     }
 
 
     public void recordDecodeTimeCost(long cost) {
         httpDecodeNum.incrementAndGet();
-        httpDecodeTimeCost = httpDecodeTimeCost + cost;
+        httpDecodeTimeCost.add(cost);
     }
 
     public double avgHTTPBodyDecodeCost() {
-        return (httpDecodeNum.longValue() == 0L) ? 0d : (double) httpDecodeTimeCost / httpDecodeNum.longValue();
+        return (httpDecodeNum.longValue() == 0L) ? 0d : (double) httpDecodeTimeCost.sum() / httpDecodeNum.longValue();
     }
 
 
@@ -708,14 +713,13 @@ public class HttpMetrics {
 
     public void recordHTTPPushTimeCost(long cost) {
         wholePushRequestNum.incrementAndGet();
-        wholePushCost = wholePushCost + cost;
-        if (cost > maxHttpPushLatency.longValue()) {
-            maxHttpPushLatency.set(cost);
-        }
+        wholePushCost.add(cost);
+        maxHttpPushLatency.accumulateAndGet(cost, Math::max);
+        latencyMetrics.recordPush(cost);
     }
 
     public double avgHTTPPushLatency() {
-        return (wholePushRequestNum.longValue() == 0L) ? 0f : wholePushCost / wholePushRequestNum.longValue();
+        return (wholePushRequestNum.longValue() == 0L) ? 0f : (double) wholePushCost.sum() / wholePushRequestNum.longValue();
     }
 
     public double maxHTTPPushLatency() {
@@ -757,44 +761,47 @@ public class HttpMetrics {
         httpPushFailNumSum.set(0L);
         httpPushMsgNumSum.set(0L);
         wholeRequestNum.set(0L);
-        wholeCost = 0f;
+        wholeCost.reset();
         maxCost.set(0L);
     }
 
 
     public void recordBatchSendMsgCost(long cost) {
         batchSend2MQNum.incrementAndGet();
-        batchSend2MQWholeCost = batchSend2MQWholeCost + cost;
+        batchSend2MQWholeCost.add(cost);
+        latencyMetrics.recordEventMesh2Mq(cost);
     }
 
     public double avgBatchSendMsgCost() {
-        return (batchSend2MQNum.intValue() == 0) ? 0f : batchSend2MQWholeCost / batchSend2MQNum.intValue();
+        return (batchSend2MQNum.intValue() == 0) ? 0f : (double) batchSend2MQWholeCost.sum() / batchSend2MQNum.intValue();
     }
 
     public void recordSendMsgCost(long cost) {
         send2MQNum.incrementAndGet();
-        send2MQWholeCost = send2MQWholeCost + cost;
+        send2MQWholeCost.add(cost);
+        latencyMetrics.recordEventMesh2Mq(cost);
     }
 
     public double avgSendMsgCost() {
-        return (send2MQNum.intValue() == 0) ? 0f : send2MQWholeCost / send2MQNum.intValue();
+        return (send2MQNum.intValue() == 0) ? 0f : (double) send2MQWholeCost.sum() / send2MQNum.intValue();
     }
 
     public void recordReplyMsgCost(long cost) {
         reply2MQNum.incrementAndGet();
-        reply2MQWholeCost = reply2MQWholeCost + cost;
+        reply2MQWholeCost.add(cost);
+        latencyMetrics.recordEventMesh2Mq(cost);
     }
 
     public double avgReplyMsgCost() {
-        return (reply2MQNum.intValue() == 0) ? 0f : reply2MQWholeCost / reply2MQNum.intValue();
+        return (reply2MQNum.intValue() == 0) ? 0f : (double) reply2MQWholeCost.sum() / reply2MQNum.intValue();
     }
 
     public void send2MQStatInfoClear() {
-        batchSend2MQWholeCost = 0f;
+        batchSend2MQWholeCost.reset();
         batchSend2MQNum.set(0L);
-        send2MQWholeCost = 0f;
+        send2MQWholeCost.reset();
         send2MQNum.set(0L);
-        reply2MQWholeCost = 0f;
+        reply2MQWholeCost.reset();
         reply2MQNum.set(0L);
     }
 
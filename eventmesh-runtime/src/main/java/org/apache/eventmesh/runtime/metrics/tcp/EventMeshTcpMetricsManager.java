@@ -23,8 +23,12 @@ import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.Metric;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.metrics.EventLoopMetrics;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.metrics.MetricsManager;
 import org.apache.eventmesh.runtime.metrics.MetricsUtils;
+import org.apache.eventmesh.runtime.metrics.ProducerBatchMetrics;
+import org.apache.eventmesh.runtime.metrics.RetryMetrics;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -45,6 +49,14 @@ public class EventMeshTcpMetricsManager implements MetricsManager {
 
     private final TcpMetrics tcpMetrics;
 
+    private final RetryMetrics retryMetrics;
+
+    private final ProducerBatchMetrics producerBatchMetrics;
+
+    private final EventLoopMetrics eventLoopMetrics;
+
+    private final LatencyMetrics latencyMetrics;
+
     private final List<MetricsRegistry> metricsRegistries;
 
     private final TcpMetricsCalculator calculator;
@@ -54,8 +66,12 @@ public class EventMeshTcpMetricsManager implements MetricsManager {
         this.eventMeshTCPServer = eventMeshTCPServer;
         init();
         this.tcpMetrics = new TcpMetrics(eventMeshTCPServer, labelMap);
+        this.retryMetrics = new RetryMetrics("eventmesh.tcp.", "TCP", eventMeshTCPServer::getTcpRetryer, labelMap);
+        this.producerBatchMetrics = new ProducerBatchMetrics("eventmesh.tcp.", "TCP", eventMeshTCPServer.getProducerBatchStats(), labelMap);
+        this.eventLoopMetrics = new EventLoopMetrics("eventmesh.tcp.", "TCP", eventMeshTCPServer.getEventLoopMonitor(), labelMap);
+        this.latencyMetrics = new LatencyMetrics("eventmesh.tcp.", "TCP", labelMap);
         this.metricsRegistries = Preconditions.checkNotNull(metricsRegistries);
-        this.calculator = new TcpMetricsCalculator(eventMeshTCPServer, tcpMetrics);
+        this.calculator = new TcpMetricsCalculator(eventMeshTCPServer, tcpMetrics, latencyMetrics);
 
 
     }
@@ -112,6 +128,10 @@ public class EventMeshTcpMetricsManager implements MetricsManager {
         return tcpMetrics;
     }
 
+    public LatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
     @Override
     public void shutdown() {
         this.calculator.shutdown();
@@ -120,7 +140,12 @@ public class EventMeshTcpMetricsManager implements MetricsManager {
 
     @Override
     public List<Metric> getMetrics() {
-        return new ArrayList<>(tcpMetrics.getMetrics());
+        List<Metric> metrics = new ArrayList<>(tcpMetrics.getMetrics());
+        metrics.addAll(retryMetrics.getMetrics());
+        metrics.addAll(producerBatchMetrics.getMetrics());
+        metrics.addAll(eventLoopMetrics.getMetrics());
+        metrics.addAll(latencyMetrics.getMetrics());
+        return metrics;
     }
 
     @Override
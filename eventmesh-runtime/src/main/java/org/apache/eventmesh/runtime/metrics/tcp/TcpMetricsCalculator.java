@@ -22,6 +22,7 @@ import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.metrics.LatencyMetrics;
 import org.apache.eventmesh.runtime.metrics.MonitorMetricConstants;
 
 import java.math.BigDecimal;
@@ -48,13 +49,16 @@ class TcpMetricsCalculator {
 
     private final TcpMetrics tcpMetrics;
 
+    private final LatencyMetrics latencyMetrics;
+
     private ScheduledFuture<?> monitorTpsTask;
 
     private ScheduledExecutorService scheduler;
 
-    public TcpMetricsCalculator(EventMeshTCPServer eventMeshTCPServer, TcpMetrics tcpMetrics) {
+    public TcpMetricsCalculator(EventMeshTCPServer eventMeshTCPServer, TcpMetrics tcpMetrics, LatencyMetrics latencyMetrics) {
         this.eventMeshTCPServer = eventMeshTCPServer;
         this.tcpMetrics = tcpMetrics;
+        this.latencyMetrics = latencyMetrics;
         this.scheduler = ThreadPoolFactory.createScheduledExecutor(2, new EventMeshThreadFactory("EventMesh-TcpMetricsCalculator-scheduler", true));
     }
 
@@ -98,6 +102,7 @@ class TcpMetricsCalculator {
             }
             tcpMetrics.setSubTopicNum(topicSet.size());
             tcpMetrics.setAllConnections(eventMeshTCPServer.getTcpConnectionHandler().getConnectionCount());
+            latencyMetrics.snapshot();
             printAppLogger(tcpMetrics);
         }), delay, period, TimeUnit.MILLISECONDS);
     }
@@ -126,6 +131,15 @@ class TcpMetricsCalculator {
 
         log.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.SUB_TOPIC_NUM,
             tcpSummaryMetrics.getSubTopicNum());
+
+        log.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.CLIENT_2_EVENTMESH_LATENCY,
+            latencyMetrics.getClient2EventMeshSnapshot());
+
+        log.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.EVENTMESH_2_MQ_LATENCY,
+            latencyMetrics.getEventMesh2MqSnapshot());
+
+        log.info("protocol: {}, s: {}, t: {}", EventMeshConstants.PROTOCOL_TCP, MonitorMetricConstants.PUSH_LATENCY,
+            latencyMetrics.getPushSnapshot());
     }
 
     public void shutdown() {
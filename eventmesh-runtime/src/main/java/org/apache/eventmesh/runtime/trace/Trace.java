@@ -85,6 +85,16 @@ public class Trace {
             isSpanFinishInOtherThread);
     }
 
+    /**
+     * Head sampling decision, callers skip extension extraction and span creation when this returns false.
+     */
+    public boolean isSampled(String topic, String traceParent, String sampleKey, boolean root) {
+        if (!useTrace) {
+            return false;
+        }
+        return eventMeshTraceService.isSampled(topic, traceParent, sampleKey, root);
+    }
+
     public Context extractFrom(Context context, Map<String, Object> map) {
         if (!useTrace) {
             return null;
@@ -124,7 +134,7 @@ public class Trace {
             return null;
         }
 
-        if (cloudEvent == null) {
+        if (cloudEvent == null || !span.isRecording()) {
             return span;
         }
 
@@ -145,7 +155,7 @@ public class Trace {
             return null;
         }
 
-        if (map == null || map.size() < 1) {
+        if (map == null || map.size() < 1 || !span.isRecording()) {
             return span;
         }
 
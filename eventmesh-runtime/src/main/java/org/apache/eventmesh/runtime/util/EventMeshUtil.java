@@ -18,6 +18,7 @@
 package org.apache.eventmesh.runtime.util;
 
 import org.apache.eventmesh.common.EventMeshThreadFactory;
+import org.apache.eventmesh.common.protocol.EnvelopeCloudEvent;
 import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.utils.RandomStringUtils;
@@ -49,6 +50,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.SpecVersion;
+import io.cloudevents.core.CloudEventUtils;
 import io.cloudevents.core.v03.CloudEventV03;
 import io.cloudevents.core.v1.CloudEventV1;
 
@@ -302,7 +304,9 @@ public class EventMeshUtil {
 
     public static Map<String, Object> getCloudEventExtensionMap(final String protocolVersion, final CloudEvent cloudEvent) {
         final EventMeshCloudEventWriter eventMeshCloudEventWriter = new EventMeshCloudEventWriter();
-        if (StringUtils.equals(SpecVersion.V1.toString(), protocolVersion)
+        if (cloudEvent instanceof EnvelopeCloudEvent) {
+            CloudEventUtils.toContextReader(cloudEvent).readContext(eventMeshCloudEventWriter);
+        } else if (StringUtils.equals(SpecVersion.V1.toString(), protocolVersion)
             && cloudEvent instanceof CloudEventV1) {
             ((CloudEventV1) cloudEvent).readContext(eventMeshCloudEventWriter);
         } else if (StringUtils.equals(SpecVersion.V03.toString(), protocolVersion)
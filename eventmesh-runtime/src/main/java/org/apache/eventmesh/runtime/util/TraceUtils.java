@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.runtime.util;
 
+import org.apache.eventmesh.common.protocol.http.body.message.SendMessageRequestBody;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
 import org.apache.eventmesh.runtime.boot.EventMeshServer;
 
 import java.util.Map;
@@ -34,6 +36,45 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TraceUtils {
 
+    private static final String TRACE_PARENT = "traceparent";
+
+    /**
+     * Create the client span for an event only if it is sampled, so unsampled events never build an extension map.
+     */
+    public static Span prepareClientSpan(String protocolVersion, CloudEvent event, String spanName,
+        boolean isSpanFinishInOtherThread) {
+        if (!isSampled(event)) {
+            return Span.getInvalid();
+        }
+        return prepareClientSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event), spanName,
+            isSpanFinishInOtherThread);
+    }
+
+    /**
+     * Create the server span for an event only if it is sampled, so unsampled events never build an extension map.
+     */
+    public static Span prepareServerSpan(String protocolVersion, CloudEvent event, String spanName,
+        boolean isSpanFinishInOtherThread) {
+        if (!isSampled(event)) {
+            return Span.getInvalid();
+        }
+        return createServerSpan(EventMeshUtil.getCloudEventExtensionMap(protocolVersion, event), spanName, 0,
+            TimeUnit.MILLISECONDS, isSpanFinishInOtherThread);
+    }
+
+    /**
+     * Sampling decision for a span of an event that was admitted when its request entered EventMesh, so it repeats
+     * the ratio or parent decision without charging the topic limit again.
+     */
+    public static boolean isSampled(CloudEvent event) {
+        if (event == null) {
+            return EventMeshServer.getTrace().isSampled(null, null, null, false);
+        }
+        Object traceParent = event.getExtension(TRACE_PARENT);
+        return EventMeshServer.getTrace().isSampled(event.getSubject(),
+            traceParent == null ? null : traceParent.toString(), event.getId(), false);
+    }
+
     public static Span prepareClientSpan(Map<String, Object> map, String spanName,
         boolean isSpanFinishInOtherThread) {
         Span span = null;
@@ -49,18 +90,53 @@ public class TraceUtils {
 
     public static Span prepareServerSpan(Map<String, Object> map, String spanName,
         boolean isSpanFinishInOtherThread) {
-        Span span = null;
-        try {
-            Context traceContext = EventMeshServer.getTrace().extractFrom(Context.current(), map);
-            span = EventMeshServer.getTrace()
-                .createSpan(spanName, SpanKind.SERVER, traceContext, isSpanFinishInOtherThread);
-        } catch (Exception ex) {
-            log.error("upload trace fail when prepareSpan", ex);
-        }
-        return span;
+        return prepareServerSpan(map, spanName, 0, TimeUnit.MILLISECONDS, isSpanFinishInOtherThread);
     }
 
     public static Span prepareServerSpan(Map<String, Object> map, String spanName, long startTime,
+        TimeUnit timeUnit, boolean isSpanFinishInOtherThread) {
+        return prepareServerSpan(map, null, null, spanName, startTime, timeUnit, isSpanFinishInOtherThread);
+    }
+
+    public static Span prepareServerSpan(Map<String, Object> map, String topic, String sampleKey, String spanName,
+        boolean isSpanFinishInOtherThread) {
+        return prepareServerSpan(map, topic, sampleKey, spanName, 0, TimeUnit.MILLISECONDS, isSpanFinishInOtherThread);
+    }
+
+    /**
+     * Create the server span of a request whose event is not decoded yet. The topic and sample key should be the
+     * subject and id of that event, so the ratio decision matches the other spans of the message and the topic limit
+     * applies; when null they are looked up in the map. This is where a message enters EventMesh, so it is the one
+     * decision per message charged to the topic limit.
+     */
+    public static Span prepareServerSpan(Map<String, Object> map, String topic, String sampleKey, String spanName,
+        long startTime, TimeUnit timeUnit, boolean isSpanFinishInOtherThread) {
+        if (topic == null) {
+            topic = attributeOf(map, ProtocolKey.TOPIC, ProtocolKey.CloudEventsKey.SUBJECT);
+        }
+        if (sampleKey == null) {
+            sampleKey = attributeOf(map, ProtocolKey.CloudEventsKey.ID, SendMessageRequestBody.BIZSEQNO);
+        }
+        if (!EventMeshServer.getTrace().isSampled(topic, attributeOf(map, TRACE_PARENT), sampleKey, true)) {
+            return Span.getInvalid();
+        }
+        return createServerSpan(map, spanName, startTime, timeUnit, isSpanFinishInOtherThread);
+    }
+
+    private static String attributeOf(Map<String, Object> map, String... keys) {
+        if (map == null) {
+            return null;
+        }
+        for (String key : keys) {
+            Object value = map.get(key);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    private static Span createServerSpan(Map<String, Object> map, String spanName, long startTime,
         TimeUnit timeUnit, boolean isSpanFinishInOtherThread) {
         Span span = null;
         try {
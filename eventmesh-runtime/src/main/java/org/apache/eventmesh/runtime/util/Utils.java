@@ -24,6 +24,7 @@ import org.apache.eventmesh.common.utils.IPUtils;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.metrics.tcp.EventMeshTcpMetricsManager;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -72,8 +73,10 @@ public class Utils {
                         logSucceedMessageFlow(pkg, user, startTime, taskExecuteTime);
 
                         if (session != null) {
-                            Objects.requireNonNull(session.getClientGroupWrapper().get())
-                                .getEventMeshTcpMetricsManager().eventMesh2clientMsgNumIncrement(IPUtils.parseChannelRemoteAddr(ctx.channel()));
+                            EventMeshTcpMetricsManager metricsManager = Objects.requireNonNull(session.getClientGroupWrapper().get())
+                                .getEventMeshTcpMetricsManager();
+                            metricsManager.eventMesh2clientMsgNumIncrement(IPUtils.parseChannelRemoteAddr(ctx.channel()));
+                            metricsManager.getLatencyMetrics().recordClient2EventMesh(System.currentTimeMillis() - startTime);
                         }
                     }
                 });
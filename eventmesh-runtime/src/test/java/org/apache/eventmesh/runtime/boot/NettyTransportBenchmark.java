@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.common.EventMeshThreadFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Connects, exchanges one byte and disconnects against a server bootstrapped on each {@link NettyTransport}. The
+ * throughput mode gives the connections per second, the sample mode the latency percentiles (p99) of a connection.
+ * Transports that are not available on the host fall back like the servers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class NettyTransportBenchmark {
+
+    @Param({"nio", "epoll"})
+    private String transportName;
+
+    private EventLoopGroup bossGroup;
+
+    private EventLoopGroup ioGroup;
+
+    private EventLoopGroup clientGroup;
+
+    private Channel serverChannel;
+
+    private Bootstrap clientBootstrap;
+
+    @Setup
+    public void setup() throws Exception {
+        NettyTransport transport = NettyTransport.select(transportName);
+        bossGroup = transport.newEventLoopGroup(1, new EventMeshThreadFactory("benchmark-boss", true));
+        ioGroup = transport.newEventLoopGroup(4, new EventMeshThreadFactory("benchmark-io", true));
+        clientGroup = transport.newEventLoopGroup(4, new EventMeshThreadFactory("benchmark-client", true));
+
+        serverChannel = new ServerBootstrap()
+            .group(bossGroup, ioGroup)
+            .channel(transport.serverChannelClass())
+            .option(ChannelOption.SO_BACKLOG, 1024)
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new EchoHandler())
+            .bind("127.0.0.1", 0).sync().channel();
+
+        clientBootstrap = new Bootstrap()
+            .group(clientGroup)
+            .channel(transport.socketChannelClass())
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.SO_LINGER, 0)
+            .remoteAddress(serverChannel.localAddress());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        serverChannel.close().sync();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        ioGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    @Benchmark
+    public Object connect() throws Exception {
+        final Promise<Object> echoed = clientGroup.next().newPromise();
+        Channel channel = clientBootstrap.clone()
+            .handler(new ChannelInitializer<SocketChannel>() {
+
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            ((ByteBuf) msg).release();
+                            echoed.trySuccess(msg);
+                        }
+                    });
+                }
+            })
+            .connect().sync().channel();
+        channel.writeAndFlush(channel.alloc().buffer(1).writeByte(1));
+        echoed.sync();
+        channel.close().sync();
+        return echoed;
+    }
+
+    @Sharable
+    private static class EchoHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(msg);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(NettyTransportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
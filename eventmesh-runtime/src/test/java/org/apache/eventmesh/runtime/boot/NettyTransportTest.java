@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.common.EventMeshThreadFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class NettyTransportTest {
+
+    @Test
+    public void testSelect() {
+        Assertions.assertEquals(NettyTransport.NIO, NettyTransport.select("nio"));
+        NettyTransport auto = NettyTransport.select("auto");
+        Assertions.assertEquals(NettyTransport.EPOLL.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO, auto);
+        Assertions.assertEquals(auto, NettyTransport.select(null));
+        Assertions.assertEquals(auto, NettyTransport.select("unknown"));
+        // the io_uring incubator is not on the test classpath
+        Assertions.assertEquals(auto, NettyTransport.select("io_uring"));
+        Assertions.assertNull(NettyTransport.NIO.reusePortOption());
+    }
+
+    @Test
+    public void testEventLoopMonitor() throws Exception {
+        EventLoopGroup group = NettyTransport.NIO.newEventLoopGroup(2, new EventMeshThreadFactory("monitor-test", true));
+        try {
+            EventLoopMonitor monitor = new EventLoopMonitor(10);
+            monitor.monitor("io", group);
+            monitor.start();
+            Assertions.assertEquals(2, monitor.getLoops().size());
+            Assertions.assertEquals("io-1", monitor.getLoops().get(1).getName());
+
+            // channels outside the monitored loops are not counted
+            EmbeddedChannel channel = new EmbeddedChannel(monitor.getAcceptCounter());
+            channel.writeInbound(new Object());
+            for (EventLoopMonitor.LoopStats loop : monitor.getLoops()) {
+                Assertions.assertEquals(0, loop.getAcceptNum());
+            }
+            monitor.shutdown();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+public class StreamingJsonBodyDecoderTest {
+
+    private static final String URI = "/eventmesh/publish/TEST-TOPIC-HTTP-ASYNC";
+
+    @Test
+    public void testDecodeChunkedBody() {
+        EmbeddedChannel channel = new EmbeddedChannel(new StreamingJsonBodyDecoder(1024, request -> true));
+        String body = "{\"content\":\"testPublishMessage\",\"ttl\":4000,\"rate\":0.5,\"tags\":[\"a\",{\"b\":null}],"
+            + "\"batch\":{\"size\":2,\"async\":true}}";
+
+        Assertions.assertFalse(channel.writeInbound(jsonPost(body.length())));
+        // split inside a field name and inside a string value
+        Assertions.assertFalse(channel.writeInbound(content(body.substring(0, 5))));
+        Assertions.assertFalse(channel.writeInbound(content(body.substring(5, 20))));
+        Assertions.assertTrue(channel.writeInbound(lastContent(body.substring(20))));
+
+        StreamingJsonBodyDecoder.JsonBodyRequest request = channel.readInbound();
+        Assertions.assertEquals(URI, request.uri());
+        Assertions.assertEquals(0, request.content().readableBytes());
+        Map<String, Object> decoded = request.getBody();
+        Assertions.assertEquals("testPublishMessage", decoded.get("content"));
+        Assertions.assertEquals(4000, decoded.get("ttl"));
+        Assertions.assertEquals(0.5, decoded.get("rate"));
+        List<?> tags = (List<?>) decoded.get("tags");
+        Assertions.assertEquals("a", tags.get(0));
+        Assertions.assertTrue(((Map<?, ?>) tags.get(1)).containsKey("b"));
+        Assertions.assertEquals(Boolean.TRUE, ((Map<?, ?>) decoded.get("batch")).get("async"));
+        Assertions.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testPassThrough() {
+        EmbeddedChannel channel = new EmbeddedChannel(new StreamingJsonBodyDecoder(1024, request -> false));
+        HttpRequest request = jsonPost(2);
+        HttpContent content = lastContent("{}");
+
+        Assertions.assertTrue(channel.writeInbound(request, content));
+        Assertions.assertSame(request, channel.readInbound());
+        Assertions.assertSame(content, channel.readInbound());
+        content.release();
+        Assertions.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRejectTooLarge() {
+        EmbeddedChannel channel = new EmbeddedChannel(new StreamingJsonBodyDecoder(16, request -> true));
+        String body = "{\"content\":\"testPublishMessage\"}";
+
+        Assertions.assertFalse(channel.writeInbound(jsonPost(-1)));
+        Assertions.assertFalse(channel.writeInbound(content(body)));
+        FullHttpResponse response = channel.readOutbound();
+        Assertions.assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+        response.release();
+        Assertions.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testRejectInvalidBody() {
+        EmbeddedChannel channel = new EmbeddedChannel(new StreamingJsonBodyDecoder(1024, request -> true));
+
+        Assertions.assertFalse(channel.writeInbound(jsonPost(-1)));
+        Assertions.assertFalse(channel.writeInbound(lastContent("[\"content\"]")));
+        FullHttpResponse response = channel.readOutbound();
+        Assertions.assertEquals(HttpResponseStatus.BAD_REQUEST, response.status());
+        response.release();
+        Assertions.assertFalse(channel.isOpen());
+    }
+
+    private static HttpRequest jsonPost(int contentLength) {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, URI);
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=UTF-8");
+        if (contentLength >= 0) {
+            request.headers().set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        } else {
+            request.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        }
+        return request;
+    }
+
+    private static HttpContent content(String text) {
+        return new DefaultHttpContent(Unpooled.copiedBuffer(text, StandardCharsets.UTF_8));
+    }
+
+    private static LastHttpContent lastContent(String text) {
+        return new DefaultLastHttpContent(Unpooled.copiedBuffer(text, StandardCharsets.UTF_8));
+    }
+}
@@ -61,6 +61,10 @@ public class EventMeshTCPConfigurationTest {
         Assertions.assertEquals(Boolean.TRUE, config.isEventMeshTcpSendBackEnabled());
         Assertions.assertEquals(3, config.getEventMeshTcpSendBackMaxTimes());
         Assertions.assertEquals(21816, config.getEventMeshTcpPushFailIsolateTimeInMills());
+        Assertions.assertTrue(config.isEventMeshTcpPushBatchEnabled());
+        Assertions.assertEquals(24816, config.getEventMeshTcpPushBatchMaxSize());
+        Assertions.assertEquals(25816, config.getEventMeshTcpPushBatchFlushIntervalInMills());
+        Assertions.assertEquals(26816, config.getEventMeshTcpPushBatchMaxPendingSize());
         Assertions.assertEquals(22816, config.getGracefulShutdownSleepIntervalInMills());
         Assertions.assertEquals(23816, config.getSleepIntervalInRebalanceRedirectMills());
         Assertions.assertEquals(22816, config.getEventMeshEventSize());
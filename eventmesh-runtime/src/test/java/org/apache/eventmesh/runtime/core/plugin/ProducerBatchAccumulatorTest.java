@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.plugin;
+
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.producer.Producer;
+import org.apache.eventmesh.common.config.CommonConfiguration;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class ProducerBatchAccumulatorTest {
+
+    private final List<List<CloudEvent>> publishedBatches = new ArrayList<>();
+
+    private final ProducerBatchStats stats = new ProducerBatchStats();
+
+    private ProducerBatchAccumulator accumulator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        Producer producer = Mockito.mock(Producer.class);
+        Mockito.doAnswer(invocation -> {
+            List<CloudEvent> cloudEvents = invocation.getArgument(0);
+            synchronized (publishedBatches) {
+                publishedBatches.add(cloudEvents);
+            }
+            List<SendResult> sendResults = new ArrayList<>();
+            for (CloudEvent cloudEvent : cloudEvents) {
+                SendResult sendResult = new SendResult();
+                sendResult.setMessageId(cloudEvent.getId());
+                sendResult.setTopic(cloudEvent.getSubject());
+                sendResults.add(sendResult);
+            }
+            ((BatchSendCallback) invocation.getArgument(1)).onSuccess(sendResults);
+            return null;
+        }).when(producer).publish(ArgumentMatchers.anyList(), ArgumentMatchers.any(BatchSendCallback.class));
+
+        CommonConfiguration configuration = new CommonConfiguration();
+        configuration.setEventMeshProducerBatchEnabled(true);
+        configuration.setEventMeshProducerBatchMaxSize(3);
+        configuration.setEventMeshProducerBatchLingerInMills(50);
+        accumulator = new ProducerBatchAccumulator("test", producer, configuration, stats);
+        accumulator.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        accumulator.shutdown();
+    }
+
+    @Test
+    public void testFullBatchesAreSentPerTopic() throws Exception {
+        CountDownLatch latch = new CountDownLatch(6);
+        for (int i = 0; i < 3; i++) {
+            accumulator.append(newEvent("topic-a"), new LatchCallback(latch));
+            accumulator.append(newEvent("topic-b"), new LatchCallback(latch));
+        }
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, publishedBatches.size());
+        for (List<CloudEvent> batch : publishedBatches) {
+            Assertions.assertEquals(3, batch.size());
+            Assertions.assertEquals(1, batch.stream().map(CloudEvent::getSubject).distinct().count());
+        }
+        Assertions.assertEquals(100, stats.getAvgFillRatio());
+        Assertions.assertEquals(0, stats.getPendingSize());
+    }
+
+    @Test
+    public void testPartialBatchIsSentAfterLinger() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        accumulator.append(newEvent("topic-a"), new LatchCallback(latch));
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertEquals(1, publishedBatches.size());
+        Assertions.assertEquals(1, stats.getBatchNum());
+    }
+
+    private static CloudEvent newEvent(String topic) {
+        return CloudEventBuilder.v1()
+            .withId(UUID.randomUUID().toString())
+            .withSubject(topic)
+            .withSource(URI.create("/"))
+            .withType("eventmeshmessage")
+            .build();
+    }
+
+    private static class LatchCallback implements SendCallback {
+
+        private final CountDownLatch latch;
+
+        LatchCallback(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onSuccess(SendResult sendResult) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onException(OnExceptionContext context) {
+            Assertions.fail(context.getException());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol;
+
+import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicConf;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.http.push.AbstractHTTPPushRequest;
+import org.apache.eventmesh.runtime.core.protocol.http.retry.HttpRetryer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class WaitingRequestTrackerTest {
+
+    private WaitingRequestTracker tracker;
+
+    @BeforeEach
+    public void setUp() {
+        tracker = new WaitingRequestTracker("test-pushMsgTimeout", 2);
+        tracker.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        tracker.add("group", 100, expired::countDown);
+        Assertions.assertEquals(1, tracker.getWaiting("group"));
+
+        Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, tracker.getWaiting("group"));
+    }
+
+    @Test
+    public void testExpiredPushRequestIsRetried() throws Exception {
+        HttpRetryer retryer = Mockito.mock(HttpRetryer.class);
+        EventMeshHTTPServer httpServer = Mockito.mock(EventMeshHTTPServer.class);
+        Mockito.when(httpServer.getHttpRetryer()).thenReturn(retryer);
+        Mockito.when(httpServer.getEventMeshHttpConfiguration()).thenReturn(new EventMeshHTTPConfiguration());
+        ConsumerGroupTopicConf topicConf = new ConsumerGroupTopicConf();
+        topicConf.getUrls().add("http://127.0.0.1:8088/push");
+        HandleMsgContext handleMsgContext = Mockito.mock(HandleMsgContext.class);
+        Mockito.when(handleMsgContext.getEventMeshHTTPServer()).thenReturn(httpServer);
+        Mockito.when(handleMsgContext.getConsumeTopicConfig()).thenReturn(topicConf);
+        Mockito.when(handleMsgContext.getTtl()).thenReturn(100);
+
+        AbstractHTTPPushRequest request = new AbstractHTTPPushRequest(handleMsgContext) {
+
+            @Override
+            public void doRun() {
+            }
+        };
+        tracker.add("group", request.ttl, request::timeout);
+        // the push is stamped after it was armed, the wheel expires it before lastPushTime + ttl
+        request.lastPushTime = System.currentTimeMillis() + 1000;
+
+        Mockito.verify(retryer, Mockito.timeout(5000)).newTimeout(ArgumentMatchers.same(request), ArgumentMatchers.anyLong(),
+            ArgumentMatchers.any(TimeUnit.class));
+        Assertions.assertEquals(1, request.retryTimes);
+        Assertions.assertFalse(request.isComplete());
+        Assertions.assertEquals(0, tracker.getWaiting("group"));
+    }
+
+    @Test
+    public void testRemoveBeforeExpire() throws Exception {
+        AtomicInteger expired = new AtomicInteger();
+        WaitingRequestTracker.Waiting waiting = tracker.add("group", 200, expired::incrementAndGet);
+        tracker.remove(waiting);
+        // removing twice does not count twice
+        tracker.remove(waiting);
+        Assertions.assertEquals(0, tracker.getWaiting("group"));
+
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assertions.assertEquals(0, expired.get());
+        Assertions.assertEquals(0, tracker.getWaiting("group"));
+    }
+
+    @Test
+    public void testThreshold() {
+        for (int i = 0; i < 3; i++) {
+            tracker.add("busy", 60000, () -> { });
+        }
+        tracker.add("idle", 60000, () -> { });
+
+        Assertions.assertTrue(tracker.isOverThreshold("busy"));
+        Assertions.assertFalse(tracker.isOverThreshold("idle"));
+        Assertions.assertFalse(tracker.isOverThreshold("unknown"));
+        Assertions.assertEquals(4, tracker.getTotalWaiting());
+        Assertions.assertEquals(3, tracker.getMaxGroupWaiting());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.grpc.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+public class EventEmitterTest {
+
+    private ServerCallStreamObserver<String> observer;
+
+    private EventEmitter<String> emitter;
+
+    private Runnable onReadyHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        observer = mock(ServerCallStreamObserver.class);
+        emitter = new EventEmitter<>(observer, 2);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnReadyHandler(captor.capture());
+        onReadyHandler = captor.getValue();
+    }
+
+    @Test
+    public void testWriteWhileReady() {
+        when(observer.isReady()).thenReturn(true);
+
+        Assertions.assertTrue(emitter.tryNext("a"));
+        verify(observer).onNext("a");
+        Assertions.assertEquals(0, emitter.getPendingSize());
+    }
+
+    @Test
+    public void testQueueUntilReady() {
+        when(observer.isReady()).thenReturn(false);
+
+        Assertions.assertTrue(emitter.tryNext("a"));
+        Assertions.assertTrue(emitter.tryNext("b"));
+        Assertions.assertFalse(emitter.tryNext("c"));
+        verify(observer, never()).onNext(any());
+        Assertions.assertEquals(2, emitter.getPendingSize());
+        Assertions.assertTrue(emitter.isFull());
+        Assertions.assertEquals(1, emitter.getDeferredNum());
+
+        when(observer.isReady()).thenReturn(true);
+        onReadyHandler.run();
+
+        InOrder inOrder = Mockito.inOrder(observer);
+        inOrder.verify(observer).onNext("a");
+        inOrder.verify(observer).onNext("b");
+        Assertions.assertEquals(0, emitter.getPendingSize());
+        Assertions.assertFalse(emitter.isFull());
+    }
+
+    @Test
+    public void testKeepOrderBehindQueue() {
+        when(observer.isReady()).thenReturn(false);
+        Assertions.assertTrue(emitter.tryNext("a"));
+
+        // ready again, but the on-ready handler has not drained the queue yet
+        when(observer.isReady()).thenReturn(true);
+        Assertions.assertTrue(emitter.tryNext("b"));
+        verify(observer, never()).onNext(any());
+
+        onReadyHandler.run();
+        InOrder inOrder = Mockito.inOrder(observer);
+        inOrder.verify(observer).onNext("a");
+        inOrder.verify(observer).onNext("b");
+    }
+
+    @Test
+    public void testCancelledStream() {
+        when(observer.isCancelled()).thenReturn(true);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> emitter.tryNext("a"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWithoutFlowControl() {
+        StreamObserver<String> plainObserver = mock(StreamObserver.class);
+        EventEmitter<String> plainEmitter = new EventEmitter<>(plainObserver);
+
+        Assertions.assertFalse(plainEmitter.isFlowControlled());
+        Assertions.assertTrue(plainEmitter.tryNext("a"));
+        Assertions.assertTrue(plainEmitter.tryNext("b"));
+        verify(plainObserver, times(2)).onNext(any());
+        Assertions.assertFalse(plainEmitter.isFull());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Dispatch of request uris over 64 registered routes: the compiled {@link HttpRouteTable} against the linear
+ * {@code startsWith} scan over a map that {@link HandlerService} used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpRouteBenchmark {
+
+    private static final int ROUTE_NUM = 64;
+
+    private final HttpRouteTable<String> routeTable = new HttpRouteTable<>();
+
+    private final Map<String, String> routeMap = new ConcurrentHashMap<>();
+
+    private String[] uris;
+
+    @Setup
+    public void setup() {
+        String[] resources = {"publish", "subscribe", "unsubscribe", "topic", "client", "meta", "metrics", "event"};
+        String[] actions = {"local", "remote", "create", "delete", "query", "batch", "async", "sync"};
+        for (String resource : resources) {
+            for (String action : actions) {
+                String path = "/eventmesh/" + resource + "/" + action;
+                routeTable.register(path, path);
+                routeMap.put(path, path);
+            }
+        }
+        uris = new String[] {
+            "/eventmesh/publish/async/TEST-TOPIC-HTTP-ASYNC",
+            "/eventmesh/subscribe/local",
+            "/eventmesh/event/sync?topic=TEST-TOPIC",
+            "/eventmesh/metrics/query",
+        };
+        if (routeTable.size() != ROUTE_NUM) {
+            throw new IllegalStateException("expect " + ROUTE_NUM + " routes");
+        }
+    }
+
+    @Benchmark
+    public void routeTable(Blackhole blackhole) {
+        for (String uri : uris) {
+            blackhole.consume(routeTable.match(uri));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (String uri : uris) {
+            String matched = null;
+            for (Map.Entry<String, String> route : routeMap.entrySet()) {
+                if (uri.startsWith(route.getKey())) {
+                    matched = route.getValue();
+                    break;
+                }
+            }
+            blackhole.consume(matched);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(HttpRouteBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.processor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HttpRouteTableTest {
+
+    @Test
+    public void testLongestPrefixWins() {
+        HttpRouteTable<String> table = new HttpRouteTable<>();
+        table.register("/eventmesh/publish", "publish");
+        table.register("/eventmesh/publish/batch", "batch");
+        table.register("/", "root");
+
+        Assertions.assertEquals("publish", table.match("/eventmesh/publish"));
+        Assertions.assertEquals("publish", table.match("/eventmesh/publish/TEST-TOPIC"));
+        Assertions.assertEquals("batch", table.match("/eventmesh/publish/batch?count=2"));
+        Assertions.assertEquals("root", table.match("/eventmesh/subscribe"));
+        Assertions.assertEquals(3, table.size());
+    }
+
+    @Test
+    public void testNoMatch() {
+        HttpRouteTable<String> table = new HttpRouteTable<>();
+        Assertions.assertNull(table.match("/eventmesh/publish"));
+
+        table.register("/eventmesh/publish", "publish");
+        Assertions.assertNull(table.match("/eventmesh/pub"));
+        Assertions.assertNull(table.match(""));
+        Assertions.assertNull(table.get("/eventmesh"));
+        Assertions.assertEquals("publish", table.get("/eventmesh/publish"));
+    }
+
+    @Test
+    public void testRepeatedPath() {
+        HttpRouteTable<String> table = new HttpRouteTable<>();
+        table.register("/eventmesh/publish", "publish");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> table.register("/eventmesh/publish", "other"));
+        Assertions.assertEquals("publish", table.match("/eventmesh/publish"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class AsyncHTTPPushClientTest {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private CountDownLatch respond;
+
+    private AsyncHTTPPushClient client;
+
+    private String url;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        respond = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/push", exchange -> {
+            try {
+                respond.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"retCode\":0}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/push";
+
+        EventMeshHTTPConfiguration configuration = new EventMeshHTTPConfiguration();
+        configuration.setEventMeshHttpPushMaxConcurrentPerSubscriber(1);
+        client = new AsyncHTTPPushClient(configuration, Runnable::run);
+        client.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSubscriberConcurrencyLimit() throws Exception {
+        CompletableFuture<SimpleHttpResponse> first = new CompletableFuture<>();
+        Assertions.assertTrue(client.push(url, post(), callback(first)));
+        Assertions.assertEquals(1, client.getInflight(url));
+        Assertions.assertFalse(client.push(url, post(), callback(new CompletableFuture<>())));
+
+        respond.countDown();
+        SimpleHttpResponse response = first.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(200, response.getCode());
+        Assertions.assertEquals("{\"retCode\":0}", response.getBodyText());
+        Assertions.assertEquals(0, client.getInflight(url));
+
+        CompletableFuture<SimpleHttpResponse> second = new CompletableFuture<>();
+        Assertions.assertTrue(client.push(url, post(), callback(second)));
+        Assertions.assertEquals(200, second.get(5, TimeUnit.SECONDS).getCode());
+    }
+
+    private SimpleHttpRequest post() {
+        return SimpleRequestBuilder.post(url).setBody("content=test", ContentType.APPLICATION_FORM_URLENCODED).build();
+    }
+
+    private static FutureCallback<SimpleHttpResponse> callback(CompletableFuture<SimpleHttpResponse> future) {
+        return new FutureCallback<SimpleHttpResponse>() {
+
+            @Override
+            public void completed(SimpleHttpResponse result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        };
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.push;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.http.common.ClientRetCode;
+import org.apache.eventmesh.common.protocol.http.common.ProtocolKey;
+import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.core.consumergroup.ConsumerGroupTopicConf;
+import org.apache.eventmesh.runtime.core.protocol.WaitingRequestTracker;
+import org.apache.eventmesh.runtime.core.protocol.http.consumer.HandleMsgContext;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+public class HTTPPushBatchAccumulatorTest {
+
+    private static final String URL = "http://127.0.0.1:8088/push";
+
+    private final EventMeshHTTPConfiguration configuration = new EventMeshHTTPConfiguration();
+
+    private final List<SimpleHttpRequest> pushed = new CopyOnWriteArrayList<>();
+
+    private final List<FutureCallback<SimpleHttpResponse>> callbacks = new CopyOnWriteArrayList<>();
+
+    private EventMeshHTTPServer httpServer;
+
+    private AsyncHTTPPushClient pushClient;
+
+    private HTTPPushBatchAccumulator accumulator;
+
+    private volatile boolean accepted = true;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        httpServer = Mockito.mock(EventMeshHTTPServer.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(httpServer.getEventMeshHttpConfiguration()).thenReturn(configuration);
+        pushClient = Mockito.mock(AsyncHTTPPushClient.class);
+        Mockito.when(pushClient.push(ArgumentMatchers.anyString(), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any(FutureCallback.class))).thenAnswer(invocation -> {
+                if (!accepted) {
+                    return false;
+                }
+                pushed.add(invocation.getArgument(1));
+                callbacks.add(invocation.getArgument(2));
+                return true;
+            });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (accumulator != null) {
+            accumulator.shutdown();
+        }
+    }
+
+    @Test
+    public void testFlushAtMaxSize() {
+        startAccumulator(3, 60000, 100);
+        List<AsyncHTTPPushRequest> requests = appendAll(URL, 3);
+
+        Mockito.verify(pushClient, Mockito.timeout(5000)).push(ArgumentMatchers.eq(URL), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any());
+        Assertions.assertEquals(1, pushed.size());
+        Assertions.assertEquals(Arrays.asList("0", "1", "2"), seqsOf(pushed.get(0)));
+        for (AsyncHTTPPushRequest request : requests) {
+            Mockito.verify(request).onBatchPush();
+        }
+        Assertions.assertEquals(0, accumulator.getPendingSize());
+    }
+
+    @Test
+    public void testFlushOnLingerExpiry() {
+        startAccumulator(100, 50, 1000);
+        long start = System.nanoTime();
+        appendAll(URL, 2);
+
+        Mockito.verify(pushClient, Mockito.timeout(5000)).push(ArgumentMatchers.eq(URL), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any());
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertEquals(Arrays.asList("0", "1"), seqsOf(pushed.get(0)));
+    }
+
+    @Test
+    public void testRejectBeyondMaxPendingSize() {
+        startAccumulator(2, 60000, 3);
+        // one message per url, so no batch fills up and every message stays pending
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(append(URL + i, String.valueOf(i)));
+        }
+        Assertions.assertFalse(append(URL + 3, "3"));
+        Assertions.assertEquals(3, accumulator.getPendingSize());
+        Assertions.assertTrue(pushed.isEmpty());
+    }
+
+    @Test
+    public void testDeferWhenPushIsNotAccepted() {
+        accepted = false;
+        startAccumulator(2, 60000, 100);
+        List<AsyncHTTPPushRequest> requests = appendAll(URL, 2);
+
+        for (AsyncHTTPPushRequest request : requests) {
+            Mockito.verify(request, Mockito.timeout(5000)).onBatchDeferred();
+            Mockito.verify(request, Mockito.never()).onBatchResponse(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
+    @Test
+    public void testResultsMappedToEachRequest() {
+        startAccumulator(3, 60000, 100);
+        List<AsyncHTTPPushRequest> requests = appendAll(URL, 3);
+        Mockito.verify(pushClient, Mockito.timeout(5000)).push(ArgumentMatchers.eq(URL), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any());
+
+        SimpleHttpResponse response = SimpleHttpResponse.create(200,
+            "{\"retCode\":0,\"results\":[{\"retCode\":2},{\"retCode\":0}]}", ContentType.APPLICATION_JSON);
+        callbacks.get(0).completed(response);
+
+        Mockito.verify(requests.get(0)).onBatchResponse(response, ClientRetCode.RETRY);
+        Mockito.verify(requests.get(1)).onBatchResponse(response, ClientRetCode.REMOTE_OK);
+        // no result of its own, the top level retCode applies
+        Mockito.verify(requests.get(2)).onBatchResponse(response, ClientRetCode.REMOTE_OK);
+    }
+
+    @Test
+    public void testFailureFailsEveryRequest() {
+        startAccumulator(2, 60000, 100);
+        List<AsyncHTTPPushRequest> requests = appendAll(URL, 2);
+        Mockito.verify(pushClient, Mockito.timeout(5000)).push(ArgumentMatchers.eq(URL), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any());
+
+        Exception failure = new Exception("connection refused");
+        callbacks.get(0).failed(failure);
+        for (AsyncHTTPPushRequest request : requests) {
+            Mockito.verify(request).onFailure(failure);
+        }
+    }
+
+    @Test
+    public void testEventHeadersStayWithTheirMessage() {
+        startAccumulator(2, 60000, 100);
+        for (int i = 0; i < 2; i++) {
+            Header[] headers = {
+                new BasicHeader(ProtocolKey.REQUEST_CODE, "105"),
+                new BasicHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHIP, "127.0.0.1"),
+                new BasicHeader("id", "event-" + i)
+            };
+            Assertions.assertTrue(accumulator.append(pushRequest(URL), headers, fieldsOf(String.valueOf(i))));
+        }
+        Mockito.verify(pushClient, Mockito.timeout(5000)).push(ArgumentMatchers.eq(URL), ArgumentMatchers.any(SimpleHttpRequest.class),
+            ArgumentMatchers.any());
+
+        SimpleHttpRequest request = pushed.get(0);
+        Assertions.assertEquals("105", request.getFirstHeader(ProtocolKey.REQUEST_CODE).getValue());
+        Assertions.assertEquals("127.0.0.1", request.getFirstHeader(ProtocolKey.EventMeshInstanceKey.EVENTMESHIP).getValue());
+        Assertions.assertNull(request.getFirstHeader("id"));
+        List<Map<String, Object>> elements = elementsOf(request);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(Collections.singletonMap("id", "event-" + i), elements.get(i).get(HTTPPushBatchAccumulator.HEADERS));
+        }
+    }
+
+    @Test
+    public void testResultOfEachMessage() {
+        List<ClientRetCode> results = HTTPPushBatchAccumulator.resultsOf(
+            "{\"retCode\":0,\"results\":[{\"retCode\":0},{\"retCode\":2},{\"retCode\":3}]}", 3);
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.REMOTE_OK, ClientRetCode.RETRY, ClientRetCode.FAIL), results);
+    }
+
+    @Test
+    public void testMissingResultsTakeTopLevelRetCode() {
+        List<ClientRetCode> results = HTTPPushBatchAccumulator.resultsOf("{\"retCode\":2,\"results\":[{\"retCode\":1}]}", 3);
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.OK, ClientRetCode.RETRY, ClientRetCode.RETRY), results);
+
+        results = HTTPPushBatchAccumulator.resultsOf("{\"retCode\":1}", 2);
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.OK, ClientRetCode.OK), results);
+    }
+
+    @Test
+    public void testInvalidResponseFails() {
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.FAIL, ClientRetCode.FAIL), HTTPPushBatchAccumulator.resultsOf("", 2));
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.FAIL, ClientRetCode.FAIL), HTTPPushBatchAccumulator.resultsOf("not json", 2));
+        Assertions.assertEquals(Arrays.asList(ClientRetCode.FAIL, ClientRetCode.FAIL),
+            HTTPPushBatchAccumulator.resultsOf("{\"retCode\":99,\"results\":[{\"retCode\":\"0\"}]}", 2));
+    }
+
+    private void startAccumulator(int maxSize, int lingerInMills, int maxPendingSize) {
+        configuration.setEventMeshHttpPushBatchMaxSize(maxSize);
+        configuration.setEventMeshHttpPushBatchLingerInMills(lingerInMills);
+        configuration.setEventMeshHttpPushBatchMaxPendingSize(maxPendingSize);
+        accumulator = new HTTPPushBatchAccumulator("test", configuration, pushClient);
+        accumulator.start();
+    }
+
+    private List<AsyncHTTPPushRequest> appendAll(String url, int count) {
+        List<AsyncHTTPPushRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AsyncHTTPPushRequest request = pushRequest(url);
+            Assertions.assertTrue(accumulator.append(request, new Header[0], fieldsOf(String.valueOf(i))));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private boolean append(String url, String seq) {
+        return accumulator.append(pushRequest(url), new Header[0], fieldsOf(seq));
+    }
+
+    private AsyncHTTPPushRequest pushRequest(String url) {
+        ConsumerGroupTopicConf topicConf = new ConsumerGroupTopicConf();
+        topicConf.getUrls().add(url);
+        HandleMsgContext handleMsgContext = Mockito.mock(HandleMsgContext.class);
+        Mockito.when(handleMsgContext.getEventMeshHTTPServer()).thenReturn(httpServer);
+        Mockito.when(handleMsgContext.getConsumeTopicConfig()).thenReturn(topicConf);
+        Mockito.when(handleMsgContext.getConsumerGroup()).thenReturn("group");
+        Mockito.when(handleMsgContext.getTopic()).thenReturn("topic");
+
+        AsyncHTTPPushRequest request = Mockito.spy(new AsyncHTTPPushRequest(handleMsgContext, Mockito.mock(WaitingRequestTracker.class)));
+        request.currPushUrl = url;
+        Mockito.doNothing().when(request).onBatchPush();
+        Mockito.doNothing().when(request).onBatchDeferred();
+        Mockito.doNothing().when(request).onBatchResponse(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.doNothing().when(request).onFailure(ArgumentMatchers.any());
+        return request;
+    }
+
+    private static List<NameValuePair> fieldsOf(String seq) {
+        return Collections.singletonList(new BasicNameValuePair("seq", seq));
+    }
+
+    private static List<String> seqsOf(SimpleHttpRequest request) {
+        List<String> seqs = new ArrayList<>();
+        for (Map<String, Object> element : elementsOf(request)) {
+            seqs.add((String) element.get("seq"));
+        }
+        return seqs;
+    }
+
+    private static List<Map<String, Object>> elementsOf(SimpleHttpRequest request) {
+        return JsonUtils.parseTypeReferenceObject(new String(request.getBodyBytes(), Constants.DEFAULT_CHARSET),
+            new TypeReference<List<Map<String, Object>>>() {
+            });
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class IndexedDispatchStrategyTest {
+
+    private static final String GROUP = "group";
+
+    private static final String TOPIC = "topic";
+
+    @Test
+    public void testTopicSessionIndex() {
+        TopicSessionIndex index = new TopicSessionIndex();
+        Session first = mockSession(false, 0);
+        Session second = mockSession(false, 0);
+
+        index.add(TOPIC, first);
+        index.add(TOPIC, second);
+        index.add(TOPIC, first);
+        Session[] snapshot = index.getSessions(TOPIC);
+        Assertions.assertArrayEquals(new Session[] {first, second}, snapshot);
+
+        index.remove(TOPIC, first);
+        Assertions.assertArrayEquals(new Session[] {second}, index.getSessions(TOPIC));
+        Assertions.assertArrayEquals(new Session[] {first, second}, snapshot);
+
+        index.remove(TOPIC, second);
+        Assertions.assertEquals(0, index.getSessions(TOPIC).length);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        Session first = mockSession(false, 0);
+        Session second = mockSession(false, 0);
+        Session[] sessions = {first, second};
+        RoundRobinDispatchStrategy strategy = new RoundRobinDispatchStrategy();
+        Assertions.assertSame(first, strategy.select(GROUP, TOPIC, sessions));
+        Assertions.assertSame(second, strategy.select(GROUP, TOPIC, sessions));
+        Assertions.assertSame(first, strategy.select(GROUP, TOPIC, sessions));
+    }
+
+    @Test
+    public void testSkipIsolatedSessions() {
+        Session isolated = mockSession(true, 0);
+        Session available = mockSession(false, 100);
+        Session[] sessions = {isolated, available};
+        DownstreamDispatchStrategy[] strategies = {new FreePriorityDispatchStrategy(), new RoundRobinDispatchStrategy(),
+            new LeastUnackedDispatchStrategy(), new PowerOfTwoChoicesDispatchStrategy()};
+        for (DownstreamDispatchStrategy strategy : strategies) {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertSame(available, strategy.select(GROUP, TOPIC, sessions));
+            }
+        }
+    }
+
+    @Test
+    public void testFallbackToIsolatedSession() {
+        Session isolated = mockSession(true, 0);
+        Session closed = mockSession(false, 0);
+        Mockito.when(closed.getSessionState()).thenReturn(SessionState.CLOSED);
+        Assertions.assertSame(isolated, new RoundRobinDispatchStrategy().select(GROUP, TOPIC, new Session[] {closed, isolated}));
+        Assertions.assertNull(new RoundRobinDispatchStrategy().select(GROUP, TOPIC, new Session[] {closed}));
+        Assertions.assertNull(new RoundRobinDispatchStrategy().select(GROUP, TOPIC, new Session[0]));
+    }
+
+    @Test
+    public void testLeastUnacked() {
+        Session busy = mockSession(false, 10);
+        Session idle = mockSession(false, 1);
+        Session[] sessions = {busy, idle};
+        Assertions.assertSame(idle, new LeastUnackedDispatchStrategy().select(GROUP, TOPIC, sessions));
+        Assertions.assertSame(idle, new PowerOfTwoChoicesDispatchStrategy().select(GROUP, TOPIC, sessions));
+
+        Session empty = mockSession(false, 0);
+        Session[] withEmpty = {busy, empty, idle};
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertSame(empty, new LeastUnackedDispatchStrategy().select(GROUP, TOPIC, withEmpty));
+        }
+    }
+
+    private Session mockSession(boolean isolated, int unacked) {
+        Session session = Mockito.mock(Session.class);
+        SessionPusher pusher = Mockito.mock(SessionPusher.class);
+        Mockito.when(session.getSessionState()).thenReturn(SessionState.RUNNING);
+        Mockito.when(session.isIsolated()).thenReturn(isolated);
+        Mockito.when(session.getPusher()).thenReturn(pusher);
+        Mockito.when(pusher.getTotalUnackMsgs()).thenReturn(unacked);
+        return session;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session;
+
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class SessionWriteBatcherTest {
+
+    private static final String FLUSH = "flush";
+
+    /**
+     * Records writes and flushes in the order they reach the head of the pipeline
+     */
+    private final List<Object> outbound = new ArrayList<>();
+
+    private final AtomicInteger unwritableAfter = new AtomicInteger(-1);
+
+    private EmbeddedChannel channel;
+
+    private SessionWriteBatcher batcher;
+
+    @BeforeEach
+    public void setUp() {
+        ChannelDuplexHandler recorder = new ChannelDuplexHandler() {
+
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                outbound.add(msg);
+                if (unwritableAfter.decrementAndGet() == 0) {
+                    setWritable(false);
+                }
+                promise.setSuccess();
+            }
+
+            @Override
+            public void flush(ChannelHandlerContext ctx) {
+                outbound.add(FLUSH);
+            }
+        };
+        channel = new EmbeddedChannel(recorder, new ChannelInboundHandlerAdapter());
+
+        EventMeshTCPConfiguration configuration = new EventMeshTCPConfiguration();
+        configuration.setEventMeshTcpPushBatchEnabled(true);
+        configuration.setEventMeshTcpPushBatchMaxSize(4);
+        configuration.setEventMeshTcpPushBatchFlushIntervalInMills(10);
+        configuration.setEventMeshTcpPushBatchMaxPendingSize(6);
+
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getContext()).thenReturn(channel.pipeline().lastContext());
+        batcher = new SessionWriteBatcher(session, configuration);
+    }
+
+    private void setWritable(boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+    }
+
+    private static List<Package> packages(int count) {
+        List<Package> packages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            packages.add(new Package(new Header(Command.ASYNC_MESSAGE_TO_CLIENT, 0, null, String.valueOf(i))));
+        }
+        return packages;
+    }
+
+    @Test
+    public void testCoalesceWritesIntoOneFlush() {
+        List<Package> packages = packages(4);
+        for (int i = 0; i < 3; i++) {
+            batcher.write(packages.get(i), null);
+        }
+        channel.runPendingTasks();
+        Assertions.assertTrue(outbound.isEmpty());
+
+        // reaching maxSize drains the batch at once
+        batcher.write(packages.get(3), null);
+        channel.runPendingTasks();
+
+        List<Object> expected = new ArrayList<>(packages);
+        expected.add(FLUSH);
+        Assertions.assertEquals(expected, outbound);
+        Assertions.assertEquals(0, batcher.getPendingSize());
+    }
+
+    @Test
+    public void testFlushAfterInterval() throws Exception {
+        List<Package> packages = packages(2);
+        packages.forEach(pkg -> batcher.write(pkg, null));
+        channel.runPendingTasks();
+        Assertions.assertTrue(outbound.isEmpty());
+
+        Thread.sleep(20);
+        channel.runPendingTasks();
+        List<Object> expected = new ArrayList<>(packages);
+        expected.add(FLUSH);
+        Assertions.assertEquals(expected, outbound);
+    }
+
+    @Test
+    public void testFlushWhenChannelBecomesUnwritable() {
+        List<Package> packages = packages(4);
+        unwritableAfter.set(2);
+        packages.forEach(pkg -> batcher.write(pkg, null));
+        channel.runPendingTasks();
+
+        // draining stops once the channel turns unwritable, what was written so far is flushed
+        Assertions.assertEquals(packages.get(0), outbound.get(0));
+        Assertions.assertEquals(packages.get(1), outbound.get(1));
+        Assertions.assertEquals(FLUSH, outbound.get(2));
+        Assertions.assertEquals(3, outbound.size());
+        Assertions.assertEquals(2, batcher.getPendingSize());
+
+        // writability restored: the rest is drained in order
+        setWritable(true);
+        batcher.scheduleFlush();
+        channel.runPendingTasks();
+        Assertions.assertEquals(packages.get(2), outbound.get(3));
+        Assertions.assertEquals(packages.get(3), outbound.get(4));
+        Assertions.assertEquals(FLUSH, outbound.get(5));
+        Assertions.assertEquals(0, batcher.getPendingSize());
+    }
+
+    @Test
+    public void testRejectBeyondMaxPendingSize() {
+        setWritable(false);
+        List<Boolean> results = new ArrayList<>();
+        packages(7).forEach(pkg -> batcher.write(pkg, future -> results.add(future.isSuccess())));
+        channel.runPendingTasks();
+
+        Assertions.assertEquals(6, batcher.getPendingSize());
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertFalse(results.get(0));
+    }
+
+    @Test
+    public void testDrainOnClose() {
+        setWritable(false);
+        List<Boolean> results = new ArrayList<>();
+        packages(2).forEach(pkg -> batcher.write(pkg, future -> results.add(future.isSuccess())));
+        channel.runPendingTasks();
+        Assertions.assertTrue(results.isEmpty());
+
+        // a closed channel is drained so the listeners learn about the failed writes
+        channel.close();
+        batcher.scheduleFlush();
+        channel.runPendingTasks();
+        Assertions.assertEquals(0, batcher.getPendingSize());
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertFalse(results.get(0));
+        Assertions.assertFalse(results.get(1));
+    }
+}
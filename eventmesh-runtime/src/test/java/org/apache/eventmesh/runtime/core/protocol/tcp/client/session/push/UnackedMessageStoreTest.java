@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
+
+import org.apache.eventmesh.retry.api.timer.Timeout;
+import org.apache.eventmesh.retry.api.timer.Timer;
+import org.apache.eventmesh.retry.api.timer.TimerTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class UnackedMessageStoreTest {
+
+    private final List<TimerTask> scheduled = new ArrayList<>();
+
+    private final List<DownStreamMsgContext> expired = new ArrayList<>();
+
+    private UnackedMessageStore store;
+
+    @BeforeEach
+    public void setUp() {
+        Timer timer = Mockito.mock(Timer.class);
+        Mockito.when(timer.newTimeout(Mockito.any(TimerTask.class), Mockito.anyLong(), Mockito.any(TimeUnit.class)))
+            .thenAnswer(invocation -> {
+                scheduled.add(invocation.getArgument(0));
+                return Mockito.mock(Timeout.class);
+            });
+        store = new UnackedMessageStore(2, timer, expired::add);
+    }
+
+    private static DownStreamMsgContext newContext(long seq) {
+        DownStreamMsgContext context = Mockito.mock(DownStreamMsgContext.class);
+        Mockito.when(context.getSeqId()).thenReturn(seq);
+        Mockito.when(context.getTtl()).thenReturn(1000L);
+        return context;
+    }
+
+    @Test
+    public void testPutIsBoundedByCapacity() {
+        DownStreamMsgContext first = newContext(1);
+        Assertions.assertTrue(store.put(first));
+        Assertions.assertTrue(store.put(newContext(17)));
+        Assertions.assertTrue(store.isFull());
+        Assertions.assertFalse(store.put(newContext(3)));
+
+        // pushing a held msg again does not take more room
+        Assertions.assertTrue(store.put(first));
+        Assertions.assertEquals(2, store.size());
+
+        Assertions.assertSame(first, store.remove(1));
+        Assertions.assertNull(store.remove(1));
+        Assertions.assertTrue(store.put(newContext(3)));
+        Assertions.assertEquals(2, store.values().size());
+    }
+
+    @Test
+    public void testExpireHandsOverOnlyCurrentEntry() throws Exception {
+        DownStreamMsgContext context = newContext(5);
+        Assertions.assertTrue(store.put(context));
+        Assertions.assertTrue(store.put(context));
+        Assertions.assertEquals(2, scheduled.size());
+
+        // the timeout replaced by the second put is stale
+        scheduled.get(0).run();
+        Assertions.assertTrue(expired.isEmpty());
+        Assertions.assertSame(context, store.get(5));
+
+        scheduled.get(1).run();
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertNull(store.get(5));
+        Assertions.assertEquals(0, store.size());
+
+        // an acked msg never expires
+        Assertions.assertTrue(store.put(newContext(6)));
+        store.remove(6);
+        scheduled.get(2).run();
+        Assertions.assertEquals(1, expired.size());
+    }
+}
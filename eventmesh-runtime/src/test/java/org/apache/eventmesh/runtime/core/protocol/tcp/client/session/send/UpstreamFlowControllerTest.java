@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UpstreamFlowControllerTest {
+
+    private static UpstreamFlowController newController(String type) {
+        EventMeshTCPConfiguration configuration = new EventMeshTCPConfiguration();
+        configuration.setEventMeshTcpSessionUpstreamBufferSize(10);
+        configuration.setEventMeshTcpSessionUpstreamFlowControlType(type);
+        configuration.setEventMeshTcpSessionUpstreamFlowControlMinLimit(2);
+        configuration.setEventMeshTcpSessionUpstreamFlowControlLatencyThresholdInMills(100);
+        configuration.setEventMeshTcpSessionUpstreamFlowControlBackoffRatio(0.5);
+        return new UpstreamFlowController(configuration);
+    }
+
+    @Test
+    public void testFixedWindowIgnoresOutcome() throws Exception {
+        UpstreamFlowController controller = newController(UpstreamFlowController.TYPE_FIXED);
+        Assertions.assertTrue(controller.tryAcquire(0, TimeUnit.MILLISECONDS));
+        controller.release(1000, false);
+        Assertions.assertEquals(10, controller.getLimit());
+        Assertions.assertEquals(10, controller.getCredits());
+    }
+
+    @Test
+    public void testAimdStartsAtMinLimitAndGrowsToBufferSize() throws Exception {
+        UpstreamFlowController controller = newController(UpstreamFlowController.TYPE_AIMD);
+        Assertions.assertEquals(2, controller.getLimit());
+        Assertions.assertEquals(2, controller.getCredits());
+
+        // fast sends grow the window by one while it is at least half used, never past the buffer size
+        for (int i = 0; i < 20; i++) {
+            sendAllCredits(controller);
+        }
+        Assertions.assertEquals(10, controller.getLimit());
+        Assertions.assertEquals(10, controller.getCredits());
+    }
+
+    @Test
+    public void testAimdShrinksOnFailureAndGrowsBack() throws Exception {
+        UpstreamFlowController controller = newController(UpstreamFlowController.TYPE_AIMD);
+        while (controller.getLimit() < 10) {
+            sendAllCredits(controller);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(controller.tryAcquire(0, TimeUnit.MILLISECONDS));
+        }
+        Assertions.assertFalse(controller.tryAcquire(0, TimeUnit.MILLISECONDS));
+
+        // a slow send halves the window, the sends still in flight keep it full
+        controller.release(500, true);
+        Assertions.assertEquals(5, controller.getLimit());
+        Assertions.assertEquals(0, controller.getCredits());
+        controller.release(10, false);
+        Assertions.assertEquals(2, controller.getLimit());
+
+        while (controller.getInflight() > 0) {
+            controller.release();
+        }
+        Assertions.assertEquals(2, controller.getCredits());
+
+        Assertions.assertTrue(controller.tryAcquire(0, TimeUnit.MILLISECONDS));
+        controller.release(10, true);
+        Assertions.assertEquals(3, controller.getLimit());
+        Assertions.assertEquals(3, controller.getCredits());
+    }
+
+    private static void sendAllCredits(UpstreamFlowController controller) throws InterruptedException {
+        int credits = controller.getCredits();
+        for (int i = 0; i < credits; i++) {
+            Assertions.assertTrue(controller.tryAcquire(0, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 0; i < credits; i++) {
+            controller.release(10, true);
+        }
+    }
+}
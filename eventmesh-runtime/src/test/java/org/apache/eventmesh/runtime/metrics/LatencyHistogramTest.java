@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.metrics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBounds() {
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestValue(index);
+            Assertions.assertTrue(highest >= value);
+            Assertions.assertTrue(highest - value <= value / 32, "value " + value + " highest " + highest);
+        }
+        Assertions.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(1000, snapshot.getCount());
+        Assertions.assertEquals(500.5, snapshot.getMean(), 0.001);
+        Assertions.assertEquals(1000, snapshot.getMax());
+        Assertions.assertEquals(500, snapshot.getP50(), 500 / 32);
+        Assertions.assertEquals(990, snapshot.getP99(), 990 / 32);
+        Assertions.assertEquals(999, snapshot.getP999(), 999 / 32);
+        Assertions.assertTrue(snapshot.getP999() <= snapshot.getMax());
+    }
+
+    @Test
+    public void testSnapshotStartsNewInterval() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(-1);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(2, snapshot.getCount());
+        Assertions.assertEquals(5, snapshot.getMax());
+        Assertions.assertEquals(0, snapshot.getP50());
+
+        Assertions.assertSame(LatencyHistogram.Snapshot.EMPTY, histogram.snapshot());
+    }
+
+    @Test
+    public void testConcurrentRecord() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 4;
+        int perThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i % 100);
+                }
+                done.countDown();
+            });
+        }
+        Assertions.assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals((long) threads * perThread, snapshot.getCount());
+        Assertions.assertEquals(99, snapshot.getMax());
+    }
+}
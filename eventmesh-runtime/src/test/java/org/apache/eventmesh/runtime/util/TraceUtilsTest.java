@@ -21,10 +21,13 @@ import org.apache.eventmesh.runtime.boot.EventMeshServer;
 import org.apache.eventmesh.runtime.mock.MockCloudEvent;
 import org.apache.eventmesh.runtime.trace.Trace;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
@@ -69,6 +72,47 @@ public class TraceUtilsTest {
         }
     }
 
+    @Test
+    public void testShouldPrepareSpanFromEvent() throws Exception {
+        MockCloudEvent cloudEvent = new MockCloudEvent();
+        try (MockedStatic<EventMeshServer> dummyStatic = Mockito.mockStatic(EventMeshServer.class)) {
+            Trace trace = Trace.getInstance("zipkin", true);
+            trace.init();
+            dummyStatic.when(EventMeshServer::getTrace).thenReturn(trace);
+            Assertions.assertTrue(TraceUtils.isSampled(cloudEvent));
+            Span testClientSpan = TraceUtils.prepareClientSpan(SpecVersion.V1.toString(), cloudEvent,
+                "test client span", false);
+            Assertions.assertTrue(testClientSpan.isRecording());
+            Span testServerSpan = TraceUtils.prepareServerSpan(SpecVersion.V1.toString(), cloudEvent,
+                "test server span", false);
+            Assertions.assertTrue(testServerSpan.isRecording());
+            TraceUtils.finishSpan(testServerSpan, cloudEvent);
+            TraceUtils.finishSpan(testClientSpan, cloudEvent);
+        }
+    }
+
+    @Test
+    public void testServerSpanIsSampledOnTopicAndKey() throws Exception {
+        try (MockedStatic<EventMeshServer> dummyStatic = Mockito.mockStatic(EventMeshServer.class)) {
+            Trace trace = Mockito.mock(Trace.class);
+            dummyStatic.when(EventMeshServer::getTrace).thenReturn(trace);
+
+            Map<String, Object> headerMap = new HashMap<>();
+            headerMap.put("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+            Span span = TraceUtils.prepareServerSpan(headerMap, "topic", "id", "test server span", 0, TimeUnit.MILLISECONDS,
+                false);
+            Assertions.assertFalse(span.isRecording());
+            Mockito.verify(trace).isSampled("topic", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01", "id", true);
+
+            // without them the request attributes in the map are used
+            headerMap.put("topic", "mapTopic");
+            headerMap.put("bizseqno", "mapKey");
+            TraceUtils.prepareServerSpan(headerMap, "test server span", false);
+            Mockito.verify(trace).isSampled(ArgumentMatchers.eq("mapTopic"), ArgumentMatchers.anyString(), ArgumentMatchers.eq("mapKey"),
+                ArgumentMatchers.eq(true));
+        }
+    }
+
     @Test
     public void testShouldFinishSpan() throws Exception {
         MockCloudEvent cloudEvent = new MockCloudEvent();
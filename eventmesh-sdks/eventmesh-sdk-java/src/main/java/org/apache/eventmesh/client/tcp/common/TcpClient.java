@@ -75,6 +75,7 @@ public abstract class TcpClient implements Closeable {
     protected final transient String host;
     protected final transient int port;
     protected final transient UserAgent userAgent;
+    private final transient boolean binaryHeaderEnabled;
 
     private final transient Bootstrap bootstrap = new Bootstrap();
 
@@ -94,6 +95,7 @@ public abstract class TcpClient implements Closeable {
         this.host = eventMeshTcpClientConfig.getHost();
         this.port = eventMeshTcpClientConfig.getPort();
         this.userAgent = eventMeshTcpClientConfig.getUserAgent();
+        this.binaryHeaderEnabled = eventMeshTcpClientConfig.isBinaryHeaderEnabled();
     }
 
     protected synchronized void open(SimpleChannelInboundHandler<Package> handler) throws Exception {
@@ -109,7 +111,7 @@ public abstract class TcpClient implements Closeable {
 
             @Override
             public void initChannel(SocketChannel ch) {
-                ch.pipeline().addLast(new Codec.Encoder(), new Codec.Decoder())
+                ch.pipeline().addLast(new Codec.Encoder(binaryHeaderEnabled), new Codec.Decoder())
                     .addLast(handler, newExceptionHandler());
             }
         });
@@ -29,4 +29,10 @@ public class EventMeshTCPClientConfig {
     private String host;
     private int port;
     private UserAgent userAgent;
+
+    /**
+     * Send packages with the compact binary header (protocol version 0001). The server answers in the version it
+     * receives, so this only requires a server that understands it.
+     */
+    private boolean binaryHeaderEnabled;
 }
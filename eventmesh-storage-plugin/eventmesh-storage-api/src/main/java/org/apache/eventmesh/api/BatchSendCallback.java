@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.producer.Producer;
+
+import java.util.List;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Call back interface used in {@link Producer#publish(List, BatchSendCallback)}, notified once for the whole batch.
+ */
+public interface BatchSendCallback {
+
+    /**
+     * Every event of the batch has been stored.
+     *
+     * @param sendResults the results, in the order of the batch
+     */
+    void onSuccess(final List<SendResult> sendResults);
+
+    /**
+     * At least one event of the batch has not been stored, the events not listed have been.
+     *
+     * @param failedEvents the events that have not been stored, in the order of the batch
+     * @param context      the first failure
+     */
+    void onException(final List<CloudEvent> failedEvents, final OnExceptionContext context);
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.api;
+
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.exception.StorageRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Collects the outcome of each event of a batch and notifies the {@link BatchSendCallback} once all of them are
+ * known. Producers whose client reports every event separately use it to implement the batch publish.
+ */
+public class BatchSendCollector {
+
+    private final List<CloudEvent> cloudEvents;
+
+    private final BatchSendCallback batchSendCallback;
+
+    private final SendResult[] sendResults;
+
+    private final boolean[] failed;
+
+    private final AtomicInteger remaining;
+
+    private final AtomicReference<OnExceptionContext> firstException = new AtomicReference<>();
+
+    public BatchSendCollector(final List<CloudEvent> cloudEvents, final BatchSendCallback batchSendCallback) {
+        this.cloudEvents = cloudEvents;
+        this.batchSendCallback = batchSendCallback;
+        this.sendResults = new SendResult[cloudEvents.size()];
+        this.failed = new boolean[cloudEvents.size()];
+        this.remaining = new AtomicInteger(cloudEvents.size());
+        if (cloudEvents.isEmpty()) {
+            batchSendCallback.onSuccess(Collections.emptyList());
+        }
+    }
+
+    public void onSuccess(final int index, final SendResult sendResult) {
+        sendResults[index] = sendResult;
+        complete();
+    }
+
+    public void onException(final int index, final OnExceptionContext context) {
+        failed[index] = true;
+        firstException.compareAndSet(null, context);
+        complete();
+    }
+
+    public void onException(final int index, final Throwable e) {
+        CloudEvent cloudEvent = cloudEvents.get(index);
+        onException(index, OnExceptionContext.builder()
+            .messageId(cloudEvent.getId())
+            .topic(cloudEvent.getSubject())
+            .exception(e instanceof StorageRuntimeException ? (StorageRuntimeException) e : new StorageRuntimeException(e))
+            .build());
+    }
+
+    /**
+     * @return a {@link SendCallback} reporting the outcome of the event at {@code index}
+     */
+    public SendCallback callbackOf(final int index) {
+        return new SendCallback() {
+
+            @Override
+            public void onSuccess(SendResult sendResult) {
+                BatchSendCollector.this.onSuccess(index, sendResult);
+            }
+
+            @Override
+            public void onException(OnExceptionContext context) {
+                BatchSendCollector.this.onException(index, context);
+            }
+        };
+    }
+
+    private void complete() {
+        // the decrement publishes the writes to sendResults and failed made before it
+        if (remaining.decrementAndGet() != 0) {
+            return;
+        }
+        OnExceptionContext context = firstException.get();
+        if (context == null) {
+            batchSendCallback.onSuccess(Arrays.asList(sendResults));
+            return;
+        }
+        List<CloudEvent> failedEvents = new ArrayList<>();
+        for (int i = 0; i < failed.length; i++) {
+            if (failed[i]) {
+                failedEvents.add(cloudEvents.get(i));
+            }
+        }
+        batchSendCallback.onException(failedEvents, context);
+    }
+}
@@ -17,12 +17,15 @@
 
 package org.apache.eventmesh.api.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.BatchSendCollector;
 import org.apache.eventmesh.api.LifeCycle;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.spi.EventMeshExtensionType;
 import org.apache.eventmesh.spi.EventMeshSPI;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -37,6 +40,22 @@ public interface Producer extends LifeCycle {
 
     void publish(CloudEvent cloudEvent, SendCallback sendCallback) throws Exception;
 
+    /**
+     * Publish several events at once, the callback is notified when the outcome of every event is known.
+     * Storages whose client can send a batch natively should override this; by default each event is
+     * published on its own.
+     */
+    default void publish(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        BatchSendCollector collector = new BatchSendCollector(cloudEvents, batchSendCallback);
+        for (int i = 0; i < cloudEvents.size(); i++) {
+            try {
+                publish(cloudEvents.get(i), collector.callbackOf(i));
+            } catch (Exception e) {
+                collector.onException(i, e);
+            }
+        }
+    }
+
     void sendOneway(final CloudEvent cloudEvent);
 
     void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout) throws Exception;
@@ -17,6 +17,7 @@
 
 package org.apache.eventmesh.storage.kafka.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.producer.Producer;
@@ -25,6 +26,7 @@ import org.apache.eventmesh.storage.kafka.config.ClientConfiguration;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -72,6 +74,11 @@ public class KafkaProducerImpl implements Producer {
         producer.sendAsync(message, sendCallback);
     }
 
+    @Override
+    public void publish(List<CloudEvent> messages, BatchSendCallback batchSendCallback) throws Exception {
+        producer.sendBatchAsync(messages, batchSendCallback);
+    }
+
     @Override
     public void request(CloudEvent message, RequestReplyCallback rrCallback, long timeout) throws Exception {
         producer.request(message, rrCallback, timeout);
@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.storage.kafka.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.BatchSendCollector;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
@@ -29,6 +31,7 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -125,4 +128,31 @@ public class ProducerImpl {
             log.error(String.format("Send message oneway Exception, %s", cloudEvent), e);
         }
     }
+
+    /**
+     * Hands the whole batch to the client before any callback fires, so the records share the accumulator batches
+     * of their partitions instead of being sent one request at a time.
+     */
+    public void sendBatchAsync(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        BatchSendCollector collector = new BatchSendCollector(cloudEvents, batchSendCallback);
+        for (int i = 0; i < cloudEvents.size(); i++) {
+            final int index = i;
+            final CloudEvent cloudEvent = cloudEvents.get(i);
+            try {
+                this.producer.send(new ProducerRecord<>(Objects.requireNonNull(cloudEvent.getSubject()), cloudEvent), (metadata, exception) -> {
+                    if (exception != null) {
+                        collector.onException(index, new StorageRuntimeException(exception.getMessage(), exception));
+                    } else {
+                        SendResult sendResult = new SendResult();
+                        sendResult.setTopic(cloudEvent.getSubject());
+                        sendResult.setMessageId(cloudEvent.getId());
+                        collector.onSuccess(index, sendResult);
+                    }
+                });
+            } catch (Exception e) {
+                log.error(String.format("Send message batch Exception, %s", cloudEvent), e);
+                collector.onException(index, e);
+            }
+        }
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.storage.pulsar.client;
 
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.BatchSendCollector;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.exception.StorageRuntimeException;
 import org.apache.eventmesh.common.Constants;
@@ -31,9 +33,12 @@ import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import io.cloudevents.CloudEvent;
@@ -108,6 +113,40 @@ public class PulsarClientWrapper {
         }
     }
 
+    /**
+     * Queues the whole batch on the producers of its topics, then flushes them so the batch goes out at once
+     * instead of waiting for the batching delay.
+     */
+    public void publish(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        BatchSendCollector collector = new BatchSendCollector(cloudEvents, batchSendCallback);
+        Set<Producer<byte[]>> producers = new LinkedHashSet<>();
+        for (int i = 0; i < cloudEvents.size(); i++) {
+            final int index = i;
+            final CloudEvent cloudEvent = cloudEvents.get(i);
+            try {
+                String topic = config.getTopicPrefix() + cloudEvent.getSubject();
+                Producer<byte[]> producer = producerMap.computeIfAbsent(topic, k -> createProducer(topic));
+                byte[] serializedCloudEvent = Objects.requireNonNull(EventFormatProvider
+                    .getInstance()
+                    .resolveFormat(JsonFormat.CONTENT_TYPE))
+                    .serialize(cloudEvent);
+                producer.sendAsync(serializedCloudEvent).whenComplete((messageId, throwable) -> {
+                    if (throwable != null) {
+                        collector.onException(index, throwable);
+                    } else {
+                        collector.onSuccess(index, CloudEventUtils.convertSendResult(cloudEvent));
+                    }
+                });
+                producers.add(producer);
+            } catch (Exception ex) {
+                log.error("Failed to publish cloudEvent for {} with exception: {}",
+                    cloudEvent.getSubject(), ex.getMessage());
+                collector.onException(index, ex);
+            }
+        }
+        producers.forEach(Producer::flushAsync);
+    }
+
     public void shutdown() throws PulsarClientException {
         pulsarClient.close();
         for (Map.Entry<String, Producer<byte[]>> producerEntry : producerMap.entrySet()) {
@@ -58,6 +58,30 @@ public class ConfigurationHolder {
     @ConfigField(field = "autoAck")
     private boolean autoAck;
 
+    /**
+     * push: basic.consume with basic.qos prefetch, pull: basic.get polling
+     */
+    @ConfigField(field = "consumeMode")
+    private String consumeMode = "push";
+
+    @ConfigField(field = "prefetchCount")
+    private int prefetchCount = 100;
+
+    @ConfigField(field = "ackBatchSize")
+    private int ackBatchSize = 10;
+
+    @ConfigField(field = "publisherConfirms")
+    private boolean publisherConfirms = true;
+
+    @ConfigField(field = "maxOutstandingConfirms")
+    private int maxOutstandingConfirms = 1000;
+
+    /**
+     * max time a publish waits for a free confirm slot before its callback fails
+     */
+    @ConfigField(field = "sendTimeoutInMills")
+    private long sendTimeoutInMills = 3000;
+
     @ConfigField(field = "mgmt.port")
     private int mgmtPort;
 
@@ -20,6 +20,8 @@ package org.apache.eventmesh.storage.rabbitmq.consumer;
 import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
+import org.apache.eventmesh.common.utils.ThreadUtils;
+import org.apache.eventmesh.storage.rabbitmq.client.RabbitmqAckTracker;
 import org.apache.eventmesh.storage.rabbitmq.cloudevent.RabbitmqCloudEvent;
 import org.apache.eventmesh.storage.rabbitmq.config.ConfigurationHolder;
 
@@ -27,7 +29,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.cloudevents.CloudEvent;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
 
 import lombok.extern.slf4j.Slf4j;
@@ -35,49 +40,121 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RabbitmqConsumerHandler implements Runnable {
 
+    public static final String CONSUME_MODE_PUSH = "push";
+
+    public static final String CONSUME_MODE_PULL = "pull";
+
+    private static final long PULL_IDLE_WAIT_MILLIS = 100;
+
     private final Channel channel;
     private final ConfigurationHolder configurationHolder;
     private final AtomicBoolean stop = new AtomicBoolean(false);
+    private final RabbitmqAckTracker ackTracker;
     private EventListener eventListener;
+    private volatile String consumerTag;
 
     public RabbitmqConsumerHandler(Channel channel, ConfigurationHolder configurationHolder) {
         this.channel = channel;
         this.configurationHolder = configurationHolder;
+        this.ackTracker = new RabbitmqAckTracker(channel, configurationHolder.getAckBatchSize());
     }
 
     @Override
     public void run() {
+        if (CONSUME_MODE_PULL.equalsIgnoreCase(configurationHolder.getConsumeMode())) {
+            pull();
+        } else {
+            push();
+        }
+    }
+
+    private void push() {
+        try {
+            if (!configurationHolder.isAutoAck() && configurationHolder.getPrefetchCount() > 0) {
+                channel.basicQos(configurationHolder.getPrefetchCount());
+            }
+            consumerTag = channel.basicConsume(configurationHolder.getQueueName(), configurationHolder.isAutoAck(),
+                new DefaultConsumer(channel) {
+
+                    @Override
+                    public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body) {
+                        handle(envelope.getDeliveryTag(), body);
+                    }
+                });
+        } catch (Exception ex) {
+            log.error("[RabbitmqConsumerHandler] basic consume happen exception.", ex);
+        }
+    }
+
+    private void pull() {
         while (!stop.get()) {
             try {
                 GetResponse response = channel.basicGet(configurationHolder.getQueueName(), configurationHolder.isAutoAck());
-                if (response != null) {
-                    RabbitmqCloudEvent rabbitmqCloudEvent = RabbitmqCloudEvent.getFromByteArray(response.getBody());
-                    CloudEvent cloudEvent = rabbitmqCloudEvent.convertToCloudEvent();
-                    final EventMeshAsyncConsumeContext consumeContext = new EventMeshAsyncConsumeContext() {
-
-                        @Override
-                        public void commit(EventMeshAction action) {
-                            log.info("[RabbitmqConsumerHandler] Rabbitmq consumer context commit.");
-                        }
-                    };
-                    if (eventListener != null) {
-                        eventListener.consume(cloudEvent, consumeContext);
-                    }
-                    if (!configurationHolder.isAutoAck()) {
-                        channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
-                    }
+                if (response == null) {
+                    ThreadUtils.sleep(PULL_IDLE_WAIT_MILLIS);
+                    continue;
                 }
+                handle(response.getEnvelope().getDeliveryTag(), response.getBody());
             } catch (Exception ex) {
                 log.error("[RabbitmqConsumerHandler] thread run happen exception.", ex);
             }
         }
     }
 
+    private void handle(long deliveryTag, byte[] body) {
+        final RabbitmqAckTracker.PendingDelivery delivery = configurationHolder.isAutoAck() ? null : ackTracker.track(deliveryTag);
+        CloudEvent cloudEvent;
+        try {
+            RabbitmqCloudEvent rabbitmqCloudEvent = RabbitmqCloudEvent.getFromByteArray(body);
+            cloudEvent = rabbitmqCloudEvent.convertToCloudEvent();
+        } catch (Exception ex) {
+            log.error("[RabbitmqConsumerHandler] convert delivery {} happen exception, dropped.", deliveryTag, ex);
+            if (delivery != null) {
+                ackTracker.settle(delivery, false, false);
+            }
+            return;
+        }
+        final EventMeshAsyncConsumeContext consumeContext = new EventMeshAsyncConsumeContext() {
+
+            @Override
+            public void commit(EventMeshAction action) {
+                log.debug("[RabbitmqConsumerHandler] Rabbitmq consumer context commit, action: {}.", action);
+                if (delivery != null) {
+                    boolean reconsume = action == EventMeshAction.ReconsumeLater;
+                    ackTracker.settle(delivery, !reconsume, reconsume);
+                }
+            }
+        };
+        if (eventListener != null) {
+            try {
+                eventListener.consume(cloudEvent, consumeContext);
+            } catch (Exception ex) {
+                // an exception reaching the consumer dispatcher closes the channel, and an unsettled delivery holds back
+                // every later ack
+                log.error("[RabbitmqConsumerHandler] consume delivery {} happen exception, requeued.", deliveryTag, ex);
+                if (delivery != null) {
+                    ackTracker.settle(delivery, false, true);
+                }
+            }
+        } else {
+            consumeContext.commit(EventMeshAction.CommitMessage);
+        }
+    }
+
     public void setEventListener(EventListener eventListener) {
         this.eventListener = eventListener;
     }
 
     public void stop() {
         stop.set(true);
+        String tag = consumerTag;
+        if (tag != null && channel.isOpen()) {
+            try {
+                channel.basicCancel(tag);
+            } catch (Exception ex) {
+                log.error("[RabbitmqConsumerHandler] basic cancel happen exception.", ex);
+            }
+        }
+        consumerTag = null;
     }
 }
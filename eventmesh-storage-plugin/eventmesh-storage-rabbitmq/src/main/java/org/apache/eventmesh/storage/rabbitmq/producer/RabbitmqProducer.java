@@ -31,8 +31,13 @@ import org.apache.eventmesh.storage.rabbitmq.cloudevent.RabbitmqCloudEventWriter
 import org.apache.eventmesh.storage.rabbitmq.config.ConfigurationHolder;
 import org.apache.eventmesh.storage.rabbitmq.utils.ByteArrayUtils;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import io.cloudevents.CloudEvent;
 
@@ -60,6 +65,15 @@ public class RabbitmqProducer implements Producer {
      */
     private ConfigurationHolder configurationHolder;
 
+    /**
+     * Publishes awaiting a broker confirm keyed by publish sequence number, only used when publisher confirms are enabled
+     */
+    private final ConcurrentNavigableMap<Long, PendingConfirm> outstandingConfirms = new ConcurrentSkipListMap<>();
+
+    private final Object publishLock = new Object();
+
+    private Semaphore confirmPermits;
+
     @Override
     public boolean isStarted() {
         return started;
@@ -83,6 +97,7 @@ public class RabbitmqProducer implements Producer {
             try {
                 rabbitmqClient.closeConnection(connection);
                 rabbitmqClient.closeChannel(channel);
+                failOutstandingConfirms(new StorageRuntimeException("producer shutdown before broker confirm"));
             } finally {
                 started = false;
             }
@@ -95,6 +110,18 @@ public class RabbitmqProducer implements Producer {
         this.connection = rabbitmqClient.getConnection(configurationHolder.getHost(), configurationHolder.getUsername(),
             configurationHolder.getPasswd(), configurationHolder.getPort(), configurationHolder.getVirtualHost());
         this.channel = rabbitmqConnectionFactory.createChannel(connection);
+        if (configurationHolder.isPublisherConfirms()) {
+            this.confirmPermits = new Semaphore(Math.max(configurationHolder.getMaxOutstandingConfirms(), 1));
+            channel.confirmSelect();
+            // the broker may confirm a batch of publishes at once with multiple=true
+            channel.addConfirmListener(
+                (sequenceNumber, multiple) -> completeConfirms(sequenceNumber, multiple, null),
+                (sequenceNumber, multiple) -> completeConfirms(sequenceNumber, multiple,
+                    new StorageRuntimeException("message nacked by rabbitmq broker")));
+            // confirms never arrive on a closed channel, fail the waiting publishes instead of leaking their permits
+            channel.addShutdownListener(cause -> failOutstandingConfirms(
+                new StorageRuntimeException("channel closed before broker confirm", cause)));
+        }
     }
 
     @Override
@@ -104,32 +131,95 @@ public class RabbitmqProducer implements Producer {
             RabbitmqCloudEvent rabbitmqCloudEvent = writer.writeBinary(cloudEvent);
             byte[] data = RabbitmqCloudEvent.toByteArray(rabbitmqCloudEvent);
             if (data != null) {
-                rabbitmqClient.publish(channel, configurationHolder.getExchangeName(), configurationHolder.getRoutingKey(), data);
-
-                SendResult sendResult = new SendResult();
-                sendResult.setTopic(cloudEvent.getSubject());
-                sendResult.setMessageId(cloudEvent.getId());
-                sendCallback.onSuccess(sendResult);
+                if (confirmPermits == null) {
+                    rabbitmqClient.publish(channel, configurationHolder.getExchangeName(), configurationHolder.getRoutingKey(), data);
+                    onSendSuccess(cloudEvent, sendCallback);
+                    return;
+                }
+                // block once too many publishes await a confirm, the callback completes when the broker confirms
+                if (!confirmPermits.tryAcquire(configurationHolder.getSendTimeoutInMills(), TimeUnit.MILLISECONDS)) {
+                    onSendException(cloudEvent, sendCallback, new StorageRuntimeException(String.format(
+                        "no confirm slot within %dms, %d publishes await a broker confirm",
+                        configurationHolder.getSendTimeoutInMills(), outstandingConfirms.size())));
+                    return;
+                }
+                synchronized (publishLock) {
+                    long sequenceNumber = channel.getNextPublishSeqNo();
+                    outstandingConfirms.put(sequenceNumber, new PendingConfirm(cloudEvent, sendCallback));
+                    try {
+                        rabbitmqClient.publish(channel, configurationHolder.getExchangeName(), configurationHolder.getRoutingKey(), data);
+                    } catch (Exception ex) {
+                        log.error("[RabbitmqProducer] publish happen exception.", ex);
+                        // a channel shutdown may have failed the confirm already, which released its permit
+                        completeConfirm(outstandingConfirms.remove(sequenceNumber), new StorageRuntimeException(ex));
+                    }
+                }
             }
         } catch (Exception ex) {
             log.error("[RabbitmqProducer] publish happen exception.", ex);
-            sendCallback.onException(
-                OnExceptionContext.builder()
-                    .topic(cloudEvent.getSubject())
-                    .messageId(cloudEvent.getId())
-                    .exception(new StorageRuntimeException(ex))
-                    .build());
+            onSendException(cloudEvent, sendCallback, new StorageRuntimeException(ex));
         }
     }
 
+    private void completeConfirms(long sequenceNumber, boolean multiple, StorageRuntimeException cause) {
+        if (!multiple) {
+            completeConfirm(outstandingConfirms.remove(sequenceNumber), cause);
+            return;
+        }
+        Map.Entry<Long, PendingConfirm> entry;
+        while ((entry = outstandingConfirms.firstEntry()) != null && entry.getKey() <= sequenceNumber) {
+            if (outstandingConfirms.remove(entry.getKey(), entry.getValue())) {
+                completeConfirm(entry.getValue(), cause);
+            }
+        }
+    }
+
+    private void completeConfirm(PendingConfirm pendingConfirm, StorageRuntimeException cause) {
+        if (pendingConfirm == null) {
+            return;
+        }
+        confirmPermits.release();
+        if (cause == null) {
+            onSendSuccess(pendingConfirm.cloudEvent, pendingConfirm.sendCallback);
+        } else {
+            onSendException(pendingConfirm.cloudEvent, pendingConfirm.sendCallback, cause);
+        }
+    }
+
+    private void failOutstandingConfirms(StorageRuntimeException cause) {
+        Map.Entry<Long, PendingConfirm> entry;
+        while ((entry = outstandingConfirms.pollFirstEntry()) != null) {
+            completeConfirm(entry.getValue(), cause);
+        }
+    }
+
+    private void onSendSuccess(CloudEvent cloudEvent, SendCallback sendCallback) {
+        SendResult sendResult = new SendResult();
+        sendResult.setTopic(cloudEvent.getSubject());
+        sendResult.setMessageId(cloudEvent.getId());
+        sendCallback.onSuccess(sendResult);
+    }
+
+    private void onSendException(CloudEvent cloudEvent, SendCallback sendCallback, StorageRuntimeException cause) {
+        sendCallback.onException(
+            OnExceptionContext.builder()
+                .topic(cloudEvent.getSubject())
+                .messageId(cloudEvent.getId())
+                .exception(cause)
+                .build());
+    }
+
     @Override
     public void sendOneway(CloudEvent cloudEvent) {
         try {
             Optional<byte[]> optionalBytes = ByteArrayUtils.objectToBytes(cloudEvent);
             if (optionalBytes.isPresent()) {
                 byte[] data = optionalBytes.get();
-                rabbitmqClient.publish(channel, configurationHolder.getExchangeName(),
-                    configurationHolder.getRoutingKey(), data);
+                // keep publish sequence numbers aligned with the tracked confirms
+                synchronized (publishLock) {
+                    rabbitmqClient.publish(channel, configurationHolder.getExchangeName(),
+                        configurationHolder.getRoutingKey(), data);
+                }
             }
         } catch (Exception ex) {
             log.error("[RabbitmqProducer] sendOneway happen exception.", ex);
@@ -163,4 +253,16 @@ public class RabbitmqProducer implements Producer {
     public ConfigurationHolder getClientConfiguration() {
         return this.configurationHolder;
     }
+
+    private static class PendingConfirm {
+
+        private final CloudEvent cloudEvent;
+
+        private final SendCallback sendCallback;
+
+        PendingConfirm(CloudEvent cloudEvent, SendCallback sendCallback) {
+            this.cloudEvent = cloudEvent;
+            this.sendCallback = sendCallback;
+        }
+    }
 }
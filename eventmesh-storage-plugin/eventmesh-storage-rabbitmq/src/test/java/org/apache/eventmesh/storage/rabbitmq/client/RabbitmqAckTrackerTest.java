@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.storage.rabbitmq.client;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.rabbitmq.client.Channel;
+
+public class RabbitmqAckTrackerTest {
+
+    @Test
+    public void testAckSettledPrefixInBatch() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitmqAckTracker ackTracker = new RabbitmqAckTracker(channel, 2);
+        RabbitmqAckTracker.PendingDelivery first = ackTracker.track(1);
+        RabbitmqAckTracker.PendingDelivery second = ackTracker.track(2);
+        RabbitmqAckTracker.PendingDelivery third = ackTracker.track(3);
+
+        ackTracker.settle(second, true, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        ackTracker.settle(first, true, false);
+        verify(channel).basicAck(2, true);
+        Assertions.assertEquals(1, ackTracker.numOutstanding());
+
+        ackTracker.settle(third, true, false);
+        verify(channel).basicAck(3, true);
+        Assertions.assertEquals(0, ackTracker.numOutstanding());
+    }
+
+    @Test
+    public void testNackSkippedByMultipleAck() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitmqAckTracker ackTracker = new RabbitmqAckTracker(channel, 10);
+        RabbitmqAckTracker.PendingDelivery first = ackTracker.track(1);
+        RabbitmqAckTracker.PendingDelivery second = ackTracker.track(2);
+
+        ackTracker.settle(second, false, true);
+        verify(channel).basicNack(2, false, true);
+
+        ackTracker.settle(first, true, false);
+        verify(channel).basicAck(1, true);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.storage.rabbitmq.consumer;
+
+import org.apache.eventmesh.api.EventMeshAction;
+import org.apache.eventmesh.storage.rabbitmq.cloudevent.RabbitmqCloudEvent;
+import org.apache.eventmesh.storage.rabbitmq.cloudevent.RabbitmqCloudEventWriter;
+import org.apache.eventmesh.storage.rabbitmq.config.ConfigurationHolder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.Envelope;
+
+public class RabbitmqConsumerHandlerTest {
+
+    @Test
+    public void listenerExceptionRequeuesTheDeliveryAndKeepsConsuming() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        RabbitmqConsumerHandler handler = new RabbitmqConsumerHandler(channel, new ConfigurationHolder());
+        handler.setEventListener((cloudEvent, context) -> {
+            if ("1".equals(cloudEvent.getId())) {
+                throw new IllegalStateException("listener failed");
+            }
+            context.commit(EventMeshAction.CommitMessage);
+        });
+        handler.run();
+
+        ArgumentCaptor<Consumer> consumer = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(channel).basicConsume(ArgumentMatchers.any(), ArgumentMatchers.eq(false), consumer.capture());
+
+        Assertions.assertDoesNotThrow(() -> consumer.getValue().handleDelivery("tag", new Envelope(1, false, "", "topic"), null, body("1")));
+        Mockito.verify(channel).basicNack(1, false, true);
+
+        // the failed delivery is settled, so the next one is acknowledged
+        consumer.getValue().handleDelivery("tag", new Envelope(2, false, "", "topic"), null, body("2"));
+        Mockito.verify(channel).basicAck(2, true);
+    }
+
+    private static byte[] body(String id) throws Exception {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+            .withId(id)
+            .withSource(URI.create("testsource"))
+            .withSubject("topic")
+            .withType(String.class.getCanonicalName())
+            .withDataContentType("text/plain")
+            .withData("data".getBytes(StandardCharsets.UTF_8))
+            .build();
+        RabbitmqCloudEvent rabbitmqCloudEvent = new RabbitmqCloudEventWriter().writeBinary(cloudEvent);
+        return RabbitmqCloudEvent.toByteArray(rabbitmqCloudEvent);
+    }
+}
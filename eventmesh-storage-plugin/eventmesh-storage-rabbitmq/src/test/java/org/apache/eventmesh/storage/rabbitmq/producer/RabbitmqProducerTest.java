@@ -21,21 +21,37 @@ import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
 import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.api.factory.StoragePluginFactory;
 import org.apache.eventmesh.common.utils.ThreadUtils;
 import org.apache.eventmesh.storage.rabbitmq.RabbitmqServer;
+import org.apache.eventmesh.storage.rabbitmq.client.RabbitmqConnectionFactory;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
 
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+
 public class RabbitmqProducerTest extends RabbitmqServer {
 
     @Test
@@ -91,4 +107,142 @@ public class RabbitmqProducerTest extends RabbitmqServer {
 
         Assertions.assertTrue(downLatch.await(5, TimeUnit.MINUTES));
     }
+
+    @Test
+    public void publishFailsWhenNoConfirmSlotFreesUp() throws Exception {
+        Channel channel = unconfirmedChannel();
+        RabbitmqProducer producer = confirmingProducer(channel, 1);
+        try {
+            RecordingCallback callback = new RecordingCallback();
+            producer.publish(event("0"), callback);
+            long start = System.currentTimeMillis();
+            producer.publish(event("1"), callback);
+
+            Assertions.assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(5));
+            Assertions.assertEquals(0, callback.succeeded.size());
+            Assertions.assertEquals(1, callback.failed.size());
+            Assertions.assertEquals("1", callback.failed.get(0).getMessageId());
+            Mockito.verify(channel, Mockito.times(1)).basicPublish(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any(byte[].class));
+        } finally {
+            producer.shutdown();
+        }
+    }
+
+    @Test
+    public void channelShutdownFailsOutstandingConfirms() throws Exception {
+        Channel channel = unconfirmedChannel();
+        RabbitmqProducer producer = confirmingProducer(channel, 1);
+        try {
+            ArgumentCaptor<ShutdownListener> shutdownListener = ArgumentCaptor.forClass(ShutdownListener.class);
+            Mockito.verify(channel).addShutdownListener(shutdownListener.capture());
+
+            RecordingCallback callback = new RecordingCallback();
+            producer.publish(event("0"), callback);
+            Assertions.assertEquals(0, callback.failed.size());
+
+            shutdownListener.getValue().shutdownCompleted(new ShutdownSignalException(false, false, null, channel));
+            Assertions.assertEquals(1, callback.failed.size());
+            Assertions.assertEquals("0", callback.failed.get(0).getMessageId());
+
+            // the permit of the failed publish is free again
+            producer.publish(event("1"), callback);
+            Assertions.assertEquals(1, callback.failed.size());
+        } finally {
+            producer.shutdown();
+        }
+    }
+
+    @Test
+    public void publishFailingOnClosedChannelFailsOnce() throws Exception {
+        Channel channel = unconfirmedChannel();
+        RabbitmqProducer producer = confirmingProducer(channel, 1);
+        try {
+            ArgumentCaptor<ShutdownListener> shutdownListener = ArgumentCaptor.forClass(ShutdownListener.class);
+            Mockito.verify(channel).addShutdownListener(shutdownListener.capture());
+            // the channel closes while publishing, the shutdown listener fails the confirm before publish throws
+            Mockito.doAnswer(invocation -> {
+                shutdownListener.getValue().shutdownCompleted(new ShutdownSignalException(false, false, null, channel));
+                throw new IOException("channel closed");
+            }).when(channel).basicPublish(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any(byte[].class));
+
+            RecordingCallback callback = new RecordingCallback();
+            producer.publish(event("0"), callback);
+            Assertions.assertEquals(1, callback.failed.size());
+
+            // a single permit is free again, the second publish waits for the confirm of the first
+            Mockito.doNothing().when(channel).basicPublish(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any(byte[].class));
+            producer.publish(event("1"), callback);
+            producer.publish(event("2"), callback);
+            Assertions.assertEquals(2, callback.failed.size());
+            Assertions.assertEquals("2", callback.failed.get(1).getMessageId());
+        } finally {
+            producer.shutdown();
+        }
+    }
+
+    private Channel unconfirmedChannel() {
+        Channel channel = Mockito.mock(Channel.class);
+        AtomicLong sequenceNumber = new AtomicLong(1);
+        Mockito.when(channel.getNextPublishSeqNo()).thenAnswer(invocation -> sequenceNumber.get());
+        try {
+            Mockito.doAnswer(invocation -> sequenceNumber.incrementAndGet()).when(channel)
+                .basicPublish(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+                    ArgumentMatchers.any(byte[].class));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return channel;
+    }
+
+    private RabbitmqProducer confirmingProducer(Channel channel, int maxOutstandingConfirms) throws Exception {
+        RabbitmqProducer producer = (RabbitmqProducer) StoragePluginFactory.getMeshMQProducer("rabbitmq");
+        producer.getClientConfiguration().setPublisherConfirms(true);
+        producer.getClientConfiguration().setMaxOutstandingConfirms(maxOutstandingConfirms);
+        producer.getClientConfiguration().setSendTimeoutInMills(100);
+        producer.setRabbitmqConnectionFactory(new RabbitmqConnectionFactory() {
+
+            @Override
+            public Connection createConnection(ConnectionFactory connectionFactory) {
+                return Mockito.mock(Connection.class);
+            }
+
+            @Override
+            public Channel createChannel(Connection connection) {
+                return channel;
+            }
+        });
+        producer.init(new Properties());
+        producer.start();
+        return producer;
+    }
+
+    private CloudEvent event(String id) {
+        return CloudEventBuilder.v1()
+            .withId(id)
+            .withSource(URI.create("testsource"))
+            .withSubject("topic")
+            .withType(String.class.getCanonicalName())
+            .withData("data".getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static class RecordingCallback implements SendCallback {
+
+        private final List<SendResult> succeeded = new CopyOnWriteArrayList<>();
+
+        private final List<OnExceptionContext> failed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSuccess(SendResult sendResult) {
+            succeeded.add(sendResult);
+        }
+
+        @Override
+        public void onException(OnExceptionContext context) {
+            failed.add(context);
+        }
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.storage.rocketmq.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.BatchSendCollector;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
@@ -37,6 +39,10 @@ import org.apache.rocketmq.common.message.MessageClientIDSetter;
 import org.apache.rocketmq.common.message.MessageConst;
 import org.apache.rocketmq.remoting.exception.RemotingException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -123,6 +129,95 @@ public class ProducerImpl extends AbstractProducer {
         }
     }
 
+    /**
+     * Sends the events of each topic as RocketMQ message batches, split to stay under the max message size of the
+     * producer. RocketMQ stores or rejects a message batch as a whole.
+     */
+    public void sendBatchAsync(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        this.checkProducerServiceState(this.rocketmqProducer.getDefaultMQProducerImpl());
+        BatchSendCollector collector = new BatchSendCollector(cloudEvents, batchSendCallback);
+        Message[] messages = new Message[cloudEvents.size()];
+        Map<String, List<Integer>> indexesByTopic = new LinkedHashMap<>();
+        for (int i = 0; i < cloudEvents.size(); i++) {
+            CloudEvent cloudEvent = cloudEvents.get(i);
+            try {
+                Message msg = RocketMQMessageFactory.createWriter(Objects.requireNonNull(cloudEvent.getSubject())).writeBinary(cloudEvent);
+                messages[i] = supplySysProp(msg, cloudEvent);
+                indexesByTopic.computeIfAbsent(msg.getTopic(), k -> new ArrayList<>()).add(i);
+            } catch (Exception e) {
+                log.error(String.format("Convert message batch Exception, %s", cloudEvent), e);
+                collector.onException(i, e);
+            }
+        }
+
+        int maxBatchSize = this.rocketmqProducer.getMaxMessageSize();
+        for (List<Integer> indexes : indexesByTopic.values()) {
+            List<Integer> batch = new ArrayList<>();
+            int batchSize = 0;
+            for (Integer index : indexes) {
+                int size = estimateSize(messages[index]);
+                if (!batch.isEmpty() && batchSize + size > maxBatchSize) {
+                    sendBatchAsync(collector, messages, batch);
+                    batch = new ArrayList<>();
+                    batchSize = 0;
+                }
+                batch.add(index);
+                batchSize += size;
+            }
+            sendBatchAsync(collector, messages, batch);
+        }
+    }
+
+    private void sendBatchAsync(BatchSendCollector collector, Message[] messages, List<Integer> indexes) {
+        List<Message> batch = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            batch.add(messages[index]);
+        }
+        String topic = batch.get(0).getTopic();
+        try {
+            this.rocketmqProducer.send(batch, new org.apache.rocketmq.client.producer.SendCallback() {
+
+                @Override
+                public void onSuccess(org.apache.rocketmq.client.producer.SendResult sendResult) {
+                    for (Integer index : indexes) {
+                        SendResult result = new SendResult();
+                        result.setTopic(topic);
+                        result.setMessageId(MessageClientIDSetter.getUniqID(messages[index]));
+                        collector.onSuccess(index, result);
+                    }
+                }
+
+                @Override
+                public void onException(Throwable e) {
+                    StorageRuntimeException onsEx = ProducerImpl.this.checkProducerException(topic, null, e);
+                    for (Integer index : indexes) {
+                        collector.onException(index, onsEx);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                log.error("Send message batch InterruptedException", e);
+                Thread.currentThread().interrupt(); // Restore interrupted status
+            } else {
+                log.error(String.format("Send message batch Exception, topic:%s, size:%d", topic, batch.size()), e);
+            }
+            StorageRuntimeException onsEx = this.checkProducerException(topic, null, e);
+            for (Integer index : indexes) {
+                collector.onException(index, onsEx);
+            }
+        }
+    }
+
+    private static int estimateSize(Message msg) {
+        // same accounting as the broker: topic, body, properties and the fixed log overhead
+        int size = msg.getTopic().length() + (msg.getBody() == null ? 0 : msg.getBody().length) + 20;
+        for (Map.Entry<String, String> entry : msg.getProperties().entrySet()) {
+            size += entry.getKey().length() + entry.getValue().length();
+        }
+        return size;
+    }
+
     public void request(CloudEvent cloudEvent, RequestReplyCallback rrCallback, long timeout)
         throws InterruptedException, RemotingException, MQClientException, MQBrokerException {
 
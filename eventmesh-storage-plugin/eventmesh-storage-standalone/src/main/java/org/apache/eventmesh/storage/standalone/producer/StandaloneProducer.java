@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.storage.standalone.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
+import org.apache.eventmesh.api.BatchSendCollector;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.SendResult;
@@ -25,6 +27,7 @@ import org.apache.eventmesh.api.exception.StorageRuntimeException;
 import org.apache.eventmesh.storage.standalone.broker.StandaloneBroker;
 import org.apache.eventmesh.storage.standalone.broker.model.MessageEntity;
 
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -98,6 +101,21 @@ public class StandaloneProducer {
         }
     }
 
+    public void publish(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) {
+        Preconditions.checkNotNull(cloudEvents);
+        Preconditions.checkNotNull(batchSendCallback);
+
+        // the broker stores synchronously, the callback fires once the last event is in
+        BatchSendCollector collector = new BatchSendCollector(cloudEvents, batchSendCallback);
+        for (int i = 0; i < cloudEvents.size(); i++) {
+            try {
+                collector.onSuccess(i, publish(cloudEvents.get(i)));
+            } catch (Exception ex) {
+                collector.onException(i, ex);
+            }
+        }
+    }
+
     public void sendOneway(CloudEvent cloudEvent) {
         publish(cloudEvent);
     }
@@ -17,10 +17,12 @@
 
 package org.apache.eventmesh.storage.standalone.producer;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.RequestReplyCallback;
 import org.apache.eventmesh.api.SendCallback;
 import org.apache.eventmesh.api.producer.Producer;
 
+import java.util.List;
 import java.util.Properties;
 
 import io.cloudevents.CloudEvent;
@@ -62,6 +64,11 @@ public class StandaloneProducerAdaptor implements Producer {
         standaloneProducer.publish(cloudEvent, sendCallback);
     }
 
+    @Override
+    public void publish(List<CloudEvent> cloudEvents, BatchSendCallback batchSendCallback) throws Exception {
+        standaloneProducer.publish(cloudEvents, batchSendCallback);
+    }
+
     @Override
     public void sendOneway(CloudEvent cloudEvent) {
         standaloneProducer.sendOneway(cloudEvent);
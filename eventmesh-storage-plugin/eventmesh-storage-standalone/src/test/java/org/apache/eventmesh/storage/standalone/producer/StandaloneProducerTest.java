@@ -20,18 +20,24 @@ package org.apache.eventmesh.storage.standalone.producer;
 import static org.apache.eventmesh.storage.standalone.TestUtils.TEST_TOPIC;
 import static org.apache.eventmesh.storage.standalone.TestUtils.createSubscribe;
 
+import org.apache.eventmesh.api.BatchSendCallback;
 import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
 import org.apache.eventmesh.storage.standalone.TestUtils;
 import org.apache.eventmesh.storage.standalone.broker.StandaloneBroker;
 import org.apache.eventmesh.storage.standalone.broker.task.Subscribe;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
 
 
 
@@ -77,4 +83,35 @@ public class StandaloneProducerTest {
         SendResult sendResult = standaloneProducer.publish(cloudEvent);
         Assertions.assertNotNull(sendResult);
     }
+
+    @Test
+    public void testBatchPublish() {
+        StandaloneBroker standaloneBroker = StandaloneBroker.getInstance();
+        standaloneBroker.createTopicIfAbsent(TEST_TOPIC);
+        Subscribe subscribe = createSubscribe(standaloneBroker);
+        subscribe.subscribe();
+
+        List<CloudEvent> cloudEvents = new ArrayList<>(TestUtils.createCloudEvents());
+        CloudEvent unknownTopicEvent = CloudEventBuilder.from(TestUtils.createDefaultCloudEvent())
+            .withSubject("not-created-topic")
+            .build();
+        cloudEvents.add(unknownTopicEvent);
+
+        AtomicReference<List<CloudEvent>> failedEventsRef = new AtomicReference<>();
+        standaloneProducer.publish(cloudEvents, new BatchSendCallback() {
+
+            @Override
+            public void onSuccess(List<SendResult> sendResults) {
+                Assertions.fail("the event of a topic that does not exist cannot be stored");
+            }
+
+            @Override
+            public void onException(List<CloudEvent> failedEvents, OnExceptionContext context) {
+                failedEventsRef.set(failedEvents);
+            }
+        });
+        Assertions.assertNotNull(failedEventsRef.get());
+        Assertions.assertEquals(1, failedEventsRef.get().size());
+        Assertions.assertSame(unknownTopicEvent, failedEventsRef.get().get(0));
+    }
 }
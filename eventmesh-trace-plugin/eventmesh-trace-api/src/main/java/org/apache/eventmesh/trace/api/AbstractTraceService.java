@@ -20,6 +20,7 @@ package org.apache.eventmesh.trace.api;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
 import org.apache.eventmesh.trace.api.exception.TraceException;
+import org.apache.eventmesh.trace.api.sampler.TraceSampler;
 
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +44,7 @@ import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -67,9 +69,14 @@ public abstract class AbstractTraceService implements EventMeshTraceService {
 
     protected transient Thread shutdownHook;
 
+    /**
+     * Head sampling decision taken before any extension map or span is built
+     */
+    protected transient TraceSampler traceSampler;
+
     @Override
     public Context extractFrom(final Context context, final Map<String, Object> carrier) throws TraceException {
-        textMapPropagator.extract(context, carrier, new TextMapGetter<Map<String, Object>>() {
+        return textMapPropagator.extract(context, carrier, new TextMapGetter<Map<String, Object>>() {
 
             @Override
             public Iterable<String> keys(@Nonnull final Map<String, Object> carrier) {
@@ -82,7 +89,6 @@ public abstract class AbstractTraceService implements EventMeshTraceService {
                 return Optional.ofNullable(carrier.get(key)).map(Objects::toString).orElse(null);
             }
         });
-        return context;
     }
 
     @Override
@@ -114,6 +120,11 @@ public abstract class AbstractTraceService implements EventMeshTraceService {
             .startSpan();
     }
 
+    @Override
+    public boolean isSampled(String topic, String traceParent, String sampleKey, boolean root) {
+        return traceSampler == null || traceSampler.shouldSample(topic, traceParent, sampleKey, root);
+    }
+
     @Override
     public void shutdown() throws TraceException {
         try {
@@ -132,8 +143,10 @@ public abstract class AbstractTraceService implements EventMeshTraceService {
      * @param serviceNameResource
      */
     protected void initVars(SpanProcessor spanProcessor, Resource serviceNameResource) {
+        traceSampler = TraceSampler.from(exporterConfiguration);
         SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
-            .addSpanProcessor(spanProcessor);
+            .addSpanProcessor(spanProcessor)
+            .setSampler(sdkSampler(traceSampler.getType()));
         if (serviceNameResource != null) {
             builder.setResource(Resource.getDefault().merge(serviceNameResource));
         }
@@ -150,4 +163,19 @@ public abstract class AbstractTraceService implements EventMeshTraceService {
         shutdownHook.setDaemon(true);
         Runtime.getRuntime().addShutdownHook(shutdownHook);
     }
+
+    /**
+     * The ratio and topic limits are applied by {@link #isSampled} before spans are created, so the SDK only has to
+     * honour the parent's flag; applying the ratio here again would square it.
+     */
+    private static Sampler sdkSampler(String samplerType) {
+        switch (samplerType) {
+            case TraceSampler.ALWAYS_OFF:
+                return Sampler.alwaysOff();
+            case TraceSampler.PARENT_BASED:
+                return Sampler.parentBased(Sampler.alwaysOn());
+            default:
+                return Sampler.alwaysOn();
+        }
+    }
 }
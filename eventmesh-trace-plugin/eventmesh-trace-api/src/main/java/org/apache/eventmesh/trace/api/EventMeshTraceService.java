@@ -48,5 +48,17 @@ public interface EventMeshTraceService {
     Span createSpan(String spanName, SpanKind spanKind, Context context,
         boolean isSpanFinishInOtherThread) throws TraceException;
 
+    /**
+     * Head sampling decision, checked before extracting the context or creating spans for a message.
+     *
+     * @param topic       topic of the message, may be null
+     * @param traceParent W3C traceparent carried by the message, may be null
+     * @param sampleKey   stable key of the message such as its id, may be null
+     * @param root        whether the message enters EventMesh here, only such decisions count against topic limits
+     */
+    default boolean isSampled(String topic, String traceParent, String sampleKey, boolean root) {
+        return true;
+    }
+
     void shutdown() throws TraceException;
 }
@@ -40,4 +40,25 @@ public class ExporterConfiguration {
 
     @ConfigField(field = "export.interval")
     private int eventMeshTraceExportInterval = 5;
+
+    /**
+     * always_on, always_off, ratio or parent_based
+     */
+    @ConfigField(field = "sampler.type")
+    private String eventMeshTraceSamplerType = "always_on";
+
+    @ConfigField(field = "sampler.ratio")
+    private double eventMeshTraceSamplerRatio = 1.0;
+
+    /**
+     * per-topic span limits, e.g. topicA:100,topicB:10
+     */
+    @ConfigField(field = "sampler.topic.maxSpansPerSecond")
+    private String eventMeshTraceSamplerTopicMaxSpansPerSecond = "";
+
+    /**
+     * span limit applied to topics without an explicit limit, 0 means unlimited
+     */
+    @ConfigField(field = "sampler.topic.defaultMaxSpansPerSecond")
+    private int eventMeshTraceSamplerTopicDefaultMaxSpansPerSecond = 0;
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import org.apache.eventmesh.trace.api.config.ExporterConfiguration;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Head sampler deciding whether a message is traced at all, before any extension map or span is built.
+ *
+ * <p>A message carrying a W3C {@code traceparent} follows the upstream decision under {@code parent_based};
+ * otherwise the configured ratio is applied, keyed on the message id when one is given so that every span
+ * of the same message gets the same decision. Sampled root decisions, taken once where a message enters
+ * EventMesh, are finally bounded by per-topic messages-per-second limits; the later spans of a message only
+ * repeat the ratio or parent decision, so they neither consume the budget nor get dropped by it.
+ */
+@Slf4j
+public class TraceSampler {
+
+    public static final String ALWAYS_ON = "always_on";
+
+    public static final String ALWAYS_OFF = "always_off";
+
+    public static final String RATIO = "ratio";
+
+    public static final String PARENT_BASED = "parent_based";
+
+    private static final int TRACE_PARENT_LENGTH = 55;
+
+    private static final int TRACE_FLAGS_INDEX = 54;
+
+    private static final int COUNT_BITS = 20;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final String type;
+
+    private final double ratio;
+
+    /**
+     * threshold on an unsigned 32-bit hash, so ratio sampling does not need floating point per message
+     */
+    private final long ratioThreshold;
+
+    private final Map<String, Integer> topicLimits;
+
+    private final int defaultTopicLimit;
+
+    private final ConcurrentMap<String, AtomicLong> topicWindows = new ConcurrentHashMap<>();
+
+    public TraceSampler(String type, double ratio, Map<String, Integer> topicLimits, int defaultTopicLimit) {
+        this.type = StringUtils.isBlank(type) ? ALWAYS_ON : type.trim().toLowerCase();
+        this.ratio = Math.max(0.0, Math.min(1.0, ratio));
+        this.ratioThreshold = (long) (this.ratio * (1L << 32));
+        this.topicLimits = topicLimits == null ? Collections.emptyMap() : topicLimits;
+        this.defaultTopicLimit = Math.max(0, defaultTopicLimit);
+    }
+
+    public static TraceSampler from(ExporterConfiguration configuration) {
+        if (configuration == null) {
+            return new TraceSampler(ALWAYS_ON, 1.0, null, 0);
+        }
+        return new TraceSampler(configuration.getEventMeshTraceSamplerType(),
+            configuration.getEventMeshTraceSamplerRatio(),
+            parseTopicLimits(configuration.getEventMeshTraceSamplerTopicMaxSpansPerSecond()),
+            configuration.getEventMeshTraceSamplerTopicDefaultMaxSpansPerSecond());
+    }
+
+    /**
+     * Parse limits written as {@code topicA:100,topicB:10}, skipping malformed entries.
+     */
+    static Map<String, Integer> parseTopicLimits(String value) {
+        if (StringUtils.isBlank(value)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> limits = new HashMap<>();
+        for (String entry : value.split(",")) {
+            int index = entry.lastIndexOf(':');
+            if (index <= 0) {
+                continue;
+            }
+            String topic = entry.substring(0, index).trim();
+            try {
+                limits.put(topic, Integer.parseInt(entry.substring(index + 1).trim()));
+            } catch (NumberFormatException e) {
+                log.warn("invalid trace sampler topic limit: {}", entry);
+            }
+        }
+        return limits;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @param topic       topic of the message, may be null when unknown
+     * @param traceParent W3C traceparent carried by the message, may be null
+     * @param sampleKey   stable key of the message (usually its id), may be null
+     * @param root        whether this is the entry decision of the message, the only one charged to the topic limit
+     * @return whether spans should be created for this message
+     */
+    public boolean shouldSample(String topic, String traceParent, String sampleKey, boolean root) {
+        switch (type) {
+            case ALWAYS_OFF:
+                return false;
+            case RATIO:
+                return sampleByRatio(sampleKey) && (!root || acquire(topic));
+            case PARENT_BASED:
+                if (isValidTraceParent(traceParent)) {
+                    return (Character.digit(traceParent.charAt(TRACE_FLAGS_INDEX), 16) & 1) == 1;
+                }
+                return sampleByRatio(sampleKey) && (!root || acquire(topic));
+            default:
+                return !root || acquire(topic);
+        }
+    }
+
+    private boolean sampleByRatio(String sampleKey) {
+        if (ratioThreshold >= (1L << 32)) {
+            return true;
+        }
+        if (ratioThreshold <= 0) {
+            return false;
+        }
+        long hash = sampleKey == null ? ThreadLocalRandom.current().nextInt() : mix(sampleKey.hashCode());
+        return (hash & 0xFFFFFFFFL) < ratioThreshold;
+    }
+
+    /**
+     * Take one message from the topic's budget of the current second, without locking.
+     */
+    private boolean acquire(String topic) {
+        if (topic == null) {
+            return true;
+        }
+        Integer configured = topicLimits.get(topic);
+        long limit = Math.min(configured == null ? defaultTopicLimit : configured, COUNT_MASK);
+        if (limit <= 0) {
+            return true;
+        }
+        AtomicLong window = topicWindows.computeIfAbsent(topic, key -> new AtomicLong());
+        long second = System.currentTimeMillis() / 1000;
+        for (;;) {
+            long current = window.get();
+            long count = (current >>> COUNT_BITS) == second ? current & COUNT_MASK : 0;
+            if (count >= limit) {
+                return false;
+            }
+            if (window.compareAndSet(current, (second << COUNT_BITS) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean isValidTraceParent(String traceParent) {
+        return traceParent != null && traceParent.length() == TRACE_PARENT_LENGTH
+            && Character.digit(traceParent.charAt(TRACE_FLAGS_INDEX), 16) >= 0;
+    }
+
+    /**
+     * murmur3 finalizer, spreads String.hashCode over the whole int range
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
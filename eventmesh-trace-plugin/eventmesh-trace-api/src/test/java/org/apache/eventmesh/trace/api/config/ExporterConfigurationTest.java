@@ -17,8 +17,12 @@
 
 package org.apache.eventmesh.trace.api.config;
 
+import org.apache.eventmesh.common.config.Config;
+import org.apache.eventmesh.common.config.ConfigInfo;
 import org.apache.eventmesh.common.config.ConfigService;
 
+import java.io.File;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +38,21 @@ public class ExporterConfigurationTest {
         Assertions.assertEquals(2816, config.getEventMeshTraceExportTimeout());
         Assertions.assertEquals(3816, config.getEventMeshTraceExportInterval());
     }
+
+    @Test
+    public void testGetBundledExporterConfiguration() throws Exception {
+        ConfigInfo configInfo = new ConfigInfo();
+        configInfo.setPath(ConfigService.FILE_PATH_PREFIX + new File("src/main/resources/exporter.properties").getAbsolutePath());
+        configInfo.setClazz(ExporterConfiguration.class);
+        configInfo.setPrefix(ExporterConfiguration.class.getAnnotation(Config.class).prefix());
+        ExporterConfiguration config = ConfigService.getInstance().getConfig(configInfo);
+
+        Assertions.assertEquals(512, config.getEventMeshTraceMaxExportSize());
+        Assertions.assertEquals(2048, config.getEventMeshTraceMaxQueueSize());
+        Assertions.assertEquals(30, config.getEventMeshTraceExportTimeout());
+        Assertions.assertEquals(5, config.getEventMeshTraceExportInterval());
+        Assertions.assertEquals("always_on", config.getEventMeshTraceSamplerType());
+        Assertions.assertEquals(1.0, config.getEventMeshTraceSamplerRatio());
+        Assertions.assertEquals(0, config.getEventMeshTraceSamplerTopicDefaultMaxSpansPerSecond());
+    }
 }
\ No newline at end of file
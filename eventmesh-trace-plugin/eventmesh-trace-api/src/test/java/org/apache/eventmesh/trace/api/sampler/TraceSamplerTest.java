@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.trace.api.sampler;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TraceSamplerTest {
+
+    private static final String SAMPLED_PARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+    private static final String UNSAMPLED_PARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00";
+
+    @Test
+    public void testAlwaysOnAndOff() {
+        Assertions.assertTrue(new TraceSampler(TraceSampler.ALWAYS_ON, 0.0, null, 0).shouldSample("topic", null, "id", true));
+        Assertions.assertFalse(new TraceSampler(TraceSampler.ALWAYS_OFF, 1.0, null, 0)
+            .shouldSample("topic", SAMPLED_PARENT, "id", true));
+    }
+
+    @Test
+    public void testRatioIsStablePerKey() {
+        TraceSampler sampler = new TraceSampler(TraceSampler.RATIO, 0.25, null, 0);
+        int sampled = 0;
+        for (int i = 0; i < 100000; i++) {
+            String key = "msg-" + i;
+            boolean first = sampler.shouldSample(null, null, key, true);
+            Assertions.assertEquals(first, sampler.shouldSample(null, null, key, true));
+            if (first) {
+                sampled++;
+            }
+        }
+        Assertions.assertTrue(sampled > 23000 && sampled < 27000, "sampled " + sampled);
+    }
+
+    @Test
+    public void testParentBased() {
+        TraceSampler sampler = new TraceSampler(TraceSampler.PARENT_BASED, 0.0, null, 0);
+        Assertions.assertTrue(sampler.shouldSample("topic", SAMPLED_PARENT, "id", true));
+        Assertions.assertFalse(sampler.shouldSample("topic", UNSAMPLED_PARENT, "id", true));
+        Assertions.assertFalse(sampler.shouldSample("topic", null, "id", true));
+        Assertions.assertFalse(sampler.shouldSample("topic", "invalid", "id", true));
+    }
+
+    @Test
+    public void testTopicLimit() {
+        TraceSampler sampler = new TraceSampler(TraceSampler.ALWAYS_ON, 1.0, TraceSampler.parseTopicLimits("limited:5"), 0);
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.shouldSample("limited", null, null, true)) {
+                sampled++;
+            }
+            Assertions.assertTrue(sampler.shouldSample("unlimited", null, null, true));
+        }
+        // at most two windows can be touched if the second rolls over during the loop
+        Assertions.assertTrue(sampled >= 5 && sampled <= 10, "sampled " + sampled);
+    }
+
+    @Test
+    public void testTopicLimitIsChargedOncePerMessage() {
+        TraceSampler sampler = new TraceSampler(TraceSampler.RATIO, 1.0, TraceSampler.parseTopicLimits("limited:1"), 0);
+        Assertions.assertTrue(sampler.shouldSample("limited", null, "id", true));
+        // the later spans of the admitted message neither consume nor are denied by the exhausted budget
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(sampler.shouldSample("limited", null, "id", false));
+        }
+        TraceSampler other = new TraceSampler(TraceSampler.RATIO, 1.0, TraceSampler.parseTopicLimits("limited:1"), 0);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(other.shouldSample("limited", null, "id", false));
+        }
+        Assertions.assertTrue(other.shouldSample("limited", null, "id", true));
+    }
+
+    @Test
+    public void testParseTopicLimits() {
+        Map<String, Integer> limits = TraceSampler.parseTopicLimits("a:1, b : 20,bad,c:x");
+        Assertions.assertEquals(2, limits.size());
+        Assertions.assertEquals(1, limits.get("a"));
+        Assertions.assertEquals(20, limits.get("b"));
+        Assertions.assertEquals(Collections.emptyMap(), TraceSampler.parseTopicLimits(""));
+    }
+}